@@ -24,10 +24,16 @@ import com.google.common.base.Optional;
 import com.google.protobuf.Message;
 import io.spine.core.Enrichments;
 import io.spine.core.EventContext;
+import io.spine.core.EventEnvelope;
+
+import static io.spine.validate.Validate.isDefault;
 
 /**
  * Utility class for working with enrichments.
  *
+ * <p>The enrichments are either stored in the {@link EventContext} or
+ * {@linkplain #enrichLazily(EventEnvelope, LazyEnrichment.Factory) computed on demand}.
+ *
  * @author Illia Shepilov
  */
 public class EnrichmentHelper {
@@ -35,9 +41,30 @@ public class EnrichmentHelper {
     private EnrichmentHelper() {
     }
 
+    /**
+     * Makes the enrichments of the event available on demand.
+     *
+     * <p>The enrichments are computed by the factory on the first
+     * {@linkplain #getEnrichment(Class, EventContext) request} with the context of the event
+     * made while the event is delivered in the current thread.
+     *
+     * @param event   the event to enrich
+     * @param factory the factory of the enrichments
+     */
+    public static void enrichLazily(EventEnvelope event, LazyEnrichment.Factory factory) {
+        if (isDefault(event.getEventContext())) {
+            return;
+        }
+        LazyEnrichment.open(event, factory);
+    }
+
     /**
      * Obtains enrichment from the {@link EventContext} according to the enrichment class.
      *
+     * <p>If the context does not contain the enrichment, the enrichment is computed
+     * if the event is {@linkplain #enrichLazily(EventEnvelope, LazyEnrichment.Factory)
+     * enriched lazily}.
+     *
      * @param enrichmentClass the class of the enrichment
      * @param context         the {@code EventContext}
      * @return the enrichment if it is present, throws {@code EnrichmentNotFoundException} otherwise
@@ -50,6 +77,13 @@ public class EnrichmentHelper {
         if (enrichmentOptional.isPresent()) {
             return enrichmentOptional.get();
         }
+        final LazyEnrichment lazyEnrichment = LazyEnrichment.find(context);
+        if (lazyEnrichment != null) {
+            final T computed = lazyEnrichment.get(enrichmentClass);
+            if (computed != null) {
+                return computed;
+            }
+        }
         throw new EnrichmentNotFoundException(enrichmentClass + " not found");
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist;
+
+import com.google.protobuf.Message;
+import io.spine.core.EventContext;
+import io.spine.core.EventEnvelope;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The enrichments of a single event computed on demand.
+ *
+ * <p>Each enrichment is computed on the first request and then reused by
+ * the subsequent requests for the same event. The enrichments nobody requests
+ * are never computed.
+ *
+ * <p>The lazy enrichment belongs to the delivery of the event envelope. It is
+ * {@linkplain #open(EventEnvelope, Factory) opened} in the thread, which delivers the event,
+ * and is available only to the subscribers and the routers called in that thread.
+ * The thread keeps the enrichments of the few latest events only, so the events posted
+ * while another event is being delivered are enriched as well, and the enrichments
+ * of the delivered events are released.
+ *
+ * @author Dmytro Grankin
+ * @see EnrichmentHelper#enrichLazily(EventEnvelope, Factory)
+ */
+public final class LazyEnrichment {
+
+    /** The maximum number of the events being delivered in a thread at the same time. */
+    private static final int MAX_NESTED_DELIVERIES = 8;
+
+    /** The lazy enrichments of the latest events delivered in the current thread. */
+    private static final ThreadLocal<Deque<LazyEnrichment>> deliveries =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final EventContext context;
+    private final Message eventMessage;
+    private final Factory factory;
+    private final Map<Class<? extends Message>, Message> computed = new ConcurrentHashMap<>();
+
+    private LazyEnrichment(EventEnvelope event, Factory factory) {
+        this.context = event.getEventContext();
+        this.eventMessage = event.getMessage();
+        this.factory = factory;
+    }
+
+    /**
+     * Opens the lazy enrichment of the event delivered in the current thread.
+     *
+     * @param event   the event to enrich
+     * @param factory the factory of the enrichments
+     */
+    static void open(EventEnvelope event, Factory factory) {
+        checkNotNull(event);
+        checkNotNull(factory);
+        final Deque<LazyEnrichment> current = deliveries.get();
+        current.push(new LazyEnrichment(event, factory));
+        if (current.size() > MAX_NESTED_DELIVERIES) {
+            current.removeLast();
+        }
+    }
+
+    /**
+     * Obtains the lazy enrichment of the event delivered in the current thread.
+     *
+     * <p>The event is found by the identity of its context, so the copies of the event
+     * read from the storage are not enriched lazily.
+     *
+     * @param context the context of the event
+     * @return the lazy enrichment or {@code null} if the event is not being delivered
+     */
+    @Nullable
+    static LazyEnrichment find(EventContext context) {
+        for (LazyEnrichment enrichment : deliveries.get()) {
+            if (enrichment.context == context) {
+                return enrichment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtains the enrichment of the event, computing it if needed.
+     *
+     * @param enrichmentClass the class of the enrichment
+     * @param <T>             the type of the enrichment
+     * @return the enrichment or {@code null} if the factory does not support it
+     */
+    @Nullable
+    <T extends Message> T get(Class<T> enrichmentClass) {
+        final Message enrichment =
+                computed.computeIfAbsent(enrichmentClass,
+                                         cls -> factory.create(enrichmentClass, eventMessage));
+        return enrichmentClass.cast(enrichment);
+    }
+
+    /**
+     * Computes the enrichments of the events.
+     */
+    public interface Factory {
+
+        /**
+         * Computes the enrichment of the event.
+         *
+         * @param enrichmentClass the class of the enrichment
+         * @param eventMessage    the message of the enriched event
+         * @param <T>             the type of the enrichment
+         * @return the enrichment or {@code null} if the event is not enriched so
+         */
+        @Nullable
+        <T extends Message> T create(Class<T> enrichmentClass, Message eventMessage);
+    }
+}
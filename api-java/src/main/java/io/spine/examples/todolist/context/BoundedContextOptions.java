@@ -0,0 +1,434 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import io.spine.examples.todolist.repository.AggregateOptions;
+import io.spine.examples.todolist.repository.CommandMailboxes;
+import io.spine.examples.todolist.repository.EventBatching;
+import io.spine.examples.todolist.repository.MyListViewRepository;
+import io.spine.examples.todolist.repository.ProjectionCheckpoints;
+import io.spine.examples.todolist.repository.ProjectionOptions;
+import io.spine.examples.todolist.repository.StripedEventDispatcher;
+
+import javax.annotation.Nullable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * The settings of the {@link BoundedContexts#create(io.spine.server.storage.StorageFactory,
+ * BoundedContextOptions) bounded context} and its repositories.
+ *
+ * <p>The settings may be combined freely, except that:
+ * <ul>
+ *     <li>the aggregates are cached only along with the command mailboxes;
+ *     <li>the events are enriched lazily only if they are applied to the projections
+ *         synchronously, i.e. neither batched nor delivered by a dispatcher.
+ * </ul>
+ *
+ * <p>The dispatcher and the mailboxes are not closed along with the bounded context.
+ *
+ * @author Dmytro Grankin
+ */
+public final class BoundedContextOptions {
+
+    private static final String MY_LIST_SHARDS_PROPERTY = "todolist.myListShards";
+    private static final String ARCHIVE_SHARDS_PROPERTY = "todolist.archiveShards";
+    private static final String BATCH_SIZE_PROPERTY = "todolist.batchSize";
+    private static final String BATCH_DELAY_PROPERTY = "todolist.batchDelayMillis";
+    private static final String STRIPES_PROPERTY = "todolist.projectionStripes";
+    private static final String COMMAND_THREADS_PROPERTY = "todolist.commandThreads";
+    private static final String CACHE_SIZE_PROPERTY = "todolist.aggregateCacheSize";
+    private static final String SNAPSHOT_TRIGGER_PROPERTY = "todolist.snapshotTrigger";
+    private static final String ENRICHMENT_SOURCE_PROPERTY = "todolist.enrichmentSource";
+    private static final String LAZY_ENRICHMENT_PROPERTY = "todolist.lazyEnrichment";
+    private static final String CHECKPOINT_FILE_PROPERTY = "todolist.checkpointFile";
+    private static final String CHECKPOINT_INTERVAL_PROPERTY = "todolist.checkpointIntervalMillis";
+
+    /** The batch delay used if only the batch size is specified. */
+    private static final long DEFAULT_BATCH_DELAY_MILLIS = 100;
+
+    /** The interval between the projection checkpoints used if only the file is specified. */
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = MINUTES.toMillis(1);
+
+    private static final BoundedContextOptions DEFAULTS = newBuilder().build();
+
+    private final int myListShards;
+    private final int archiveShards;
+    private final AggregateOptions aggregateOptions;
+    private final ProjectionOptions projectionOptions;
+    private final EnrichmentSource enrichmentSource;
+    private final boolean lazyEnrichment;
+
+    @Nullable
+    private final Path checkpointFile;
+
+    private final long checkpointIntervalMillis;
+
+    private BoundedContextOptions(Builder builder, AggregateOptions aggregateOptions) {
+        this.myListShards = builder.myListShards;
+        this.archiveShards = builder.archiveShards > 0
+                             ? builder.archiveShards
+                             : builder.myListShards;
+        this.aggregateOptions = aggregateOptions;
+        this.projectionOptions = builder.projectionOptions.build();
+        this.enrichmentSource = builder.enrichmentSource;
+        this.lazyEnrichment = builder.lazyEnrichment;
+        this.checkpointFile = builder.checkpointFile;
+        this.checkpointIntervalMillis = builder.checkpointIntervalMillis;
+    }
+
+    /**
+     * Obtains the default settings.
+     *
+     * <p>The commands and the events are handled in the posting thread, and the events
+     * are enriched eagerly with the aggregate states.
+     */
+    public static BoundedContextOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates the settings from the system properties.
+     *
+     * <p>The following properties are read, each of them is optional:
+     * <ul>
+     *     <li>{@code todolist.myListShards} — the number of the {@code MyListView} shards;
+     *     <li>{@code todolist.archiveShards} — the number of the {@code ArchivedTasksView}
+     *         shards, the same as the number of the {@code MyListView} shards by default;
+     *     <li>{@code todolist.batchSize} and {@code todolist.batchDelayMillis} —
+     *         the {@linkplain EventBatching batching} of the events, enabled if
+     *         the batch size is greater than one, the delay is 100 ms by default;
+     *     <li>{@code todolist.projectionStripes} — the number of the stripes of
+     *         the {@link StripedEventDispatcher};
+     *     <li>{@code todolist.commandThreads} — the number of the threads of
+     *         the {@link CommandMailboxes};
+     *     <li>{@code todolist.aggregateCacheSize} — the number of the cached aggregates
+     *         of each type;
+     *     <li>{@code todolist.snapshotTrigger} — the number of the events between
+     *         the aggregate snapshots;
+     *     <li>{@code todolist.enrichmentSource} — the name of the {@link EnrichmentSource};
+     *     <li>{@code todolist.lazyEnrichment} — whether the events are enriched lazily;
+     *     <li>{@code todolist.checkpointFile} and {@code todolist.checkpointIntervalMillis} —
+     *         the file to save the {@linkplain ProjectionCheckpoints projection checkpoints}
+     *         to and the interval between them, one minute by default.
+     * </ul>
+     *
+     * <p>The dispatcher and the mailboxes are created if specified and live as long as
+     * the application.
+     *
+     * @return the settings specified by the system properties
+     * @throws IllegalArgumentException if a property has an invalid value
+     * @throws IllegalStateException    if the specified settings cannot be combined
+     */
+    public static BoundedContextOptions fromSystemProperties() {
+        final Builder result = newBuilder();
+        final int myListShards = Integer.getInteger(MY_LIST_SHARDS_PROPERTY, 0);
+        if (myListShards > 0) {
+            result.setMyListShards(myListShards);
+        }
+        final int archiveShards = Integer.getInteger(ARCHIVE_SHARDS_PROPERTY, 0);
+        if (archiveShards > 0) {
+            result.setArchiveShards(archiveShards);
+        }
+        final int batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, 0);
+        if (batchSize > 1) {
+            final long batchDelay = Long.getLong(BATCH_DELAY_PROPERTY,
+                                                 DEFAULT_BATCH_DELAY_MILLIS);
+            result.setBatching(EventBatching.of(batchSize, batchDelay, MILLISECONDS));
+        }
+        final int stripes = Integer.getInteger(STRIPES_PROPERTY, 0);
+        if (stripes > 0) {
+            result.setDispatcher(StripedEventDispatcher.newInstance(stripes));
+        }
+        final int commandThreads = Integer.getInteger(COMMAND_THREADS_PROPERTY, 0);
+        if (commandThreads > 0) {
+            result.setMailboxes(CommandMailboxes.newInstance(commandThreads));
+        }
+        final long cacheSize = Long.getLong(CACHE_SIZE_PROPERTY, 0);
+        if (cacheSize > 0) {
+            result.setAggregateCacheSize(cacheSize);
+        }
+        final int snapshotTrigger = Integer.getInteger(SNAPSHOT_TRIGGER_PROPERTY, 0);
+        if (snapshotTrigger > 0) {
+            result.setSnapshotTrigger(snapshotTrigger);
+        }
+        final String enrichmentSource = System.getProperty(ENRICHMENT_SOURCE_PROPERTY);
+        if (enrichmentSource != null) {
+            result.setEnrichmentSource(EnrichmentSource.valueOf(enrichmentSource));
+        }
+        result.setLazyEnrichment(Boolean.getBoolean(LAZY_ENRICHMENT_PROPERTY));
+        final String checkpointFile = System.getProperty(CHECKPOINT_FILE_PROPERTY);
+        if (checkpointFile != null) {
+            result.setCheckpointFile(Paths.get(checkpointFile));
+            final long checkpointInterval = Long.getLong(CHECKPOINT_INTERVAL_PROPERTY,
+                                                         DEFAULT_CHECKPOINT_INTERVAL_MILLIS);
+            result.setCheckpointInterval(checkpointInterval, MILLISECONDS);
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the number of the {@code MyListView} shards.
+     */
+    public int getMyListShards() {
+        return myListShards;
+    }
+
+    /**
+     * Obtains the number of the {@code ArchivedTasksView} shards.
+     */
+    public int getArchiveShards() {
+        return archiveShards;
+    }
+
+    /**
+     * Obtains the settings of the aggregate repositories.
+     */
+    public AggregateOptions getAggregateOptions() {
+        return aggregateOptions;
+    }
+
+    /**
+     * Obtains the settings of the task list projection repositories.
+     */
+    public ProjectionOptions getProjectionOptions() {
+        return projectionOptions;
+    }
+
+    /**
+     * Obtains the source of the states to enrich the events with.
+     */
+    public EnrichmentSource getEnrichmentSource() {
+        return enrichmentSource;
+    }
+
+    /**
+     * Checks if the events are enriched on demand.
+     */
+    public boolean isLazyEnrichment() {
+        return lazyEnrichment;
+    }
+
+    /**
+     * Obtains the file to save the projection checkpoints to.
+     *
+     * @return the checkpoint file or {@code null} if the checkpoints are not written
+     */
+    @Nullable
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * Obtains the interval between the projection checkpoints in milliseconds.
+     */
+    public long getCheckpointIntervalMillis() {
+        return checkpointIntervalMillis;
+    }
+
+    /**
+     * Creates a new builder for {@code BoundedContextOptions}.
+     *
+     * @return new builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for {@code BoundedContextOptions} instances.
+     */
+    public static class Builder {
+
+        private final AggregateOptions.Builder aggregateOptions = AggregateOptions.newBuilder();
+        private final ProjectionOptions.Builder projectionOptions = ProjectionOptions.newBuilder();
+        private int myListShards = MyListViewRepository.DEFAULT_SHARD_COUNT;
+
+        /** The number of the archive shards or {@code 0} if it is not set. */
+        private int archiveShards;
+
+        private EventBatching batching = EventBatching.disabled();
+
+        @Nullable
+        private StripedEventDispatcher dispatcher;
+
+        private EnrichmentSource enrichmentSource = EnrichmentSource.AGGREGATES;
+        private boolean lazyEnrichment;
+
+        @Nullable
+        private Path checkpointFile;
+
+        private long checkpointIntervalMillis = DEFAULT_CHECKPOINT_INTERVAL_MILLIS;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of the shards the tasks of the {@code MyListView} are
+         * partitioned between.
+         *
+         * <p>If not set, a single shard is used.
+         */
+        public Builder setMyListShards(int myListShards) {
+            checkArgument(myListShards > 0, "The number of MyListView shards must be positive.");
+            this.myListShards = myListShards;
+            return this;
+        }
+
+        /**
+         * Sets the number of the shards the tasks of the {@code ArchivedTasksView} are
+         * partitioned between.
+         *
+         * <p>The archive keeps its own queue of the completed tasks, so the number may differ
+         * from the number of the {@code MyListView} shards.
+         *
+         * <p>If not set, the archive has as many shards as the {@code MyListView}.
+         */
+        public Builder setArchiveShards(int archiveShards) {
+            checkArgument(archiveShards > 0,
+                          "The number of ArchivedTasksView shards must be positive.");
+            this.archiveShards = archiveShards;
+            return this;
+        }
+
+        /**
+         * Sets the number of the events between the snapshots of an aggregate state.
+         *
+         * @see AggregateOptions.Builder#setSnapshotTrigger(int)
+         */
+        public Builder setSnapshotTrigger(int snapshotTrigger) {
+            aggregateOptions.setSnapshotTrigger(snapshotTrigger);
+            return this;
+        }
+
+        /**
+         * Sets the mailboxes to execute the commands of the tasks and the labels in.
+         *
+         * @see AggregateOptions.Builder#setMailboxes(CommandMailboxes)
+         */
+        public Builder setMailboxes(CommandMailboxes mailboxes) {
+            aggregateOptions.setMailboxes(mailboxes);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the cached aggregates of each type.
+         *
+         * <p>Requires the {@linkplain #setMailboxes(CommandMailboxes) mailboxes}.
+         *
+         * @see AggregateOptions.Builder#setCacheSize(long)
+         */
+        public Builder setAggregateCacheSize(long cacheSize) {
+            aggregateOptions.setCacheSize(cacheSize);
+            return this;
+        }
+
+        /**
+         * Sets the batching settings of the task list projections.
+         *
+         * @see ProjectionOptions.Builder#setBatching(EventBatching)
+         */
+        public Builder setBatching(EventBatching batching) {
+            this.batching = checkNotNull(batching);
+            projectionOptions.setBatching(batching);
+            return this;
+        }
+
+        /**
+         * Sets the dispatcher to apply the events to the task list projections asynchronously,
+         * so the command handling is not blocked by the projection updates.
+         *
+         * @see ProjectionOptions.Builder#setDispatcher(StripedEventDispatcher)
+         */
+        public Builder setDispatcher(StripedEventDispatcher dispatcher) {
+            this.dispatcher = checkNotNull(dispatcher);
+            projectionOptions.setDispatcher(dispatcher);
+            return this;
+        }
+
+        /**
+         * Sets the source of the states to enrich the events with.
+         *
+         * <p>If not set, the aggregate states are used.
+         */
+        public Builder setEnrichmentSource(EnrichmentSource enrichmentSource) {
+            this.enrichmentSource = checkNotNull(enrichmentSource);
+            return this;
+        }
+
+        /**
+         * Sets whether the events are enriched on demand.
+         *
+         * <p>Cannot be combined with the batching or the dispatcher, as the lazy enrichments
+         * are available only in the thread, which posted the event.
+         *
+         * @see TodoListEnrichments.Builder#setLazy(boolean)
+         */
+        public Builder setLazyEnrichment(boolean lazyEnrichment) {
+            this.lazyEnrichment = lazyEnrichment;
+            return this;
+        }
+
+        /**
+         * Sets the file to save the {@linkplain ProjectionCheckpoints projection checkpoints} to.
+         *
+         * <p>The projections are restored from the file on the server start. The checkpoints
+         * are meant for a durable storage of the aggregates and the events.
+         *
+         * <p>If not set, the checkpoints are not written.
+         */
+        public Builder setCheckpointFile(Path checkpointFile) {
+            this.checkpointFile = checkNotNull(checkpointFile).toAbsolutePath();
+            return this;
+        }
+
+        /**
+         * Sets the interval between the projection checkpoints.
+         *
+         * <p>If not set, the checkpoint is written once a minute.
+         */
+        public Builder setCheckpointInterval(long interval, TimeUnit unit) {
+            checkArgument(interval > 0, "The checkpoint interval must be positive.");
+            this.checkpointIntervalMillis = checkNotNull(unit).toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Creates the settings.
+         *
+         * @throws IllegalStateException if the specified settings cannot be combined
+         */
+        public BoundedContextOptions build() {
+            checkState(!lazyEnrichment || dispatcher == null,
+                       "The lazy enrichment cannot be used along with the dispatcher.");
+            checkState(!lazyEnrichment || !batching.isEnabled(),
+                       "The lazy enrichment cannot be used along with the batching.");
+            return new BoundedContextOptions(this, aggregateOptions.build());
+        }
+    }
+}
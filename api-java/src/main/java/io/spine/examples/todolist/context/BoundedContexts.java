@@ -22,18 +22,30 @@ package io.spine.examples.todolist.context;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.todolist.repository.AggregateOptions;
+import io.spine.examples.todolist.repository.ArchivedTasksViewRepository;
+import io.spine.examples.todolist.repository.BatchingProjectionRepository;
 import io.spine.examples.todolist.repository.DraftTasksViewRepository;
 import io.spine.examples.todolist.repository.LabelAggregateRepository;
+import io.spine.examples.todolist.repository.LabelLookupRepository;
 import io.spine.examples.todolist.repository.LabelledTasksViewRepository;
 import io.spine.examples.todolist.repository.MyListViewRepository;
+import io.spine.examples.todolist.repository.ProjectionOptions;
 import io.spine.examples.todolist.repository.TaskCreationWizardRepository;
 import io.spine.examples.todolist.repository.TaskLabelsRepository;
+import io.spine.examples.todolist.repository.TaskLookupRepository;
 import io.spine.examples.todolist.repository.TaskRepository;
+import io.spine.examples.todolist.repository.TaskCountersViewRepository;
+import io.spine.examples.todolist.repository.TaskDueDateViewRepository;
+import io.spine.examples.todolist.repository.TaskSearchViewRepository;
+import io.spine.examples.todolist.storage.OffHeapStorageFactory;
+import io.spine.examples.todolist.storage.SharedItemStorageFactory;
 import io.spine.server.BoundedContext;
 import io.spine.server.event.EventBus;
-import io.spine.server.event.EventEnricher;
 import io.spine.server.storage.StorageFactory;
-import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.util.Exceptions.newIllegalStateException;
@@ -50,7 +62,7 @@ public final class BoundedContexts {
     private static final String NAME = "TodoListBoundedContext";
 
     private static final StorageFactory IN_MEMORY_FACTORY =
-            InMemoryStorageFactory.newInstance(BoundedContext.newName(NAME), false);
+            SharedItemStorageFactory.newInstance(BoundedContext.newName(NAME));
 
     private BoundedContexts() {
         // Disable instantiation from outside.
@@ -58,7 +70,7 @@ public final class BoundedContexts {
 
     /**
      * Creates the {@link BoundedContext} instance
-     * using {@code InMemoryStorageFactory} for a single tenant.
+     * using {@link SharedItemStorageFactory} for a single tenant.
      *
      * @return the {@link BoundedContext} instance
      */
@@ -67,6 +79,30 @@ public final class BoundedContexts {
         return result;
     }
 
+    /**
+     * Creates the {@link BoundedContext} instance with the specified settings
+     * using {@link SharedItemStorageFactory} for a single tenant.
+     *
+     * @param options the settings of the bounded context
+     * @return the {@link BoundedContext} instance
+     */
+    public static BoundedContext create(BoundedContextOptions options) {
+        return create(IN_MEMORY_FACTORY, options);
+    }
+
+    /**
+     * Creates the {@link BoundedContext} instance with the specified settings
+     * using {@link OffHeapStorageFactory} for a single tenant.
+     *
+     * @param options the settings of the bounded context
+     * @return the {@link BoundedContext} instance
+     */
+    public static BoundedContext createOffHeap(BoundedContextOptions options) {
+        final StorageFactory storageFactory =
+                OffHeapStorageFactory.newInstance(BoundedContext.newName(NAME));
+        return create(storageFactory, options);
+    }
+
     /**
      * Creates a new instance of the {@link BoundedContext}
      * using the specified {@link StorageFactory}.
@@ -75,22 +111,70 @@ public final class BoundedContexts {
      * @return the bounded context created with the storage factory
      */
     public static BoundedContext create(StorageFactory storageFactory) {
-        checkNotNull(storageFactory);
-
-        final LabelAggregateRepository labelAggregateRepo = new LabelAggregateRepository();
-        final TaskRepository taskRepo = new TaskRepository();
-        final TaskLabelsRepository taskLabelsRepo = new TaskLabelsRepository();
+        return create(storageFactory, BoundedContextOptions.defaults());
+    }
 
-        final MyListViewRepository myListViewRepo = new MyListViewRepository();
-        final LabelledTasksViewRepository tasksViewRepo = new LabelledTasksViewRepository();
-        final DraftTasksViewRepository draftTasksViewRepo = new DraftTasksViewRepository();
+    /**
+     * Creates a new instance of the {@link BoundedContext}
+     * using the specified {@link StorageFactory} and settings.
+     *
+     * @param storageFactory the storage factory to use
+     * @param options        the settings of the bounded context
+     * @return the bounded context created with the storage factory
+     */
+    @SuppressWarnings("OverlyCoupledMethod") // Creates all the repositories of the context.
+    public static BoundedContext create(StorageFactory storageFactory,
+                                        BoundedContextOptions options) {
+        checkNotNull(storageFactory);
+        checkNotNull(options);
+
+        final AggregateOptions aggregateOptions = options.getAggregateOptions();
+        final LabelAggregateRepository labelAggregateRepo =
+                new LabelAggregateRepository(aggregateOptions);
+        final TaskRepository taskRepo = new TaskRepository(aggregateOptions);
+        final TaskLabelsRepository taskLabelsRepo = new TaskLabelsRepository(aggregateOptions);
+
+        final int myListShards = options.getMyListShards();
+        final ProjectionOptions projectionOptions = options.getProjectionOptions();
+        final MyListViewRepository myListViewRepo =
+                new MyListViewRepository(myListShards, projectionOptions);
+        final LabelledTasksViewRepository tasksViewRepo =
+                new LabelledTasksViewRepository(projectionOptions);
+        final DraftTasksViewRepository draftTasksViewRepo =
+                new DraftTasksViewRepository(projectionOptions);
+        final TaskDueDateViewRepository dueDateViewRepo =
+                new TaskDueDateViewRepository(projectionOptions);
+        final TaskSearchViewRepository searchViewRepo =
+                new TaskSearchViewRepository(projectionOptions);
+        final TaskCountersViewRepository countersViewRepo =
+                new TaskCountersViewRepository(projectionOptions);
+        final ArchivedTasksViewRepository archiveViewRepo =
+                new ArchivedTasksViewRepository(options.getArchiveShards(), projectionOptions);
 
         final TaskCreationWizardRepository taskCreationRepo = new TaskCreationWizardRepository();
 
-        final EventBus.Builder eventBus = createEventBus(storageFactory,
-                                                         labelAggregateRepo,
-                                                         taskRepo,
-                                                         taskLabelsRepo);
+        final TodoListEnrichments.Builder enrichments =
+                TodoListEnrichments.newBuilder()
+                                   .setLabelRepository(labelAggregateRepo)
+                                   .setTaskRepository(taskRepo)
+                                   .setTaskLabelsRepository(taskLabelsRepo)
+                                   .setLazy(options.isLazyEnrichment());
+        final TaskLookupRepository taskLookupRepo = new TaskLookupRepository();
+        final LabelLookupRepository labelLookupRepo = new LabelLookupRepository();
+        final boolean usesLookups = options.getEnrichmentSource() == EnrichmentSource.LOOKUPS;
+        if (usesLookups) {
+            enrichments.setTaskLookupRepository(taskLookupRepo)
+                       .setLabelLookupRepository(labelLookupRepo);
+        }
+        final TodoListEnrichments todoListEnrichments = enrichments.build();
+        final List<BatchingProjectionRepository<?, ?, ?>> projectionRepos =
+                ImmutableList.of(myListViewRepo, tasksViewRepo, draftTasksViewRepo,
+                                 dueDateViewRepo, searchViewRepo, countersViewRepo,
+                                 archiveViewRepo);
+        for (BatchingProjectionRepository<?, ?, ?> repository : projectionRepos) {
+            repository.setStoredEventEnricher(todoListEnrichments::enrichStored);
+        }
+        final EventBus.Builder eventBus = createEventBus(storageFactory, todoListEnrichments);
         final BoundedContext boundedContext = createBoundedContext(eventBus);
 
         boundedContext.register(taskRepo);
@@ -99,24 +183,24 @@ public final class BoundedContexts {
         boundedContext.register(myListViewRepo);
         boundedContext.register(tasksViewRepo);
         boundedContext.register(draftTasksViewRepo);
+        boundedContext.register(dueDateViewRepo);
+        boundedContext.register(searchViewRepo);
+        boundedContext.register(countersViewRepo);
+        boundedContext.register(archiveViewRepo);
         boundedContext.register(taskCreationRepo);
+        if (usesLookups) {
+            boundedContext.register(taskLookupRepo);
+            boundedContext.register(labelLookupRepo);
+        }
 
         return boundedContext;
     }
 
     private static EventBus.Builder createEventBus(StorageFactory storageFactory,
-                                                   LabelAggregateRepository labelRepo,
-                                                   TaskRepository taskRepo,
-                                                   TaskLabelsRepository labelsRepo) {
-        final EventEnricher enricher = TodoListEnrichments.newBuilder()
-                                                          .setLabelRepository(labelRepo)
-                                                          .setTaskRepository(taskRepo)
-                                                          .setTaskLabelsRepository(labelsRepo)
-                                                          .build()
-                                                          .createEnricher();
+                                                   TodoListEnrichments enrichments) {
         final EventBus.Builder eventBus = EventBus.newBuilder()
-                                                  .setEnricher(enricher)
                                                   .setStorageFactory(storageFactory);
+        enrichments.configure(eventBus);
         return eventBus;
     }
 
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import io.spine.core.Ack;
+import io.spine.core.EventEnvelope;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskLabel;
+import io.spine.examples.todolist.TaskLabels;
+import io.spine.examples.todolist.c.aggregate.LabelAggregate;
+import io.spine.examples.todolist.c.aggregate.TaskLabelsPart;
+import io.spine.examples.todolist.c.aggregate.TaskPart;
+import io.spine.examples.todolist.q.projection.LabelLookup;
+import io.spine.examples.todolist.q.projection.TaskLookup;
+import io.spine.examples.todolist.repository.LabelAggregateRepository;
+import io.spine.examples.todolist.repository.LabelLookupRepository;
+import io.spine.examples.todolist.repository.TaskLabelsRepository;
+import io.spine.examples.todolist.repository.TaskLookupRepository;
+import io.spine.examples.todolist.repository.TaskRepository;
+import io.spine.server.bus.BusFilter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A cache of the aggregate states used to enrich the events.
+ *
+ * <p>Holds a bounded number of the {@link Task}, {@link TaskLabels} and {@link TaskLabel}
+ * states, so the enrichment of an event does not load the aggregate from the storage.
+ * The states are loaded either from the aggregates or from the lookup projections,
+ * which repeat the aggregate states.
+ *
+ * <p>The repositories write the states through to the cache once they are stored.
+ * An aggregate is stored before its events are posted, and a lookup projection is updated
+ * before the events are enriched. So an event is enriched with the cached state, which
+ * includes the event, without loading it again. The states are loaded only on a miss,
+ * e.g. after an eviction.
+ *
+ * <p>Several enrichments of an event may refer to the same aggregate. So the cache is also
+ * a {@link BusFilter} of the {@code EventBus}, which opens the enrichment scope of each
+ * event for the current thread. Within the scope,
+ * each referenced state is obtained once and shared by all the enrichment functions.
+ * The scope lasts until the next event passes the bus in the same thread.
+ *
+ * <p>The {@linkplain #getHitRatio() hit ratio} and the {@linkplain #getEvictionCount()
+ * number of evictions} may be read at any time.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+public final class EnrichmentCache implements BusFilter<EventEnvelope> {
+
+    /** The default maximum number of the cached states of each type. */
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final StateCache<TaskId, Task> tasks;
+    private final StateCache<TaskId, TaskLabels> taskLabels;
+    private final StateCache<LabelId, TaskLabel> labels;
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    private EnrichmentCache(Function<TaskId, Optional<Task>> taskLoader,
+                            Function<TaskId, Optional<TaskLabels>> taskLabelsLoader,
+                            Function<LabelId, Optional<TaskLabel>> labelLoader,
+                            long maximumSize) {
+        this.tasks = new StateCache<>(maximumSize, taskLoader);
+        this.taskLabels = new StateCache<>(maximumSize, taskLabelsLoader);
+        this.labels = new StateCache<>(maximumSize, labelLoader);
+    }
+
+    /**
+     * Creates the cache, which loads the states from the aggregate repositories.
+     */
+    static EnrichmentCache ofAggregates(TaskRepository taskRepo,
+                                        TaskLabelsRepository taskLabelsRepo,
+                                        LabelAggregateRepository labelRepo,
+                                        long maximumSize) {
+        final EnrichmentCache result =
+                new EnrichmentCache(id -> taskRepo.find(id)
+                                                  .transform(TaskPart::getState),
+                                    id -> taskLabelsRepo.find(id)
+                                                        .transform(TaskLabelsPart::getState),
+                                    id -> labelRepo.find(id)
+                                                   .transform(LabelAggregate::getState),
+                                    maximumSize);
+        taskRepo.setStateListener(result.tasks::put);
+        taskLabelsRepo.setStateListener(result.taskLabels::put);
+        labelRepo.setStateListener(result.labels::put);
+        return result;
+    }
+
+    /**
+     * Creates the cache, which obtains the states from the lookup projections.
+     *
+     * <p>The aggregates are not loaded, so the write side is not involved into the enrichment.
+     */
+    static EnrichmentCache ofLookups(TaskLookupRepository taskLookupRepo,
+                                     LabelLookupRepository labelLookupRepo,
+                                     long maximumSize) {
+        final EnrichmentCache result =
+                new EnrichmentCache(id -> taskOf(taskLookupRepo.findState(id)),
+                                    id -> taskLabelsOf(taskLookupRepo.findState(id)),
+                                    id -> labelOf(labelLookupRepo.findState(id)),
+                                    maximumSize);
+        taskLookupRepo.setStateListener(result::putTaskLookup);
+        labelLookupRepo.setStateListener(result::putLabelLookup);
+        return result;
+    }
+
+    private void putTaskLookup(TaskId id, TaskLookup lookup) {
+        final Optional<Task> task = taskOf(Optional.of(lookup));
+        if (task.isPresent()) {
+            tasks.put(id, task.get());
+        }
+        final Optional<TaskLabels> labelIds = taskLabelsOf(Optional.of(lookup));
+        if (labelIds.isPresent()) {
+            taskLabels.put(id, labelIds.get());
+        }
+    }
+
+    private void putLabelLookup(LabelId id, LabelLookup lookup) {
+        final Optional<TaskLabel> label = labelOf(Optional.of(lookup));
+        if (label.isPresent()) {
+            labels.put(id, label.get());
+        }
+    }
+
+    private static Optional<Task> taskOf(Optional<TaskLookup> lookup) {
+        if (!lookup.isPresent() || !lookup.get()
+                                          .hasTask()) {
+            return Optional.absent();
+        }
+        return Optional.of(lookup.get()
+                                 .getTask());
+    }
+
+    private static Optional<TaskLabels> taskLabelsOf(Optional<TaskLookup> lookup) {
+        if (!lookup.isPresent() || !lookup.get()
+                                          .hasLabelIdsList()) {
+            return Optional.absent();
+        }
+        final TaskLabels taskLabels = TaskLabels.newBuilder()
+                                                .setTaskId(lookup.get()
+                                                                 .getId())
+                                                .setLabelIdsList(lookup.get()
+                                                                       .getLabelIdsList())
+                                                .build();
+        return Optional.of(taskLabels);
+    }
+
+    private static Optional<TaskLabel> labelOf(Optional<LabelLookup> lookup) {
+        if (!lookup.isPresent() || !lookup.get()
+                                          .hasLabel()) {
+            return Optional.absent();
+        }
+        return Optional.of(lookup.get()
+                                 .getLabel());
+    }
+
+    Optional<Task> task(TaskId id) {
+        final Scope scope = currentScope.get();
+        return scope == null
+               ? tasks.get(id)
+               : scope.tasks.computeIfAbsent(id, tasks::get);
+    }
+
+    Optional<TaskLabels> taskLabels(TaskId id) {
+        final Scope scope = currentScope.get();
+        return scope == null
+               ? taskLabels.get(id)
+               : scope.taskLabels.computeIfAbsent(id, taskLabels::get);
+    }
+
+    Optional<TaskLabel> label(LabelId id) {
+        final Scope scope = currentScope.get();
+        return scope == null
+               ? labels.get(id)
+               : scope.labels.computeIfAbsent(id, labels::get);
+    }
+
+    /**
+     * Opens the enrichment scope of the event.
+     *
+     * @param envelope the event passing the bus
+     * @return {@code Optional.absent()} to pass the event further
+     */
+    @Override
+    public Optional<Ack> accept(EventEnvelope envelope) {
+        openScope();
+        return Optional.absent();
+    }
+
+    /**
+     * Opens the enrichment scope of an event for the current thread.
+     *
+     * <p>The states obtained within the previous scope are not reused.
+     */
+    void openScope() {
+        currentScope.set(new Scope());
+    }
+
+    @Override
+    public void close() {
+        currentScope.remove();
+    }
+
+    /**
+     * Obtains the ratio of the enrichments served from the cache.
+     *
+     * @return the ratio from {@code 0.0} to {@code 1.0};
+     *         {@code 1.0} if there were no enrichments yet
+     */
+    public double getHitRatio() {
+        return stats().hitRate();
+    }
+
+    /**
+     * Obtains the number of the states evicted from the cache because of its size limit.
+     */
+    public long getEvictionCount() {
+        return stats().evictionCount();
+    }
+
+    private CacheStats stats() {
+        return tasks.stats()
+                    .plus(taskLabels.stats())
+                    .plus(labels.stats());
+    }
+
+    /**
+     * The states obtained for the enrichment of a single event.
+     *
+     * <p>The absent states are kept as well, so the absent aggregates are not looked up again.
+     */
+    private static final class Scope {
+
+        private final Map<TaskId, Optional<Task>> tasks = new HashMap<>();
+        private final Map<TaskId, Optional<TaskLabels>> taskLabels = new HashMap<>();
+        private final Map<LabelId, Optional<TaskLabel>> labels = new HashMap<>();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableTable;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Internal;
+import com.google.protobuf.Message;
+import io.spine.core.Ack;
+import io.spine.core.EventEnvelope;
+import io.spine.examples.todolist.LazyEnrichment;
+import io.spine.option.OptionsProto;
+import io.spine.server.bus.BusFilter;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.spine.examples.todolist.EnrichmentHelper.enrichLazily;
+
+/**
+ * Enriches the events on demand.
+ *
+ * <p>As a {@link BusFilter} of the {@code EventBus}, makes the enrichments of each passing
+ * event {@linkplain io.spine.examples.todolist.EnrichmentHelper#getEnrichment(Class,
+ * io.spine.core.EventContext) available} to the subscribers and the routers.
+ * An enrichment is computed on the first request, so the events nobody enriches
+ * do not cause the aggregate reads.
+ *
+ * <p>Same as the {@link io.spine.server.event.EventEnricher EventEnricher}, computes
+ * only the enrichments declared {@code (enrichment_for)} the event. Each field of
+ * the enrichment is obtained by the function registered for the type of the event field
+ * named by the {@code (by)} option and the type of the enrichment field.
+ *
+ * <p>The enrichments are available only while the event is delivered in the thread,
+ * which posted it. So the lazy enricher is not used along with the asynchronous delivery.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` and `Function` from Google Guava. */)
+final class LazyEventEnricher implements BusFilter<EventEnvelope>, LazyEnrichment.Factory {
+
+    /** The enrichment functions by the classes of the source and the enrichment fields. */
+    private final ImmutableTable<Class<?>, Class<?>, Function<?, ?>> functions;
+
+    private final Map<Class<? extends Message>, EnrichmentType> types =
+            new ConcurrentHashMap<>();
+
+    LazyEventEnricher(ImmutableTable<Class<?>, Class<?>, Function<?, ?>> functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * Makes the enrichments of the event available on demand.
+     *
+     * @param envelope the event passing the bus
+     * @return {@code Optional.absent()} to pass the event further
+     */
+    @Override
+    public Optional<Ack> accept(EventEnvelope envelope) {
+        enrichLazily(envelope, this);
+        return Optional.absent();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+
+    @Override
+    @Nullable
+    public <T extends Message> T create(Class<T> enrichmentClass, Message eventMessage) {
+        final EnrichmentType type = types.computeIfAbsent(enrichmentClass, EnrichmentType::of);
+        if (!type.isFor(eventMessage)) {
+            return null;
+        }
+        final Descriptor eventType = eventMessage.getDescriptorForType();
+        final Message.Builder enrichment = type.newBuilder();
+        for (FieldDescriptor field : type.fields) {
+            final String sourceName = field.getOptions()
+                                           .getExtension(OptionsProto.by);
+            final FieldDescriptor source = eventType.findFieldByName(sourceName);
+            if (source == null) {
+                return null;
+            }
+            final Object sourceValue = eventMessage.getField(source);
+            final Class<?> targetClass = enrichment.newBuilderForField(field)
+                                                   .getDefaultInstanceForType()
+                                                   .getClass();
+            final Function<Object, ?> function = function(sourceValue.getClass(), targetClass);
+            if (function == null) {
+                return null;
+            }
+            enrichment.setField(field, function.apply(sourceValue));
+        }
+        return enrichmentClass.cast(enrichment.build());
+    }
+
+    @SuppressWarnings("unchecked") // The functions are registered by the source class.
+    @Nullable
+    private Function<Object, ?> function(Class<?> sourceClass, Class<?> targetClass) {
+        return (Function<Object, ?>) functions.get(sourceClass, targetClass);
+    }
+
+    /**
+     * The declaration of an enrichment type.
+     */
+    private static final class EnrichmentType {
+
+        private static final Splitter EVENT_TYPES = Splitter.on(',')
+                                                            .trimResults()
+                                                            .omitEmptyStrings();
+
+        private final Message defaultInstance;
+        private final ImmutableSet<String> eventTypes;
+        private final ImmutableList<FieldDescriptor> fields;
+
+        private EnrichmentType(Message defaultInstance) {
+            this.defaultInstance = defaultInstance;
+            final Descriptor descriptor = defaultInstance.getDescriptorForType();
+            final String enrichmentFor = descriptor.getOptions()
+                                                   .getExtension(OptionsProto.enrichmentFor);
+            this.eventTypes = ImmutableSet.copyOf(EVENT_TYPES.split(enrichmentFor));
+            this.fields = ImmutableList.copyOf(descriptor.getFields());
+        }
+
+        private static EnrichmentType of(Class<? extends Message> enrichmentClass) {
+            return new EnrichmentType(Internal.getDefaultInstance(enrichmentClass));
+        }
+
+        private boolean isFor(Message eventMessage) {
+            final String eventType = eventMessage.getDescriptorForType()
+                                                 .getFullName();
+            return eventTypes.contains(eventType);
+        }
+
+        private Message.Builder newBuilder() {
+            return defaultInstance.newBuilderForType();
+        }
+    }
+}
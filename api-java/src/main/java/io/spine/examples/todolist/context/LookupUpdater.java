@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import io.spine.core.Ack;
+import io.spine.core.EventEnvelope;
+import io.spine.examples.todolist.repository.LabelLookupRepository;
+import io.spine.examples.todolist.repository.TaskLookupRepository;
+import io.spine.server.bus.BusFilter;
+
+/**
+ * Applies the events passing the {@code EventBus} to the lookup projections.
+ *
+ * <p>Should precede the filters, which enrich the events, so the events are enriched
+ * with the lookup states including the events.
+ *
+ * @author Dmytro Grankin
+ * @see io.spine.examples.todolist.repository.LookupRepository
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class LookupUpdater implements BusFilter<EventEnvelope> {
+
+    private final TaskLookupRepository taskLookupRepo;
+    private final LabelLookupRepository labelLookupRepo;
+
+    LookupUpdater(TaskLookupRepository taskLookupRepo, LabelLookupRepository labelLookupRepo) {
+        this.taskLookupRepo = taskLookupRepo;
+        this.labelLookupRepo = labelLookupRepo;
+    }
+
+    /**
+     * Applies the event to the lookup projections.
+     *
+     * @param envelope the event passing the bus
+     * @return {@code Optional.absent()} to pass the event further
+     */
+    @Override
+    public Optional<Ack> accept(EventEnvelope envelope) {
+        taskLookupRepo.update(envelope);
+        labelLookupRepo.update(envelope);
+        return Optional.absent();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release.
+    }
+}
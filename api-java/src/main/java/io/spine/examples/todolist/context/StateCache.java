@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.protobuf.Message;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of the states of the aggregates of a single type.
+ *
+ * <p>The states are {@linkplain #put(Message, Message) written through} by the repositories
+ * on storing and loaded on a miss. The absent states are not cached. The states loaded
+ * concurrently with a write are not cached either, since they may be already outdated.
+ *
+ * @param <I> the type of the aggregate IDs
+ * @param <S> the type of the aggregate states
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class StateCache<I extends Message, S extends Message> {
+
+    private final Cache<I, S> cache;
+    private final Function<I, Optional<S>> loader;
+    private final AtomicLong writes = new AtomicLong();
+
+    StateCache(long maximumSize, Function<I, Optional<S>> loader) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .recordStats()
+                                 .build();
+        this.loader = loader;
+    }
+
+    /**
+     * Obtains the state of the aggregate with the specified ID.
+     *
+     * <p>Loads the state if it is not cached.
+     *
+     * @param id the aggregate ID
+     * @return the aggregate state or {@code Optional.absent()} if there is no such aggregate
+     */
+    Optional<S> get(I id) {
+        final S cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        final long writesBefore = writes.get();
+        final Optional<S> loaded = loader.apply(id);
+        if (loaded.isPresent() && writes.get() == writesBefore) {
+            cache.put(id, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches the just stored state of the aggregate with the specified ID.
+     *
+     * @param id    the aggregate ID
+     * @param state the stored state
+     */
+    void put(I id, S state) {
+        writes.incrementAndGet();
+        cache.put(id, state);
+    }
+
+    CacheStats stats() {
+        return cache.stats();
+    }
+}
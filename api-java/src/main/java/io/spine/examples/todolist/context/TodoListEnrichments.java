@@ -22,6 +22,8 @@ package io.spine.examples.todolist.context;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableTable;
+import io.spine.core.EventEnvelope;
 import io.spine.examples.todolist.LabelDetails;
 import io.spine.examples.todolist.LabelId;
 import io.spine.examples.todolist.LabelIdsList;
@@ -29,36 +31,119 @@ import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskDetails;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.TaskLabel;
-import io.spine.examples.todolist.c.aggregate.LabelAggregate;
-import io.spine.examples.todolist.c.aggregate.TaskLabelsPart;
-import io.spine.examples.todolist.c.aggregate.TaskPart;
+import io.spine.examples.todolist.TaskLabels;
 import io.spine.examples.todolist.repository.LabelAggregateRepository;
+import io.spine.examples.todolist.repository.LabelLookupRepository;
 import io.spine.examples.todolist.repository.TaskLabelsRepository;
+import io.spine.examples.todolist.repository.TaskLookupRepository;
 import io.spine.examples.todolist.repository.TaskRepository;
 import io.spine.server.event.EventBus;
 import io.spine.server.event.EventEnricher;
 
+import javax.annotation.Nullable;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Serves as class which adds enrichment fields to the {@link EventBus}.
  *
+ * <p>By default, each event is enriched eagerly by the {@linkplain #createEnricher() enricher}
+ * of the bus. If the enrichments are {@linkplain Builder#setLazy(boolean) lazy}, the events
+ * are enriched on demand by the {@linkplain #createLazyEnricher() lazy enricher} instead.
+ *
+ * <p>The events read from the {@code EventStore} are not enriched. They are
+ * {@linkplain #enrichStored(EventEnvelope) enriched} by the same functions before
+ * they are applied to the projections.
+ *
+ * <p>The aggregate states are obtained through the {@link EnrichmentCache},
+ * which is {@linkplain #configure(EventBus.Builder) registered} as a filter of
+ * the {@code EventBus}.
+ * If the lookup repositories are set, the states are obtained from the lookup projections
+ * instead of the aggregates.
+ *
  * @author Illia Shepilov
  */
 @SuppressWarnings("Guava") // Because com.google.common.base.Function is used
                            // until the migration of Spine to Java 8 is performed.
 public class TodoListEnrichments {
 
-    private final TaskRepository taskRepo;
-    private final TaskLabelsRepository taskLabelsRepo;
-    private final LabelAggregateRepository labelRepository;
+    private final EnrichmentCache cache;
+
+    @Nullable
+    private final LookupUpdater lookupUpdater;
+
+    private final boolean lazy;
+
+    /** The enricher of the events read from the {@code EventStore}. */
+    private final EventEnricher storedEventEnricher;
 
     private TodoListEnrichments(Builder builder) {
-        this.taskRepo = builder.taskRepo;
-        this.taskLabelsRepo = builder.taskLabelsRepo;
-        this.labelRepository = builder.labelRepository;
+        this.lazy = builder.lazy;
+        if (builder.usesLookups()) {
+            this.cache = EnrichmentCache.ofLookups(builder.taskLookupRepo,
+                                                   builder.labelLookupRepo,
+                                                   builder.cacheSize);
+            this.lookupUpdater = new LookupUpdater(builder.taskLookupRepo,
+                                                   builder.labelLookupRepo);
+        } else {
+            this.cache = EnrichmentCache.ofAggregates(builder.taskRepo,
+                                                      builder.taskLabelsRepo,
+                                                      builder.labelRepository,
+                                                      builder.cacheSize);
+            this.lookupUpdater = null;
+        }
+        this.storedEventEnricher = createEnricher();
     }
 
+    /**
+     * Obtains the cache of the aggregate states used for the enrichment.
+     *
+     * @return the cache to register as a filter of the {@code EventBus}
+     */
+    public EnrichmentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Configures the {@code EventBus} to enrich the posted events.
+     *
+     * @param eventBus the builder of the bus
+     */
+    void configure(EventBus.Builder eventBus) {
+        if (lookupUpdater != null) {
+            eventBus.appendFilter(lookupUpdater);
+        }
+        eventBus.appendFilter(cache);
+        if (lazy) {
+            eventBus.appendFilter(createLazyEnricher());
+        } else {
+            eventBus.setEnricher(createEnricher());
+        }
+    }
+
+    /**
+     * Enriches the event read from the {@code EventStore}.
+     *
+     * <p>The event is enriched with the current states of the aggregates, as the states
+     * at the time of the event are not kept.
+     *
+     * @param event the stored event
+     * @return the enriched event or the same event if it has no enrichments
+     */
+    public EventEnvelope enrichStored(EventEnvelope event) {
+        checkNotNull(event);
+        if (!storedEventEnricher.canBeEnriched(event)) {
+            return event;
+        }
+        cache.openScope();
+        return storedEventEnricher.enrich(event);
+    }
+
+    /**
+     * Creates the enricher, which enriches each event posted to the bus.
+     */
     EventEnricher createEnricher() {
         final EventEnricher enricher =
                 EventEnricher.newBuilder()
@@ -66,21 +151,35 @@ public class TodoListEnrichments {
                              .add(TaskId.class, TaskDetails.class, taskIdToTaskDetails())
                              .add(TaskId.class, LabelIdsList.class, taskIdToLabelList())
                              .add(TaskId.class, Task.class, taskIdToTask())
+                             .add(TaskId.class, TaskLabel.class, taskIdToLastLabel())
                              .build();
         return enricher;
     }
 
+    /**
+     * Creates the filter of the {@code EventBus}, which allows to enrich the events on demand.
+     *
+     * <p>The lazy enricher uses the same functions as the {@linkplain #createEnricher() enricher}.
+     */
+    LazyEventEnricher createLazyEnricher() {
+        final ImmutableTable<Class<?>, Class<?>, Function<?, ?>> functions =
+                ImmutableTable.<Class<?>, Class<?>, Function<?, ?>>builder()
+                        .put(LabelId.class, LabelDetails.class, labelIdToLabelDetails())
+                        .put(TaskId.class, TaskDetails.class, taskIdToTaskDetails())
+                        .put(TaskId.class, LabelIdsList.class, taskIdToLabelList())
+                        .put(TaskId.class, Task.class, taskIdToTask())
+                        .put(TaskId.class, TaskLabel.class, taskIdToLastLabel())
+                        .build();
+        return new LazyEventEnricher(functions);
+    }
+
     private Function<TaskId, Task> taskIdToTask() {
         final Function<TaskId, Task> result = taskId -> {
             if (taskId == null) {
                 return Task.getDefaultInstance();
             }
-            final Optional<TaskPart> aggregate = taskRepo.find(taskId);
-            if (!aggregate.isPresent()) {
-                return Task.getDefaultInstance();
-            }
-            final Task task = aggregate.get().getState();
-            return task;
+            final Optional<Task> task = cache.task(taskId);
+            return task.or(Task.getDefaultInstance());
         };
         return result;
     }
@@ -90,11 +189,11 @@ public class TodoListEnrichments {
             if (taskId == null) {
                 return TaskDetails.getDefaultInstance();
             }
-            final Optional<TaskPart> aggregate = taskRepo.find(taskId);
-            if (!aggregate.isPresent()) {
+            final Optional<Task> task = cache.task(taskId);
+            if (!task.isPresent()) {
                 return TaskDetails.getDefaultInstance();
             }
-            final Task state = aggregate.get().getState();
+            final Task state = task.get();
             final TaskDetails details = TaskDetails.newBuilder()
                                                    .setDescription(state.getDescription())
                                                    .setPriority(state.getPriority())
@@ -110,28 +209,49 @@ public class TodoListEnrichments {
             if (taskId == null) {
                 return LabelIdsList.getDefaultInstance();
             }
-            final Optional<TaskLabelsPart> aggregate = taskLabelsRepo.find(taskId);
-            if (!aggregate.isPresent()) {
+            final Optional<TaskLabels> taskLabels = cache.taskLabels(taskId);
+            if (!taskLabels.isPresent()) {
                 return LabelIdsList.getDefaultInstance();
             }
-            final LabelIdsList state = aggregate.get()
-                                                .getState()
-                                                .getLabelIdsList();
+            final LabelIdsList state = taskLabels.get()
+                                                 .getLabelIdsList();
             return state;
         };
         return result;
     }
 
+    private Function<TaskId, TaskLabel> taskIdToLastLabel() {
+        final Function<TaskId, TaskLabel> result = taskId -> {
+            if (taskId == null) {
+                return TaskLabel.getDefaultInstance();
+            }
+            final Optional<TaskLabels> taskLabels = cache.taskLabels(taskId);
+            if (!taskLabels.isPresent()) {
+                return TaskLabel.getDefaultInstance();
+            }
+            final List<LabelId> labelIds = taskLabels.get()
+                                                     .getLabelIdsList()
+                                                     .getIdsList();
+            if (labelIds.isEmpty()) {
+                return TaskLabel.getDefaultInstance();
+            }
+            final LabelId lastLabelId = labelIds.get(labelIds.size() - 1);
+            final Optional<TaskLabel> label = cache.label(lastLabelId);
+            return label.or(TaskLabel.getDefaultInstance());
+        };
+        return result;
+    }
+
     private Function<LabelId, LabelDetails> labelIdToLabelDetails() {
         final Function<LabelId, LabelDetails> result = labelId -> {
             if (labelId == null) {
                 return LabelDetails.getDefaultInstance();
             }
-            final Optional<LabelAggregate> aggregate = labelRepository.find(labelId);
-            if (!aggregate.isPresent()) {
+            final Optional<TaskLabel> label = cache.label(labelId);
+            if (!label.isPresent()) {
                 return LabelDetails.getDefaultInstance();
             }
-            final TaskLabel state = aggregate.get().getState();
+            final TaskLabel state = label.get();
             final LabelDetails labelDetails = LabelDetails.newBuilder()
                                                           .setColor(state.getColor())
                                                           .setTitle(state.getTitle())
@@ -158,6 +278,10 @@ public class TodoListEnrichments {
         private TaskRepository taskRepo;
         private TaskLabelsRepository taskLabelsRepo;
         private LabelAggregateRepository labelRepository;
+        private TaskLookupRepository taskLookupRepo;
+        private LabelLookupRepository labelLookupRepo;
+        private long cacheSize = EnrichmentCache.DEFAULT_MAXIMUM_SIZE;
+        private boolean lazy;
 
         private Builder() {
         }
@@ -180,6 +304,59 @@ public class TodoListEnrichments {
             return this;
         }
 
+        /**
+         * Sets the repository of the task lookups.
+         *
+         * <p>If both the task and the label lookup repositories are set,
+         * the aggregate repositories are not used.
+         */
+        public Builder setTaskLookupRepository(TaskLookupRepository taskLookupRepository) {
+            checkNotNull(taskLookupRepository);
+            this.taskLookupRepo = taskLookupRepository;
+            return this;
+        }
+
+        /**
+         * Sets the repository of the label lookups.
+         *
+         * <p>If both the task and the label lookup repositories are set,
+         * the aggregate repositories are not used.
+         */
+        public Builder setLabelLookupRepository(LabelLookupRepository labelLookupRepository) {
+            checkNotNull(labelLookupRepository);
+            this.labelLookupRepo = labelLookupRepository;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the cached states of each aggregate type.
+         *
+         * <p>If not set, {@code 10 000} states of each type are cached.
+         */
+        public Builder setCacheSize(long cacheSize) {
+            checkArgument(cacheSize > 0, "The cache size must be positive.");
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the events are enriched on demand.
+         *
+         * <p>The lazy enrichments are available only while the event is delivered in the thread,
+         * which posted it. So the events should not be enriched lazily if they are applied
+         * to the projections asynchronously.
+         *
+         * <p>If not set, each event is enriched when posted.
+         */
+        public Builder setLazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        private boolean usesLookups() {
+            return taskLookupRepo != null && labelLookupRepo != null;
+        }
+
         public TodoListEnrichments build() {
             return new TodoListEnrichments(this);
         }
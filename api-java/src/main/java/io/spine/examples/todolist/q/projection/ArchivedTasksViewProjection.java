@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskLabel;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.c.enrichments.TaskEnrichment;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.TaskArchivalPolicy.Selection;
+import io.spine.server.projection.Projection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.EnrichmentHelper.getEnrichment;
+import static io.spine.examples.todolist.q.projection.ProjectionHelper.removeViewsByTaskId;
+import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItems;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.onCompleted;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.without;
+
+/**
+ * A projection state of the archived tasks.
+ *
+ * <p>Contains the completed tasks moved out of the {@link MyListView} by
+ * the {@link TaskArchivalPolicy}. Until a completed task is archived, its item is kept
+ * in the queue of the completed tasks, so the archived item does not depend on
+ * the {@code MyListView}.
+ *
+ * <p>The completed tasks cannot be changed other than reopened, so the item built
+ * on completion stays actual while the task is in the archive. The only exception is
+ * the color of the task label, which is updated on {@code LabelDetailsUpdated}.
+ *
+ * @author Dmytro Grankin
+ */
+public class ArchivedTasksViewProjection extends Projection<TaskListId,
+                                                            ArchivedTasksView,
+                                                            ArchivedTasksViewVBuilder>
+        implements IndexedProjection {
+
+    /** The name of the indexed {@code archived} tasks. */
+    private static final String ARCHIVED = "archived";
+
+    /** The indexes of the task lists of the projection. */
+    private TaskListIndexes indexes = new TaskListIndexes();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id the ID for the new instance
+     * @throws IllegalArgumentException if the ID is not of one of the supported types
+     */
+    public ArchivedTasksViewProjection(TaskListId id) {
+        super(id);
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event, EventContext context) {
+        final TaskId taskId = event.getTaskId();
+        final TaskEnrichment enrichment = getEnrichment(TaskEnrichment.class, context);
+        final CompletedTask completedTask = CompletedTask.newBuilder()
+                                                         .setId(taskId)
+                                                         .setWhenCompleted(context.getTimestamp())
+                                                         .setItem(itemOf(enrichment, taskId))
+                                                         .build();
+        final Selection selection = onCompleted(getBuilder().getCompletedTasksList(),
+                                                completedTask);
+        final IndexedTaskList archived = archivedTasks();
+        for (CompletedTask task : selection.archived()) {
+            archived.add(task.getItem());
+        }
+        setArchivedTasks(archived);
+        getBuilder().clearCompletedTasks()
+                    .addAllCompletedTasks(selection.remaining());
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        final TaskId taskId = event.getTaskId();
+        final IndexedTaskList archived = archivedTasks();
+        removeViewsByTaskId(archived, taskId);
+        setArchivedTasks(archived);
+
+        final List<CompletedTask> completedTasks =
+                without(getBuilder().getCompletedTasksList(), taskId);
+        getBuilder().clearCompletedTasks()
+                    .addAllCompletedTasks(completedTasks);
+    }
+
+    @Subscribe
+    public void on(LabelDetailsUpdated event) {
+        final IndexedTaskList archived = archivedTasks();
+        updateTaskItems(archived, event);
+        setArchivedTasks(archived);
+
+        final LabelId labelId = event.getLabelId();
+        final LabelColor color = event.getLabelDetailsChange()
+                                      .getNewDetails()
+                                      .getColor();
+        final List<CompletedTask> completedTasks = getBuilder().getCompletedTasksList();
+        final List<CompletedTask> updated = new ArrayList<>(completedTasks.size());
+        for (CompletedTask task : completedTasks) {
+            final TaskItem item = task.getItem();
+            if (item.getLabelId()
+                    .equals(labelId)) {
+                final TaskItem updatedItem = item.toBuilder()
+                                                 .setLabelColor(color)
+                                                 .build();
+                updated.add(task.toBuilder()
+                                .setItem(updatedItem)
+                                .build());
+            } else {
+                updated.add(task);
+            }
+        }
+        getBuilder().clearCompletedTasks()
+                    .addAllCompletedTasks(updated);
+    }
+
+    private static TaskItem itemOf(TaskEnrichment enrichment, TaskId taskId) {
+        final Task task = enrichment.getTask();
+        final TaskLabel label = enrichment.getLabel();
+        return TaskItem.newBuilder()
+                       .setId(taskId)
+                       .setDescription(task.getDescription())
+                       .setDueDate(task.getDueDate())
+                       .setPriority(task.getPriority())
+                       .setLabelId(label.getId())
+                       .setLabelColor(label.getColor())
+                       .setCompleted(true)
+                       .build();
+    }
+
+    private IndexedTaskList archivedTasks() {
+        return IndexedTaskList.of(indexes, ARCHIVED, getBuilder().getArchived());
+    }
+
+    private void setArchivedTasks(IndexedTaskList tasks) {
+        if (tasks.isModified()) {
+            getBuilder().setArchived(tasks.toView());
+        }
+    }
+
+    @Override
+    public void useIndexes(TaskListIndexes indexes) {
+        this.indexes = checkNotNull(indexes);
+    }
+
+    @Override
+    public TaskListIndexes getIndexes() {
+        return indexes;
+    }
+}
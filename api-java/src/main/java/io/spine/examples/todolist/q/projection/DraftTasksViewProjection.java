@@ -34,12 +34,9 @@ import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
 import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
 import io.spine.server.projection.Projection;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.newTaskListView;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.examples.todolist.q.projection.ProjectionHelper.removeViewsByTaskId;
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItemList;
+import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItems;
 
 /**
  * A projection state of tasks in a "draft" state.
@@ -50,7 +47,8 @@ import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTas
  */
 public class DraftTasksViewProjection extends Projection<TaskListId,
                                                          DraftTasksView,
-                                                         DraftTasksViewVBuilder> {
+                                                         DraftTasksViewVBuilder>
+        implements IndexedProjection {
 
     /**
      * As long as there is just a single end-user in the app,
@@ -63,6 +61,12 @@ public class DraftTasksViewProjection extends Projection<TaskListId,
                                                   .setValue("DraftTasksViewProjectionSingleton")
                                                   .build();
 
+    /** The name of the indexed {@code draft_tasks}. */
+    private static final String DRAFT_TASKS = "draft_tasks";
+
+    /** The indexes of the task lists of the projection. */
+    private TaskListIndexes indexes = new TaskListIndexes();
+
     /**
      * Creates a new instance.
      *
@@ -82,82 +86,84 @@ public class DraftTasksViewProjection extends Projection<TaskListId,
                                           .setPriority(taskDetails.getPriority())
                                           .setCompleted(taskDetails.getCompleted())
                                           .build();
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getDraftTasks()
-                                                                 .getItemsList());
-        views.add(taskView);
-        final TaskListView taskListView = TaskListView.newBuilder()
-                                                      .addAllItems(views)
-                                                      .build();
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        tasks.add(taskView);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDraftFinalized event) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getDraftTasks()
-                                                                 .getItemsList());
-        final TaskListView taskListView = removeViewsByTaskId(views, event.getTaskId());
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        removeViewsByTaskId(tasks, event.getTaskId());
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDeleted event) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getDraftTasks()
-                                                                 .getItemsList());
-        final TaskListView taskListView = removeViewsByTaskId(views, event.getTaskId());
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        removeViewsByTaskId(tasks, event.getTaskId());
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDescriptionUpdated event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskPriorityUpdated event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDueDateUpdated event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(LabelAssignedToTask event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(LabelRemovedFromTask event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
     }
 
     @Subscribe
     public void on(LabelDetailsUpdated event) {
-        final List<TaskItem> views = getBuilder().getDraftTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setDraftTasks(taskListView);
+        final IndexedTaskList tasks = draftTasks();
+        updateTaskItems(tasks, event);
+        setDraftTasks(tasks);
+    }
+
+    private IndexedTaskList draftTasks() {
+        return IndexedTaskList.of(indexes, DRAFT_TASKS, getBuilder().getDraftTasks());
+    }
+
+    private void setDraftTasks(IndexedTaskList tasks) {
+        if (tasks.isModified()) {
+            getBuilder().setDraftTasks(tasks.toView());
+        }
+    }
+
+    @Override
+    public void useIndexes(TaskListIndexes indexes) {
+        this.indexes = checkNotNull(indexes);
+    }
+
+    @Override
+    public TaskListIndexes getIndexes() {
+        return indexes;
     }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link TaskListView} along with the {@link TaskListIndex} of its items.
+ *
+ * <p>Allows to find the items of a task by the task ID and the items of a label by the label ID
+ * without scanning the whole list. The modifications of the list update the index in place.
+ *
+ * <p>The index is not a part of the projection state. It is kept in memory by
+ * {@link TaskListIndexes} between the events applied to the projection.
+ *
+ * <p>The list is copied on the first modification only, so the events, which do not change
+ * the list, leave it {@linkplain #isModified() unmodified}.
+ *
+ * <p>The order of the items is preserved on each modification.
+ *
+ * @author Dmytro Grankin
+ */
+final class IndexedTaskList {
+
+    private final TaskListView view;
+    private final TaskListIndex index;
+
+    /** The modified list or {@code null} if the {@link #view} is not modified. */
+    @Nullable
+    private TaskListView.Builder items;
+
+    private IndexedTaskList(TaskListView view, TaskListIndex index) {
+        this.view = view;
+        this.index = index;
+    }
+
+    /**
+     * Creates a new instance indexing the list.
+     *
+     * @param items the task list
+     * @return new instance
+     */
+    static IndexedTaskList of(TaskListView items) {
+        checkNotNull(items);
+        return new IndexedTaskList(items, TaskListIndex.of(items.getItemsList()));
+    }
+
+    /**
+     * Creates a new instance using the kept index of the list.
+     *
+     * <p>If the list is not indexed yet or the kept index does not match the list,
+     * the list is indexed from scratch and the new index is kept instead.
+     *
+     * @param indexes the indexes of the projection, which owns the list
+     * @param list    the name of the list unique within the projection
+     * @param items   the task list
+     * @return new instance
+     */
+    static IndexedTaskList of(TaskListIndexes indexes, String list, TaskListView items) {
+        checkNotNull(indexes);
+        checkNotNull(list);
+        checkNotNull(items);
+        final TaskListIndex kept = indexes.find(list);
+        if (kept != null && kept.getItemCount() == items.getItemsCount()) {
+            return new IndexedTaskList(items, kept);
+        }
+        final IndexedTaskList result = of(items);
+        indexes.put(list, result.index);
+        return result;
+    }
+
+    /**
+     * Appends the item to the end of the list.
+     *
+     * @param item the item to add
+     */
+    void add(TaskItem item) {
+        checkNotNull(item);
+        modifiable().addItems(item);
+        index.append(item);
+    }
+
+    /**
+     * Obtains the items of the task with the specified ID.
+     *
+     * @param id the ID of the task
+     * @return the items in the order of the list or an empty list if there are no items
+     */
+    List<TaskItem> itemsOf(TaskId id) {
+        checkNotNull(id);
+        final List<Integer> positions = positionsOf(id);
+        final List<TaskItem> result = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            result.add(itemAt(position));
+        }
+        return result;
+    }
+
+    /**
+     * Transforms the items of the task with the specified ID.
+     *
+     * @param id             the ID of the task
+     * @param transformation the transformation to apply
+     */
+    void update(TaskId id, TaskTransformation transformation) {
+        checkNotNull(id);
+        checkNotNull(transformation);
+        final List<Integer> positions = positionsOf(id);
+        for (int position : positions) {
+            transformAt(position, transformation);
+        }
+    }
+
+    /**
+     * Transforms the items labelled with the specified label.
+     *
+     * @param id             the ID of the label
+     * @param transformation the transformation to apply
+     */
+    void updateByLabel(LabelId id, TaskTransformation transformation) {
+        checkNotNull(id);
+        checkNotNull(transformation);
+        final List<Integer> positions = positionsOf(id);
+        for (int position : positions) {
+            transformAt(position, transformation);
+        }
+    }
+
+    /**
+     * Removes the items of the task with the specified ID.
+     *
+     * @param id the ID of the task
+     */
+    void remove(TaskId id) {
+        checkNotNull(id);
+        removeAll(positionsOf(id));
+    }
+
+    /**
+     * Removes the items labelled with the specified label.
+     *
+     * @param id the ID of the label
+     */
+    void removeByLabel(LabelId id) {
+        checkNotNull(id);
+        removeAll(positionsOf(id));
+    }
+
+    /**
+     * Removes the items matching the filter.
+     *
+     * <p>Unlike {@link #remove(TaskId)}, scans the whole list and rebuilds the index.
+     *
+     * @param filter the filter of the items to remove
+     */
+    void removeIf(Predicate<TaskItem> filter) {
+        checkNotNull(filter);
+        final List<TaskItem> remaining = new ArrayList<>();
+        for (TaskItem item : itemList()) {
+            if (!filter.test(item)) {
+                remaining.add(item);
+            }
+        }
+        if (remaining.size() != itemCount()) {
+            modifiable().clearItems()
+                        .addAllItems(remaining);
+            index.reindex(remaining);
+        }
+    }
+
+    /**
+     * Determines whether the list was modified since the instance is created.
+     */
+    boolean isModified() {
+        return items != null;
+    }
+
+    /**
+     * Obtains the current state of the list.
+     */
+    TaskListView toView() {
+        return items == null
+               ? view
+               : items.build();
+    }
+
+    /**
+     * Obtains the index of the {@linkplain #toView() list}.
+     */
+    TaskListIndex index() {
+        return index;
+    }
+
+    /**
+     * Obtains the positions of the items of the task.
+     *
+     * <p>If the index does not match the items, the list is indexed from scratch.
+     */
+    private List<Integer> positionsOf(TaskId id) {
+        final List<Integer> positions = index.positionsOf(id);
+        for (int position : positions) {
+            if (position >= itemCount() || !itemAt(position).getId()
+                                                           .equals(id)) {
+                index.reindex(itemList());
+                return index.positionsOf(id);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Obtains the positions of the items labelled with the label.
+     *
+     * <p>If the index does not match the items, the list is indexed from scratch.
+     */
+    private List<Integer> positionsOf(LabelId id) {
+        final List<Integer> positions = index.positionsOf(id);
+        for (int position : positions) {
+            if (position >= itemCount() || !itemAt(position).getLabelId()
+                                                           .equals(id)) {
+                index.reindex(itemList());
+                return index.positionsOf(id);
+            }
+        }
+        return positions;
+    }
+
+    private void transformAt(int position, TaskTransformation transformation) {
+        final TaskItem item = itemAt(position);
+        final TaskItem transformed = transformation.apply(item.toBuilder())
+                                                   .build();
+        if (transformed.equals(item)) {
+            return;
+        }
+        modifiable().setItems(position, transformed);
+        final LabelId oldLabel = item.getLabelId();
+        final LabelId newLabel = transformed.getLabelId();
+        if (!oldLabel.equals(newLabel)) {
+            index.relabel(oldLabel, newLabel, position);
+        }
+    }
+
+    /**
+     * Removes the items at the specified positions.
+     *
+     * <p>The removed items are only marked in the index, so the positions of the subsequent
+     * items are not updated one by one. Once most of the indexed items are removed,
+     * the list is indexed from scratch.
+     *
+     * @param positions the positions in the ascending order
+     */
+    private void removeAll(List<Integer> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        final TaskListView.Builder modifiable = modifiable();
+
+        // Remove starting from the end, so the preceding positions stay valid.
+        for (int i = positions.size() - 1; i >= 0; i--) {
+            final int position = positions.get(i);
+            index.remove(modifiable.getItems(position), position);
+            modifiable.removeItems(position);
+        }
+        if (index.isSparse()) {
+            index.reindex(modifiable.getItemsList());
+        }
+    }
+
+    private TaskListView.Builder modifiable() {
+        if (items == null) {
+            items = view.toBuilder();
+        }
+        return items;
+    }
+
+    private List<TaskItem> itemList() {
+        return items == null
+               ? view.getItemsList()
+               : items.getItemsList();
+    }
+
+    private TaskItem itemAt(int position) {
+        return items == null
+               ? view.getItems(position)
+               : items.getItems(position);
+    }
+
+    private int itemCount() {
+        return items == null
+               ? view.getItemsCount()
+               : items.getItemsCount();
+    }
+
+    /**
+     * A common interface for the {@link TaskItem} transformations.
+     */
+    interface TaskTransformation extends Function<TaskItem.Builder, TaskItem.Builder> {
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.LabelDetails;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskLabel;
+import io.spine.examples.todolist.c.events.LabelCreated;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.server.projection.Projection;
+
+import static io.spine.examples.todolist.c.aggregate.LabelAggregate.DEFAULT_LABEL_COLOR;
+
+/**
+ * A projection state of a label used to enrich the events.
+ *
+ * <p>Applies the events in the same way as the label aggregate does,
+ * so the enrichment of an event does not load the aggregate.
+ *
+ * @author Dmytro Grankin
+ */
+public class LabelLookupProjection extends Projection<LabelId, LabelLookup, LabelLookupVBuilder> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id the ID for the new instance
+     * @throws IllegalArgumentException if the ID is not of one of the supported types
+     */
+    public LabelLookupProjection(LabelId id) {
+        super(id);
+    }
+
+    @Subscribe
+    public void on(LabelCreated event) {
+        final TaskLabel label = TaskLabel.newBuilder()
+                                         .setId(event.getId())
+                                         .setTitle(event.getDetails()
+                                                        .getTitle())
+                                         .setColor(DEFAULT_LABEL_COLOR)
+                                         .build();
+        getBuilder().setId(event.getId())
+                    .setLabel(label);
+    }
+
+    @Subscribe
+    public void on(LabelDetailsUpdated event) {
+        final LabelDetails details = event.getLabelDetailsChange()
+                                          .getNewDetails();
+        final TaskLabel label = getBuilder().getLabel()
+                                            .toBuilder()
+                                            .setTitle(details.getTitle())
+                                            .setColor(details.getColor())
+                                            .build();
+        getBuilder().setId(event.getLabelId())
+                    .setLabel(label);
+    }
+}
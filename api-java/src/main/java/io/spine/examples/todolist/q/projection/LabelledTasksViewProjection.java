@@ -40,15 +40,12 @@ import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
 import io.spine.examples.todolist.c.events.TaskReopened;
 import io.spine.server.projection.Projection;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.examples.todolist.EnrichmentHelper.getEnrichment;
 import static io.spine.examples.todolist.q.projection.LabelColorView.valueOf;
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.newTaskListView;
 import static io.spine.examples.todolist.q.projection.ProjectionHelper.removeViewsByLabelId;
 import static io.spine.examples.todolist.q.projection.ProjectionHelper.removeViewsByTaskId;
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItemList;
+import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItems;
 
 /**
  * A projection state of the created tasks marked with a certain label.
@@ -61,7 +58,14 @@ import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTas
 @SuppressWarnings("OverlyCoupledClass")
 public class LabelledTasksViewProjection extends Projection<LabelId,
                                                             LabelledTasksView,
-                                                            LabelledTasksViewVBuilder> {
+                                                            LabelledTasksViewVBuilder>
+        implements IndexedProjection {
+
+    /** The name of the indexed {@code labelled_tasks}. */
+    private static final String LABELLED_TASKS = "labelled_tasks";
+
+    /** The indexes of the task lists of the projection. */
+    private TaskListIndexes indexes = new TaskListIndexes();
 
     /**
      * Creates a new instance.
@@ -93,78 +97,64 @@ public class LabelledTasksViewProjection extends Projection<LabelId,
         final boolean isEquals = getBuilder().getLabelId()
                                              .equals(labelId);
         if (isEquals) {
-            final List<TaskItem> views = new ArrayList<>(getBuilder().getLabelledTasks()
-                                                                     .getItemsList());
-            final TaskListView updatedView = removeViewsByLabelId(views, labelId);
-            getBuilder().setLabelledTasks(updatedView);
+            final IndexedTaskList tasks = labelledTasks();
+            removeViewsByLabelId(tasks, labelId);
+            setLabelledTasks(tasks);
         }
     }
 
     @Subscribe
     public void on(TaskDeleted event) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getLabelledTasks()
-                                                                 .getItemsList());
-        final TaskListView updatedView = removeViewsByTaskId(views, event.getTaskId());
-        getBuilder().setLabelledTasks(updatedView);
+        final IndexedTaskList tasks = labelledTasks();
+        removeViewsByTaskId(tasks, event.getTaskId());
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDescriptionUpdated event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskPriorityUpdated event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskDueDateUpdated event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskCompleted event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(TaskReopened event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
+        setLabelledTasks(tasks);
     }
 
     @Subscribe
     public void on(LabelDetailsUpdated event) {
-        final List<TaskItem> views = getBuilder().getLabelledTasks()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        final TaskListView taskListView = newTaskListView(updatedList);
+        final IndexedTaskList tasks = labelledTasks();
+        updateTaskItems(tasks, event);
         final LabelDetails newDetails = event.getLabelDetailsChange()
                                              .getNewDetails();
 
         getBuilder().setLabelColor(valueOf(newDetails.getColor()))
-                    .setLabelTitle(newDetails.getTitle())
-                    .setLabelledTasks(taskListView);
+                    .setLabelTitle(newDetails.getTitle());
+        setLabelledTasks(tasks);
     }
 
     private void addTaskItemAndUpdateLabelDetails(LabelId labelId, TaskId taskId,
@@ -190,11 +180,19 @@ public class LabelledTasksViewProjection extends Projection<LabelId,
     }
 
     private void addTaskItem(TaskItem taskView) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getLabelledTasks()
-                                                                 .getItemsList());
-        views.add(taskView);
-        final TaskListView taskListView = newTaskListView(views);
-        getBuilder().setLabelledTasks(taskListView);
+        final IndexedTaskList tasks = labelledTasks();
+        tasks.add(taskView);
+        setLabelledTasks(tasks);
+    }
+
+    private IndexedTaskList labelledTasks() {
+        return IndexedTaskList.of(indexes, LABELLED_TASKS, getBuilder().getLabelledTasks());
+    }
+
+    private void setLabelledTasks(IndexedTaskList tasks) {
+        if (tasks.isModified()) {
+            getBuilder().setLabelledTasks(tasks.toView());
+        }
     }
 
     private void updateLabelDetails(LabelDetails newDetails) {
@@ -205,4 +203,14 @@ public class LabelledTasksViewProjection extends Projection<LabelId,
             getBuilder().setLabelColor(hexColor);
         }
     }
+
+    @Override
+    public void useIndexes(TaskListIndexes indexes) {
+        this.indexes = checkNotNull(indexes);
+    }
+
+    @Override
+    public TaskListIndexes getIndexes() {
+        return indexes;
+    }
 }
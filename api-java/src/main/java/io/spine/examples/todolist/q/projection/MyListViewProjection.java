@@ -25,6 +25,7 @@ import io.spine.core.Subscribe;
 import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskDetails;
 import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskLabel;
 import io.spine.examples.todolist.TaskListId;
 import io.spine.examples.todolist.c.enrichments.TaskEnrichment;
 import io.spine.examples.todolist.c.events.LabelAssignedToTask;
@@ -38,26 +39,35 @@ import io.spine.examples.todolist.c.events.TaskDraftFinalized;
 import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
 import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
 import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.TaskArchivalPolicy.Selection;
 import io.spine.server.projection.Projection;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.TaskStatus.OPEN;
 import static io.spine.examples.todolist.EnrichmentHelper.getEnrichment;
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.newTaskListView;
 import static io.spine.examples.todolist.q.projection.ProjectionHelper.removeViewsByTaskId;
-import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItemList;
+import static io.spine.examples.todolist.q.projection.ProjectionHelper.updateTaskItems;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.onCompleted;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.without;
+import static java.lang.String.format;
 
 /**
  * A projection state of the finalized tasks.
  *
  * <p> Contains the task list view items.
  * <p> This view includes all tasks that are not in a draft state and not deleted.
+ * <p> The earliest completed tasks are moved to the {@link ArchivedTasksView}
+ * according to the {@link TaskArchivalPolicy}.
  *
  * @author Illia Shepilov
  */
 @SuppressWarnings("OverlyCoupledClass")
-public class MyListViewProjection extends Projection<TaskListId, MyListView, MyListViewVBuilder> {
+public class MyListViewProjection
+        extends Projection<TaskListId, MyListView, MyListViewVBuilder>
+        implements IndexedProjection {
 
     /**
      * As long as there is just a single end-user in the app,
@@ -65,11 +75,22 @@ public class MyListViewProjection extends Projection<TaskListId, MyListView, MyL
      *
      * <p>The {@code ID} value should be the same for all JVMs
      * to support work with the same projection from execution to execution.
+     *
+     * <p>If the list is {@linkplain #shardId(int) sharded}, the {@code ID} identifies
+     * the first shard.
      */
     public static final TaskListId ID = TaskListId.newBuilder()
                                                   .setValue("MyListViewProjectSingleton")
                                                   .build();
 
+    private static final String SHARD_ID_FORMAT = "%s-%d";
+
+    /** The name of the indexed {@code my_list}. */
+    private static final String MY_LIST = "my_list";
+
+    /** The indexes of the task lists of the projection. */
+    private TaskListIndexes indexes = new TaskListIndexes();
+
     /**
      * Creates a new instance.
      *
@@ -80,6 +101,26 @@ public class MyListViewProjection extends Projection<TaskListId, MyListView, MyL
         super(id);
     }
 
+    /**
+     * Obtains the ID of the {@link MyListView} shard with the given index.
+     *
+     * <p>The shard with the index {@code 0} is identified by the {@link #ID},
+     * so a single-shard setup works with the same projection as before sharding.
+     *
+     * @param index the zero-based index of the shard
+     * @return the ID of the shard
+     */
+    public static TaskListId shardId(int index) {
+        checkArgument(index >= 0, "The shard index must not be negative.");
+        if (index == 0) {
+            return ID;
+        }
+        final String value = format(SHARD_ID_FORMAT, ID.getValue(), index);
+        return TaskListId.newBuilder()
+                         .setValue(value)
+                         .build();
+    }
+
     @Subscribe
     public void on(TaskCreated event) {
         final TaskDetails taskDetails = event.getDetails();
@@ -94,102 +135,146 @@ public class MyListViewProjection extends Projection<TaskListId, MyListView, MyL
 
     @Subscribe
     public void on(TaskDeleted event) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getMyList()
-                                                                 .getItemsList());
-        final TaskListView taskListView = removeViewsByTaskId(views, event.getTaskId());
-        getBuilder().setMyList(taskListView);
+        final IndexedTaskList tasks = myList();
+        removeViewsByTaskId(tasks, event.getTaskId());
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(TaskDescriptionUpdated event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(TaskPriorityUpdated event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(TaskDueDateUpdated event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
+    /**
+     * Marks the task as completed and moves the earliest completed tasks
+     * to the {@link ArchivedTasksView} according to the {@link TaskArchivalPolicy}.
+     */
     @Subscribe
-    public void on(TaskCompleted event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+    public void on(TaskCompleted event, EventContext context) {
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        final CompletedTask completedTask = CompletedTask.newBuilder()
+                                                         .setId(event.getTaskId())
+                                                         .setWhenCompleted(context.getTimestamp())
+                                                         .build();
+        final Selection selection = onCompleted(getBuilder().getCompletedTasksList(),
+                                                completedTask);
+        for (CompletedTask archived : selection.archived()) {
+            removeViewsByTaskId(tasks, archived.getId());
+        }
+        setMyList(tasks);
+        getBuilder().clearCompletedTasks()
+                    .addAllCompletedTasks(selection.remaining());
     }
 
+    /**
+     * Marks the task as uncompleted.
+     *
+     * <p>If the task was archived, returns it to the list. The task is considered archived
+     * if it is absent in the list, while the enriched task is open.
+     */
     @Subscribe
-    public void on(TaskReopened event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+    public void on(TaskReopened event, EventContext context) {
+        final TaskId taskId = event.getTaskId();
+        final IndexedTaskList tasks = myList();
+        if (tasks.itemsOf(taskId)
+                 .isEmpty()) {
+            final TaskEnrichment enrichment = getEnrichment(TaskEnrichment.class, context);
+            if (enrichment.getTask()
+                          .getTaskStatus() == OPEN) {
+                tasks.add(itemOf(enrichment, taskId));
+            }
+        } else {
+            updateTaskItems(tasks, event);
+        }
+        setMyList(tasks);
+        final List<CompletedTask> completedTasks =
+                without(getBuilder().getCompletedTasksList(), taskId);
+        getBuilder().clearCompletedTasks()
+                    .addAllCompletedTasks(completedTasks);
     }
 
     @Subscribe
     public void on(LabelAssignedToTask event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(LabelRemovedFromTask event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(LabelDetailsUpdated event) {
-        final List<TaskItem> views = getBuilder().getMyList()
-                                                 .getItemsList();
-        final List<TaskItem> updatedList = updateTaskItemList(views, event);
-        updateMyListView(updatedList);
+        final IndexedTaskList tasks = myList();
+        updateTaskItems(tasks, event);
+        setMyList(tasks);
     }
 
     @Subscribe
     public void on(TaskDraftFinalized event, EventContext context) {
         final TaskId taskId = event.getTaskId();
         final TaskEnrichment enrichment = getEnrichment(TaskEnrichment.class, context);
-        final Task task = enrichment.getTask();
-        final TaskItem view = TaskItem.newBuilder()
-                                      .setId(taskId)
-                                      .setDescription(task.getDescription())
-                                      .setDueDate(task.getDueDate())
-                                      .setPriority(task.getPriority())
-                                      .build();
+        final TaskItem view = itemOf(enrichment, taskId);
         addTaskItem(view);
     }
 
-    private void updateMyListView(List<TaskItem> updatedList) {
-        final TaskListView listView = TaskListView.newBuilder()
-                                                  .addAllItems(updatedList)
-                                                  .build();
-        getBuilder().setMyList(listView);
+    private static TaskItem itemOf(TaskEnrichment enrichment, TaskId taskId) {
+        final Task task = enrichment.getTask();
+        final TaskLabel label = enrichment.getLabel();
+        return TaskItem.newBuilder()
+                       .setId(taskId)
+                       .setDescription(task.getDescription())
+                       .setDueDate(task.getDueDate())
+                       .setPriority(task.getPriority())
+                       .setLabelId(label.getId())
+                       .setLabelColor(label.getColor())
+                       .build();
     }
 
     private void addTaskItem(TaskItem taskView) {
-        final List<TaskItem> views = new ArrayList<>(getBuilder().getMyList()
-                                                                 .getItemsList());
-        views.add(taskView);
-        final TaskListView taskListView = newTaskListView(views);
-        getBuilder().setMyList(taskListView);
+        final IndexedTaskList tasks = myList();
+        tasks.add(taskView);
+        setMyList(tasks);
+    }
+
+    private IndexedTaskList myList() {
+        return IndexedTaskList.of(indexes, MY_LIST, getBuilder().getMyList());
+    }
+
+    private void setMyList(IndexedTaskList tasks) {
+        if (tasks.isModified()) {
+            getBuilder().setMyList(tasks.toView());
+        }
+    }
+
+    @Override
+    public void useIndexes(TaskListIndexes indexes) {
+        this.indexes = checkNotNull(indexes);
+    }
+
+    @Override
+    public TaskListIndexes getIndexes() {
+        return indexes;
     }
 }
@@ -34,17 +34,14 @@ import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
 import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
 import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
 import io.spine.examples.todolist.c.events.TaskReopened;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-
-import static io.spine.examples.todolist.q.projection.TaskItem.newBuilder;
+import io.spine.examples.todolist.q.projection.IndexedTaskList.TaskTransformation;
 
 /**
  * Class provides methods to manipulate and handle views.
  *
+ * <p>The methods modify the specified {@link IndexedTaskList}, so only the items
+ * of the affected tasks or labels are rebuilt.
+ *
  * @author Illia Shepilov
  */
 class ProjectionHelper {
@@ -59,14 +56,9 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param id    the task ID of the task view
-     * @return {@link TaskListView} without deleted tasks
      */
-    static TaskListView removeViewsByTaskId(List<TaskItem> tasks, TaskId id) {
-        final List<TaskItem> tasksToRemove = tasks.stream()
-                                                  .filter(t -> t.getId()
-                                                                .equals(id))
-                                                  .collect(Collectors.toList());
-        return removeTasks(tasks, tasksToRemove);
+    static void removeViewsByTaskId(IndexedTaskList tasks, TaskId id) {
+        tasks.remove(id);
     }
 
     /**
@@ -75,19 +67,9 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param id    the label ID of the task view
-     * @return {@link TaskListView} without deleted tasks
      */
-    static TaskListView removeViewsByLabelId(List<TaskItem> tasks, LabelId id) {
-        final List<TaskItem> tasksToRemove = tasks.stream()
-                                                  .filter(t -> t.getLabelId()
-                                                                .equals(id))
-                                                  .collect(Collectors.toList());
-        return removeTasks(tasks, tasksToRemove);
-    }
-
-    private static TaskListView removeTasks(List<TaskItem> source, List<TaskItem> tasksToRemove) {
-        source.removeAll(tasksToRemove);
-        return newTaskListView(source);
+    static void removeViewsByLabelId(IndexedTaskList tasks, LabelId id) {
+        tasks.removeByLabel(id);
     }
 
     /**
@@ -95,29 +77,15 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link LabelDetailsUpdated} instance
-     * @return the list of the {@link TaskItem} with updated {@link LabelDetails}
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, LabelDetailsUpdated event) {
-        final int listSize = tasks.size();
-        final List<TaskItem> updatedList = new ArrayList<>(listSize);
-        for (TaskItem task : tasks) {
-            TaskItem addedTask = task;
-            final boolean willUpdate = task.getLabelId()
-                                           .equals(event.getLabelId());
-            if (willUpdate) {
-                final LabelDetails labelDetails = event.getLabelDetailsChange()
-                                                       .getNewDetails();
-                addedTask = newBuilder().setLabelColor(labelDetails.getColor())
-                                        .setDueDate(task.getDueDate())
-                                        .setPriority(task.getPriority())
-                                        .setDescription(task.getDescription())
-                                        .setLabelId(task.getLabelId())
-                                        .setId(task.getId())
-                                        .build();
-            }
-            updatedList.add(addedTask);
-        }
-        return updatedList;
+    static void updateTaskItems(IndexedTaskList tasks, LabelDetailsUpdated event) {
+        final LabelId targetLabelId = event.getLabelId();
+        final LabelDetails labelDetails = event.getLabelDetailsChange()
+                                               .getNewDetails();
+
+        final TaskTransformation updateFn =
+                builder -> builder.setLabelColor(labelDetails.getColor());
+        tasks.updateByLabel(targetLabelId, updateFn);
     }
 
     /**
@@ -125,14 +93,13 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link LabelRemovedFromTask} instance
-     * @return the list of the {@link TaskItem} which does not contains specified label
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, LabelRemovedFromTask event) {
+    static void updateTaskItems(IndexedTaskList tasks, LabelRemovedFromTask event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn =
                 builder -> builder.setLabelId(LabelId.getDefaultInstance());
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -140,13 +107,12 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link LabelAssignedToTask} instance
-     * @return the list of the {@link TaskItem} which contains specified label
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, LabelAssignedToTask event) {
+    static void updateTaskItems(IndexedTaskList tasks, LabelAssignedToTask event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> builder.setLabelId(event.getLabelId());
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -154,13 +120,12 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link TaskReopened} instance
-     * @return the list of the {@link TaskItem}
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, TaskReopened event) {
+    static void updateTaskItems(IndexedTaskList tasks, TaskReopened event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> builder.setCompleted(false);
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -168,13 +133,12 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link TaskCompleted} instance
-     * @return the list of the {@link TaskItem}
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, TaskCompleted event) {
+    static void updateTaskItems(IndexedTaskList tasks, TaskCompleted event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> builder.setCompleted(true);
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -182,9 +146,8 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link TaskDueDateUpdated} instance
-     * @return the list of the {@link TaskItem} with updated task due date
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, TaskDueDateUpdated event) {
+    static void updateTaskItems(IndexedTaskList tasks, TaskDueDateUpdated event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> {
@@ -192,7 +155,7 @@ class ProjectionHelper {
                                               .getNewValue();
             return builder.setDueDate(newDueDate);
         };
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -200,9 +163,8 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link TaskPriorityUpdated} instance
-     * @return the list of the {@link TaskItem} with updated task priority
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, TaskPriorityUpdated event) {
+    static void updateTaskItems(IndexedTaskList tasks, TaskPriorityUpdated event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> {
@@ -210,7 +172,7 @@ class ProjectionHelper {
                                                   .getNewValue();
             return builder.setPriority(newPriority);
         };
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
+        tasks.update(targetTaskId, updateFn);
     }
 
     /**
@@ -218,9 +180,8 @@ class ProjectionHelper {
      *
      * @param tasks the list of the {@link TaskItem}
      * @param event {@link TaskDescriptionUpdated} instance
-     * @return the list of the {@link TaskItem} with updated task description
      */
-    static List<TaskItem> updateTaskItemList(List<TaskItem> tasks, TaskDescriptionUpdated event) {
+    static void updateTaskItems(IndexedTaskList tasks, TaskDescriptionUpdated event) {
         final TaskId targetTaskId = event.getTaskId();
 
         final TaskTransformation updateFn = builder -> {
@@ -231,42 +192,6 @@ class ProjectionHelper {
                                                                   .build();
             return builder.setDescription(newDescription);
         };
-        return transformWithUpdate(tasks, targetTaskId, updateFn);
-    }
-
-    @SuppressWarnings("MethodWithMultipleLoops") // It's fine, as there aren't a
-                                                 // lot of transformations per task.
-    private static List<TaskItem> transformWithUpdate(List<TaskItem> tasks,
-                                                      TaskId targetTaskId,
-                                                      TaskTransformation transformation) {
-        final int listSize = tasks.size();
-        final List<TaskItem> updatedList = new ArrayList<>(listSize);
-        for (TaskItem task : tasks) {
-            TaskItem addedView = task;
-            final boolean willUpdate = task.getId()
-                                           .equals(targetTaskId);
-            if (willUpdate) {
-                TaskItem.Builder resultBuilder = newBuilder();
-
-                resultBuilder = resultBuilder.mergeFrom(task);
-                resultBuilder = transformation.apply(resultBuilder);
-
-                addedView = resultBuilder.build();
-            }
-            updatedList.add(addedView);
-        }
-        return updatedList;
-    }
-
-    static TaskListView newTaskListView(List<TaskItem> tasks) {
-        return TaskListView.newBuilder()
-                           .addAllItems(tasks)
-                           .build();
-    }
-
-    /**
-     * A common interface for the {@link TaskItem} transformations.
-     */
-    private interface TaskTransformation extends Function<TaskItem.Builder, TaskItem.Builder> {
+        tasks.update(targetTaskId, updateFn);
     }
 }
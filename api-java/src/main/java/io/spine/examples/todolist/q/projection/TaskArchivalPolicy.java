@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Duration;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Durations;
+import com.google.protobuf.util.Timestamps;
+import io.spine.examples.todolist.TaskId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.util.Timestamps.subtract;
+import static java.util.concurrent.TimeUnit.DAYS;
+
+/**
+ * The policy of moving the completed tasks from the {@link MyListView}
+ * to the {@link ArchivedTasksView}.
+ *
+ * <p>The policy is applied to each shard of the {@code MyListView} on a {@code TaskCompleted}
+ * event. The earliest completed tasks are archived if either:
+ * <ul>
+ *     <li>the shard has more than {@link #MAX_COMPLETED_TASKS} completed tasks;
+ *     <li>a task was completed more than {@link #MAX_COMPLETED_AGE} before the event.
+ * </ul>
+ *
+ * <p>The {@link MyListViewProjection} and the {@link ArchivedTasksViewProjection} apply
+ * the policy to the same events independently, so the task removed from the one view
+ * is added to the other.
+ *
+ * @author Dmytro Grankin
+ */
+public final class TaskArchivalPolicy {
+
+    /** The maximum number of the completed tasks kept in a {@link MyListView} shard. */
+    public static final int MAX_COMPLETED_TASKS = 100;
+
+    /** The maximum time a completed task is kept in the {@link MyListView}. */
+    public static final Duration MAX_COMPLETED_AGE = Durations.fromSeconds(DAYS.toSeconds(30));
+
+    private static final Comparator<Timestamp> TIME_ORDER = Timestamps.comparator();
+
+    private TaskArchivalPolicy() {
+        // Prevent instantiation of this utility class.
+    }
+
+    /**
+     * Appends the completed task to the queue and selects the tasks to archive.
+     *
+     * @param queue         the completed tasks in the order of completion, the earliest first
+     * @param completedTask the just completed task
+     * @return the queue split into the tasks to archive and the remaining ones
+     */
+    static Selection onCompleted(List<CompletedTask> queue, CompletedTask completedTask) {
+        checkNotNull(queue);
+        checkNotNull(completedTask);
+        final List<CompletedTask> tasks = new ArrayList<>(queue.size() + 1);
+        tasks.addAll(queue);
+        tasks.add(completedTask);
+
+        final Timestamp threshold = subtract(completedTask.getWhenCompleted(),
+                                             MAX_COMPLETED_AGE);
+        int archivedCount = 0;
+        while (archivedCount < tasks.size()) {
+            final boolean overflow = tasks.size() - archivedCount > MAX_COMPLETED_TASKS;
+            final Timestamp whenCompleted = tasks.get(archivedCount)
+                                                 .getWhenCompleted();
+            final boolean expired = TIME_ORDER.compare(whenCompleted, threshold) < 0;
+            if (!overflow && !expired) {
+                break;
+            }
+            archivedCount++;
+        }
+        return new Selection(tasks.subList(0, archivedCount),
+                             tasks.subList(archivedCount, tasks.size()));
+    }
+
+    /**
+     * Removes the task from the queue of the completed tasks.
+     *
+     * @param queue the completed tasks
+     * @param id    the ID of the task to remove
+     * @return the remaining tasks in the same order
+     */
+    static List<CompletedTask> without(List<CompletedTask> queue, TaskId id) {
+        checkNotNull(queue);
+        checkNotNull(id);
+        final List<CompletedTask> result = new ArrayList<>(queue.size());
+        for (CompletedTask task : queue) {
+            if (!task.getId()
+                     .equals(id)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The completed tasks split by the {@link TaskArchivalPolicy}.
+     */
+    static final class Selection {
+
+        private final List<CompletedTask> archived;
+        private final List<CompletedTask> remaining;
+
+        private Selection(List<CompletedTask> archived, List<CompletedTask> remaining) {
+            this.archived = archived;
+            this.remaining = remaining;
+        }
+
+        /**
+         * Obtains the tasks to archive in the order of completion.
+         */
+        List<CompletedTask> archived() {
+            return archived;
+        }
+
+        /**
+         * Obtains the tasks to keep in the order of completion.
+         */
+        List<CompletedTask> remaining() {
+            return remaining;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.TaskStatus;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDraftCreated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.server.projection.Projection;
+
+import static io.spine.examples.todolist.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.TaskStatus.DELETED;
+import static io.spine.examples.todolist.TaskStatus.DRAFT;
+import static io.spine.examples.todolist.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.TaskStatus.OPEN;
+
+/**
+ * A projection state with the counters of the task statistics a single task contributes to.
+ *
+ * <p>The statistics are kept by
+ * {@link io.spine.examples.todolist.repository.TaskCountersViewRepository
+ * TaskCountersViewRepository}, which moves the task between the counters
+ * when the projection is stored.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public class TaskCountersViewProjection extends Projection<TaskId,
+                                                           TaskCountersView,
+                                                           TaskCountersViewVBuilder> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id the ID for the new instance
+     * @throws IllegalArgumentException if the ID is not of one of the supported types
+     */
+    public TaskCountersViewProjection(TaskId id) {
+        super(id);
+    }
+
+    @Subscribe
+    public void on(TaskCreated event) {
+        final TaskCounterKeys keys = TaskCounterKeys.newBuilder()
+                                                    .setStatus(FINALIZED)
+                                                    .setPriority(event.getDetails()
+                                                                      .getPriority())
+                                                    .build();
+        setKeys(keys);
+    }
+
+    @Subscribe
+    public void on(TaskDraftCreated event) {
+        final TaskCounterKeys keys = TaskCounterKeys.newBuilder()
+                                                    .setStatus(DRAFT)
+                                                    .setPriority(event.getDetails()
+                                                                      .getPriority())
+                                                    .build();
+        setKeys(keys);
+    }
+
+    @Subscribe
+    public void on(TaskDraftFinalized event) {
+        setStatus(FINALIZED);
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event) {
+        setStatus(COMPLETED);
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        setStatus(OPEN);
+    }
+
+    @Subscribe
+    public void on(TaskDeleted event) {
+        setStatus(DELETED);
+    }
+
+    @Subscribe
+    public void on(DeletedTaskRestored event) {
+        setStatus(OPEN);
+    }
+
+    @Subscribe
+    public void on(LabelledTaskRestored event) {
+        setStatus(OPEN);
+    }
+
+    @Subscribe
+    public void on(TaskPriorityUpdated event) {
+        final TaskPriority newPriority = event.getPriorityChange()
+                                              .getNewValue();
+        final TaskCounterKeys keys = getBuilder().getKeys()
+                                                 .toBuilder()
+                                                 .setPriority(newPriority)
+                                                 .build();
+        setKeys(keys);
+    }
+
+    private void setStatus(TaskStatus status) {
+        final TaskCounterKeys keys = getBuilder().getKeys()
+                                                 .toBuilder()
+                                                 .setStatus(status)
+                                                 .build();
+        setKeys(keys);
+    }
+
+    private void setKeys(TaskCounterKeys keys) {
+        getBuilder().setId(getId())
+                    .setKeys(keys);
+    }
+}
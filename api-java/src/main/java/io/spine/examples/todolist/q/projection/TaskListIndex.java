@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.binarySearch;
+import static java.util.Collections.emptyList;
+
+/**
+ * An index of the items of a {@link TaskListView}.
+ *
+ * <p>Allows to find the positions of the items of a task or a label without scanning
+ * the whole list.
+ *
+ * <p>Each indexed item occupies a slot. The slots are assigned in the order of the list
+ * and are not shifted when an item is removed. Instead, the slot of the removed item is
+ * marked as free, and the position of an item is the number of the occupied slots before
+ * its slot. The occupied slots are counted by a Fenwick tree, so both the removal and
+ * the lookup of a position take {@code O(log n)}.
+ *
+ * <p>Once most of the slots are free, the index should be {@linkplain #reindex(List) rebuilt}.
+ *
+ * @author Dmytro Grankin
+ */
+final class TaskListIndex {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** The slots of the items by the task IDs in the ascending order. */
+    private final Map<TaskId, List<Integer>> taskSlots = new HashMap<>();
+
+    /** The slots of the labelled items by the label IDs in the ascending order. */
+    private final Map<LabelId, List<Integer>> labelSlots = new HashMap<>();
+
+    /** The slots occupied by the items. */
+    private final BitSet occupied = new BitSet();
+
+    /** The Fenwick tree of the occupied slots, the slot {@code i} is counted at {@code i + 1}. */
+    private int[] tree = new int[MIN_CAPACITY + 1];
+
+    private int slotCount;
+    private int itemCount;
+
+    private TaskListIndex() {
+        // Prevent instantiation from outside.
+    }
+
+    /**
+     * Creates a new index of the items.
+     *
+     * @param items the items of the list
+     * @return new instance
+     */
+    static TaskListIndex of(List<TaskItem> items) {
+        final TaskListIndex result = new TaskListIndex();
+        result.reindex(items);
+        return result;
+    }
+
+    /**
+     * Obtains the number of the indexed items.
+     */
+    int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Determines whether most of the slots are free, so the index should be rebuilt.
+     */
+    boolean isSparse() {
+        final int free = slotCount - itemCount;
+        return free > MIN_CAPACITY && free > itemCount;
+    }
+
+    /**
+     * Indexes the item appended to the end of the list.
+     *
+     * @param item the appended item
+     */
+    void append(TaskItem item) {
+        if (slotCount + 1 >= tree.length) {
+            grow();
+        }
+        final int slot = slotCount++;
+        occupy(slot);
+        slotsOf(item.getId()).add(slot);
+        if (isLabelled(item.getLabelId())) {
+            slotsOf(item.getLabelId()).add(slot);
+        }
+    }
+
+    /**
+     * Obtains the positions of the items of the task.
+     *
+     * @param id the ID of the task
+     * @return the positions in the ascending order
+     */
+    List<Integer> positionsOf(TaskId id) {
+        return positionsOf(taskSlots.get(id));
+    }
+
+    /**
+     * Obtains the positions of the items labelled with the label.
+     *
+     * @param id the ID of the label
+     * @return the positions in the ascending order
+     */
+    List<Integer> positionsOf(LabelId id) {
+        return positionsOf(labelSlots.get(id));
+    }
+
+    /**
+     * Removes the item at the position from the index.
+     *
+     * <p>The positions of the subsequent items are decremented.
+     *
+     * @param item     the removed item
+     * @param position the position of the item
+     */
+    void remove(TaskItem item, int position) {
+        final int slot = slotAt(position);
+        removeSlot(taskSlots, item.getId(), slot);
+        if (isLabelled(item.getLabelId())) {
+            removeSlot(labelSlots, item.getLabelId(), slot);
+        }
+        occupied.clear(slot);
+        add(slot, -1);
+        itemCount--;
+    }
+
+    /**
+     * Moves the item at the position from one label to another.
+     *
+     * @param oldLabel the former label of the item
+     * @param newLabel the current label of the item
+     * @param position the position of the item
+     */
+    void relabel(LabelId oldLabel, LabelId newLabel, int position) {
+        final int slot = slotAt(position);
+        if (isLabelled(oldLabel)) {
+            removeSlot(labelSlots, oldLabel, slot);
+        }
+        if (isLabelled(newLabel)) {
+            final List<Integer> slots = slotsOf(newLabel);
+            final int searchResult = binarySearch(slots, slot);
+            if (searchResult < 0) {
+                slots.add(-searchResult - 1, slot);
+            }
+        }
+    }
+
+    /**
+     * Indexes the items from scratch, so there are no free slots.
+     *
+     * @param items the items of the list
+     */
+    void reindex(List<TaskItem> items) {
+        taskSlots.clear();
+        labelSlots.clear();
+        occupied.clear();
+        slotCount = 0;
+        itemCount = 0;
+        tree = new int[capacityFor(items.size()) + 1];
+        for (TaskItem item : items) {
+            append(item);
+        }
+    }
+
+    private List<Integer> positionsOf(@Nullable List<Integer> slots) {
+        if (slots == null) {
+            return emptyList();
+        }
+        final List<Integer> result = new ArrayList<>(slots.size());
+        for (int slot : slots) {
+            result.add(occupiedBefore(slot));
+        }
+        return result;
+    }
+
+    private void occupy(int slot) {
+        occupied.set(slot);
+        add(slot, 1);
+        itemCount++;
+    }
+
+    /**
+     * Obtains the number of the occupied slots before the specified one.
+     */
+    private int occupiedBefore(int slot) {
+        int result = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            result += tree[i];
+        }
+        return result;
+    }
+
+    /**
+     * Finds the occupied slot, which has the specified number of the occupied slots before it.
+     */
+    private int slotAt(int position) {
+        final int capacity = tree.length - 1;
+        int slot = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            final int next = slot + step;
+            if (next <= capacity && tree[next] <= remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        if (slot >= slotCount || !occupied.get(slot)) {
+            throw new IndexOutOfBoundsException("No item at the position " + position);
+        }
+        return slot;
+    }
+
+    private void add(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the Fenwick tree rebuilding it from the occupied slots.
+     */
+    private void grow() {
+        final int capacity = (tree.length - 1) * 2;
+        tree = new int[capacity + 1];
+        for (int slot = occupied.nextSetBit(0); slot >= 0; slot = occupied.nextSetBit(slot + 1)) {
+            tree[slot + 1]++;
+        }
+        for (int i = 1; i <= capacity; i++) {
+            final int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private List<Integer> slotsOf(TaskId id) {
+        return taskSlots.computeIfAbsent(id, key -> new ArrayList<>(1));
+    }
+
+    private List<Integer> slotsOf(LabelId id) {
+        return labelSlots.computeIfAbsent(id, key -> new ArrayList<>());
+    }
+
+    private static <K> void removeSlot(Map<K, List<Integer>> slotsByKey, K key, int slot) {
+        final List<Integer> slots = slotsByKey.get(key);
+        if (slots == null) {
+            return;
+        }
+        final int searchResult = binarySearch(slots, slot);
+        if (searchResult >= 0) {
+            slots.remove(searchResult);
+        }
+        if (slots.isEmpty()) {
+            slotsByKey.remove(key);
+        }
+    }
+
+    private static int capacityFor(int itemCount) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(itemCount) * 2);
+    }
+
+    private static boolean isLabelled(LabelId labelId) {
+        return !labelId.getValue()
+                       .isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@linkplain TaskListIndex indexes} of the task lists of a single projection.
+ *
+ * <p>The indexes are not a part of the projection state, so they are neither stored
+ * nor served to the clients. The repository keeps the indexes of each projection
+ * in memory along with the version of the projection they match and passes them to
+ * the {@link IndexedProjection} applying the next events. Otherwise, the projection
+ * uses the indexes built from its lists.
+ *
+ * <p>The indexes are updated in place by the event handlers of the projection.
+ * They are not thread-safe, as the events are applied to a projection one at a time.
+ *
+ * @author Dmytro Grankin
+ */
+public final class TaskListIndexes {
+
+    /** The indexes by the names of the lists. */
+    private final Map<String, TaskListIndex> indexes = new HashMap<>();
+
+    /**
+     * Obtains the index of the list.
+     *
+     * @param list the name of the list unique within the projection
+     * @return the index or {@code null} if the list is not indexed yet
+     */
+    @Nullable
+    TaskListIndex find(String list) {
+        return indexes.get(list);
+    }
+
+    /**
+     * Remembers the index of the list.
+     *
+     * @param list  the name of the list unique within the projection
+     * @param index the index of the list
+     */
+    void put(String list, TaskListIndex index) {
+        indexes.put(list, index);
+    }
+}
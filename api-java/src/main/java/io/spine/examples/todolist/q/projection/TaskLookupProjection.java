@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.LabelIdsList;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskStatus;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftCreated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.server.projection.Projection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A projection state of a task used to enrich the events.
+ *
+ * <p>Applies the events in the same way as the task aggregate parts do,
+ * so the enrichment of an event does not load the aggregate.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public class TaskLookupProjection extends Projection<TaskId, TaskLookup, TaskLookupVBuilder> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id the ID for the new instance
+     * @throws IllegalArgumentException if the ID is not of one of the supported types
+     */
+    public TaskLookupProjection(TaskId id) {
+        super(id);
+    }
+
+    @Subscribe
+    public void on(TaskCreated event, EventContext context) {
+        final TaskDetails details = event.getDetails();
+        final Task task = Task.newBuilder()
+                              .setId(event.getId())
+                              .setCreated(context.getTimestamp())
+                              .setDescription(details.getDescription())
+                              .setPriority(details.getPriority())
+                              .setTaskStatus(TaskStatus.FINALIZED)
+                              .build();
+        getBuilder().setId(event.getId())
+                    .setTask(task);
+    }
+
+    @Subscribe
+    public void on(TaskDraftCreated event) {
+        final Task task = Task.newBuilder()
+                              .setId(event.getId())
+                              .setCreated(event.getDraftCreationTime())
+                              .setDescription(event.getDetails()
+                                                   .getDescription())
+                              .setTaskStatus(TaskStatus.DRAFT)
+                              .build();
+        getBuilder().setId(event.getId())
+                    .setTask(task);
+    }
+
+    @Subscribe
+    public void on(TaskDescriptionUpdated event) {
+        final TaskDescription description = TaskDescription.newBuilder()
+                                                           .setValue(event.getDescriptionChange()
+                                                                          .getNewValue())
+                                                           .build();
+        setTask(task().setDescription(description));
+    }
+
+    @Subscribe
+    public void on(TaskPriorityUpdated event) {
+        setTask(task().setPriority(event.getPriorityChange()
+                                        .getNewValue()));
+    }
+
+    @Subscribe
+    public void on(TaskDueDateUpdated event) {
+        setTask(task().setDueDate(event.getDueDateChange()
+                                       .getNewValue()));
+    }
+
+    @Subscribe
+    public void on(TaskDraftFinalized event) {
+        setTask(task().setTaskStatus(TaskStatus.FINALIZED));
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event) {
+        setTask(task().setTaskStatus(TaskStatus.COMPLETED));
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        setTask(task().setTaskStatus(TaskStatus.OPEN));
+    }
+
+    @Subscribe
+    public void on(TaskDeleted event) {
+        setTask(task().setTaskStatus(TaskStatus.DELETED));
+    }
+
+    @Subscribe
+    public void on(DeletedTaskRestored event) {
+        setTask(task().setTaskStatus(TaskStatus.OPEN));
+    }
+
+    @Subscribe
+    public void on(LabelledTaskRestored event) {
+        setTask(task().setTaskStatus(TaskStatus.OPEN));
+    }
+
+    @Subscribe
+    public void on(LabelAssignedToTask event) {
+        final List<LabelId> labelIds = labelIds();
+        labelIds.add(event.getLabelId());
+        setLabelIds(labelIds);
+    }
+
+    @Subscribe
+    public void on(LabelRemovedFromTask event) {
+        final List<LabelId> labelIds = labelIds();
+        labelIds.remove(event.getLabelId());
+        setLabelIds(labelIds);
+    }
+
+    private Task.Builder task() {
+        return getBuilder().getTask()
+                           .toBuilder();
+    }
+
+    private void setTask(Task.Builder task) {
+        getBuilder().setId(getId())
+                    .setTask(task);
+    }
+
+    private List<LabelId> labelIds() {
+        return new ArrayList<>(getBuilder().getLabelIdsList()
+                                           .getIdsList());
+    }
+
+    private void setLabelIds(List<LabelId> labelIds) {
+        final LabelIdsList labelIdsList = LabelIdsList.newBuilder()
+                                                      .addAllIds(labelIds)
+                                                      .build();
+        getBuilder().setId(getId())
+                    .setLabelIdsList(labelIdsList);
+    }
+}
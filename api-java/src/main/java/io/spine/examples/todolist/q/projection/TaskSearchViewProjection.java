@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Timestamp;
+import io.spine.core.EventContext;
+import io.spine.core.Subscribe;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskDetails;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.enrichments.TaskEnrichment;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.IndexedTaskList.TaskTransformation;
+import io.spine.server.projection.Projection;
+
+import static io.spine.examples.todolist.EnrichmentHelper.getEnrichment;
+import static io.spine.validate.Validate.isDefault;
+
+/**
+ * A projection state allowing to search a finalized task by the words of the description.
+ *
+ * <p>The item of the task is not set while the task is in a draft state
+ * and after the task is deleted.
+ *
+ * <p>The inverted index of the descriptions is kept by
+ * {@link io.spine.examples.todolist.repository.TaskSearchViewRepository
+ * TaskSearchViewRepository}, which re-indexes the task when the projection is stored.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public class TaskSearchViewProjection extends Projection<TaskId,
+                                                         TaskSearchView,
+                                                         TaskSearchViewVBuilder> {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param id the ID for the new instance
+     * @throws IllegalArgumentException if the ID is not of one of the supported types
+     */
+    public TaskSearchViewProjection(TaskId id) {
+        super(id);
+    }
+
+    @Subscribe
+    public void on(TaskCreated event) {
+        final TaskDetails taskDetails = event.getDetails();
+        final TaskItem taskView = TaskItem.newBuilder()
+                                          .setId(event.getId())
+                                          .setDescription(taskDetails.getDescription())
+                                          .setPriority(taskDetails.getPriority())
+                                          .setCompleted(taskDetails.getCompleted())
+                                          .build();
+        setItem(taskView);
+    }
+
+    @Subscribe
+    public void on(TaskDraftFinalized event, EventContext context) {
+        final TaskEnrichment enrichment = getEnrichment(TaskEnrichment.class, context);
+        final Task task = enrichment.getTask();
+        final TaskItem taskView = TaskItem.newBuilder()
+                                          .setId(event.getTaskId())
+                                          .setDescription(task.getDescription())
+                                          .setDueDate(task.getDueDate())
+                                          .setPriority(task.getPriority())
+                                          .build();
+        setItem(taskView);
+    }
+
+    @Subscribe
+    public void on(TaskDueDateUpdated event) {
+        final Timestamp newDueDate = event.getDueDateChange()
+                                          .getNewValue();
+        updateItem(builder -> builder.setDueDate(newDueDate));
+    }
+
+    @Subscribe
+    public void on(TaskDescriptionUpdated event) {
+        final TaskDescription newDescription =
+                TaskDescription.newBuilder()
+                               .setValue(event.getDescriptionChange()
+                                              .getNewValue())
+                               .build();
+        updateItem(builder -> builder.setDescription(newDescription));
+    }
+
+    @Subscribe
+    public void on(TaskPriorityUpdated event) {
+        updateItem(builder -> builder.setPriority(event.getPriorityChange()
+                                                       .getNewValue()));
+    }
+
+    @Subscribe
+    public void on(TaskCompleted event) {
+        updateItem(builder -> builder.setCompleted(true));
+    }
+
+    @Subscribe
+    public void on(TaskReopened event) {
+        updateItem(builder -> builder.setCompleted(false));
+    }
+
+    @Subscribe
+    public void on(TaskDeleted event) {
+        getBuilder().setId(getId())
+                    .clearItem();
+    }
+
+    /**
+     * Transforms the item of the task, if the item is set.
+     */
+    private void updateItem(TaskTransformation transformation) {
+        if (isDefault(getBuilder().getItem())) {
+            return;
+        }
+        final TaskItem item = transformation.apply(getBuilder().getItem()
+                                                               .toBuilder())
+                                            .build();
+        setItem(item);
+    }
+
+    private void setItem(TaskItem item) {
+        getBuilder().setId(getId())
+                    .setItem(item);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.spine.core.Version;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateReadRequest;
+import io.spine.server.aggregate.AggregateStateRecord;
+import io.spine.server.aggregate.AggregateStorage;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A bounded cache of the recently used aggregates of a single type.
+ *
+ * <p>The cache keeps the aggregate instances, which were loaded and stored by the commands.
+ * It is used only by the commands {@linkplain #dispatch(Object, Supplier) dispatched}
+ * through the cache, so the commands of an aggregate should be executed one after another,
+ * e.g. in the {@link CommandMailboxes}. The other loads of the aggregate, e.g. by the event
+ * enrichment, read the storage and do not receive the cached instances.
+ *
+ * <p>If a command fails, the cached aggregate is discarded, so the next command reads
+ * the storage. If the aggregate is stored by an instance other than the cached one,
+ * e.g. on an event reaction, it was modified concurrently, and the cached aggregate
+ * is discarded as well.
+ *
+ * <p>Before a cached aggregate is reused, its version is compared with the version of
+ * the stored record, so an aggregate modified by another application sharing the same
+ * storage is loaded anew. The check reads the stored record, but does not apply the events.
+ *
+ * <p>The least recently used aggregates are evicted, when the cache exceeds
+ * the maximum size.
+ *
+ * @param <I> the type of the aggregate IDs
+ * @param <A> the type of the aggregates
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class AggregateCache<I, A extends Aggregate<I, ?, ?>> {
+
+    /** The number of the events read at once to check the stored version. */
+    private static final int VERSION_READ_BATCH_SIZE = 100;
+
+    private final Cache<I, A> aggregates;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** The ID of the aggregate, which handles a command in the current thread. */
+    private final ThreadLocal<I> dispatching = new ThreadLocal<>();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of the cached aggregates,
+     *                    {@code 0} disables the caching
+     */
+    AggregateCache(long maximumSize) {
+        checkArgument(maximumSize >= 0, "The cache size must not be negative.");
+        this.aggregates = CacheBuilder.newBuilder()
+                                      .maximumSize(maximumSize)
+                                      .recordStats()
+                                      .build();
+    }
+
+    /**
+     * Dispatches the command to the aggregate with the specified ID.
+     *
+     * <p>Within the dispatching, the aggregate is
+     * {@linkplain #load(Object, Function, AggregateStorage) loaded} from the cache.
+     * If the dispatching fails, the cached aggregate is discarded.
+     *
+     * @param id       the ID of the target aggregate
+     * @param dispatch the dispatching of the command
+     * @param <T>      the type of the dispatching result
+     * @return the result of the dispatching
+     */
+    <T> T dispatch(I id, Supplier<T> dispatch) {
+        final I previous = dispatching.get();
+        dispatching.set(id);
+        try {
+            return dispatch.get();
+        } catch (RuntimeException e) {
+            aggregates.invalidate(id);
+            throw e;
+        } finally {
+            if (previous == null) {
+                dispatching.remove();
+            } else {
+                dispatching.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Obtains the aggregate with the specified ID.
+     *
+     * <p>If the aggregate handles a command in the current thread, it is obtained from
+     * the cache, unless the version of the cached aggregate differs from the stored one.
+     * If the aggregate is not cached or is outdated, it is loaded using the specified loader
+     * and cached. Otherwise, the aggregate is loaded without the cache.
+     *
+     * @param id      the aggregate ID
+     * @param loader  the function reading the aggregate from the storage
+     * @param storage the storage of the aggregates to check the stored version
+     * @return the aggregate or {@code Optional.absent()} if there is no such aggregate
+     */
+    Optional<A> load(I id, Function<I, Optional<A>> loader, AggregateStorage<I> storage) {
+        return load(id, loader, aggregate -> isStored(aggregate, storage));
+    }
+
+    /**
+     * Obtains the aggregate with the specified ID reusing the cached aggregate,
+     * if it is current.
+     *
+     * @param id        the aggregate ID
+     * @param loader    the function reading the aggregate from the storage
+     * @param isCurrent the check whether the cached aggregate matches the stored one
+     * @return the aggregate or {@code Optional.absent()} if there is no such aggregate
+     * @see #load(Object, Function, AggregateStorage)
+     */
+    @VisibleForTesting
+    Optional<A> load(I id, Function<I, Optional<A>> loader, Predicate<A> isCurrent) {
+        if (!isDispatching(id)) {
+            return loader.apply(id);
+        }
+        final A cached = aggregates.getIfPresent(id);
+        if (cached != null && isCurrent.test(cached)) {
+            hits.incrementAndGet();
+            return Optional.of(cached);
+        }
+        misses.incrementAndGet();
+        final Optional<A> loaded = loader.apply(id);
+        if (loaded.isPresent()) {
+            aggregates.put(id, loaded.get());
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches the just stored aggregate.
+     *
+     * <p>If the aggregate is stored outside of the command dispatching or is not the cached
+     * instance, discards the cached aggregate.
+     *
+     * @param id        the ID of the aggregate
+     * @param aggregate the stored aggregate
+     */
+    void update(I id, A aggregate) {
+        final A cached = aggregates.getIfPresent(id);
+        final boolean sameInstance = cached == null || cached == aggregate;
+        if (isDispatching(id) && sameInstance) {
+            aggregates.put(id, aggregate);
+        } else {
+            aggregates.invalidate(id);
+        }
+    }
+
+    private boolean isDispatching(I id) {
+        return Objects.equals(dispatching.get(), id);
+    }
+
+    /**
+     * Obtains the statistics of the loads within the command dispatching.
+     *
+     * <p>The reuse of an outdated aggregate counts as a miss.
+     */
+    CacheStats stats() {
+        final long evictions = aggregates.stats()
+                                         .evictionCount();
+        return new CacheStats(hits.get(), misses.get(), 0, 0, 0, evictions);
+    }
+
+    /**
+     * Determines whether the aggregate has the version of its stored record.
+     */
+    private static <I> boolean isStored(Aggregate<I, ?, ?> aggregate, AggregateStorage<I> storage) {
+        final AggregateReadRequest<I> request =
+                new AggregateReadRequest<>(aggregate.getId(), VERSION_READ_BATCH_SIZE);
+        final Optional<AggregateStateRecord> record = storage.read(request);
+        if (!record.isPresent()) {
+            return false;
+        }
+        final Version stored = versionOf(record.get());
+        return stored.getNumber() == aggregate.getVersion()
+                                              .getNumber();
+    }
+
+    /**
+     * Obtains the version of the last stored event or of the snapshot, if there are no events
+     * after it.
+     */
+    private static Version versionOf(AggregateStateRecord record) {
+        final int eventCount = record.getEventCount();
+        if (eventCount == 0) {
+            return record.getSnapshot()
+                         .getVersion();
+        }
+        return record.getEvent(eventCount - 1)
+                     .getContext()
+                     .getVersion();
+    }
+}
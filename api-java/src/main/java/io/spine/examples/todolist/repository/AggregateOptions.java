@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The settings of the aggregate repositories.
+ *
+ * <p>The settings may be combined freely, except that the aggregates are cached
+ * only if their commands are executed in the {@link CommandMailboxes}.
+ *
+ * @author Dmytro Grankin
+ * @see TaskRepository
+ * @see TaskLabelsRepository
+ * @see LabelAggregateRepository
+ */
+public final class AggregateOptions {
+
+    private static final AggregateOptions DEFAULTS = newBuilder().build();
+
+    private final int snapshotTrigger;
+
+    @Nullable
+    private final CommandMailboxes mailboxes;
+
+    private final long cacheSize;
+
+    private AggregateOptions(Builder builder) {
+        this.snapshotTrigger = builder.snapshotTrigger;
+        this.mailboxes = builder.mailboxes;
+        this.cacheSize = builder.cacheSize;
+    }
+
+    /**
+     * Obtains the settings, which keep the default behaviour of the repositories.
+     */
+    public static AggregateOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Obtains the number of the events between the aggregate snapshots.
+     *
+     * @return the snapshot trigger or {@code 0} if the default one is used
+     */
+    public int getSnapshotTrigger() {
+        return snapshotTrigger;
+    }
+
+    /**
+     * Obtains the mailboxes to execute the commands of the aggregates in.
+     *
+     * @return the mailboxes or {@code null} if the commands are executed
+     *         in the posting thread
+     */
+    @Nullable
+    public CommandMailboxes getMailboxes() {
+        return mailboxes;
+    }
+
+    /**
+     * Obtains the maximum number of the cached aggregates of a repository.
+     *
+     * @return the cache size or {@code 0} if the caching is disabled
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Creates a new builder for {@code AggregateOptions}.
+     *
+     * @return new builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for {@code AggregateOptions} instances.
+     */
+    public static class Builder {
+
+        private int snapshotTrigger;
+
+        @Nullable
+        private CommandMailboxes mailboxes;
+
+        private long cacheSize;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of the events between the snapshots of an aggregate state.
+         *
+         * <p>An aggregate is loaded from the latest snapshot followed by the events
+         * after the snapshot.
+         *
+         * <p>If not set, the default snapshot trigger of the repository is used.
+         */
+        public Builder setSnapshotTrigger(int snapshotTrigger) {
+            checkArgument(snapshotTrigger > 0, "The snapshot trigger must be positive.");
+            this.snapshotTrigger = snapshotTrigger;
+            return this;
+        }
+
+        /**
+         * Sets the mailboxes to execute the commands of the aggregates in.
+         *
+         * <p>The commands of a single aggregate are executed one after another
+         * in the order of arrival.
+         *
+         * <p>The mailboxes are not closed along with the repositories.
+         */
+        public Builder setMailboxes(CommandMailboxes mailboxes) {
+            this.mailboxes = checkNotNull(mailboxes);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the recently used aggregates kept in memory
+         * by a repository.
+         *
+         * <p>A command is validated against the aggregate kept in memory, so the aggregates
+         * should not be modified by another application sharing the same storage.
+         *
+         * <p>Requires the {@linkplain #setMailboxes(CommandMailboxes) mailboxes}.
+         * If not set, the aggregates are not cached.
+         */
+        public Builder setCacheSize(long cacheSize) {
+            checkArgument(cacheSize >= 0, "The aggregate cache size must not be negative.");
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Creates the settings.
+         *
+         * @throws IllegalStateException if the cache size is set without the mailboxes
+         */
+        public AggregateOptions build() {
+            checkState(cacheSize == 0 || mailboxes != null,
+                       "The aggregates are cached only along with the command mailboxes.");
+            return new AggregateOptions(this);
+        }
+    }
+}
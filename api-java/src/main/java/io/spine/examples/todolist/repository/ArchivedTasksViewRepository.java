@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.ArchivedTasksView;
+import io.spine.examples.todolist.q.projection.ArchivedTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.server.route.EventRouting;
+
+import java.util.Set;
+
+/**
+ * Repository for the {@link ArchivedTasksViewProjection}.
+ *
+ * <p>The tasks are hash-partitioned between the {@link ArchivedTasksView} shards by
+ * the {@link TaskShards}. The archive keeps its own queue of the completed tasks, so
+ * the number of the shards does not depend on the number of the {@link MyListView} shards.
+ * If the numbers are equal, the archive shard receives the completed tasks of
+ * the {@code MyListView} shard with the same ID.
+ *
+ * <p>The events, which are not related to a single task (e.g. {@code LabelDetailsUpdated}),
+ * are delivered to all the shards.
+ *
+ * @author Dmytro Grankin
+ */
+public class ArchivedTasksViewRepository
+        extends BatchingProjectionRepository<TaskListId,
+                                             ArchivedTasksViewProjection,
+                                             ArchivedTasksView> {
+
+    private final TaskShards shards;
+
+    public ArchivedTasksViewRepository() {
+        this(MyListViewRepository.DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Creates a new repository with the given number of {@link ArchivedTasksView} shards.
+     *
+     * @param shardCount the number of shards
+     */
+    public ArchivedTasksViewRepository(int shardCount) {
+        this(shardCount, ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository with the given number of {@link ArchivedTasksView} shards,
+     * which applies the events according to the specified settings.
+     *
+     * @param shardCount the number of shards
+     * @param options    the settings of the event delivery
+     */
+    public ArchivedTasksViewRepository(int shardCount, ProjectionOptions options) {
+        super(options);
+        this.shards = TaskShards.of(shardCount);
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the {@link io.spine.server.route.EventRoute EventRoute}s to the repository.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<TaskListId> routing = getEventRouting();
+        routing.replaceDefault((message, context) -> shards.ids());
+        routing.route(TaskCompleted.class,
+                      (message, context) -> shards.shardOf(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> shards.shardOf(message.getTaskId()));
+    }
+
+    /**
+     * Obtains the IDs of all the {@link ArchivedTasksView} shards managed by this repository.
+     *
+     * @return the shard IDs
+     */
+    public Set<TaskListId> getShards() {
+        return shards.ids();
+    }
+}
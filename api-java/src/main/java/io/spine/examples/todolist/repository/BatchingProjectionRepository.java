@@ -0,0 +1,574 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.spine.Identifier;
+import io.spine.core.Event;
+import io.spine.core.EventEnvelope;
+import io.spine.core.EventId;
+import io.spine.core.TenantId;
+import io.spine.examples.todolist.q.projection.IndexedProjection;
+import io.spine.examples.todolist.q.projection.ProjectionRecord;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskListIndexes;
+import io.spine.protobuf.AnyPacker;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.LifecycleFlags;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionRepository;
+import io.spine.server.storage.RecordReadRequest;
+import io.spine.server.tenant.TenantAwareOperation;
+import org.slf4j.Logger;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.UnaryOperator;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static io.spine.validate.Validate.isDefault;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A {@link ProjectionRepository} able to apply the events to the projections by batches.
+ *
+ * <p>If the {@linkplain EventBatching batching} is enabled, the dispatched events are
+ * queued per projection. When the batch is applied, each projection is loaded once,
+ * receives all of its queued events in a single transaction and is stored once.
+ *
+ * <p>The queued events are not visible to the readers of the projections until the batch
+ * is applied. The batch is applied by a background thread once it reaches the maximum size
+ * or the maximum delay elapses, so the dispatching threads only queue the events.
+ * Use {@link #flush()} to apply the queued events immediately. If the events cannot be
+ * applied to a projection, the failure is logged and the other projections of the batch
+ * are still updated.
+ *
+ * <p>If a {@link StripedEventDispatcher} is specified, the events are applied to
+ * the projections asynchronously, so the dispatching thread is not blocked by the slow
+ * projections. Otherwise, the events are applied in the thread, which dispatches them or
+ * flushes the batch. The repository counts its own deliveries, so it does not wait for
+ * the other repositories sharing the dispatcher. A failed delivery makes the
+ * {@linkplain #checkpoint() checkpoint} of the repository fail until the projections
+ * are {@linkplain #resetExcept(Set) reset}.
+ *
+ * <p>The repository keeps the {@linkplain TaskListIndexes indexes} of the task lists
+ * of each {@link IndexedProjection} between the events applied to it, so the projection
+ * does not index its lists on each event.
+ *
+ * <p>The projections can be rebuilt from the stored events using {@link ProjectionCatchUp}
+ * and saved to a file using {@link ProjectionCheckpoints}.
+ *
+ * @param <I> the type of the projection IDs
+ * @param <P> the type of the projections
+ * @param <S> the type of the projection states
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+public abstract class BatchingProjectionRepository<I,
+                                                   P extends Projection<I, S, ?>,
+                                                   S extends Message>
+        extends ProjectionRepository<I, P, S> {
+
+    private static final String FLUSH_THREAD_NAME = "projection-batch-flush";
+
+    private final EventBatching batching;
+
+    @Nullable
+    private final StripedEventDispatcher dispatcher;
+
+    /** The deliveries of the repository scheduled with the {@link #dispatcher}. */
+    private final PendingDeliveries deliveries = new PendingDeliveries();
+
+    /** Guards the {@link #queue} and the flush flags. */
+    private final Object queueLock = new Object();
+
+    /** Makes the batches to be applied one after another in the order of queueing. */
+    private final Object flushLock = new Object();
+
+    /** The queued events by the projection IDs per tenant. */
+    private final Map<TenantId, Map<I, List<EventEnvelope>>> queue = new LinkedHashMap<>();
+
+    @Nullable
+    private final ScheduledExecutorService flushScheduler;
+
+    /** The IDs of the dispatched events, which happened at the {@link #lastEventTime}. */
+    private final Set<EventId> lastEventIds = new HashSet<>();
+
+    private int queuedCount;
+    private boolean flushScheduled;
+    private boolean flushRequested;
+
+    /** The time of the last dispatched event. */
+    private Timestamp lastEventTime = Timestamp.getDefaultInstance();
+
+    /** The indexes of the task lists of the projections. */
+    private final ProjectionIndexes<I> indexes = new ProjectionIndexes<>();
+
+    /** Enriches the events read from the {@code EventStore}. */
+    private UnaryOperator<EventEnvelope> storedEventEnricher = UnaryOperator.identity();
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    protected BatchingProjectionRepository(ProjectionOptions options) {
+        super();
+        checkNotNull(options);
+        this.batching = options.getBatching();
+        this.dispatcher = options.getDispatcher();
+        this.flushScheduler = flushSchedulerFor(batching);
+    }
+
+    @Nullable
+    private static ScheduledExecutorService flushSchedulerFor(EventBatching batching) {
+        return batching.isEnabled()
+               ? newSingleThreadScheduledExecutor(runnable -> {
+                   final Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+                   thread.setDaemon(true);
+                   return thread;
+               })
+               : null;
+    }
+
+    /**
+     * Obtains the batching settings of the repository.
+     */
+    public EventBatching getBatching() {
+        return batching;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the batching is enabled, queues the event for the target projections.
+     * Otherwise, if the repository has a {@link StripedEventDispatcher}, schedules
+     * the event delivery to each target projection.
+     */
+    @Override
+    public Set<I> dispatch(EventEnvelope envelope) {
+        track(envelope);
+        if (batching.isEnabled()) {
+            final Set<I> ids = route(envelope);
+            enqueue(ids, envelope);
+            return ids;
+        }
+        final Set<I> ids = route(envelope);
+        final TenantId tenantId = tenantOf(envelope);
+        final List<EventEnvelope> events = singletonList(envelope);
+        for (I id : ids) {
+            if (dispatcher == null) {
+                applyForTenant(tenantId, id, events);
+            } else {
+                dispatcher.dispatch(id, () -> applyForTenant(tenantId, id, events), deliveries);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Applies all the queued events to the projections.
+     *
+     * <p>The events may be queued concurrently with this method. They are applied by
+     * the next flush.
+     *
+     * <p>If the repository has a {@link StripedEventDispatcher}, only schedules
+     * the application of the events.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            final Map<TenantId, Map<I, List<EventEnvelope>>> batch = takeQueued();
+            for (Map.Entry<TenantId, Map<I, List<EventEnvelope>>> tenantBatch
+                    : batch.entrySet()) {
+                final TenantId tenantId = tenantBatch.getKey();
+                final Map<I, List<EventEnvelope>> events = tenantBatch.getValue();
+                if (dispatcher == null) {
+                    runForTenant(tenantId, () -> events.forEach(
+                            (id, envelopes) -> applyQueued(tenantId, id, envelopes)));
+                } else {
+                    events.forEach((id, envelopes) -> dispatcher.dispatch(
+                            id, () -> applyForTenant(tenantId, id, envelopes), deliveries));
+                }
+            }
+        }
+    }
+
+    private Map<TenantId, Map<I, List<EventEnvelope>>> takeQueued() {
+        synchronized (queueLock) {
+            flushScheduled = false;
+            flushRequested = false;
+            final Map<TenantId, Map<I, List<EventEnvelope>>> result = new LinkedHashMap<>(queue);
+            queue.clear();
+            queuedCount = 0;
+            return result;
+        }
+    }
+
+    /**
+     * Reads the stored state of the projection without unpacking it.
+     *
+     * <p>Allows to pass the state on, e.g. to a client, without parsing and serializing it again.
+     * Neither the queued events nor the projection class are involved.
+     *
+     * @param id the ID of the projection
+     * @return the packed state or {@code Optional.absent()} if the projection is not stored
+     *         or is archived or deleted
+     */
+    public Optional<Any> findPackedState(I id) {
+        checkNotNull(id);
+        final Optional<EntityRecord> record = recordStorage().read(new RecordReadRequest<>(id));
+        if (!record.isPresent()) {
+            return Optional.absent();
+        }
+        final LifecycleFlags flags = record.get()
+                                           .getLifecycleFlags();
+        if (flags.getArchived() || flags.getDeleted()) {
+            return Optional.absent();
+        }
+        return Optional.of(record.get()
+                                 .getState());
+    }
+
+    /**
+     * Applies the queued events and stops the scheduled batch applying.
+     */
+    @Override
+    public void close() {
+        flush();
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+        }
+        super.close();
+    }
+
+    /**
+     * Sets the enricher of the events read from the {@code EventStore}.
+     *
+     * <p>The stored events are not enriched. So the events, which are
+     * {@linkplain ProjectionCatchUp caught up} from the store, are enriched before
+     * they are routed and applied to the projections.
+     *
+     * <p>If not set, the stored events are applied as they are.
+     *
+     * @param enricher the function enriching a stored event
+     */
+    public void setStoredEventEnricher(UnaryOperator<EventEnvelope> enricher) {
+        this.storedEventEnricher = checkNotNull(enricher);
+    }
+
+    /**
+     * Enriches the event read from the {@code EventStore}.
+     */
+    EventEnvelope enrichStored(EventEnvelope envelope) {
+        return storedEventEnricher.apply(envelope);
+    }
+
+    /**
+     * Obtains the IDs of the projections, which should receive the event.
+     */
+    Set<I> route(EventEnvelope envelope) {
+        return getEventRouting().apply(envelope.getMessage(), envelope.getEventContext());
+    }
+
+    /**
+     * Replaces the state of the projection with the one built from the specified events.
+     *
+     * <p>The events are applied to a newly created projection, which is then stored.
+     *
+     * @param id     the ID of the projection
+     * @param events all the events of the projection
+     * @see ProjectionCatchUp
+     */
+    void rebuild(I id, List<EventEnvelope> events) {
+        final P projection = create(id);
+        playAndStore(TenantId.getDefaultInstance(), projection, events);
+        events.forEach(this::track);
+    }
+
+    /**
+     * Applies the specified events to the current state of the projection.
+     *
+     * @param id     the ID of the projection
+     * @param events the events to apply
+     * @see ProjectionCatchUp#since(RepositoryCheckpoint)
+     */
+    void replay(I id, List<EventEnvelope> events) {
+        apply(TenantId.getDefaultInstance(), id, events);
+        events.forEach(this::track);
+    }
+
+    /**
+     * Resets the stored projections to the default state except the specified ones.
+     *
+     * @param ids the IDs of the projections to keep
+     */
+    void resetExcept(Set<I> ids) {
+        deliveries.clearFailures();
+        indexes.clear();
+        for (P stored : loadAll()) {
+            if (!ids.contains(stored.getId())) {
+                store(create(stored.getId()));
+            }
+        }
+    }
+
+    /**
+     * Captures the state of all the projections of the repository.
+     *
+     * <p>The queued events are applied before the capture. If the repository has
+     * a {@link StripedEventDispatcher}, the deliveries scheduled by this repository
+     * are awaited.
+     *
+     * @return the checkpoint of the repository
+     * @throws IllegalStateException if the events could not be delivered to a projection,
+     *                               so the projections miss some of the tracked events
+     */
+    synchronized RepositoryCheckpoint checkpoint() {
+        flush();
+        awaitDelivered();
+        final RepositoryCheckpoint.Builder result =
+                RepositoryCheckpoint.newBuilder()
+                                    .setRepository(getClass().getName())
+                                    .setLastEventTime(lastEventTime)
+                                    .addAllLastEventIds(lastEventIds);
+        for (P projection : loadAll()) {
+            final ProjectionRecord record =
+                    ProjectionRecord.newBuilder()
+                                    .setId(Identifier.pack(projection.getId()))
+                                    .setState(AnyPacker.pack(projection.getState()))
+                                    .setVersion(projection.getVersion())
+                                    .build();
+            result.addRecords(record);
+        }
+        return result.build();
+    }
+
+    /**
+     * Replaces the stored projections with the ones from the checkpoint.
+     *
+     * <p>The stored projections, which are absent in the checkpoint, are reset to
+     * the default state. The events after the checkpoint are not applied.
+     *
+     * @param checkpoint the checkpoint of the repository
+     * @see ProjectionCatchUp#since(RepositoryCheckpoint)
+     */
+    synchronized void restore(RepositoryCheckpoint checkpoint) {
+        final Set<I> restored = new HashSet<>();
+        for (ProjectionRecord record : checkpoint.getRecordsList()) {
+            final I id = Identifier.unpack(record.getId());
+            final EntityRecord entityRecord = EntityRecord.newBuilder()
+                                                          .setEntityId(record.getId())
+                                                          .setState(record.getState())
+                                                          .setVersion(record.getVersion())
+                                                          .build();
+            recordStorage().write(id, entityRecord);
+            restored.add(id);
+        }
+        resetExcept(restored);
+        lastEventTime = checkpoint.getLastEventTime();
+        lastEventIds.clear();
+        lastEventIds.addAll(checkpoint.getLastEventIdsList());
+    }
+
+    /**
+     * Remembers the event as the last applied one if it is not older than the others.
+     */
+    private synchronized void track(EventEnvelope envelope) {
+        final Timestamp eventTime = envelope.getEventContext()
+                                            .getTimestamp();
+        final int comparison = Timestamps.comparator()
+                                         .compare(eventTime, lastEventTime);
+        if (comparison > 0) {
+            lastEventTime = eventTime;
+            lastEventIds.clear();
+        }
+        if (comparison >= 0) {
+            lastEventIds.add(envelope.getId());
+        }
+    }
+
+    private void enqueue(Set<I> ids, EventEnvelope envelope) {
+        checkNotNull(flushScheduler);
+        final TenantId tenantId = tenantOf(envelope);
+        synchronized (queueLock) {
+            final Map<I, List<EventEnvelope>> tenantQueue =
+                    queue.computeIfAbsent(tenantId, tenant -> new LinkedHashMap<>());
+            for (I id : ids) {
+                tenantQueue.computeIfAbsent(id, projectionId -> new ArrayList<>())
+                           .add(envelope);
+                queuedCount++;
+            }
+            if (queuedCount >= batching.getMaxSize()) {
+                if (!flushRequested) {
+                    flushRequested = true;
+                    flushScheduler.execute(this::flushInBackground);
+                }
+            } else if (!flushScheduled && queuedCount > 0) {
+                flushScheduled = true;
+                flushScheduler.schedule(this::flushInBackground,
+                                        batching.getMaxDelayMillis(), MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Applies the queued events in the flush thread.
+     *
+     * <p>The failures are logged, as there is no one to report them to.
+     */
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log().error("Failed to apply the queued events.", e);
+        }
+    }
+
+    /**
+     * Waits for the deliveries scheduled by this repository.
+     *
+     * @throws IllegalStateException if a delivery failed
+     */
+    private void awaitDelivered() {
+        if (dispatcher == null) {
+            return;
+        }
+        try {
+            deliveries.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        }
+        final RuntimeException failure = deliveries.firstFailure();
+        if (failure != null) {
+            throw newIllegalStateException(failure,
+                                           "%d deliveries to the projections failed.",
+                                           deliveries.failureCount());
+        }
+    }
+
+    private static TenantId tenantOf(EventEnvelope envelope) {
+        return envelope.getActorContext()
+                       .getTenantId();
+    }
+
+    private void applyForTenant(TenantId tenantId, I id, List<EventEnvelope> events) {
+        runForTenant(tenantId, () -> apply(tenantId, id, events));
+    }
+
+    private static void runForTenant(TenantId tenantId, Runnable operation) {
+        // The events of a single-tenant application have no tenant.
+        if (isDefault(tenantId)) {
+            operation.run();
+        } else {
+            final TenantAwareOperation tenantOperation = new TenantAwareOperation(tenantId) {
+                @Override
+                public void run() {
+                    operation.run();
+                }
+            };
+            tenantOperation.execute();
+        }
+    }
+
+    /**
+     * Applies the queued events to the projection.
+     *
+     * <p>A failure is logged, so it does not prevent the other projections of the batch
+     * from being updated.
+     */
+    private void applyQueued(TenantId tenantId, I id, List<EventEnvelope> events) {
+        try {
+            apply(tenantId, id, events);
+        } catch (RuntimeException e) {
+            log().error("Failed to apply {} queued events to the projection `{}`.",
+                        events.size(), id, e);
+        }
+    }
+
+    /**
+     * Applies the events to the stored projection.
+     *
+     * <p>The projection uses the indexes kept for its stored version.
+     */
+    private void apply(TenantId tenantId, I id, List<EventEnvelope> events) {
+        final P projection = findOrCreate(id);
+        if (projection instanceof IndexedProjection) {
+            final TaskListIndexes kept = indexes.take(tenantId, id, projection.getVersion());
+            ((IndexedProjection) projection).useIndexes(kept);
+        }
+        playAndStore(tenantId, projection, events);
+    }
+
+    /**
+     * Applies the events to the projection and stores it keeping the indexes it has updated.
+     */
+    private void playAndStore(TenantId tenantId, P projection, List<EventEnvelope> events) {
+        play(projection, events);
+        store(projection);
+        if (projection instanceof IndexedProjection) {
+            final TaskListIndexes updated = ((IndexedProjection) projection).getIndexes();
+            indexes.put(tenantId, projection.getId(), updated, projection.getVersion());
+        }
+        getBoundedContext().getStand()
+                           .post(tenantId, projection);
+    }
+
+    /**
+     * Applies the events to the projection within a single transaction.
+     *
+     * <p>The projection is not stored.
+     */
+    private static void play(Projection<?, ?, ?> projection, List<EventEnvelope> events) {
+        final List<Event> outerObjects = events.stream()
+                                               .map(EventEnvelope::getOuterObject)
+                                               .collect(toList());
+        projection.play(outerObjects);
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(BatchingProjectionRepository.class);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * The progress of a {@linkplain ProjectionCatchUp projection catch-up}.
+ *
+ * <p>An event is counted once per projection it is applied to.
+ *
+ * @author Dmytro Grankin
+ */
+public final class CatchUpProgress {
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final long totalEvents;
+    private final long appliedEvents;
+    private final int totalProjections;
+    private final int rebuiltProjections;
+    private final long elapsedMillis;
+
+    CatchUpProgress(long totalEvents,
+                    long appliedEvents,
+                    int totalProjections,
+                    int rebuiltProjections,
+                    long elapsedMillis) {
+        checkArgument(appliedEvents <= totalEvents);
+        checkArgument(rebuiltProjections <= totalProjections);
+        this.totalEvents = totalEvents;
+        this.appliedEvents = appliedEvents;
+        this.totalProjections = totalProjections;
+        this.rebuiltProjections = rebuiltProjections;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Obtains the number of the events read to apply during the catch-up.
+     */
+    public long getTotalEvents() {
+        return totalEvents;
+    }
+
+    /**
+     * Obtains the number of the already applied events.
+     */
+    public long getAppliedEvents() {
+        return appliedEvents;
+    }
+
+    /**
+     * Obtains the number of the projections to rebuild with the events read so far.
+     */
+    public int getTotalProjections() {
+        return totalProjections;
+    }
+
+    /**
+     * Obtains the number of the already rebuilt projections.
+     */
+    public int getRebuiltProjections() {
+        return rebuiltProjections;
+    }
+
+    /**
+     * Obtains the time in milliseconds passed since the catch-up start.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Obtains the number of the events applied per second.
+     *
+     * @return the throughput or {@code 0} if no time has passed yet
+     */
+    public double getThroughput() {
+        if (elapsedMillis == 0) {
+            return 0;
+        }
+        return appliedEvents * MILLIS_PER_SECOND / elapsedMillis;
+    }
+
+    /**
+     * Checks if all the projections are rebuilt and all the events are applied.
+     */
+    public boolean isComplete() {
+        return rebuiltProjections == totalProjections && appliedEvents == totalEvents;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d projections, %d/%d events, %.1f events/s",
+                             rebuiltProjections, totalProjections,
+                             appliedEvents, totalEvents,
+                             getThroughput());
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * Executes the commands of the aggregates on a shared pool of threads.
+ *
+ * <p>Each aggregate has a logical mailbox, which queues the commands of the aggregate.
+ * The commands of an aggregate are executed one after another in the order of arrival,
+ * while the commands of the different aggregates are executed in parallel. A mailbox
+ * occupies a thread of the pool only while it has the commands to execute.
+ *
+ * <p>The thread, which posts a command, waits until the command is executed, so the outcome
+ * of the command, including a rejection, is reported to the thread as before. A command
+ * handler should not post the commands to the aggregates sharing the mailboxes, as it would
+ * occupy a thread of the pool while waiting.
+ *
+ * <p>A single instance may be shared by several repositories. It should be
+ * {@linkplain #close() closed} by the party, which created it.
+ *
+ * <p>The {@linkplain #getQueueDepth() number of the pending commands} and the depth of
+ * the mailboxes may be read at any time.
+ *
+ * @author Dmytro Grankin
+ */
+public final class CommandMailboxes implements AutoCloseable {
+
+    private static final String THREAD_NAME_FORMAT = "command-mailbox-%d";
+
+    /**
+     * The number of the commands a mailbox executes in a row before it gives the thread
+     * to the other mailboxes.
+     */
+    private static final int THROUGHPUT = 16;
+
+    private final ExecutorService executor;
+
+    /**
+     * The mailboxes by the aggregate IDs.
+     *
+     * <p>A mailbox is present while it has the commands to execute, so each present mailbox
+     * is either being executed or scheduled for the execution.
+     */
+    private final ConcurrentMap<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    private CommandMailboxes(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new instance executing the commands on the specified number of threads.
+     *
+     * @param threadCount the number of threads, must be positive
+     * @return new instance
+     */
+    public static CommandMailboxes newInstance(int threadCount) {
+        checkArgument(threadCount > 0, "The number of threads must be positive.");
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ExecutorService executor = newFixedThreadPool(threadCount, runnable -> {
+            final String name = format(THREAD_NAME_FORMAT, threadIndex.getAndIncrement());
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CommandMailboxes(executor);
+    }
+
+    /**
+     * Executes the command of the aggregate with the specified ID and waits for the result.
+     *
+     * @param aggregateId the ID of the target aggregate
+     * @param command     the command execution
+     * @param <T>         the type of the execution result
+     * @return the result of the execution
+     * @throws IllegalStateException if the mailboxes are closed
+     */
+    <T> T execute(Object aggregateId, Supplier<T> command) {
+        checkNotNull(aggregateId);
+        checkNotNull(command);
+        final FutureTask<T> execution = new FutureTask<>(command::get);
+        post(aggregateId, execution);
+        return await(execution);
+    }
+
+    /**
+     * Obtains the number of the commands, which are not executed yet,
+     * including the ones in progress.
+     */
+    public int getQueueDepth() {
+        return pending.get();
+    }
+
+    /**
+     * Obtains the number of the commands of the specified aggregate, which are not
+     * executed yet, including the one in progress.
+     *
+     * @param aggregateId the ID of the aggregate
+     */
+    public int getQueueDepth(Object aggregateId) {
+        final Mailbox mailbox = mailboxes.get(aggregateId);
+        return mailbox == null
+               ? 0
+               : mailbox.depth.get();
+    }
+
+    /**
+     * Obtains the largest number of the pending commands of a single aggregate so far.
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * Obtains the number of the aggregates, which have the commands to execute.
+     */
+    public int getMailboxCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * Stops accepting the commands.
+     *
+     * <p>The already posted commands are executed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void post(Object aggregateId, Runnable command) {
+        pending.incrementAndGet();
+        try {
+            mailboxes.compute(aggregateId, (id, current) -> {
+                final Mailbox mailbox = current == null
+                                        ? new Mailbox()
+                                        : current;
+                if (current == null) {
+                    executor.execute(() -> run(id));
+                }
+                mailbox.commands.add(command);
+                final int depth = mailbox.depth.incrementAndGet();
+                maxDepth.accumulateAndGet(depth, Math::max);
+                return mailbox;
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Executes the queued commands of the aggregate.
+     *
+     * <p>Removes the mailbox once it has no commands. If the mailbox still has the commands
+     * after the {@link #THROUGHPUT} of them, schedules the rest for a later execution.
+     */
+    private void run(Object aggregateId) {
+        int executed = 0;
+        while (true) {
+            final Mailbox mailbox = mailboxes.computeIfPresent(
+                    aggregateId, (id, current) -> current.commands.isEmpty()
+                                                  ? null
+                                                  : current);
+            if (mailbox == null) {
+                return;
+            }
+            if (executed == THROUGHPUT) {
+                if (reschedule(aggregateId)) {
+                    return;
+                }
+                executed = 0;
+            }
+            final Runnable command = mailbox.commands.poll();
+            try {
+                command.run();
+            } finally {
+                mailbox.depth.decrementAndGet();
+                pending.decrementAndGet();
+            }
+            executed++;
+        }
+    }
+
+    private boolean reschedule(Object aggregateId) {
+        try {
+            executor.execute(() -> run(aggregateId));
+            return true;
+        } catch (RejectedExecutionException ignored) {
+            // The mailboxes are closed, so the rest of the commands are executed in place.
+            return false;
+        }
+    }
+
+    private static <T> T await(FutureTask<T> execution) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return execution.get();
+                } catch (InterruptedException e) {
+                    // The command is already queued, so its outcome is awaited anyway.
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw illegalStateWithCauseOf(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+        }
+    }
+
+    /**
+     * The queued commands of a single aggregate.
+     */
+    private static final class Mailbox {
+
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+        /** The number of the queued commands including the one in progress. */
+        private final AtomicInteger depth = new AtomicInteger();
+    }
+}
@@ -23,7 +23,6 @@ package io.spine.examples.todolist.repository;
 import io.spine.examples.todolist.TaskListId;
 import io.spine.examples.todolist.q.projection.DraftTasksView;
 import io.spine.examples.todolist.q.projection.DraftTasksViewProjection;
-import io.spine.server.projection.ProjectionRepository;
 import io.spine.server.route.EventRoute;
 
 import static io.spine.examples.todolist.q.projection.DraftTasksViewProjection.ID;
@@ -35,10 +34,21 @@ import static java.util.Collections.singleton;
  * @author Illia Shepilov
  */
 public class DraftTasksViewRepository
-        extends ProjectionRepository<TaskListId, DraftTasksViewProjection, DraftTasksView> {
+        extends BatchingProjectionRepository<TaskListId,
+                                             DraftTasksViewProjection,
+                                             DraftTasksView> {
 
     public DraftTasksViewRepository() {
-        super();
+        this(ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    public DraftTasksViewRepository(ProjectionOptions options) {
+        super(options);
         setUpEventRoute();
     }
 
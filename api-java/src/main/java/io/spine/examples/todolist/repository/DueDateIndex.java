@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.DueDateCursor;
+import io.spine.examples.todolist.q.projection.TaskItem;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.validate.Validate.isDefault;
+import static java.util.Collections.emptyNavigableSet;
+
+/**
+ * The tasks ordered by the due date.
+ *
+ * <p>Keeps the due dates and the IDs of the tasks sorted by the due date and then
+ * by the task ID value, so the tasks due in a time range are found by a binary search.
+ * The tasks without a due date are not kept.
+ *
+ * <p>The entries of the index are {@linkplain DueDateCursor cursors} pointing to the tasks.
+ *
+ * @author Dmytro Grankin
+ */
+final class DueDateIndex {
+
+    private static final Comparator<Timestamp> TIME_ORDER = Timestamps.comparator();
+    private static final Comparator<DueDateCursor> ORDER =
+            Comparator.comparing(DueDateCursor::getDueDate, TIME_ORDER)
+                      .thenComparing(entry -> entry.getLastTask()
+                                                   .getValue());
+
+    private final NavigableSet<DueDateCursor> entries = new TreeSet<>(ORDER);
+
+    /**
+     * Adds the task of the item to the index.
+     *
+     * <p>The item without a due date is ignored.
+     *
+     * @param item the item of the task
+     */
+    void add(TaskItem item) {
+        checkNotNull(item);
+        if (!isDefault(item.getDueDate())) {
+            entries.add(entryOf(item));
+        }
+    }
+
+    /**
+     * Removes the task of the item from the index.
+     *
+     * @param item the item of the task as it was {@linkplain #add(TaskItem) added}
+     */
+    void remove(TaskItem item) {
+        checkNotNull(item);
+        if (!isDefault(item.getDueDate())) {
+            entries.remove(entryOf(item));
+        }
+    }
+
+    /**
+     * Obtains the number of the tasks in the index.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Obtains the entries of the tasks due in the specified range.
+     *
+     * @param from  the inclusive lower bound of the due date or {@code null} to start
+     *              with the earliest due date
+     * @param to    the exclusive upper bound of the due date or {@code null} if the range
+     *              is not bounded
+     * @param after the entry to start after or {@code null} to start with the lower bound
+     * @return the view of the entries ordered by the due date
+     */
+    NavigableSet<DueDateCursor> dueBetween(@Nullable Timestamp from,
+                                           @Nullable Timestamp to,
+                                           @Nullable DueDateCursor after) {
+        DueDateCursor start = from == null
+                              ? null
+                              : boundOf(from);
+        boolean inclusive = true;
+        if (after != null && (start == null || ORDER.compare(after, start) >= 0)) {
+            start = after;
+            inclusive = false;
+        }
+        final NavigableSet<DueDateCursor> tail = start == null
+                                                 ? entries
+                                                 : entries.tailSet(start, inclusive);
+        if (to == null) {
+            return tail;
+        }
+        final DueDateCursor end = boundOf(to);
+        if (start != null && ORDER.compare(start, end) >= 0) {
+            return emptyNavigableSet();
+        }
+        return tail.headSet(end, false);
+    }
+
+    /**
+     * Obtains the entry pointing to the task of the item.
+     *
+     * @param item the item of the task
+     * @return the entry of the task
+     */
+    static DueDateCursor entryOf(TaskItem item) {
+        checkNotNull(item);
+        return DueDateCursor.newBuilder()
+                            .setDueDate(item.getDueDate())
+                            .setLastTask(item.getId())
+                            .build();
+    }
+
+    /**
+     * Obtains the entry preceding all the tasks with the specified due date.
+     */
+    private static DueDateCursor boundOf(Timestamp dueDate) {
+        return DueDateCursor.newBuilder()
+                            .setDueDate(dueDate)
+                            .setLastTask(TaskId.getDefaultInstance())
+                            .build();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The settings of the batched event delivery to projections.
+ *
+ * <p>The events for a projection are queued and applied together, so the projection is
+ * loaded and stored once per batch. A batch is applied as soon as either it reaches
+ * the maximum size, or the maximum delay passes since the first queued event.
+ *
+ * @author Dmytro Grankin
+ * @see BatchingProjectionRepository
+ */
+public final class EventBatching {
+
+    private static final EventBatching DISABLED = new EventBatching(1, 0);
+
+    private final int maxSize;
+    private final long maxDelayMillis;
+
+    private EventBatching(int maxSize, long maxDelayMillis) {
+        this.maxSize = maxSize;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Obtains the settings, which apply every event as soon as it is delivered.
+     */
+    public static EventBatching disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates the batching settings.
+     *
+     * @param maxSize  the maximum number of the queued events, must be greater than one
+     * @param maxDelay the maximum time an event may stay in the queue, must be positive
+     * @param unit     the time unit of the delay
+     * @return new settings
+     */
+    public static EventBatching of(int maxSize, long maxDelay, TimeUnit unit) {
+        checkArgument(maxSize > 1, "The maximum batch size must be greater than one.");
+        checkArgument(maxDelay > 0, "The maximum batch delay must be positive.");
+        checkNotNull(unit);
+        return new EventBatching(maxSize, unit.toMillis(maxDelay));
+    }
+
+    /**
+     * Checks if the events are batched.
+     */
+    public boolean isEnabled() {
+        return maxSize > 1;
+    }
+
+    /**
+     * Obtains the maximum number of the queued events.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Obtains the maximum time in milliseconds an event may stay in the queue.
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.validate.Validate.isDefault;
+import static java.lang.Math.log;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An inverted index of the task descriptions.
+ *
+ * <p>The task descriptions are split into lowercase tokens. For each token the index keeps
+ * the number of its occurrences per task, so a search reads the postings of the query
+ * tokens only and never scans all the tasks.
+ *
+ * <p>The matching tasks are ranked by the sum of the token frequencies weighted by
+ * the inverse document frequency of each token, so the rare words matter more.
+ *
+ * <p>The index keeps the task IDs only. The items of the found tasks are loaded
+ * by the caller.
+ *
+ * @author Dmytro Grankin
+ */
+final class InvertedTaskIndex {
+
+    /** The maximum number of the query tokens taken into account by a search. */
+    static final int MAX_QUERY_TOKENS = 16;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** The number of the occurrences of the tokens by the task ID values. */
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+
+    private int taskCount;
+
+    /**
+     * Adds the task of the item to the index.
+     *
+     * <p>The default item is ignored.
+     *
+     * @param item the item of the task
+     */
+    void add(TaskItem item) {
+        checkNotNull(item);
+        if (isDefault(item)) {
+            return;
+        }
+        final String key = keyOf(item.getId());
+        for (Map.Entry<String, Integer> token : frequencies(descriptionOf(item)).entrySet()) {
+            postings.computeIfAbsent(token.getKey(), tokenKey -> new HashMap<>())
+                    .put(key, token.getValue());
+        }
+        taskCount++;
+    }
+
+    /**
+     * Removes the task of the item from the index.
+     *
+     * @param item the item of the task as it was {@linkplain #add(TaskItem) added}
+     */
+    void remove(TaskItem item) {
+        checkNotNull(item);
+        if (isDefault(item)) {
+            return;
+        }
+        final String key = keyOf(item.getId());
+        for (String token : frequencies(descriptionOf(item)).keySet()) {
+            final Map<String, Integer> frequencies = postings.get(token);
+            if (frequencies != null) {
+                frequencies.remove(key);
+                if (frequencies.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        taskCount--;
+    }
+
+    /**
+     * Determines whether the index has the postings of the token.
+     */
+    boolean contains(String token) {
+        return postings.containsKey(token);
+    }
+
+    /**
+     * Searches the tasks by the words of the description.
+     *
+     * <p>Only the first {@link #MAX_QUERY_TOKENS} distinct tokens of the query are used.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of the tasks to return
+     * @return the IDs of the matching tasks, the most relevant first
+     */
+    List<TaskId> search(String query, int limit) {
+        checkNotNull(query);
+        checkArgument(limit > 0, "The search limit must be positive.");
+        final Map<String, Double> scores = new HashMap<>();
+        for (String token : queryTokens(query)) {
+            final Map<String, Integer> frequencies = postings.get(token);
+            if (frequencies == null) {
+                continue;
+            }
+            final double weight = log(1 + (double) taskCount / frequencies.size());
+            for (Map.Entry<String, Integer> posting : frequencies.entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * weight, Double::sum);
+            }
+        }
+        return top(scores, limit).stream()
+                                 .map(InvertedTaskIndex::idOf)
+                                 .collect(toList());
+    }
+
+    /**
+     * Obtains the keys of the tasks with the highest scores.
+     *
+     * <p>The tasks with the same score are ordered by the key.
+     */
+    private static List<String> top(Map<String, Double> scores, int limit) {
+        final Comparator<Map.Entry<String, Double>> relevance =
+                Map.Entry.<String, Double>comparingByValue()
+                        .reversed()
+                        .thenComparing(Map.Entry.<String, Double>comparingByKey());
+
+        // The least relevant of the kept tasks is on the head of the queue.
+        final PriorityQueue<Map.Entry<String, Double>> best =
+                new PriorityQueue<>(limit, relevance.reversed());
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            best.add(score);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        final List<Map.Entry<String, Double>> sorted = new ArrayList<>(best);
+        sorted.sort(relevance);
+        final List<String> result = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, Double> score : sorted) {
+            result.add(score.getKey());
+        }
+        return result;
+    }
+
+    private static Set<String> queryTokens(String query) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (String token : tokenize(query)) {
+            if (result.size() == MAX_QUERY_TOKENS) {
+                break;
+            }
+            result.add(token);
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> frequencies(String text) {
+        final Map<String, Integer> result = new HashMap<>();
+        for (String token : tokenize(text)) {
+            result.merge(token, 1, Integer::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Splits the text into the lowercase words.
+     */
+    static List<String> tokenize(String text) {
+        final String[] parts = TOKEN_SEPARATOR.split(text.toLowerCase(ROOT));
+        final List<String> result = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            if (!part.isEmpty()) {
+                result.add(part);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static String descriptionOf(TaskItem item) {
+        return item.getDescription()
+                   .getValue();
+    }
+
+    private static String keyOf(TaskId id) {
+        return id.getValue();
+    }
+
+    private static TaskId idOf(String key) {
+        return TaskId.newBuilder()
+                     .setValue(key)
+                     .build();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.c.events.LabelCreated;
+import io.spine.examples.todolist.c.events.LabelDetailsUpdated;
+import io.spine.examples.todolist.q.projection.LabelLookup;
+import io.spine.examples.todolist.q.projection.LabelLookupProjection;
+import io.spine.server.route.EventRouting;
+
+import static java.util.Collections.singleton;
+
+/**
+ * Repository for the {@link LabelLookupProjection}.
+ *
+ * @author Dmytro Grankin
+ */
+public class LabelLookupRepository
+        extends LookupRepository<LabelId, LabelLookupProjection, LabelLookup> {
+
+    public LabelLookupRepository() {
+        super();
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the routes delivering the events to the lookup of the label.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<LabelId> routing = getEventRouting();
+        routing.route(LabelCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(LabelDetailsUpdated.class,
+                      (message, context) -> singleton(message.getLabelId()));
+    }
+}
@@ -37,7 +37,6 @@ import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
 import io.spine.examples.todolist.c.events.TaskReopened;
 import io.spine.examples.todolist.q.projection.LabelledTasksView;
 import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
-import io.spine.server.projection.ProjectionRepository;
 import io.spine.server.route.EventRoute;
 import io.spine.server.route.EventRouting;
 
@@ -53,10 +52,21 @@ import static java.util.Collections.singleton;
  * @author Illia Shepilov
  */
 public class LabelledTasksViewRepository
-        extends ProjectionRepository<LabelId, LabelledTasksViewProjection, LabelledTasksView> {
+        extends BatchingProjectionRepository<LabelId,
+                                             LabelledTasksViewProjection,
+                                             LabelledTasksView> {
 
     public LabelledTasksViewRepository() {
-        super();
+        this(ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    public LabelledTasksViewRepository(ProjectionOptions options) {
+        super(options);
         setUpEventRoute();
     }
 
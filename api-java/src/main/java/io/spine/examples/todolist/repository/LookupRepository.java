@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.core.EventEnvelope;
+import io.spine.server.projection.Projection;
+import io.spine.server.projection.ProjectionRepository;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.emptySet;
+
+/**
+ * A repository of the projections used to enrich the events.
+ *
+ * <p>An event should be applied to the projections before the event is enriched,
+ * while the {@code EventBus} delivers the event to its dispatchers in no particular order.
+ * So the repository ignores the events delivered by the bus. Instead, a filter of the bus
+ * {@linkplain #update(EventEnvelope) applies} the events before the enrichment.
+ *
+ * @param <I> the type of the projection IDs
+ * @param <P> the type of the projections
+ * @param <S> the type of the projection states
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+public abstract class LookupRepository<I, P extends Projection<I, S, ?>, S extends Message>
+        extends ProjectionRepository<I, P, S> {
+
+    private BiConsumer<I, S> stateListener = (id, state) -> {};
+
+    /**
+     * Ignores the event delivered by the bus.
+     *
+     * <p>The event is already {@linkplain #update(EventEnvelope) applied}.
+     *
+     * @return an empty set
+     */
+    @Override
+    public Set<I> dispatch(EventEnvelope envelope) {
+        return emptySet();
+    }
+
+    /**
+     * Applies the event to the projections, if the projections subscribe to it.
+     *
+     * @param envelope the event to apply
+     * @return the IDs of the updated projections
+     */
+    public Set<I> update(EventEnvelope envelope) {
+        checkNotNull(envelope);
+        if (!getMessageClasses().contains(envelope.getMessageClass())) {
+            return emptySet();
+        }
+        return super.dispatch(envelope);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Passes the stored state to the {@linkplain #setStateListener(BiConsumer) listener}.
+     */
+    @Override
+    public void store(P projection) {
+        super.store(projection);
+        stateListener.accept(projection.getId(), projection.getState());
+    }
+
+    /**
+     * Sets the listener of the stored states.
+     *
+     * <p>The listener is called after the state is stored and before the event,
+     * which produced the state, is enriched.
+     *
+     * @param listener the consumer of the ID and the state of a stored projection
+     */
+    public void setStateListener(BiConsumer<I, S> listener) {
+        this.stateListener = checkNotNull(listener);
+    }
+
+    /**
+     * Obtains the state of the projection with the specified ID.
+     *
+     * @param id the ID of the projection
+     * @return the projection state or {@code Optional.absent()} if there is no such projection
+     */
+    public Optional<S> findState(I id) {
+        checkNotNull(id);
+        final Optional<P> projection = find(id);
+        return projection.transform(P::getState);
+    }
+}
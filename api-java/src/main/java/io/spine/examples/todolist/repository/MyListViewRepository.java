@@ -20,34 +20,116 @@
 
 package io.spine.examples.todolist.repository;
 
+import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
 import io.spine.examples.todolist.q.projection.MyListView;
 import io.spine.examples.todolist.q.projection.MyListViewProjection;
-import io.spine.server.projection.ProjectionRepository;
+import io.spine.server.route.EventRouting;
 
-import static io.spine.examples.todolist.q.projection.MyListViewProjection.ID;
-import static java.util.Collections.singleton;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Repository for the {@link MyListViewProjection}.
  *
+ * <p>The tasks are hash-partitioned by the {@link TaskId} between a configured number
+ * of {@link MyListView} shards. The events, which do not refer to a single task
+ * (e.g. {@code LabelDetailsUpdated}), are delivered to all the shards.
+ *
+ * <p>A single shard is used by default. In this case the only shard ID
+ * is {@link MyListViewProjection#ID}.
+ *
  * @author Illia Shepilov
  */
 public class MyListViewRepository
-        extends ProjectionRepository<TaskListId, MyListViewProjection, MyListView> {
+        extends BatchingProjectionRepository<TaskListId, MyListViewProjection, MyListView> {
+
+    /** The number of {@link MyListView} shards used by default. */
+    public static final int DEFAULT_SHARD_COUNT = 1;
+
+    private final TaskShards shards;
 
     public MyListViewRepository() {
-        super();
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Creates a new repository, which distributes the tasks between
+     * the given number of {@link MyListView} shards.
+     *
+     * @param shardCount the number of shards, must be positive
+     */
+    public MyListViewRepository(int shardCount) {
+        this(shardCount, ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which distributes the tasks between
+     * the given number of {@link MyListView} shards and applies the events
+     * according to the specified settings.
+     *
+     * @param shardCount the number of shards, must be positive
+     * @param options    the settings of the event delivery
+     */
+    public MyListViewRepository(int shardCount, ProjectionOptions options) {
+        super(options);
+        checkArgument(shardCount > 0, "The number of MyListView shards must be positive.");
+        this.shards = TaskShards.of(shardCount);
         setUpEventRoute();
     }
 
     /**
      * Adds the {@link io.spine.server.route.EventRoute EventRoute}s to the repository.
      * Should to be overridden in an successor classes,
-     * otherwise all successors will use {@code MyListViewProjection.ID}
+     * otherwise all successors will use the {@code MyListViewProjection} shard IDs
      * and only with specified events below.
      */
     protected void setUpEventRoute() {
-        getEventRouting().replaceDefault(((message, context) -> singleton(ID)));
+        final EventRouting<TaskListId> routing = getEventRouting();
+        routing.replaceDefault((message, context) -> shards.ids());
+        routing.route(TaskCreated.class,
+                      (message, context) -> shardOf(message.getId()));
+        routing.route(TaskDraftFinalized.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskDeleted.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskDescriptionUpdated.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskPriorityUpdated.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskDueDateUpdated.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskCompleted.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(LabelAssignedToTask.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+        routing.route(LabelRemovedFromTask.class,
+                      (message, context) -> shardOf(message.getTaskId()));
+    }
+
+    /**
+     * Obtains the IDs of all the {@link MyListView} shards managed by this repository.
+     *
+     * @return the shard IDs
+     */
+    public Set<TaskListId> getShards() {
+        return shards.ids();
+    }
+
+    private Set<TaskListId> shardOf(TaskId taskId) {
+        return shards.shardOf(taskId);
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Counts the deliveries of a {@link StripedEventDispatcher}, which are not performed yet,
+ * and remembers the failed ones.
+ *
+ * <p>The dispatcher counts all of its deliveries. A repository sharing the dispatcher
+ * with the others counts only its own deliveries, so it does not wait for the deliveries
+ * to the other repositories.
+ *
+ * @author Dmytro Grankin
+ */
+final class PendingDeliveries {
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger failureCount = new AtomicInteger();
+
+    /** The first failure since the last {@linkplain #clearFailures() clearing}. */
+    @Nullable
+    private volatile RuntimeException firstFailure;
+
+    void onDispatched() {
+        count.incrementAndGet();
+    }
+
+    void onDelivered() {
+        if (count.decrementAndGet() == 0) {
+            synchronized (count) {
+                count.notifyAll();
+            }
+        }
+    }
+
+    void onFailed(RuntimeException failure) {
+        if (failureCount.getAndIncrement() == 0) {
+            firstFailure = failure;
+        }
+    }
+
+    /**
+     * Obtains the number of the deliveries, which are not performed yet,
+     * including the ones in progress.
+     */
+    int count() {
+        return count.get();
+    }
+
+    /**
+     * Obtains the number of the failed deliveries since the last
+     * {@linkplain #clearFailures() clearing}.
+     */
+    int failureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Obtains the first failed delivery since the last {@linkplain #clearFailures() clearing}.
+     *
+     * @return the failure or {@code null} if there were no failures
+     */
+    @Nullable
+    RuntimeException firstFailure() {
+        return firstFailure;
+    }
+
+    void clearFailures() {
+        firstFailure = null;
+        failureCount.set(0);
+    }
+
+    /**
+     * Waits until all the dispatched deliveries are performed.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    void await() throws InterruptedException {
+        synchronized (count) {
+            while (count.get() > 0) {
+                count.wait();
+            }
+        }
+    }
+
+    /**
+     * Waits until all the dispatched deliveries are performed or the timeout elapses.
+     *
+     * @return {@code true} if there are no pending deliveries,
+     *         {@code false} if the timeout elapsed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (count) {
+            while (count.get() > 0) {
+                final long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return false;
+                }
+                NANOSECONDS.timedWait(count, left);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Stopwatch;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import io.spine.core.Event;
+import io.spine.core.EventClass;
+import io.spine.core.EventEnvelope;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.server.event.EventFilter;
+import io.spine.server.event.EventStore;
+import io.spine.server.event.EventStreamQuery;
+import io.spine.type.TypeName;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.util.Durations.fromNanos;
+import static com.google.protobuf.util.Timestamps.subtract;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.validate.Validate.isDefault;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Rebuilds the projections of a repository from the events in the {@link EventStore}.
+ *
+ * <p>The events are read from the store, {@linkplain
+ * BatchingProjectionRepository#setStoredEventEnricher enriched} and partitioned by the target
+ * projection IDs using the {@linkplain io.spine.server.route.EventRouting event routing} of
+ * the repository. The partitions are applied in parallel on a {@link ForkJoinPool} each time
+ * {@value #MAX_BUFFERED_EVENTS} events are read, so the history is not held in memory.
+ * Each projection is created anew on receiving its first partition. The events of
+ * a partition are applied in a single transaction, and the projection is stored once
+ * per partition. The projections, which receive no events, are reset to the default state.
+ *
+ * <p>The events of a projection keep the order, in which they are read from the store.
+ *
+ * <p>The catch-up is meant to run while the repository receives no new events,
+ * e.g. on the start of the application after a change of the projection.
+ * Only a single-tenant bounded context is supported.
+ *
+ * @param <I> the type of the projection IDs
+ * @author Dmytro Grankin
+ */
+public final class ProjectionCatchUp<I> {
+
+    /** The maximum number of the read events kept in memory before they are applied. */
+    private static final int MAX_BUFFERED_EVENTS = 10_000;
+
+    private final BatchingProjectionRepository<I, ?, ?> repository;
+    private final int parallelism;
+    private final ProgressListener listener;
+
+    /** The checkpoint to continue from or {@code null} to rebuild the projections. */
+    @Nullable
+    private final RepositoryCheckpoint checkpoint;
+
+    private ProjectionCatchUp(BatchingProjectionRepository<I, ?, ?> repository,
+                              int parallelism,
+                              ProgressListener listener,
+                              @Nullable RepositoryCheckpoint checkpoint) {
+        this.repository = repository;
+        this.parallelism = parallelism;
+        this.listener = listener;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Creates a catch-up, which uses all the available processors and
+     * does not report the progress.
+     *
+     * @param repository the repository of the projections to rebuild
+     * @param <I>        the type of the projection IDs
+     * @return new catch-up
+     */
+    public static <I> ProjectionCatchUp<I> of(BatchingProjectionRepository<I, ?, ?> repository) {
+        final int processors = Runtime.getRuntime()
+                                      .availableProcessors();
+        return of(repository, processors, progress -> {});
+    }
+
+    /**
+     * Creates a catch-up.
+     *
+     * @param repository  the repository of the projections to rebuild
+     * @param parallelism the number of the projections to rebuild simultaneously
+     * @param listener    the listener of the catch-up progress
+     * @param <I>         the type of the projection IDs
+     * @return new catch-up
+     */
+    public static <I> ProjectionCatchUp<I> of(BatchingProjectionRepository<I, ?, ?> repository,
+                                              int parallelism,
+                                              ProgressListener listener) {
+        checkNotNull(repository);
+        checkArgument(parallelism > 0, "The catch-up parallelism must be positive.");
+        checkNotNull(listener);
+        return new ProjectionCatchUp<>(repository, parallelism, listener, null);
+    }
+
+    /**
+     * Obtains the catch-up, which applies only the events after the checkpoint.
+     *
+     * <p>Unlike the rebuild, the events are applied to the current state of the projections,
+     * which is supposed to be {@linkplain ProjectionCheckpoints restored} from the checkpoint.
+     *
+     * @param checkpoint the checkpoint of the repository
+     * @return new catch-up with the same settings
+     */
+    public ProjectionCatchUp<I> since(RepositoryCheckpoint checkpoint) {
+        checkNotNull(checkpoint);
+        return new ProjectionCatchUp<>(repository, parallelism, listener, checkpoint);
+    }
+
+    /**
+     * Rebuilds the projections or applies the events after the checkpoint, if it is set.
+     *
+     * <p>The listener is notified after each applied partition.
+     *
+     * @return the final progress of the catch-up
+     */
+    public CatchUpProgress run() {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        repository.flush();
+        final Progress progress = new Progress(stopwatch);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final PartitioningObserver observer = new PartitioningObserver(pool, progress);
+            final EventStreamQuery query = queryFor(repository.getMessageClasses(), checkpoint);
+            final EventStore eventStore = repository.getBoundedContext()
+                                                    .getEventBus()
+                                                    .getEventStore();
+            eventStore.read(query, observer);
+            observer.applyBuffered();
+            if (checkpoint == null) {
+                repository.resetExcept(observer.caughtUp);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return progress.current();
+    }
+
+    private static EventStreamQuery queryFor(Set<EventClass> eventClasses,
+                                             @Nullable RepositoryCheckpoint checkpoint) {
+        final EventStreamQuery.Builder query = EventStreamQuery.newBuilder();
+        if (checkpoint != null && !isDefault(checkpoint.getLastEventTime())) {
+            // The bound is exclusive, while more events may happen at the last event time.
+            final Timestamp after = subtract(checkpoint.getLastEventTime(), fromNanos(1));
+            query.setAfter(after);
+        }
+        for (EventClass eventClass : eventClasses) {
+            final String typeName = TypeName.of(eventClass.value())
+                                            .value();
+            final EventFilter filter = EventFilter.newBuilder()
+                                                  .setEventType(typeName)
+                                                  .build();
+            query.addFilter(filter);
+        }
+        return query.build();
+    }
+
+    /**
+     * The listener of the {@linkplain CatchUpProgress catch-up progress}.
+     *
+     * <p>The listener is notified from the threads of the catch-up, but never concurrently.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Receives the current catch-up progress.
+         *
+         * @param progress the progress of the catch-up
+         */
+        void onProgress(CatchUpProgress progress);
+    }
+
+    /**
+     * The observer distributing the read events between the target projections.
+     *
+     * <p>Applies the partitions each time {@value #MAX_BUFFERED_EVENTS} events are read.
+     */
+    private class PartitioningObserver implements StreamObserver<Event> {
+
+        private final ForkJoinPool pool;
+        private final Progress progress;
+        private Map<I, List<EventEnvelope>> partitions = new LinkedHashMap<>();
+        private int bufferedEvents;
+
+        /** The IDs of the projections, which received the events. */
+        private final Set<I> caughtUp = ConcurrentHashMap.newKeySet();
+
+        private PartitioningObserver(ForkJoinPool pool, Progress progress) {
+            this.pool = pool;
+            this.progress = progress;
+        }
+
+        @Override
+        public void onNext(Event event) {
+            if (checkpoint != null && checkpoint.getLastEventIdsList()
+                                                .contains(event.getId())) {
+                return;
+            }
+            final EventEnvelope envelope = repository.enrichStored(EventEnvelope.of(event));
+            final Set<I> ids = repository.route(envelope);
+            for (I id : ids) {
+                final List<EventEnvelope> events =
+                        partitions.computeIfAbsent(id, projectionId -> new ArrayList<>());
+                events.add(envelope);
+                final boolean newProjection = events.size() == 1 && !caughtUp.contains(id);
+                progress.onRead(newProjection);
+                bufferedEvents++;
+            }
+            if (bufferedEvents >= MAX_BUFFERED_EVENTS) {
+                applyBuffered();
+            }
+        }
+
+        /**
+         * Applies the partitions of the read events in parallel.
+         */
+        private void applyBuffered() {
+            final Map<I, List<EventEnvelope>> batch = partitions;
+            partitions = new LinkedHashMap<>();
+            bufferedEvents = 0;
+            try {
+                pool.submit(() -> batch.entrySet()
+                                       .parallelStream()
+                                       .forEach(this::apply))
+                    .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw illegalStateWithCauseOf(e);
+            } catch (ExecutionException e) {
+                throw illegalStateWithCauseOf(e.getCause());
+            }
+        }
+
+        private void apply(Map.Entry<I, List<EventEnvelope>> partition) {
+            final I id = partition.getKey();
+            final List<EventEnvelope> events = partition.getValue();
+            final boolean first = caughtUp.add(id);
+            if (checkpoint == null && first) {
+                repository.rebuild(id, events);
+            } else {
+                repository.replay(id, events);
+            }
+            progress.onApplied(events.size(), first);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw illegalStateWithCauseOf(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+
+    /**
+     * The counters of the catch-up progress.
+     *
+     * <p>The events are read while the previously read ones are not applied yet.
+     * So the totals include only the events read so far.
+     */
+    private class Progress {
+
+        private final Stopwatch stopwatch;
+        private final AtomicLong totalEvents = new AtomicLong();
+        private final AtomicInteger totalProjections = new AtomicInteger();
+        private final AtomicLong appliedEvents = new AtomicLong();
+        private final AtomicInteger rebuiltProjections = new AtomicInteger();
+
+        private Progress(Stopwatch stopwatch) {
+            this.stopwatch = stopwatch;
+        }
+
+        private void onRead(boolean newProjection) {
+            totalEvents.incrementAndGet();
+            if (newProjection) {
+                totalProjections.incrementAndGet();
+            }
+        }
+
+        private void onApplied(int eventCount, boolean newProjection) {
+            appliedEvents.addAndGet(eventCount);
+            if (newProjection) {
+                rebuiltProjections.incrementAndGet();
+            }
+            synchronized (this) {
+                listener.onProgress(current());
+            }
+        }
+
+        private CatchUpProgress current() {
+            return new CatchUpProgress(totalEvents.get(),
+                                       appliedEvents.get(),
+                                       totalProjections.get(),
+                                       rebuiltProjections.get(),
+                                       stopwatch.elapsed(MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.context.BoundedContextOptions;
+import io.spine.examples.todolist.q.projection.ArchivedTasksView;
+import io.spine.examples.todolist.q.projection.DraftTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.ProjectionCheckpoint;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskCountersView;
+import io.spine.examples.todolist.q.projection.TaskDueDateView;
+import io.spine.examples.todolist.q.projection.TaskSearchView;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
+import org.slf4j.Logger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Saves the state of the task list projections to a local file and restores it.
+ *
+ * <p>A {@linkplain ProjectionCheckpoint checkpoint} contains the states of the projections
+ * along with the position of the last applied event. On the restoration the projections
+ * receive only the events stored after the checkpoint, so the restoration time depends
+ * on the recent activity rather than on the whole history.
+ *
+ * <p>A typical usage on the server start is as follows:
+ * <pre>
+ *     {@code
+ *     final ProjectionCheckpoints checkpoints = ProjectionCheckpoints.of(file, boundedContext);
+ *     checkpoints.restore();
+ *     checkpoints.writeEvery(1, MINUTES);
+ *     }
+ * </pre>
+ *
+ * <p>The same is done by {@link #start(BoundedContext, BoundedContextOptions)} according to
+ * the {@linkplain BoundedContextOptions#getCheckpointFile() settings} of the bounded context.
+ *
+ * <p>The last checkpoint is not necessarily written on the server stop. The events stored
+ * after it are applied on the restoration anyway.
+ *
+ * <p>The projections are restored along with the events after the checkpoint, but
+ * the aggregates are not. So the checkpoints are meant for a bounded context, which stores
+ * the aggregates and the events durably. Otherwise, the restored projections refer to
+ * the tasks and the labels, which do not exist.
+ *
+ * <p>Only a single-tenant bounded context is supported.
+ *
+ * @author Dmytro Grankin
+ */
+public final class ProjectionCheckpoints {
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String WRITE_THREAD_NAME = "projection-checkpoint-write";
+
+    private final Path file;
+    private final ImmutableList<BatchingProjectionRepository<?, ?, ?>> repositories;
+
+    @Nullable
+    private ScheduledExecutorService writeScheduler;
+
+    private ProjectionCheckpoints(Path file,
+                                  ImmutableList<BatchingProjectionRepository<?, ?, ?>> repos) {
+        this.file = file;
+        this.repositories = repos;
+    }
+
+    /**
+     * Creates the checkpoints of the specified repositories.
+     *
+     * @param file         the file to store the checkpoint
+     * @param repositories the repositories of the projections
+     * @return new instance
+     */
+    public static ProjectionCheckpoints
+    of(Path file, Iterable<? extends BatchingProjectionRepository<?, ?, ?>> repositories) {
+        checkNotNull(file);
+        checkNotNull(repositories);
+        return new ProjectionCheckpoints(file, ImmutableList.copyOf(repositories));
+    }
+
+    /**
+     * Creates the checkpoints of the task list projections of the bounded context.
+     *
+     * <p>Includes the repositories of {@link MyListView}, {@link LabelledTasksView},
+     * {@link DraftTasksView}, {@link TaskDueDateView}, {@link TaskSearchView},
+     * {@link TaskCountersView} and {@link ArchivedTasksView}.
+     *
+     * @param file           the file to store the checkpoint
+     * @param boundedContext the bounded context created by
+     *                       {@link io.spine.examples.todolist.context.BoundedContexts
+     *                       BoundedContexts}
+     * @return new instance
+     */
+    public static ProjectionCheckpoints of(Path file, BoundedContext boundedContext) {
+        checkNotNull(boundedContext);
+        final ImmutableList<BatchingProjectionRepository<?, ?, ?>> repositories =
+                ImmutableList.of(findRepository(boundedContext, MyListView.class),
+                                 findRepository(boundedContext, LabelledTasksView.class),
+                                 findRepository(boundedContext, DraftTasksView.class),
+                                 findRepository(boundedContext, TaskDueDateView.class),
+                                 findRepository(boundedContext, TaskSearchView.class),
+                                 findRepository(boundedContext, TaskCountersView.class),
+                                 findRepository(boundedContext, ArchivedTasksView.class));
+        return of(file, repositories);
+    }
+
+    /**
+     * Restores the projections of the bounded context from the checkpoint file and starts
+     * writing the checkpoint periodically, if the file is specified by the settings.
+     *
+     * @param boundedContext the bounded context created by
+     *                       {@link io.spine.examples.todolist.context.BoundedContexts
+     *                       BoundedContexts} with the specified settings
+     * @param options        the settings of the bounded context
+     * @return the started checkpoints or {@code Optional.empty()} if the settings specify
+     *         no checkpoint file
+     */
+    public static Optional<ProjectionCheckpoints> start(BoundedContext boundedContext,
+                                                        BoundedContextOptions options) {
+        checkNotNull(boundedContext);
+        checkNotNull(options);
+        final Path file = options.getCheckpointFile();
+        if (file == null) {
+            return Optional.empty();
+        }
+        final ProjectionCheckpoints result = of(file, boundedContext);
+        result.restore();
+        result.writeEvery(options.getCheckpointIntervalMillis(), MILLISECONDS);
+        return Optional.of(result);
+    }
+
+    /**
+     * Writes the checkpoint of the projections to the file.
+     *
+     * <p>The checkpoint is written to a temporary file first, so the previous checkpoint
+     * remains intact if the writing fails.
+     */
+    public synchronized void write() {
+        final ProjectionCheckpoint.Builder checkpoint = ProjectionCheckpoint.newBuilder();
+        for (BatchingProjectionRepository<?, ?, ?> repository : repositories) {
+            checkpoint.addRepositories(repository.checkpoint());
+        }
+        final Path tempFile = file.resolveSibling(file.getFileName() + TEMP_FILE_SUFFIX);
+        try (OutputStream output = Files.newOutputStream(tempFile)) {
+            checkpoint.build()
+                      .writeTo(output);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        try {
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        log().debug("The projection checkpoint is written to {}.", file);
+    }
+
+    /**
+     * Restores the projections from the checkpoint file and applies the events
+     * stored after the checkpoint.
+     *
+     * <p>If there is no checkpoint for a repository, the repository is left intact.
+     *
+     * @return {@code true} if the checkpoint file exists, {@code false} otherwise
+     */
+    public synchronized boolean restore() {
+        if (!Files.exists(file)) {
+            log().info("There is no projection checkpoint at {}.", file);
+            return false;
+        }
+        final Map<String, RepositoryCheckpoint> checkpoints = read();
+        for (BatchingProjectionRepository<?, ?, ?> repository : repositories) {
+            final RepositoryCheckpoint checkpoint = checkpoints.get(repository.getClass()
+                                                                              .getName());
+            if (checkpoint != null) {
+                restore(repository, checkpoint);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts writing the checkpoint periodically.
+     *
+     * @param interval the interval between the checkpoints
+     * @param unit     the time unit of the interval
+     */
+    public synchronized void writeEvery(long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "The checkpoint interval must be positive.");
+        checkNotNull(unit);
+        checkState(writeScheduler == null, "The checkpoints are already scheduled.");
+        writeScheduler = newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, WRITE_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeScheduler.scheduleWithFixedDelay(this::writeInBackground, interval, interval, unit);
+    }
+
+    /**
+     * Stops writing the checkpoint periodically and writes the final one.
+     */
+    public synchronized void close() {
+        if (writeScheduler != null) {
+            writeScheduler.shutdown();
+            writeScheduler = null;
+        }
+        write();
+    }
+
+    /**
+     * Writes the checkpoint in the scheduled thread.
+     *
+     * <p>The failures are logged, so the next checkpoints are still written.
+     */
+    private void writeInBackground() {
+        try {
+            write();
+        } catch (RuntimeException e) {
+            log().error("Failed to write the projection checkpoint to {}.", file, e);
+        }
+    }
+
+    private Map<String, RepositoryCheckpoint> read() {
+        final ProjectionCheckpoint checkpoint;
+        try (InputStream input = Files.newInputStream(file)) {
+            checkpoint = ProjectionCheckpoint.parseFrom(input);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+        final Map<String, RepositoryCheckpoint> result = new HashMap<>();
+        for (RepositoryCheckpoint repositoryCheckpoint : checkpoint.getRepositoriesList()) {
+            result.put(repositoryCheckpoint.getRepository(), repositoryCheckpoint);
+        }
+        return result;
+    }
+
+    private static <I> void restore(BatchingProjectionRepository<I, ?, ?> repository,
+                                    RepositoryCheckpoint checkpoint) {
+        repository.restore(checkpoint);
+        final CatchUpProgress progress = ProjectionCatchUp.of(repository)
+                                                          .since(checkpoint)
+                                                          .run();
+        log().info("{} is restored from the checkpoint with {} events after it.",
+                   repository.getClass()
+                             .getSimpleName(),
+                   progress.getAppliedEvents());
+    }
+
+    private static BatchingProjectionRepository<?, ?, ?>
+    findRepository(BoundedContext boundedContext, Class<? extends Message> stateClass) {
+        @SuppressWarnings("Guava") // Spine API is Java 7-based.
+        final Optional<Repository> repository = boundedContext.findRepository(stateClass);
+        if (!repository.isPresent()
+                || !(repository.get() instanceof BatchingProjectionRepository)) {
+            throw newIllegalStateException("The bounded context %s has no projection " +
+                                                   "repository of %s.",
+                                           boundedContext.getName(), stateClass);
+        }
+        return (BatchingProjectionRepository<?, ?, ?>) repository.get();
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(ProjectionCheckpoints.class);
+    }
+}
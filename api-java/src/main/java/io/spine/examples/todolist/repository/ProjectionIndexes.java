@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.core.TenantId;
+import io.spine.core.Version;
+import io.spine.examples.todolist.q.projection.TaskListIndexes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@linkplain TaskListIndexes indexes} of the task lists kept by a repository
+ * for each of its projections.
+ *
+ * <p>The indexes of a projection are kept along with the version of the projection
+ * they match. While the events are applied to the projection, its indexes are
+ * {@linkplain #take(TenantId, Object, Version) taken} from here and are
+ * {@linkplain #put(TenantId, Object, TaskListIndexes, Version) put} back once the projection
+ * is stored. If the events fail to apply, the indexes are not put back and are built
+ * from the lists next time.
+ *
+ * @param <I> the type of the projection IDs
+ * @author Dmytro Grankin
+ */
+final class ProjectionIndexes<I> {
+
+    /** The indexes by the projection IDs per tenant. */
+    private final Map<TenantId, Map<I, Entry>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Takes the indexes of the projection.
+     *
+     * @param tenantId the tenant of the projection
+     * @param id       the ID of the projection
+     * @param version  the current version of the projection
+     * @return the kept indexes if they match the version or new empty indexes otherwise
+     */
+    TaskListIndexes take(TenantId tenantId, I id, Version version) {
+        final Entry entry = entriesOf(tenantId).remove(id);
+        return entry != null && entry.version.equals(version)
+               ? entry.indexes
+               : new TaskListIndexes();
+    }
+
+    /**
+     * Keeps the indexes of the stored projection.
+     *
+     * @param tenantId the tenant of the projection
+     * @param id       the ID of the projection
+     * @param indexes  the indexes matching the stored state of the projection
+     * @param version  the stored version of the projection
+     */
+    void put(TenantId tenantId, I id, TaskListIndexes indexes, Version version) {
+        entriesOf(tenantId).put(id, new Entry(indexes, version));
+    }
+
+    /**
+     * Drops all the indexes, e.g. when the projections are replaced in the storage.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    private Map<I, Entry> entriesOf(TenantId tenantId) {
+        return entries.computeIfAbsent(tenantId, tenant -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * The indexes of a projection along with its version.
+     */
+    private static final class Entry {
+
+        private final TaskListIndexes indexes;
+        private final Version version;
+
+        private Entry(TaskListIndexes indexes, Version version) {
+            this.indexes = indexes;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The settings of the delivery of the events to the projections
+ * of a {@link BatchingProjectionRepository}.
+ *
+ * @author Dmytro Grankin
+ */
+public final class ProjectionOptions {
+
+    private static final ProjectionOptions DEFAULTS = newBuilder().build();
+
+    private final EventBatching batching;
+
+    @Nullable
+    private final StripedEventDispatcher dispatcher;
+
+    private ProjectionOptions(Builder builder) {
+        this.batching = builder.batching;
+        this.dispatcher = builder.dispatcher;
+    }
+
+    /**
+     * Obtains the settings, which apply each event in the dispatching thread
+     * as soon as it is dispatched.
+     */
+    public static ProjectionOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Obtains the batching settings.
+     */
+    public EventBatching getBatching() {
+        return batching;
+    }
+
+    /**
+     * Obtains the dispatcher to apply the events with.
+     *
+     * @return the dispatcher or {@code null} if the events are applied synchronously
+     */
+    @Nullable
+    public StripedEventDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Creates a new builder for {@code ProjectionOptions}.
+     *
+     * @return new builder instance
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for {@code ProjectionOptions} instances.
+     */
+    public static class Builder {
+
+        private EventBatching batching = EventBatching.disabled();
+
+        @Nullable
+        private StripedEventDispatcher dispatcher;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the batching settings.
+         *
+         * <p>If not set, the events are not batched.
+         */
+        public Builder setBatching(EventBatching batching) {
+            this.batching = checkNotNull(batching);
+            return this;
+        }
+
+        /**
+         * Sets the dispatcher to apply the events to the projections asynchronously.
+         *
+         * <p>The dispatcher is not closed along with the repositories.
+         *
+         * <p>If not set, the events are applied in the thread, which dispatches them or
+         * flushes the batch.
+         */
+        public Builder setDispatcher(StripedEventDispatcher dispatcher) {
+            this.dispatcher = checkNotNull(dispatcher);
+            return this;
+        }
+
+        public ProjectionOptions build() {
+            return new ProjectionOptions(this);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.lang.Math.floorMod;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Delivers the events to the projections asynchronously.
+ *
+ * <p>The deliveries are distributed by the projection ID between a fixed number of stripes.
+ * Each stripe is served by a single thread, so the deliveries to a projection are applied
+ * in the order of dispatching, while the different projections are updated in parallel.
+ *
+ * <p>A single dispatcher may be shared by several repositories. It should be
+ * {@linkplain #close() closed} by the party, which created it.
+ *
+ * <p>The {@linkplain #getQueueDepth() queue depth}, the {@linkplain #getLagMillis() lag}
+ * and the {@linkplain #getFailureCount() number of the failed deliveries} may be read
+ * at any time.
+ *
+ * <p>A failed delivery is logged and does not prevent the next ones. The party, which
+ * dispatched it, learns about the failure from the {@link PendingDeliveries} passed
+ * to the dispatcher along with the delivery.
+ *
+ * @author Dmytro Grankin
+ * @see BatchingProjectionRepository
+ */
+public final class StripedEventDispatcher implements AutoCloseable {
+
+    private static final String THREAD_NAME_FORMAT = "projection-stripe-%d";
+
+    private final ImmutableList<ThreadPoolExecutor> stripes;
+    private final PendingDeliveries pending = new PendingDeliveries();
+
+    private StripedEventDispatcher(ImmutableList<ThreadPoolExecutor> stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates a new dispatcher with the specified number of stripes.
+     *
+     * @param stripeCount the number of stripes, must be positive
+     * @return new instance
+     */
+    public static StripedEventDispatcher newInstance(int stripeCount) {
+        checkArgument(stripeCount > 0, "The number of stripes must be positive.");
+        final ImmutableList.Builder<ThreadPoolExecutor> stripes = ImmutableList.builder();
+        for (int index = 0; index < stripeCount; index++) {
+            stripes.add(newStripe(index));
+        }
+        return new StripedEventDispatcher(stripes.build());
+    }
+
+    private static ThreadPoolExecutor newStripe(int index) {
+        final String threadName = String.format(THREAD_NAME_FORMAT, index);
+        return new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+                                      new LinkedBlockingQueue<>(),
+                                      runnable -> {
+                                          final Thread thread = new Thread(runnable, threadName);
+                                          thread.setDaemon(true);
+                                          return thread;
+                                      });
+    }
+
+    /**
+     * Schedules the delivery to the projection with the specified ID.
+     *
+     * <p>The deliveries with the equal IDs are performed one after another
+     * in the order of this method calls.
+     *
+     * @param projectionId the ID of the target projection
+     * @param delivery     the delivery to perform
+     * @throws IllegalStateException if the dispatcher is closed
+     */
+    void dispatch(Object projectionId, Runnable delivery) {
+        dispatch(projectionId, delivery, new PendingDeliveries());
+    }
+
+    /**
+     * Schedules the delivery to the projection with the specified ID and counts it
+     * in the specified deliveries of the dispatching party.
+     *
+     * @param projectionId the ID of the target projection
+     * @param delivery     the delivery to perform
+     * @param deliveries   the deliveries of the dispatching party
+     * @throws IllegalStateException if the dispatcher is closed
+     * @see #dispatch(Object, Runnable)
+     */
+    void dispatch(Object projectionId, Runnable delivery, PendingDeliveries deliveries) {
+        checkNotNull(projectionId);
+        checkNotNull(delivery);
+        checkNotNull(deliveries);
+        final ExecutorService stripe = stripes.get(stripeOf(projectionId));
+        pending.onDispatched();
+        deliveries.onDispatched();
+        try {
+            stripe.execute(new Delivery(delivery, deliveries));
+        } catch (RejectedExecutionException e) {
+            pending.onDelivered();
+            deliveries.onDelivered();
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Obtains the number of the stripes.
+     */
+    public int getStripeCount() {
+        return stripes.size();
+    }
+
+    /**
+     * Obtains the number of the deliveries, which are not performed yet,
+     * including the ones in progress.
+     */
+    public int getQueueDepth() {
+        return pending.count();
+    }
+
+    /**
+     * Obtains the number of the failed deliveries.
+     */
+    public int getFailureCount() {
+        return pending.failureCount();
+    }
+
+    /**
+     * Obtains the number of the deliveries waiting in the queue of the specified stripe.
+     *
+     * @param stripe the zero-based index of the stripe
+     */
+    public int getQueueDepth(int stripe) {
+        return stripes.get(stripe)
+                      .getQueue()
+                      .size();
+    }
+
+    /**
+     * Obtains the time the oldest waiting delivery spent in the queue.
+     *
+     * @return the lag in milliseconds or zero if no deliveries are waiting
+     */
+    public long getLagMillis() {
+        final long now = System.nanoTime();
+        long result = 0;
+        for (ThreadPoolExecutor stripe : stripes) {
+            final Runnable oldest = stripe.getQueue()
+                                          .peek();
+            if (oldest instanceof Delivery) {
+                final long waited = now - ((Delivery) oldest).dispatchedAt;
+                result = max(result, NANOSECONDS.toMillis(waited));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Waits until all the dispatched deliveries are performed.
+     *
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public void awaitDelivered() throws InterruptedException {
+        pending.await();
+    }
+
+    /**
+     * Waits until all the dispatched deliveries are performed or the timeout elapses.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return {@code true} if there are no pending deliveries,
+     *         {@code false} if the timeout elapsed
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean awaitDelivered(long timeout, TimeUnit unit) throws InterruptedException {
+        return pending.await(timeout, unit);
+    }
+
+    /**
+     * Stops accepting the deliveries.
+     *
+     * <p>The already dispatched deliveries are performed.
+     */
+    @Override
+    public void close() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    private int stripeOf(Object projectionId) {
+        return floorMod(projectionId.hashCode(), stripes.size());
+    }
+
+    /**
+     * A delivery remembering the time it was dispatched.
+     */
+    private final class Delivery implements Runnable {
+
+        private final Runnable delivery;
+        private final PendingDeliveries deliveries;
+        private final long dispatchedAt = System.nanoTime();
+
+        private Delivery(Runnable delivery, PendingDeliveries deliveries) {
+            this.delivery = delivery;
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public void run() {
+            try {
+                delivery.run();
+            } catch (RuntimeException e) {
+                log().error("Failed to deliver the events to a projection.", e);
+                pending.onFailed(e);
+                deliveries.onFailed(e);
+            } finally {
+                pending.onDelivered();
+                deliveries.onDelivered();
+            }
+        }
+    }
+
+    private static Logger log() {
+        return LogSingleton.INSTANCE.value;
+    }
+
+    private enum LogSingleton {
+        INSTANCE;
+        @SuppressWarnings("NonSerializableFieldInSerializableClass")
+        private final Logger value = getLogger(StripedEventDispatcher.class);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDraftCreated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskCounterKeys;
+import io.spine.examples.todolist.q.projection.TaskCountersView;
+import io.spine.examples.todolist.q.projection.TaskCountersViewProjection;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
+import io.spine.server.route.EventRouting;
+
+import javax.annotation.Nullable;
+
+import static io.spine.examples.todolist.TaskPriority.TP_UNDEFINED;
+import static io.spine.examples.todolist.TaskStatus.DELETED;
+import static io.spine.examples.todolist.TaskStatus.TS_UNDEFINED;
+import static java.util.Collections.singleton;
+
+/**
+ * Repository for the {@link TaskCountersViewProjection}.
+ *
+ * <p>Keeps the {@link TaskStatistics} of the stored projections. When a projection is stored,
+ * the task is moved from the counters of its previous keys to the counters of the new keys,
+ * so the statistics are updated and read without loading the other tasks.
+ *
+ * <p>The statistics are kept in memory. They are counted from the stored projections
+ * when read for the first time and after the projections are
+ * {@linkplain ProjectionCheckpoints restored} from a checkpoint.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings({"OverlyCoupledClass",
+                   "Guava" /* Spine API is Java 7-based
+                              and uses `Optional` from Google Guava. */})
+public class TaskCountersViewRepository
+        extends BatchingProjectionRepository<TaskId,
+                                             TaskCountersViewProjection,
+                                             TaskCountersView> {
+
+    /** Guards the {@link #statistics}. */
+    private final Object statisticsLock = new Object();
+
+    /** The statistics of the stored projections or {@code null} if they are not counted yet. */
+    @Nullable
+    private TaskStatistics.Builder statistics;
+
+    public TaskCountersViewRepository() {
+        this(ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    public TaskCountersViewRepository(ProjectionOptions options) {
+        super(options);
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the routes delivering the events to the projection of the task.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<TaskId> routing = getEventRouting();
+        routing.route(TaskCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDraftCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDraftFinalized.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskCompleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDeleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(DeletedTaskRestored.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(LabelledTaskRestored.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskPriorityUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+    }
+
+    /**
+     * Obtains the numbers of the tasks per status and per priority.
+     */
+    public TaskStatistics getStatistics() {
+        synchronized (statisticsLock) {
+            return counted().build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Moves the task from the counters of its previously stored keys
+     * to the counters of the new keys.
+     */
+    @Override
+    public void store(TaskCountersViewProjection projection) {
+        synchronized (statisticsLock) {
+            final TaskCounterKeys oldKeys = storedKeys(projection.getId());
+            super.store(projection);
+            if (statistics != null) {
+                adjust(statistics, oldKeys, -1);
+                adjust(statistics, projection.getState()
+                                             .getKeys(), 1);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The statistics are counted from the restored projections on the next read.
+     */
+    @Override
+    void restore(RepositoryCheckpoint checkpoint) {
+        synchronized (statisticsLock) {
+            super.restore(checkpoint);
+            statistics = null;
+        }
+    }
+
+    private TaskCounterKeys storedKeys(TaskId id) {
+        final Optional<TaskCountersViewProjection> stored = find(id);
+        return stored.isPresent()
+               ? stored.get()
+                       .getState()
+                       .getKeys()
+               : TaskCounterKeys.getDefaultInstance();
+    }
+
+    /**
+     * Obtains the statistics counting them from the stored projections if necessary.
+     */
+    private TaskStatistics.Builder counted() {
+        if (statistics == null) {
+            final TaskStatistics.Builder result = TaskStatistics.newBuilder();
+            for (TaskCountersViewProjection projection : loadAll()) {
+                adjust(result, projection.getState()
+                                         .getKeys(), 1);
+            }
+            statistics = result;
+        }
+        return statistics;
+    }
+
+    /**
+     * Adds the delta to the counters of the specified keys.
+     *
+     * <p>The counters, which become zero, are removed.
+     */
+    private static void adjust(TaskStatistics.Builder statistics,
+                               TaskCounterKeys keys,
+                               int delta) {
+        if (keys.getStatus() != TS_UNDEFINED) {
+            final String status = keys.getStatus()
+                                      .name();
+            final int count = statistics.getByStatusOrDefault(status, 0) + delta;
+            if (count == 0) {
+                statistics.removeByStatus(status);
+            } else {
+                statistics.putByStatus(status, count);
+            }
+        }
+        if (countsPriority(keys)) {
+            final String priority = keys.getPriority()
+                                        .name();
+            final int count = statistics.getByPriorityOrDefault(priority, 0) + delta;
+            if (count == 0) {
+                statistics.removeByPriority(priority);
+            } else {
+                statistics.putByPriority(priority, count);
+            }
+        }
+    }
+
+    /**
+     * Determines whether the task with the specified keys is counted by its priority.
+     *
+     * <p>The deleted tasks and the tasks without a priority are not counted.
+     */
+    private static boolean countsPriority(TaskCounterKeys keys) {
+        return keys.getStatus() != DELETED && keys.getPriority() != TP_UNDEFINED;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.DueDateCursor;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskDueDateView;
+import io.spine.examples.todolist.q.projection.TaskDueDateViewProjection;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.server.route.EventRouting;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.singleton;
+
+/**
+ * Repository for the {@link TaskDueDateViewProjection}.
+ *
+ * <p>Keeps the stored tasks ordered by the due date. When a projection is stored, the task
+ * is moved from its previous position to the position of the new due date, so the tasks
+ * due in a time range are found without loading the other tasks.
+ *
+ * <p>The order is kept in memory. It is built from the stored projections when read
+ * for the first time and after the projections are
+ * {@linkplain ProjectionCheckpoints restored} from a checkpoint.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings({"OverlyCoupledClass",
+                   "Guava" /* Spine API is Java 7-based
+                              and uses `Optional` from Google Guava. */})
+public class TaskDueDateViewRepository
+        extends BatchingProjectionRepository<TaskId,
+                                             TaskDueDateViewProjection,
+                                             TaskDueDateView> {
+
+    /** Guards the {@link #index}. */
+    private final Object indexLock = new Object();
+
+    /** The order of the stored tasks or {@code null} if it is not built yet. */
+    @Nullable
+    private DueDateIndex index;
+
+    public TaskDueDateViewRepository() {
+        this(ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    public TaskDueDateViewRepository(ProjectionOptions options) {
+        super(options);
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the routes delivering the events to the projection of the task.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<TaskId> routing = getEventRouting();
+        routing.route(TaskCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDraftFinalized.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDueDateUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDescriptionUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskPriorityUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskCompleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDeleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+    }
+
+    /**
+     * Obtains the items of the tasks due in the specified range.
+     *
+     * <p>Loads the tasks in the order of the due date until the limit is reached,
+     * so the tasks after the limit are not loaded.
+     *
+     * @param from   the inclusive lower bound of the due date or {@code null} to start
+     *               with the earliest due date
+     * @param to     the exclusive upper bound of the due date or {@code null} if the range
+     *               is not bounded
+     * @param after  the position to read the tasks after or {@code null} to read
+     *               from the lower bound
+     * @param filter the filter of the items
+     * @param limit  the maximum number of the items to obtain, must be positive
+     * @return the matching items ordered by the due date
+     */
+    public List<TaskItem> itemsDueBetween(@Nullable Timestamp from,
+                                          @Nullable Timestamp to,
+                                          @Nullable DueDateCursor after,
+                                          Predicate<TaskItem> filter,
+                                          int limit) {
+        checkNotNull(filter);
+        checkArgument(limit > 0, "The limit must be positive.");
+        synchronized (indexLock) {
+            final List<TaskItem> result = new ArrayList<>();
+            for (DueDateCursor entry : indexed().dueBetween(from, to, after)) {
+                if (result.size() == limit) {
+                    break;
+                }
+                final TaskItem item = storedItem(entry.getLastTask());
+                if (filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Moves the task from its previously stored due date to the new due date.
+     */
+    @Override
+    public void store(TaskDueDateViewProjection projection) {
+        synchronized (indexLock) {
+            final TaskItem oldItem = storedItem(projection.getId());
+            super.store(projection);
+            if (index != null) {
+                index.remove(oldItem);
+                index.add(projection.getState()
+                                    .getItem());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The order is built from the restored projections on the next read.
+     */
+    @Override
+    void restore(RepositoryCheckpoint checkpoint) {
+        synchronized (indexLock) {
+            super.restore(checkpoint);
+            index = null;
+        }
+    }
+
+    private TaskItem storedItem(TaskId id) {
+        final Optional<TaskDueDateViewProjection> stored = find(id);
+        return stored.isPresent()
+               ? stored.get()
+                       .getState()
+                       .getItem()
+               : TaskItem.getDefaultInstance();
+    }
+
+    /**
+     * Obtains the order of the tasks building it from the stored projections if necessary.
+     */
+    private DueDateIndex indexed() {
+        if (index == null) {
+            final DueDateIndex result = new DueDateIndex();
+            for (TaskDueDateViewProjection projection : loadAll()) {
+                result.add(projection.getState()
+                                     .getItem());
+            }
+            index = result;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelRemovedFromTask;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftCreated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.TaskLookup;
+import io.spine.examples.todolist.q.projection.TaskLookupProjection;
+import io.spine.server.route.EventRouting;
+
+import static java.util.Collections.singleton;
+
+/**
+ * Repository for the {@link TaskLookupProjection}.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("OverlyCoupledClass")
+public class TaskLookupRepository
+        extends LookupRepository<TaskId, TaskLookupProjection, TaskLookup> {
+
+    public TaskLookupRepository() {
+        super();
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the routes delivering the events to the lookup of the task.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<TaskId> routing = getEventRouting();
+        routing.route(TaskCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDraftCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDescriptionUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskPriorityUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDueDateUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDraftFinalized.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskCompleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDeleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(DeletedTaskRestored.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(LabelledTaskRestored.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(LabelAssignedToTask.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(LabelRemovedFromTask.class,
+                      (message, context) -> singleton(message.getTaskId()));
+    }
+}
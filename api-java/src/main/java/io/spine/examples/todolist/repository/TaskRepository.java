@@ -20,15 +20,107 @@
 
 package io.spine.examples.todolist.repository;
 
+import com.google.common.base.Optional;
+import io.spine.core.CommandEnvelope;
+import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.c.aggregate.TaskAggregateRoot;
 import io.spine.examples.todolist.c.aggregate.TaskPart;
 import io.spine.server.aggregate.AggregatePartRepository;
 
+import javax.annotation.Nullable;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Repository for the {@link TaskPart}.
  *
  * @author Illia Shepilov
  */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
 public class TaskRepository extends AggregatePartRepository<TaskId, TaskPart, TaskAggregateRoot> {
+
+    private final AggregateCache<TaskId, TaskPart> cache;
+
+    @Nullable
+    private final CommandMailboxes mailboxes;
+
+    private BiConsumer<TaskId, Task> stateListener = (id, state) -> {};
+
+    public TaskRepository() {
+        this(AggregateOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository with the specified settings.
+     *
+     * @param options the settings of the repository
+     */
+    public TaskRepository(AggregateOptions options) {
+        super();
+        checkNotNull(options);
+        if (options.getSnapshotTrigger() > 0) {
+            setSnapshotTrigger(options.getSnapshotTrigger());
+        }
+        this.cache = new AggregateCache<>(options.getCacheSize());
+        this.mailboxes = options.getMailboxes();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the repository has the {@link CommandMailboxes}, executes the command
+     * in the mailbox of the target aggregate. The aggregate is kept in memory
+     * for the next commands, if the caching is enabled.
+     */
+    @Override
+    public TaskId dispatch(CommandEnvelope envelope) {
+        if (mailboxes == null) {
+            return super.dispatch(envelope);
+        }
+        final TaskId id = getCommandRouting().apply(envelope.getMessage(),
+                                                    envelope.getCommandContext());
+        return mailboxes.execute(id, () -> cache.dispatch(id, () -> super.dispatch(envelope)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Obtains the recently used task part, which handles a command, from memory
+     * without applying the stored events. Only the version of the stored record is checked,
+     * so the task part modified by another application is loaded anew.
+     */
+    @Override
+    protected Optional<TaskPart> load(TaskId id) {
+        return cache.load(id, super::load, aggregateStorage());
+    }
+
+    @Override
+    protected void store(TaskPart aggregate) {
+        super.store(aggregate);
+        cache.update(aggregate.getId(), aggregate);
+        stateListener.accept(aggregate.getId(), aggregate.getState());
+    }
+
+    /**
+     * Sets the listener of the stored states.
+     *
+     * <p>The listener is called after the state is stored and before the events,
+     * which produced the state, are posted.
+     *
+     * @param listener the consumer of the ID and the state of a stored aggregate
+     */
+    public void setStateListener(BiConsumer<TaskId, Task> listener) {
+        this.stateListener = checkNotNull(listener);
+    }
+
+    /**
+     * Obtains the ratio of the loads served from memory to all the loads.
+     */
+    public double getCacheHitRatio() {
+        return cache.stats()
+                    .hitRate();
+    }
 }
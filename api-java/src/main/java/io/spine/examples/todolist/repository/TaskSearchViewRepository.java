@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
+import io.spine.examples.todolist.c.events.TaskDeleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskDueDateUpdated;
+import io.spine.examples.todolist.c.events.TaskPriorityUpdated;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskSearchView;
+import io.spine.examples.todolist.q.projection.TaskSearchViewProjection;
+import io.spine.server.route.EventRouting;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.singleton;
+
+/**
+ * Repository for the {@link TaskSearchViewProjection}.
+ *
+ * <p>Keeps an inverted index of the descriptions of the stored tasks. When a projection
+ * is stored, the task is re-indexed, so a search loads only the found tasks.
+ *
+ * <p>The index is kept in memory. It is built from the stored projections when searched
+ * for the first time and after the projections are
+ * {@linkplain ProjectionCheckpoints restored} from a checkpoint.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings({"OverlyCoupledClass",
+                   "Guava" /* Spine API is Java 7-based
+                              and uses `Optional` from Google Guava. */})
+public class TaskSearchViewRepository
+        extends BatchingProjectionRepository<TaskId,
+                                             TaskSearchViewProjection,
+                                             TaskSearchView> {
+
+    /** Guards the {@link #index}. */
+    private final Object indexLock = new Object();
+
+    /** The index of the stored tasks or {@code null} if it is not built yet. */
+    @Nullable
+    private InvertedTaskIndex index;
+
+    public TaskSearchViewRepository() {
+        this(ProjectionOptions.defaults());
+    }
+
+    /**
+     * Creates a new repository, which applies the events according to the specified settings.
+     *
+     * @param options the settings of the event delivery
+     */
+    public TaskSearchViewRepository(ProjectionOptions options) {
+        super(options);
+        setUpEventRoute();
+    }
+
+    /**
+     * Adds the routes delivering the events to the projection of the task.
+     */
+    protected void setUpEventRoute() {
+        final EventRouting<TaskId> routing = getEventRouting();
+        routing.route(TaskCreated.class,
+                      (message, context) -> singleton(message.getId()));
+        routing.route(TaskDraftFinalized.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDueDateUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDescriptionUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskPriorityUpdated.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskCompleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskReopened.class,
+                      (message, context) -> singleton(message.getTaskId()));
+        routing.route(TaskDeleted.class,
+                      (message, context) -> singleton(message.getTaskId()));
+    }
+
+    /**
+     * Searches the tasks by the words of the description.
+     *
+     * <p>The search is case-insensitive. A task matches if its description contains at least
+     * one of the query words. The tasks containing more query words and the rarer words
+     * are ranked higher.
+     *
+     * <p>Only the found tasks are loaded.
+     *
+     * @param query the words to search for
+     * @param limit the maximum number of the tasks to return, must be positive
+     * @return the items of the matching tasks, the most relevant first
+     */
+    public List<TaskItem> search(String query, int limit) {
+        checkNotNull(query);
+        synchronized (indexLock) {
+            final List<TaskId> found = indexed().search(query, limit);
+            final List<TaskItem> result = new ArrayList<>(found.size());
+            for (TaskId id : found) {
+                result.add(storedItem(id));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Re-indexes the task by the new description.
+     */
+    @Override
+    public void store(TaskSearchViewProjection projection) {
+        synchronized (indexLock) {
+            final TaskItem oldItem = storedItem(projection.getId());
+            super.store(projection);
+            if (index != null) {
+                index.remove(oldItem);
+                index.add(projection.getState()
+                                    .getItem());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The index is built from the restored projections on the next search.
+     */
+    @Override
+    void restore(RepositoryCheckpoint checkpoint) {
+        synchronized (indexLock) {
+            super.restore(checkpoint);
+            index = null;
+        }
+    }
+
+    private TaskItem storedItem(TaskId id) {
+        final Optional<TaskSearchViewProjection> stored = find(id);
+        return stored.isPresent()
+               ? stored.get()
+                       .getState()
+                       .getItem()
+               : TaskItem.getDefaultInstance();
+    }
+
+    /**
+     * Obtains the index of the tasks building it from the stored projections if necessary.
+     */
+    private InvertedTaskIndex indexed() {
+        if (index == null) {
+            final InvertedTaskIndex result = new InvertedTaskIndex();
+            for (TaskSearchViewProjection projection : loadAll()) {
+                result.add(projection.getState()
+                                     .getItem());
+            }
+            index = result;
+        }
+        return index;
+    }
+}
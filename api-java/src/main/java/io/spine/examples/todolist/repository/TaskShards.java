@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.examples.todolist.q.projection.MyListViewProjection.shardId;
+import static java.lang.Math.floorMod;
+import static java.util.Collections.singleton;
+
+/**
+ * The shards of the task list views hash-partitioned by the {@link TaskId}.
+ *
+ * <p>The shard IDs are {@linkplain MyListViewProjection#shardId(int) the same} for all
+ * the partitioned views, so a task gets to the shards with the same ID in each view
+ * partitioned into the same number of shards.
+ *
+ * @author Dmytro Grankin
+ */
+final class TaskShards {
+
+    private final ImmutableSet<TaskListId> ids;
+
+    private TaskShards(ImmutableSet<TaskListId> ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * Creates the specified number of shards.
+     *
+     * @param shardCount the number of shards, must be positive
+     * @return new instance
+     */
+    static TaskShards of(int shardCount) {
+        checkArgument(shardCount > 0, "The number of shards must be positive.");
+        final ImmutableSet.Builder<TaskListId> ids = ImmutableSet.builder();
+        for (int index = 0; index < shardCount; index++) {
+            ids.add(shardId(index));
+        }
+        return new TaskShards(ids.build());
+    }
+
+    /**
+     * Obtains the IDs of all the shards.
+     */
+    Set<TaskListId> ids() {
+        return ids;
+    }
+
+    /**
+     * Obtains the ID of the shard of the specified task.
+     *
+     * @param taskId the ID of the task
+     * @return the singleton set with the shard ID
+     */
+    Set<TaskListId> shardOf(TaskId taskId) {
+        checkNotNull(taskId);
+        // The hash code of a `String` is stable between JVMs unlike the one of a message.
+        final int hash = taskId.getValue()
+                               .hashCode();
+        final int index = floorMod(hash, ids.size());
+        return singleton(shardId(index));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage} keeping the projection states in the direct memory.
+ *
+ * <p>The records are kept by the {@link OffHeapRecordStorage} on top of the on-heap projection
+ * storage, which also keeps the time of the last handled event.
+ *
+ * @param <I> the type of the projection IDs
+ * @author Dmytro Grankin
+ */
+final class OffHeapProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final ProjectionStorage<I> onHeap;
+    private final OffHeapRecordStorage<I> recordStorage;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param onHeap       the on-heap storage to keep the records without the states
+     * @param slabCapacity the capacity of a direct buffer keeping the states
+     */
+    OffHeapProjectionStorage(ProjectionStorage<I> onHeap, int slabCapacity) {
+        super(false);
+        this.onHeap = checkNotNull(onHeap);
+        this.recordStorage = new OffHeapRecordStorage<>(onHeap, slabCapacity);
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        onHeap.writeLastHandledEventTime(time);
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        return onHeap.readLastHandledEventTime();
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+}
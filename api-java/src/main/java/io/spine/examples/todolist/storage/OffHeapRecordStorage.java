@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordReadRequest;
+import io.spine.server.storage.RecordStorage;
+import io.spine.type.TypeUrl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.server.entity.FieldMasks.applyMask;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * A {@link RecordStorage} keeping the entity states in the direct memory.
+ *
+ * <p>The records without the states are kept by the on-heap storage, which resolves
+ * the queries by the IDs, the entity columns and the lifecycle flags. The states are
+ * serialized to the {@link OffHeapStore} and attached to the records on reading.
+ *
+ * <p>The storage is single-tenant.
+ *
+ * @param <I> the type of the entity IDs
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class OffHeapRecordStorage<I> extends RecordStorage<I> {
+
+    private final RecordStorage<I> records;
+    private final OffHeapStore<I> states;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param records      the storage of the records without the states
+     * @param slabCapacity the capacity of a direct buffer keeping the states
+     */
+    OffHeapRecordStorage(RecordStorage<I> records, int slabCapacity) {
+        super(false);
+        this.records = checkNotNull(records);
+        this.states = new OffHeapStore<>(slabCapacity);
+    }
+
+    @Override
+    protected synchronized Optional<EntityRecord> readRecord(I id) {
+        final Optional<EntityRecord> record = records.read(new RecordReadRequest<>(id));
+        if (!record.isPresent()) {
+            return record;
+        }
+        final EntityRecord result = withState(id, record.get(), FieldMask.getDefaultInstance());
+        return Optional.of(result);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return readMultipleRecords(ids, FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected synchronized Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids,
+                                                                      FieldMask fieldMask) {
+        final List<EntityRecord> result = new ArrayList<>();
+        for (I id : ids) {
+            final Optional<EntityRecord> record = records.read(new RecordReadRequest<>(id));
+            if (record.isPresent()) {
+                result.add(withState(id, record.get(), fieldMask));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return readAllRecords(FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected synchronized Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return withStates(records.readAll(), fieldMask);
+    }
+
+    @Override
+    protected synchronized Map<I, EntityRecord> readAllRecords(EntityQuery<I> query,
+                                                               FieldMask fieldMask) {
+        return withStates(records.readAll(query, FieldMask.getDefaultInstance()), fieldMask);
+    }
+
+    @Override
+    protected synchronized void writeRecord(I id, EntityRecordWithColumns record) {
+        final EntityRecord entityRecord = record.getRecord();
+        states.put(id, entityRecord.getState()
+                                   .toByteString());
+        final EntityRecord withoutState = entityRecord.toBuilder()
+                                                      .clearState()
+                                                      .build();
+        records.write(id, EntityRecordWithColumns.of(withoutState, record.getColumnValues()));
+    }
+
+    @Override
+    protected synchronized void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        for (Map.Entry<I, EntityRecordWithColumns> record : records.entrySet()) {
+            writeRecord(record.getKey(), record.getValue());
+        }
+    }
+
+    @Override
+    public synchronized Iterator<I> index() {
+        return records.index();
+    }
+
+    @Override
+    public synchronized boolean delete(I id) {
+        states.remove(id);
+        return records.delete(id);
+    }
+
+    @Override
+    public synchronized void close() {
+        states.close();
+        records.close();
+        super.close();
+    }
+
+    /**
+     * Obtains the number of the bytes of the direct memory held by the storage.
+     */
+    synchronized long offHeapBytes() {
+        return states.allocatedBytes();
+    }
+
+    private Map<I, EntityRecord> withStates(Map<I, EntityRecord> records, FieldMask fieldMask) {
+        final Map<I, EntityRecord> result = new LinkedHashMap<>(records.size());
+        for (Map.Entry<I, EntityRecord> record : records.entrySet()) {
+            final I id = record.getKey();
+            result.put(id, withState(id, record.getValue(), fieldMask));
+        }
+        return result;
+    }
+
+    private EntityRecord withState(I id, EntityRecord record, FieldMask fieldMask) {
+        final ByteString serializedState = states.get(id);
+        if (serializedState == null) {
+            return record;
+        }
+        final Any state = parse(serializedState);
+        return record.toBuilder()
+                     .setState(masked(state, fieldMask))
+                     .build();
+    }
+
+    private static Any masked(Any state, FieldMask fieldMask) {
+        if (fieldMask.getPathsCount() == 0) {
+            return state;
+        }
+        final Message message = unpack(state);
+        final Message result = applyMask(fieldMask, message, TypeUrl.parse(state.getTypeUrl()));
+        return pack(result);
+    }
+
+    private static Any parse(ByteString serializedState) {
+        try {
+            return Any.parseFrom(serializedState);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.core.BoundedContextName;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.entity.storage.ColumnType;
+import io.spine.server.entity.storage.ColumnTypeRegistry;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.stand.StandStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A single-tenant {@link StorageFactory} keeping the entity states in the direct memory.
+ *
+ * <p>The projection and the entity states are serialized to the direct buffers, so the large
+ * states, such as the task list views, do not load the garbage collector. Only the indexes
+ * of the records stay on the heap. The aggregate storages and the {@link StandStorage}
+ * are created by the {@link InMemoryStorageFactory}.
+ *
+ * <p>The storages keep the data while the JVM runs, just like the in-memory ones.
+ *
+ * @author Dmytro Grankin
+ */
+public final class OffHeapStorageFactory implements StorageFactory {
+
+    /** The default capacity of a direct buffer keeping the states, 16 MiB. */
+    static final int DEFAULT_SLAB_CAPACITY = 16 * 1024 * 1024;
+
+    private final StorageFactory onHeap;
+    private final int slabCapacity;
+
+    private OffHeapStorageFactory(StorageFactory onHeap, int slabCapacity) {
+        this.onHeap = onHeap;
+        this.slabCapacity = slabCapacity;
+    }
+
+    /**
+     * Creates a new instance with the default capacity of a direct buffer.
+     *
+     * @param boundedContextName the name of the bounded context
+     * @return new instance
+     */
+    public static OffHeapStorageFactory newInstance(BoundedContextName boundedContextName) {
+        return newInstance(boundedContextName, DEFAULT_SLAB_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * <p>A state larger than the capacity gets a dedicated buffer.
+     *
+     * @param boundedContextName the name of the bounded context
+     * @param slabCapacity       the capacity of a direct buffer keeping the states in bytes
+     * @return new instance
+     */
+    public static OffHeapStorageFactory newInstance(BoundedContextName boundedContextName,
+                                                    int slabCapacity) {
+        checkNotNull(boundedContextName);
+        checkArgument(slabCapacity > 0, "The slab capacity must be positive.");
+        final StorageFactory onHeap = InMemoryStorageFactory.newInstance(boundedContextName,
+                                                                         false);
+        return new OffHeapStorageFactory(onHeap, slabCapacity);
+    }
+
+    @Override
+    public boolean isMultitenant() {
+        return false;
+    }
+
+    @Override
+    public ColumnTypeRegistry<? extends ColumnType<?, ?, ?, ?>> getTypeRegistry() {
+        return onHeap.getTypeRegistry();
+    }
+
+    @Override
+    public StandStorage createStandStorage() {
+        return onHeap.createStandStorage();
+    }
+
+    @Override
+    public <I> ProjectionStorage<I> createProjectionStorage(
+            Class<? extends Entity<I, ?>> projectionClass) {
+        final ProjectionStorage<I> storage = onHeap.createProjectionStorage(projectionClass);
+        return new OffHeapProjectionStorage<>(storage, slabCapacity);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        final RecordStorage<I> storage = onHeap.createRecordStorage(entityClass);
+        return new OffHeapRecordStorage<>(storage, slabCapacity);
+    }
+
+    @Override
+    public <I> AggregateStorage<I> createAggregateStorage(
+            Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        return onHeap.createAggregateStorage(aggregateClass);
+    }
+
+    @Override
+    public StorageFactory toSingleTenant() {
+        return this;
+    }
+
+    @Override
+    public void close() throws Exception {
+        onHeap.close();
+    }
+}
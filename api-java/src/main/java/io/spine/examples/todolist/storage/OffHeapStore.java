@@ -0,0 +1,320 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.protobuf.ByteString;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A map of the binary values kept in the direct memory.
+ *
+ * <p>The values are appended to the direct buffers of the fixed capacity called slabs.
+ * Only the keys and the positions of the values stay on the heap. A value larger than
+ * the slab capacity gets a dedicated slab. The last released dedicated slab is kept
+ * to be reused by the next large value, so rewriting a large value does not allocate
+ * the direct memory each time.
+ *
+ * <p>An overwritten or removed value leaves a gap in its slab. A slab without live values
+ * is released or, if it is the last one, reused. When the gaps take more space than
+ * the live values, the live values of the slabs, which are less than half full, are moved
+ * to the last slab. The values are copied between the direct buffers, and each slab
+ * is released as soon as its values are moved.
+ *
+ * <p>The class is not thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @author Dmytro Grankin
+ */
+final class OffHeapStore<K> {
+
+    private final int slabCapacity;
+    private final Map<K, Slot> slots = new HashMap<>();
+    private final List<Slab> slabs = new ArrayList<>();
+
+    /** The released dedicated slab kept for the next large value. */
+    @Nullable
+    private Slab spare;
+
+    private long liveBytes;
+    private long allocatedBytes;
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param slabCapacity the capacity of a slab in bytes
+     */
+    OffHeapStore(int slabCapacity) {
+        checkArgument(slabCapacity > 0, "The slab capacity must be positive.");
+        this.slabCapacity = slabCapacity;
+    }
+
+    /**
+     * Puts the value replacing the previous value of the key, if any.
+     *
+     * @param key   the key of the value
+     * @param value the value to put
+     */
+    void put(K key, ByteString value) {
+        checkNotNull(key);
+        checkNotNull(value);
+        checkState(!closed, "The store is closed.");
+        remove(key);
+        write(key, value);
+        compactIfFragmented();
+    }
+
+    /**
+     * Obtains the value of the key.
+     *
+     * @param key the key of the value
+     * @return the value or {@code null} if there is no value for the key
+     */
+    ByteString get(K key) {
+        checkNotNull(key);
+        checkState(!closed, "The store is closed.");
+        final Slot slot = slots.get(key);
+        if (slot == null) {
+            return null;
+        }
+        return read(slot);
+    }
+
+    /**
+     * Removes the value of the key.
+     *
+     * @param key the key of the value
+     * @return {@code true} if there was a value for the key, {@code false} otherwise
+     */
+    boolean remove(K key) {
+        checkNotNull(key);
+        final Slot slot = slots.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        liveBytes -= slot.length;
+        slot.slab.liveBytes -= slot.length;
+        releaseIfEmpty(slot.slab);
+        return true;
+    }
+
+    /**
+     * Obtains the keys having the values.
+     */
+    Set<K> keys() {
+        return ImmutableSet.copyOf(slots.keySet());
+    }
+
+    /**
+     * Obtains the number of the bytes taken by the live values.
+     */
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Obtains the number of the bytes of the direct memory held by the store.
+     */
+    long allocatedBytes() {
+        return spare == null
+               ? allocatedBytes
+               : allocatedBytes + spare.buffer.capacity();
+    }
+
+    /**
+     * Releases all the values.
+     *
+     * <p>The direct memory is freed as soon as the slabs are garbage-collected.
+     */
+    void close() {
+        slots.clear();
+        slabs.clear();
+        spare = null;
+        liveBytes = 0;
+        allocatedBytes = 0;
+        closed = true;
+    }
+
+    private Slot allocate(int length) {
+        Slab slab = slabs.isEmpty()
+                    ? null
+                    : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < length) {
+            slab = newSlab(length);
+            slabs.add(slab);
+            allocatedBytes += slab.buffer.capacity();
+        }
+        final Slot result = new Slot(slab, slab.used, length);
+        slab.used += length;
+        slab.liveBytes += length;
+        return result;
+    }
+
+    /**
+     * Creates a slab for the value of the given length.
+     *
+     * <p>A value larger than the slab capacity reuses the spare slab if it is large enough.
+     */
+    private Slab newSlab(int length) {
+        if (length <= slabCapacity) {
+            return new Slab(slabCapacity);
+        }
+        final Slab reused = spare;
+        spare = null;
+        if (reused != null && reused.buffer.capacity() >= length) {
+            reused.used = 0;
+            return reused;
+        }
+        return new Slab(length);
+    }
+
+    private void releaseIfEmpty(Slab slab) {
+        if (slab.liveBytes > 0) {
+            return;
+        }
+        final boolean current = slab == slabs.get(slabs.size() - 1);
+        if (current) {
+            slab.used = 0;
+            return;
+        }
+        slabs.remove(slab);
+        allocatedBytes -= slab.buffer.capacity();
+        final boolean dedicated = slab.buffer.capacity() > slabCapacity;
+        if (dedicated && (spare == null || spare.buffer.capacity() < slab.buffer.capacity())) {
+            spare = slab;
+        }
+    }
+
+    /**
+     * Moves the live values out of the sparse slabs if the gaps take more space
+     * than the values.
+     *
+     * <p>A slab is sparse if its live values take less than half of it. The last slab
+     * receives the moved values, so it is never considered sparse.
+     */
+    private void compactIfFragmented() {
+        final long gaps = allocatedBytes - liveBytes;
+        if (gaps <= slabCapacity || gaps <= liveBytes) {
+            return;
+        }
+        final Slab current = slabs.get(slabs.size() - 1);
+        final Map<Slab, List<K>> sparse = new LinkedHashMap<>();
+        for (Slab slab : slabs) {
+            if (slab != current && slab.liveBytes * 2 < slab.buffer.capacity()) {
+                sparse.put(slab, new ArrayList<>());
+            }
+        }
+        if (sparse.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<K, Slot> entry : slots.entrySet()) {
+            final List<K> keys = sparse.get(entry.getValue().slab);
+            if (keys != null) {
+                keys.add(entry.getKey());
+            }
+        }
+        for (List<K> keys : sparse.values()) {
+            for (K key : keys) {
+                move(key);
+            }
+        }
+    }
+
+    /**
+     * Copies the value of the key to the last slab and releases its previous slot.
+     */
+    private void move(K key) {
+        final Slot source = slots.get(key);
+        final Slot target = allocate(source.length);
+        final ByteBuffer from = source.slab.buffer.duplicate();
+        from.position(source.offset);
+        from.limit(source.offset + source.length);
+        final ByteBuffer to = target.slab.buffer.duplicate();
+        to.position(target.offset);
+        to.put(from);
+        slots.put(key, target);
+        source.slab.liveBytes -= source.length;
+        releaseIfEmpty(source.slab);
+    }
+
+    private void write(K key, ByteString value) {
+        final Slot slot = allocate(value.size());
+        final ByteBuffer target = slot.slab.buffer.duplicate();
+        target.position(slot.offset);
+        value.copyTo(target);
+        slots.put(key, slot);
+        liveBytes += slot.length;
+    }
+
+    private static ByteString read(Slot slot) {
+        final ByteBuffer source = slot.slab.buffer.duplicate();
+        source.position(slot.offset);
+        source.limit(slot.offset + slot.length);
+        return ByteString.copyFrom(source);
+    }
+
+    /**
+     * A direct buffer filled from the start.
+     */
+    private static final class Slab {
+
+        private final ByteBuffer buffer;
+        private int used;
+        private long liveBytes;
+
+        private Slab(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        private int remaining() {
+            return buffer.capacity() - used;
+        }
+    }
+
+    /**
+     * The position of a value in a slab.
+     */
+    private static final class Slot {
+
+        private final Slab slab;
+        private final int offset;
+        private final int length;
+
+        private Slot(Slab slab, int offset, int length) {
+            this.slab = slab;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
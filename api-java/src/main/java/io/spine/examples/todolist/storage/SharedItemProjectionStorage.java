@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Timestamp;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordStorage;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ProjectionStorage} keeping the task items of the projection states in
+ * the {@link TaskItemStore}.
+ *
+ * <p>The records are kept by the {@link SharedItemRecordStorage} on top of the underlying
+ * projection storage, which also keeps the time of the last handled event.
+ *
+ * @param <I> the type of the projection IDs
+ * @author Dmytro Grankin
+ */
+final class SharedItemProjectionStorage<I> extends ProjectionStorage<I> {
+
+    private final ProjectionStorage<I> storage;
+    private final SharedItemRecordStorage<I> recordStorage;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param storage the storage to keep the records without the task items
+     * @param store   the store of the task items shared with the other storages
+     */
+    SharedItemProjectionStorage(ProjectionStorage<I> storage, TaskItemStore store) {
+        super(false);
+        this.storage = checkNotNull(storage);
+        this.recordStorage = new SharedItemRecordStorage<>(storage, store);
+    }
+
+    @Override
+    public void writeLastHandledEventTime(Timestamp time) {
+        storage.writeLastHandledEventTime(time);
+    }
+
+    @Override
+    public Timestamp readLastHandledEventTime() {
+        return storage.readLastHandledEventTime();
+    }
+
+    @Override
+    protected RecordStorage<I> recordStorage() {
+        return recordStorage;
+    }
+}
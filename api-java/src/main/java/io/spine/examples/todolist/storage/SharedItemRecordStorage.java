@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Any;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import com.google.protobuf.UnsafeByteOperations;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.entity.storage.EntityQuery;
+import io.spine.server.entity.storage.EntityRecordWithColumns;
+import io.spine.server.storage.RecordReadRequest;
+import io.spine.server.storage.RecordStorage;
+import io.spine.type.TypeUrl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.Descriptors.FieldDescriptor.JavaType.MESSAGE;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.server.entity.FieldMasks.applyMask;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.Collections.singletonList;
+
+/**
+ * A {@link RecordStorage} keeping the task items of the entity states in
+ * the {@link TaskItemStore}.
+ *
+ * <p>The {@link TaskListView} and the {@link TaskItem} fields of a state are cleared before
+ * the record is passed to the underlying storage. The items of the fields refer to the parts
+ * kept by the store and are serialized back to the state on reading, without parsing.
+ *
+ * <p>The underlying storage resolves the queries by the IDs, the entity columns and
+ * the lifecycle flags. The storage is single-tenant.
+ *
+ * @param <I> the type of the entity IDs
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class SharedItemRecordStorage<I> extends RecordStorage<I> {
+
+    private final RecordStorage<I> records;
+    private final TaskItemStore store;
+    private final Map<I, List<SharedTaskItems>> items = new HashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param records the storage of the records without the task items
+     * @param store   the store of the task items shared with the other storages
+     */
+    SharedItemRecordStorage(RecordStorage<I> records, TaskItemStore store) {
+        super(false);
+        this.records = checkNotNull(records);
+        this.store = checkNotNull(store);
+    }
+
+    @Override
+    protected synchronized Optional<EntityRecord> readRecord(I id) {
+        final Optional<EntityRecord> record = records.read(new RecordReadRequest<>(id));
+        if (!record.isPresent()) {
+            return record;
+        }
+        final EntityRecord result = withItems(id, record.get(), FieldMask.getDefaultInstance());
+        return Optional.of(result);
+    }
+
+    @Override
+    protected Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids) {
+        return readMultipleRecords(ids, FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected synchronized Iterable<EntityRecord> readMultipleRecords(Iterable<I> ids,
+                                                                      FieldMask fieldMask) {
+        final List<EntityRecord> result = new ArrayList<>();
+        for (I id : ids) {
+            final Optional<EntityRecord> record = records.read(new RecordReadRequest<>(id));
+            if (record.isPresent()) {
+                result.add(withItems(id, record.get(), fieldMask));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    protected Map<I, EntityRecord> readAllRecords() {
+        return readAllRecords(FieldMask.getDefaultInstance());
+    }
+
+    @Override
+    protected synchronized Map<I, EntityRecord> readAllRecords(FieldMask fieldMask) {
+        return withItems(records.readAll(), fieldMask);
+    }
+
+    @Override
+    protected synchronized Map<I, EntityRecord> readAllRecords(EntityQuery<I> query,
+                                                               FieldMask fieldMask) {
+        return withItems(records.readAll(query, FieldMask.getDefaultInstance()), fieldMask);
+    }
+
+    @Override
+    protected synchronized void writeRecord(I id, EntityRecordWithColumns record) {
+        final EntityRecord entityRecord = record.getRecord();
+        items.remove(id);
+        if (!entityRecord.hasState()) {
+            records.write(id, record);
+            return;
+        }
+        final Message state = unpack(entityRecord.getState());
+        final Message.Builder remainder = state.toBuilder();
+        final List<SharedTaskItems> shared = new ArrayList<>();
+        for (FieldDescriptor field : state.getDescriptorForType()
+                                          .getFields()) {
+            if (holdsItems(field) && state.hasField(field)) {
+                shared.add(share(field, state.getField(field)));
+                remainder.clearField(field);
+            }
+        }
+        if (shared.isEmpty()) {
+            records.write(id, record);
+            return;
+        }
+        items.put(id, shared);
+        final Any remainderState = entityRecord.getState()
+                                               .toBuilder()
+                                               .setValue(remainder.build()
+                                                                  .toByteString())
+                                               .build();
+        final EntityRecord withoutItems = entityRecord.toBuilder()
+                                                      .setState(remainderState)
+                                                      .build();
+        records.write(id, EntityRecordWithColumns.of(withoutItems, record.getColumnValues()));
+    }
+
+    @Override
+    protected synchronized void writeRecords(Map<I, EntityRecordWithColumns> records) {
+        for (Map.Entry<I, EntityRecordWithColumns> record : records.entrySet()) {
+            writeRecord(record.getKey(), record.getValue());
+        }
+    }
+
+    @Override
+    public synchronized Iterator<I> index() {
+        return records.index();
+    }
+
+    @Override
+    public synchronized boolean delete(I id) {
+        items.remove(id);
+        return records.delete(id);
+    }
+
+    @Override
+    public synchronized void close() {
+        items.clear();
+        records.close();
+        super.close();
+    }
+
+    private SharedTaskItems share(FieldDescriptor field, Object value) {
+        final int fieldNumber = field.getNumber();
+        if (value instanceof TaskListView) {
+            final TaskListView list = (TaskListView) value;
+            return store.share(fieldNumber, true, list.getItemsList());
+        }
+        final TaskItem item = (TaskItem) value;
+        return store.share(fieldNumber, false, singletonList(item));
+    }
+
+    private Map<I, EntityRecord> withItems(Map<I, EntityRecord> records, FieldMask fieldMask) {
+        final Map<I, EntityRecord> result = new LinkedHashMap<>(records.size());
+        for (Map.Entry<I, EntityRecord> record : records.entrySet()) {
+            final I id = record.getKey();
+            result.put(id, withItems(id, record.getValue(), fieldMask));
+        }
+        return result;
+    }
+
+    private EntityRecord withItems(I id, EntityRecord record, FieldMask fieldMask) {
+        final List<SharedTaskItems> shared = items.get(id);
+        final Any state = shared == null
+                          ? record.getState()
+                          : withItems(record.getState(), shared);
+        return record.toBuilder()
+                     .setState(masked(state, fieldMask))
+                     .build();
+    }
+
+    /**
+     * Appends the serialized item fields to the state without the items.
+     *
+     * <p>A message field may appear in the serialized message in any order,
+     * so the result is parsed to the original state.
+     */
+    private static Any withItems(Any remainder, List<SharedTaskItems> shared) {
+        int size = remainder.getValue()
+                            .size();
+        for (SharedTaskItems field : shared) {
+            size += field.getSerializedSize();
+        }
+        final byte[] value = new byte[size];
+        final CodedOutputStream output = CodedOutputStream.newInstance(value);
+        try {
+            output.writeRawBytes(remainder.getValue());
+            for (SharedTaskItems field : shared) {
+                field.writeTo(output);
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+
+        // The array is not referenced elsewhere, so it is wrapped without copying.
+        return remainder.toBuilder()
+                        .setValue(UnsafeByteOperations.unsafeWrap(value))
+                        .build();
+    }
+
+    private static boolean holdsItems(FieldDescriptor field) {
+        if (field.isRepeated() || field.getJavaType() != MESSAGE) {
+            return false;
+        }
+        final Descriptor type = field.getMessageType();
+        return type.equals(TaskListView.getDescriptor()) || type.equals(TaskItem.getDescriptor());
+    }
+
+    private static Any masked(Any state, FieldMask fieldMask) {
+        if (fieldMask.getPathsCount() == 0) {
+            return state;
+        }
+        final Message message = unpack(state);
+        final Message result = applyMask(fieldMask, message, TypeUrl.parse(state.getTypeUrl()));
+        return pack(result);
+    }
+}
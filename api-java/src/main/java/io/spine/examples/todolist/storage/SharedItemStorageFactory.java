@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.ImmutableSet;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.q.projection.DraftTasksViewProjection;
+import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskDueDateViewProjection;
+import io.spine.examples.todolist.q.projection.TaskSearchViewProjection;
+import io.spine.server.aggregate.Aggregate;
+import io.spine.server.aggregate.AggregateStorage;
+import io.spine.server.entity.Entity;
+import io.spine.server.entity.storage.ColumnType;
+import io.spine.server.entity.storage.ColumnTypeRegistry;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.stand.StandStorage;
+import io.spine.server.storage.RecordStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A single-tenant in-memory {@link StorageFactory}, which shares the task items between
+ * the task list projections.
+ *
+ * <p>The storages of {@code MyListView}, {@code DraftTasksView}, {@code LabelledTasksView},
+ * {@code TaskDueDateView} and {@code TaskSearchView} keep the items in a single
+ * {@link TaskItemStore}, so a task is kept once however many views list it. The rest of
+ * the storages are created by the {@link InMemoryStorageFactory}.
+ *
+ * <p>The items are split and interned on each write of a state, so the heap is traded for
+ * the throughput of the writes. The reads serialize the shared items back without parsing.
+ *
+ * @author Dmytro Grankin
+ */
+public final class SharedItemStorageFactory implements StorageFactory {
+
+    private static final Set<Class<?>> SHARING_PROJECTIONS =
+            ImmutableSet.of(MyListViewProjection.class,
+                            DraftTasksViewProjection.class,
+                            LabelledTasksViewProjection.class,
+                            TaskDueDateViewProjection.class,
+                            TaskSearchViewProjection.class);
+
+    private final StorageFactory inMemory;
+    private final TaskItemStore store = new TaskItemStore();
+
+    private SharedItemStorageFactory(StorageFactory inMemory) {
+        this.inMemory = inMemory;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param boundedContextName the name of the bounded context
+     * @return new instance
+     */
+    public static SharedItemStorageFactory newInstance(BoundedContextName boundedContextName) {
+        checkNotNull(boundedContextName);
+        final StorageFactory inMemory = InMemoryStorageFactory.newInstance(boundedContextName,
+                                                                           false);
+        return new SharedItemStorageFactory(inMemory);
+    }
+
+    @Override
+    public boolean isMultitenant() {
+        return false;
+    }
+
+    @Override
+    public ColumnTypeRegistry<? extends ColumnType<?, ?, ?, ?>> getTypeRegistry() {
+        return inMemory.getTypeRegistry();
+    }
+
+    @Override
+    public StandStorage createStandStorage() {
+        return inMemory.createStandStorage();
+    }
+
+    @Override
+    public <I> ProjectionStorage<I> createProjectionStorage(
+            Class<? extends Entity<I, ?>> projectionClass) {
+        final ProjectionStorage<I> storage = inMemory.createProjectionStorage(projectionClass);
+        if (!SHARING_PROJECTIONS.contains(projectionClass)) {
+            return storage;
+        }
+        return new SharedItemProjectionStorage<>(storage, store);
+    }
+
+    @Override
+    public <I> RecordStorage<I> createRecordStorage(Class<? extends Entity<I, ?>> entityClass) {
+        return inMemory.createRecordStorage(entityClass);
+    }
+
+    @Override
+    public <I> AggregateStorage<I> createAggregateStorage(
+            Class<? extends Aggregate<I, ?, ?>> aggregateClass) {
+        return inMemory.createAggregateStorage(aggregateClass);
+    }
+
+    @Override
+    public StorageFactory toSingleTenant() {
+        return this;
+    }
+
+    @Override
+    public void close() throws Exception {
+        inMemory.close();
+    }
+}
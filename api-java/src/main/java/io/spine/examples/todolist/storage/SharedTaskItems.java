@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+
+import java.io.IOException;
+
+import static com.google.protobuf.CodedOutputStream.computeTagSize;
+import static com.google.protobuf.CodedOutputStream.computeUInt32SizeNoTag;
+import static com.google.protobuf.WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+/**
+ * The task items of a field of a projection state referring to the parts kept
+ * by the {@link TaskItemStore}.
+ *
+ * <p>The field is either a {@link TaskListView} or a single {@link TaskItem}. The field is
+ * serialized without parsing the items: an item is the concatenation of its body and
+ * its label part.
+ *
+ * @author Dmytro Grankin
+ */
+final class SharedTaskItems {
+
+    private final int fieldNumber;
+    private final boolean list;
+    private final ByteString[] bodies;
+    private final ByteString[] labels;
+
+    /** The size of the serialized field value without the tag and the length. */
+    private final int valueSize;
+
+    SharedTaskItems(int fieldNumber, boolean list, ByteString[] bodies, ByteString[] labels) {
+        this.fieldNumber = fieldNumber;
+        this.list = list;
+        this.bodies = bodies;
+        this.labels = labels;
+        this.valueSize = valueSize();
+    }
+
+    /**
+     * Obtains the number of the serialized items.
+     */
+    int getItemCount() {
+        return bodies.length;
+    }
+
+    /**
+     * Obtains the body of the item kept by the {@link TaskItemStore}.
+     *
+     * @param index the index of the item
+     * @return the serialized item without the label
+     */
+    @VisibleForTesting
+    ByteString getBody(int index) {
+        return bodies[index];
+    }
+
+    /**
+     * Obtains the size of the serialized field.
+     */
+    int getSerializedSize() {
+        return computeTagSize(fieldNumber) + computeUInt32SizeNoTag(valueSize) + valueSize;
+    }
+
+    /**
+     * Writes the field to the output.
+     *
+     * @param output the output to write to
+     * @throws IOException if the output fails
+     */
+    void writeTo(CodedOutputStream output) throws IOException {
+        output.writeTag(fieldNumber, WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(valueSize);
+        for (int i = 0; i < bodies.length; i++) {
+            if (list) {
+                output.writeTag(TaskListView.ITEMS_FIELD_NUMBER, WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(itemSize(i));
+            }
+            output.writeRawBytes(bodies[i]);
+            output.writeRawBytes(labels[i]);
+        }
+    }
+
+    private int valueSize() {
+        if (!list) {
+            return bodies.length == 0
+                   ? 0
+                   : itemSize(0);
+        }
+        final int itemTagSize = computeTagSize(TaskListView.ITEMS_FIELD_NUMBER);
+        int result = 0;
+        for (int i = 0; i < bodies.length; i++) {
+            final int itemSize = itemSize(i);
+            result += itemTagSize + computeUInt32SizeNoTag(itemSize) + itemSize;
+        }
+        return result;
+    }
+
+    private int itemSize(int index) {
+        return bodies[index].size() + labels[index].size();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.protobuf.ByteString;
+import io.spine.examples.todolist.q.projection.TaskItem;
+
+import java.util.List;
+
+/**
+ * The store of the canonical serialized {@linkplain TaskItem task items}.
+ *
+ * <p>The same task is an item of {@code MyListView}, {@code DraftTasksView} and of the
+ * {@code LabelledTasksView} of each of its labels. The items of a task differ at most by
+ * the label, so each item is split into the body, which is everything but the label,
+ * and the label part. Both parts are interned, so the views refer to a single body of
+ * a task and to a single label part of a label.
+ *
+ * <p>The parts are interned weakly. A body is kept while any view refers to it and is
+ * collected once the task is removed from all the views.
+ *
+ * @author Dmytro Grankin
+ */
+final class TaskItemStore {
+
+    private final Interner<ByteString> bodies = Interners.newWeakInterner();
+    private final Interner<ByteString> labels = Interners.newWeakInterner();
+
+    /**
+     * Shares the items of a list.
+     *
+     * @param fieldNumber the number of the field of the state, which holds the items
+     * @param list        whether the field is a {@code TaskListView} or a single {@link TaskItem}
+     * @param items       the items to share
+     * @return the items referring to the canonical parts
+     */
+    SharedTaskItems share(int fieldNumber, boolean list, List<TaskItem> items) {
+        final int count = items.size();
+        final ByteString[] itemBodies = new ByteString[count];
+        final ByteString[] itemLabels = new ByteString[count];
+        for (int i = 0; i < count; i++) {
+            final TaskItem item = items.get(i);
+            itemBodies[i] = bodies.intern(bodyOf(item));
+            itemLabels[i] = labels.intern(labelOf(item));
+        }
+        return new SharedTaskItems(fieldNumber, list, itemBodies, itemLabels);
+    }
+
+    private static ByteString bodyOf(TaskItem item) {
+        return item.toBuilder()
+                   .clearLabelId()
+                   .clearLabelColor()
+                   .build()
+                   .toByteString();
+    }
+
+    private static ByteString labelOf(TaskItem item) {
+        final TaskItem.Builder label = TaskItem.newBuilder()
+                                               .setLabelColorValue(item.getLabelColorValue());
+        if (item.hasLabelId()) {
+            label.setLabelId(item.getLabelId());
+        }
+        return label.build()
+                    .toByteString();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import io.spine.examples.todolist.repository.AggregateOptions;
+import io.spine.examples.todolist.repository.CommandMailboxes;
+import io.spine.examples.todolist.repository.EventBatching;
+import io.spine.examples.todolist.repository.StripedEventDispatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("BoundedContextOptions should")
+class BoundedContextOptionsTest {
+
+    @Test
+    @DisplayName("combine the snapshot trigger with the mailboxes and the cache")
+    void combineAggregateOptions() {
+        try (final CommandMailboxes mailboxes = CommandMailboxes.newInstance(1)) {
+            final BoundedContextOptions options = BoundedContextOptions.newBuilder()
+                                                                       .setSnapshotTrigger(10)
+                                                                       .setMailboxes(mailboxes)
+                                                                       .setAggregateCacheSize(5)
+                                                                       .build();
+            final AggregateOptions aggregateOptions = options.getAggregateOptions();
+            assertEquals(10, aggregateOptions.getSnapshotTrigger());
+            assertSame(mailboxes, aggregateOptions.getMailboxes());
+            assertEquals(5, aggregateOptions.getCacheSize());
+        }
+    }
+
+    @Test
+    @DisplayName("reject the aggregate cache without the mailboxes")
+    void rejectCacheWithoutMailboxes() {
+        final BoundedContextOptions.Builder builder = BoundedContextOptions.newBuilder();
+        builder.setAggregateCacheSize(5);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("reject the lazy enrichment along with the dispatcher")
+    void rejectLazyWithDispatcher() {
+        try (final StripedEventDispatcher dispatcher = StripedEventDispatcher.newInstance(1)) {
+            final BoundedContextOptions.Builder builder = BoundedContextOptions.newBuilder();
+            builder.setDispatcher(dispatcher)
+                   .setLazyEnrichment(true);
+            assertThrows(IllegalStateException.class, builder::build);
+        }
+    }
+
+    @Test
+    @DisplayName("reject the lazy enrichment along with the batching")
+    void rejectLazyWithBatching() {
+        final EventBatching batching = EventBatching.of(10, 100, MILLISECONDS);
+        final BoundedContextOptions.Builder builder = BoundedContextOptions.newBuilder();
+        builder.setBatching(batching)
+               .setLazyEnrichment(true);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("shard the archive as the task list by default")
+    void shardArchiveAsMyList() {
+        final BoundedContextOptions options = BoundedContextOptions.newBuilder()
+                                                                   .setMyListShards(4)
+                                                                   .build();
+        assertEquals(4, options.getArchiveShards());
+    }
+
+    @Test
+    @DisplayName("read the number of the archive shards from the system properties")
+    void readArchiveShardsProperty() {
+        System.setProperty("todolist.myListShards", "8");
+        System.setProperty("todolist.archiveShards", "2");
+        try {
+            final BoundedContextOptions options = BoundedContextOptions.fromSystemProperties();
+            assertEquals(8, options.getMyListShards());
+            assertEquals(2, options.getArchiveShards());
+        } finally {
+            System.clearProperty("todolist.myListShards");
+            System.clearProperty("todolist.archiveShards");
+        }
+    }
+
+    @Test
+    @DisplayName("read the checkpoint settings from the system properties")
+    void readCheckpointProperties() {
+        System.setProperty("todolist.checkpointFile", "checkpoint.bin");
+        System.setProperty("todolist.checkpointIntervalMillis", "500");
+        try {
+            final BoundedContextOptions options = BoundedContextOptions.fromSystemProperties();
+            assertEquals(Paths.get("checkpoint.bin")
+                              .toAbsolutePath(), options.getCheckpointFile());
+            assertEquals(500, options.getCheckpointIntervalMillis());
+        } finally {
+            System.clearProperty("todolist.checkpointFile");
+            System.clearProperty("todolist.checkpointIntervalMillis");
+        }
+    }
+
+    @Test
+    @DisplayName("not write the checkpoints by default")
+    void noCheckpointsByDefault() {
+        assertNull(BoundedContextOptions.defaults()
+                                        .getCheckpointFile());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.core.EventEnvelope;
+import io.spine.core.Versions;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.events.LabelAssignedToTask;
+import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskDescriptionUpdated;
+import io.spine.examples.todolist.c.events.TaskDraftFinalized;
+import io.spine.examples.todolist.c.events.TaskReopened;
+import io.spine.examples.todolist.repository.LabelAggregateRepository;
+import io.spine.examples.todolist.repository.TaskLabelsRepository;
+import io.spine.examples.todolist.repository.TaskRepository;
+import io.spine.server.event.EventEnricher;
+import io.spine.server.event.EventFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.server.command.TestEventFactory.newInstance;
+import static java.lang.String.format;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the repository reads performed to enrich a single event of each enriched type.
+ *
+ * <p>The reads are counted with and without the enrichment scope of the event, so the
+ * difference shows the reads saved by sharing the aggregate states between the enrichments.
+ *
+ * <p>Run the {@link #main(String[]) main} method from the test classpath to print the results.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+public class EnrichmentReadsBenchmark {
+
+    private static final EventFactory events = newInstance(EnrichmentReadsBenchmark.class);
+
+    private final AtomicInteger reads = new AtomicInteger();
+    private final TodoListEnrichments enrichments;
+    private final EventEnricher enricher;
+
+    private EnrichmentReadsBenchmark() {
+        final TaskRepository taskRepo = mock(TaskRepository.class);
+        final LabelAggregateRepository labelRepo = mock(LabelAggregateRepository.class);
+        final TaskLabelsRepository taskLabelsRepo = mock(TaskLabelsRepository.class);
+        when(taskRepo.find(any(TaskId.class))).then(invocation -> absentRead());
+        when(labelRepo.find(any(LabelId.class))).then(invocation -> absentRead());
+        when(taskLabelsRepo.find(any(TaskId.class))).then(invocation -> absentRead());
+        this.enrichments = TodoListEnrichments.newBuilder()
+                                              .setTaskRepository(taskRepo)
+                                              .setLabelRepository(labelRepo)
+                                              .setTaskLabelsRepository(taskLabelsRepo)
+                                              .build();
+        this.enricher = enrichments.createEnricher();
+    }
+
+    public static void main(String[] args) {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        final LabelId labelId = LabelId.newBuilder()
+                                       .setValue(newUuid())
+                                       .build();
+        final Message[] eventMessages = {
+                TaskDraftFinalized.newBuilder()
+                                  .setTaskId(taskId)
+                                  .build(),
+                TaskCompleted.newBuilder()
+                             .setTaskId(taskId)
+                             .build(),
+                TaskReopened.newBuilder()
+                            .setTaskId(taskId)
+                            .build(),
+                TaskDescriptionUpdated.newBuilder()
+                                      .setTaskId(taskId)
+                                      .build(),
+                LabelAssignedToTask.newBuilder()
+                                   .setTaskId(taskId)
+                                   .setLabelId(labelId)
+                                   .build(),
+                LabelledTaskRestored.newBuilder()
+                                    .setTaskId(taskId)
+                                    .setLabelId(labelId)
+                                    .build()
+        };
+        final EnrichmentReadsBenchmark benchmark = new EnrichmentReadsBenchmark();
+        for (Message eventMessage : eventMessages) {
+            final EventEnvelope envelope = EventEnvelope.of(
+                    events.createEvent(eventMessage, Versions.zero())
+            );
+            final int unscopedReads = benchmark.readsWithoutScope(envelope);
+            final int scopedReads = benchmark.readsWithScope(envelope);
+            System.out.println(format("%s: %d reads without the scope, %d with the scope.",
+                                      eventMessage.getClass()
+                                                  .getSimpleName(),
+                                      unscopedReads, scopedReads));
+        }
+    }
+
+    private int readsWithoutScope(EventEnvelope envelope) {
+        enrichments.getCache()
+                   .close();
+        reads.set(0);
+        enricher.enrich(envelope);
+        return reads.get();
+    }
+
+    private int readsWithScope(EventEnvelope envelope) {
+        enrichments.getCache()
+                   .accept(envelope);
+        reads.set(0);
+        enricher.enrich(envelope);
+        return reads.get();
+    }
+
+    private Optional<?> absentRead() {
+        reads.incrementAndGet();
+        return Optional.absent();
+    }
+}
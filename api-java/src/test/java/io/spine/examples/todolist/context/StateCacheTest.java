@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.context;
+
+import com.google.common.base.Optional;
+import io.spine.examples.todolist.Task;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.spine.Identifier.newUuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+@DisplayName("StateCache should")
+class StateCacheTest {
+
+    private static final long MAXIMUM_SIZE = 2;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private StateCache<TaskId, Task> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StateCache<>(MAXIMUM_SIZE, id -> {
+            loads.incrementAndGet();
+            return Optional.of(taskOf(id));
+        });
+    }
+
+    @Test
+    @DisplayName("load a state once")
+    void loadOnce() {
+        final TaskId id = randomTaskId();
+        final Task first = cache.get(id)
+                                .get();
+        final Task second = cache.get(id)
+                                 .get();
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(0.5, cache.stats()
+                               .hitRate());
+    }
+
+    @Test
+    @DisplayName("serve the written state without loading")
+    void serveWritten() {
+        final TaskId id = randomTaskId();
+        final Task written = taskOf(id).toBuilder()
+                                       .setTaskStatus(TaskStatus.COMPLETED)
+                                       .build();
+        cache.get(id);
+        cache.put(id, written);
+        assertEquals(written, cache.get(id)
+                                   .get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("not cache a state loaded concurrently with a write")
+    void notCacheOutdated() {
+        final TaskId id = randomTaskId();
+        final Task written = taskOf(id).toBuilder()
+                                       .setTaskStatus(TaskStatus.COMPLETED)
+                                       .build();
+        final AtomicReference<StateCache<TaskId, Task>> racingCache = new AtomicReference<>();
+        racingCache.set(new StateCache<>(MAXIMUM_SIZE, loadedId -> {
+            loads.incrementAndGet();
+            racingCache.get()
+                       .put(loadedId, written);
+            return Optional.of(taskOf(loadedId));
+        }));
+        racingCache.get()
+                   .get(id);
+        assertEquals(written, racingCache.get()
+                                         .get(id)
+                                         .get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("not cache an absent state")
+    void notCacheAbsent() {
+        final StateCache<TaskId, Task> absentCache = new StateCache<>(MAXIMUM_SIZE, id -> {
+            loads.incrementAndGet();
+            return Optional.absent();
+        });
+        final TaskId id = randomTaskId();
+        assertFalse(absentCache.get(id)
+                               .isPresent());
+        absentCache.get(id);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("evict the states exceeding the maximum size")
+    void evictStates() {
+        for (int i = 0; i <= MAXIMUM_SIZE; i++) {
+            cache.get(randomTaskId());
+        }
+        assertEquals(1, cache.stats()
+                             .evictionCount());
+    }
+
+    private static Task taskOf(TaskId id) {
+        final TaskDescription description = TaskDescription.newBuilder()
+                                                           .setValue(id.getValue())
+                                                           .build();
+        return Task.newBuilder()
+                   .setId(id)
+                   .setDescription(description)
+                   .build();
+    }
+
+    private static TaskId randomTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
+    }
+}
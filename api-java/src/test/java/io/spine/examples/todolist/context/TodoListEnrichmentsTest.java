@@ -25,14 +25,20 @@ import com.google.protobuf.Any;
 import com.google.protobuf.Message;
 import io.spine.core.Enrichment;
 import io.spine.core.Event;
+import io.spine.core.EventContext;
 import io.spine.core.EventEnvelope;
 import io.spine.core.Versions;
+import io.spine.examples.todolist.EnrichmentNotFoundException;
 import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskStatus;
 import io.spine.examples.todolist.c.enrichments.DetailsEnrichment;
 import io.spine.examples.todolist.c.enrichments.LabelsListEnrichment;
 import io.spine.examples.todolist.c.enrichments.TaskEnrichment;
 import io.spine.examples.todolist.c.events.LabelledTaskRestored;
+import io.spine.examples.todolist.c.events.TaskCompleted;
+import io.spine.examples.todolist.c.events.TaskCreated;
 import io.spine.examples.todolist.c.events.TaskDraftFinalized;
 import io.spine.examples.todolist.repository.LabelAggregateRepository;
 import io.spine.examples.todolist.repository.TaskLabelsRepository;
@@ -43,15 +49,24 @@ import io.spine.type.TypeName;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.BiConsumer;
 
 import static io.spine.Identifier.newUuid;
 import static io.spine.core.EventEnvelope.of;
+import static io.spine.examples.todolist.EnrichmentHelper.getEnrichment;
 import static io.spine.protobuf.AnyPacker.unpack;
 import static io.spine.server.command.TestEventFactory.newInstance;
 import static io.spine.validate.Validate.isDefault;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("TodoListEnrichments should")
@@ -59,22 +74,24 @@ class TodoListEnrichmentsTest {
 
     private static final EventFactory events = newInstance(TodoListEnrichmentsTest.class);
 
+    private TaskRepository taskRepo;
+    private TodoListEnrichments enrichments;
     private EventEnricher enricher;
 
     @BeforeEach
     void setUp() {
-        final TaskRepository taskRepo = mock(TaskRepository.class);
+        taskRepo = mock(TaskRepository.class);
         final LabelAggregateRepository labelRepo = mock(LabelAggregateRepository.class);
         final TaskLabelsRepository taskLabelsRepo = mock(TaskLabelsRepository.class);
         when(taskRepo.find(any(TaskId.class))).thenReturn(Optional.absent());
         when(labelRepo.find(any(LabelId.class))).thenReturn(Optional.absent());
         when(taskLabelsRepo.find(any(TaskId.class))).thenReturn(Optional.absent());
-        enricher = TodoListEnrichments.newBuilder()
-                                      .setTaskRepository(taskRepo)
-                                      .setLabelRepository(labelRepo)
-                                      .setTaskLabelsRepository(taskLabelsRepo)
-                                      .build()
-                                      .createEnricher();
+        enrichments = TodoListEnrichments.newBuilder()
+                                         .setTaskRepository(taskRepo)
+                                         .setLabelRepository(labelRepo)
+                                         .setTaskLabelsRepository(taskLabelsRepo)
+                                         .build();
+        enricher = enrichments.createEnricher();
     }
 
     @Test
@@ -121,6 +138,102 @@ class TodoListEnrichmentsTest {
         assertTrue(isDefault(enr.getTaskDetails()));
     }
 
+    @Test
+    @DisplayName("load an aggregate once for all the enrichments of an event")
+    void loadOncePerEvent() {
+        final TaskCompleted eventMsg = TaskCompleted.newBuilder()
+                                                    .setTaskId(randomTaskId())
+                                                    .build();
+        final EventEnvelope envelope = of(event(eventMsg));
+        enrichments.getCache()
+                   .accept(envelope);
+        enricher.enrich(envelope);
+        verify(taskRepo, times(1)).find(eventMsg.getTaskId());
+    }
+
+    @Test
+    @DisplayName("serve the enrichment of TaskCompleted from the written through state")
+    void serveWrittenThrough() {
+        final TaskId taskId = randomTaskId();
+        final Task completed = Task.newBuilder()
+                                   .setId(taskId)
+                                   .setTaskStatus(TaskStatus.COMPLETED)
+                                   .build();
+        @SuppressWarnings("unchecked") // The captor of a generic type.
+        final ArgumentCaptor<BiConsumer<TaskId, Task>> listener =
+                ArgumentCaptor.forClass(BiConsumer.class);
+        verify(taskRepo).setStateListener(listener.capture());
+        listener.getValue()
+                .accept(taskId, completed);
+
+        final TaskCompleted eventMsg = TaskCompleted.newBuilder()
+                                                    .setTaskId(taskId)
+                                                    .build();
+        final EventEnvelope envelope = of(event(eventMsg));
+        enrichments.getCache()
+                   .accept(envelope);
+        final EventEnvelope enriched = enricher.enrich(envelope);
+
+        final TypeName taskTypeName = TypeName.from(TaskEnrichment.getDescriptor());
+        final Any task = enriched.getEnrichment()
+                                 .getContainer()
+                                 .getItemsMap()
+                                 .get(taskTypeName.value());
+        final TaskEnrichment taskEnrichment = unpack(task);
+        assertEquals(completed, taskEnrichment.getTask());
+        verify(taskRepo, never()).find(any(TaskId.class));
+    }
+
+    @Test
+    @DisplayName("enrich an event only on demand")
+    void enrichOnDemand() {
+        final TaskCompleted eventMsg = TaskCompleted.newBuilder()
+                                                    .setTaskId(randomTaskId())
+                                                    .build();
+        final EventEnvelope envelope = of(event(eventMsg));
+        enrichments.createLazyEnricher()
+                   .accept(envelope);
+        verify(taskRepo, never()).find(any(TaskId.class));
+
+        final EventContext context = envelope.getEventContext();
+        getEnrichment(TaskEnrichment.class, context);
+        getEnrichment(TaskEnrichment.class, context);
+        verify(taskRepo, times(1)).find(eventMsg.getTaskId());
+    }
+
+    @Test
+    @DisplayName("not enrich an event on demand with an enrichment not declared for it")
+    void notEnrichUndeclared() {
+        final TaskCreated eventMsg = TaskCreated.newBuilder()
+                                                .setId(randomTaskId())
+                                                .build();
+        final EventEnvelope envelope = of(event(eventMsg));
+        enrichments.createLazyEnricher()
+                   .accept(envelope);
+
+        final EventContext context = envelope.getEventContext();
+        assertThrows(EnrichmentNotFoundException.class,
+                     () -> getEnrichment(TaskEnrichment.class, context));
+        verify(taskRepo, never()).find(any(TaskId.class));
+    }
+
+    @Test
+    @DisplayName("not enrich on demand an event, which is not being delivered")
+    void notEnrichUndelivered() {
+        final TaskCompleted eventMsg = TaskCompleted.newBuilder()
+                                                    .setTaskId(randomTaskId())
+                                                    .build();
+        final Event event = event(eventMsg);
+        enrichments.createLazyEnricher()
+                   .accept(of(event));
+
+        final EventContext storedContext = event.getContext()
+                                                .toBuilder()
+                                                .build();
+        assertThrows(EnrichmentNotFoundException.class,
+                     () -> getEnrichment(TaskEnrichment.class, storedContext));
+    }
+
     private static Event event(Message msg) {
         return events.createEvent(msg, Versions.zero());
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.TaskId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.MAX_COMPLETED_TASKS;
+import static io.spine.examples.todolist.testdata.TestEventEnricherFactory.LABEL_TITLE;
+import static io.spine.examples.todolist.testdata.TestLabelEventFactory.labelDetailsUpdatedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskCompletedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskReopenedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.LABEL_ID;
+import static io.spine.server.projection.ProjectionEventDispatcher.dispatch;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("ArchivedTasksViewProjection should")
+class ArchivedTasksViewProjectionTest extends ProjectionTest {
+
+    private ArchivedTasksViewProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new ArchivedTasksViewProjection(createTaskListId());
+    }
+
+    @Test
+    @DisplayName("keep the recently completed task pending")
+    void keepPending() {
+        final TaskId id = newTaskId();
+        apply(taskCompletedInstance(id));
+
+        final ArchivedTasksView view = projection.getState();
+        assertEquals(0, view.getArchived()
+                            .getItemsCount());
+        final TaskItem pending = view.getCompletedTasks(0)
+                                     .getItem();
+        assertEquals(id, pending.getId());
+        assertEquals(DESCRIPTION, pending.getDescription()
+                                         .getValue());
+        assertEquals(LABEL_ID, pending.getLabelId());
+        assertEquals(LabelColor.BLUE, pending.getLabelColor());
+        assertTrue(pending.getCompleted());
+    }
+
+    @Test
+    @DisplayName("archive the earliest completed task")
+    void archiveEarliest() {
+        final List<TaskId> ids = completeTasks(MAX_COMPLETED_TASKS + 1);
+
+        final ArchivedTasksView view = projection.getState();
+        assertEquals(1, view.getArchived()
+                            .getItemsCount());
+        assertEquals(ids.get(0), view.getArchived()
+                                     .getItems(0)
+                                     .getId());
+        assertEquals(MAX_COMPLETED_TASKS, view.getCompletedTasksCount());
+    }
+
+    @Test
+    @DisplayName("remove the reopened task from the archive")
+    void removeReopened() {
+        final List<TaskId> ids = completeTasks(MAX_COMPLETED_TASKS + 1);
+
+        apply(taskReopenedInstance(ids.get(0)));
+        apply(taskReopenedInstance(ids.get(1)));
+
+        final ArchivedTasksView view = projection.getState();
+        assertEquals(0, view.getArchived()
+                            .getItemsCount());
+        assertEquals(MAX_COMPLETED_TASKS - 1, view.getCompletedTasksCount());
+    }
+
+    @Test
+    @DisplayName("update the label color of the archived and the pending tasks")
+    void updateLabelColor() {
+        completeTasks(MAX_COMPLETED_TASKS + 1);
+
+        apply(labelDetailsUpdatedInstance(LABEL_ID, LabelColor.RED, LABEL_TITLE));
+
+        final ArchivedTasksView view = projection.getState();
+        assertEquals(LabelColor.RED, view.getArchived()
+                                         .getItems(0)
+                                         .getLabelColor());
+        for (CompletedTask task : view.getCompletedTasksList()) {
+            assertEquals(LabelColor.RED, task.getItem()
+                                             .getLabelColor());
+        }
+    }
+
+    private List<TaskId> completeTasks(int count) {
+        final List<TaskId> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final TaskId id = newTaskId();
+            apply(taskCompletedInstance(id));
+            result.add(id);
+        }
+        return result;
+    }
+
+    private void apply(Message event) {
+        dispatch(projection, createEvent(event));
+    }
+
+    private static TaskId newTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
+    }
+}
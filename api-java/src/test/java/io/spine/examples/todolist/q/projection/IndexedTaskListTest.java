@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.Identifier.newUuid;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("IndexedTaskList should")
+class IndexedTaskListTest {
+
+    private static final String LIST = "my_list";
+
+    private TaskItem first;
+    private TaskItem second;
+    private TaskItem third;
+    private IndexedTaskList tasks;
+
+    @BeforeEach
+    void setUp() {
+        first = newTaskItem();
+        second = newTaskItem();
+        third = newTaskItem();
+        tasks = IndexedTaskList.of(TaskListView.getDefaultInstance());
+        tasks.add(first);
+        tasks.add(second);
+        tasks.add(third);
+    }
+
+    @Test
+    @DisplayName("index added items")
+    void indexAddedItems() {
+        final TaskListIndex index = tasks.index();
+
+        assertEquals(3, index.getItemCount());
+        assertEquals(1, positionOf(second, index));
+    }
+
+    @Test
+    @DisplayName("update only the items of the task")
+    void updateItemsOfTask() {
+        tasks.update(second.getId(), builder -> builder.setCompleted(true));
+        final TaskListView view = tasks.toView();
+
+        assertTrue(view.getItems(1)
+                       .getCompleted());
+        assertFalse(view.getItems(0)
+                        .getCompleted());
+        assertFalse(view.getItems(2)
+                        .getCompleted());
+    }
+
+    @Test
+    @DisplayName("remove the items of the task preserving the order")
+    void removeItemsOfTask() {
+        tasks.remove(first.getId());
+        final TaskListView view = tasks.toView();
+        final TaskListIndex index = tasks.index();
+
+        assertEquals(2, view.getItemsCount());
+        assertEquals(second, view.getItems(0));
+        assertEquals(third, view.getItems(1));
+        assertTrue(index.positionsOf(first.getId())
+                        .isEmpty());
+        assertEquals(0, positionOf(second, index));
+        assertEquals(1, positionOf(third, index));
+    }
+
+    @Test
+    @DisplayName("remove all the items of the task with duplicated items")
+    void removeDuplicatedItems() {
+        tasks.add(second);
+        tasks.remove(second.getId());
+        final TaskListView view = tasks.toView();
+
+        assertEquals(2, view.getItemsCount());
+        assertFalse(view.getItemsList()
+                        .contains(second));
+        assertEquals(1, positionOf(third, tasks.index()));
+    }
+
+    @Test
+    @DisplayName("remove the items matching the filter")
+    void removeMatchingItems() {
+        tasks.removeIf(second::equals);
+
+        assertEquals(2, tasks.index()
+                             .getItemCount());
+        assertEquals(1, positionOf(third, tasks.index()));
+    }
+
+    @Test
+    @DisplayName("transform only the items of the label")
+    void updateItemsOfLabel() {
+        final LabelId label = newLabelId();
+        tasks.update(second.getId(), builder -> builder.setLabelId(label));
+        final AtomicInteger transformations = new AtomicInteger();
+
+        tasks.updateByLabel(label, builder -> {
+            transformations.incrementAndGet();
+            return builder.setCompleted(true);
+        });
+
+        assertEquals(1, transformations.get());
+        assertTrue(tasks.toView()
+                        .getItems(1)
+                        .getCompleted());
+    }
+
+    @Test
+    @DisplayName("move the item between labels on update")
+    void moveItemBetweenLabels() {
+        final LabelId oldLabel = newLabelId();
+        final LabelId newLabel = newLabelId();
+        tasks.update(first.getId(), builder -> builder.setLabelId(oldLabel));
+        tasks.update(first.getId(), builder -> builder.setLabelId(newLabel));
+        final TaskListIndex index = tasks.index();
+
+        assertTrue(index.positionsOf(oldLabel)
+                        .isEmpty());
+        assertEquals(singletonList(0), index.positionsOf(newLabel));
+    }
+
+    @Test
+    @DisplayName("remove the items of the label preserving the order")
+    void removeItemsOfLabel() {
+        final LabelId label = newLabelId();
+        tasks.update(first.getId(), builder -> builder.setLabelId(label));
+        tasks.update(third.getId(), builder -> builder.setLabelId(label));
+        tasks.add(newTaskItem().toBuilder()
+                               .setLabelId(label)
+                               .build());
+
+        tasks.removeByLabel(label);
+        final TaskListView view = tasks.toView();
+        final TaskListIndex index = tasks.index();
+
+        assertEquals(1, view.getItemsCount());
+        assertEquals(second, view.getItems(0));
+        assertEquals(0, positionOf(second, index));
+        assertTrue(index.positionsOf(label)
+                        .isEmpty());
+    }
+
+    @Test
+    @DisplayName("shift the label positions on removal")
+    void shiftLabelPositions() {
+        final LabelId label = newLabelId();
+        tasks.update(third.getId(), builder -> builder.setLabelId(label));
+
+        tasks.remove(first.getId());
+
+        assertEquals(singletonList(1), tasks.index()
+                                            .positionsOf(label));
+    }
+
+    @Test
+    @DisplayName("index the existing items")
+    void indexExistingItems() {
+        final IndexedTaskList indexed = IndexedTaskList.of(tasks.toView());
+        final TaskListIndex index = indexed.index();
+
+        assertEquals(3, index.getItemCount());
+        assertEquals(0, positionOf(first, index));
+        assertEquals(1, positionOf(second, index));
+        assertEquals(2, positionOf(third, index));
+    }
+
+    @Test
+    @DisplayName("keep the positions of the remaining items after many removals")
+    void removeManyItems() {
+        final IndexedTaskList list = IndexedTaskList.of(TaskListView.getDefaultInstance());
+        final int itemCount = 1_000;
+        final List<TaskItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            final TaskItem item = newTaskItem();
+            items.add(item);
+            list.add(item);
+        }
+        for (int i = 0; i < itemCount; i += 3) {
+            list.remove(items.get(i)
+                             .getId());
+        }
+
+        final List<TaskItem> remaining = list.toView()
+                                             .getItemsList();
+        for (int position = 0; position < remaining.size(); position++) {
+            assertEquals(position, positionOf(remaining.get(position), list.index()));
+        }
+        assertEquals(remaining.size(), list.index()
+                                           .getItemCount());
+    }
+
+    @Test
+    @DisplayName("use the kept index of the list")
+    void useKeptIndex() {
+        final TaskListIndexes indexes = new TaskListIndexes();
+        final IndexedTaskList indexed = IndexedTaskList.of(indexes, LIST, tasks.toView());
+
+        final IndexedTaskList next = IndexedTaskList.of(indexes, LIST, indexed.toView());
+
+        assertSame(indexed.index(), next.index());
+    }
+
+    @Test
+    @DisplayName("not use the kept index not matching the list")
+    void notUseStaleIndex() {
+        final TaskListIndexes indexes = new TaskListIndexes();
+        final IndexedTaskList indexed = IndexedTaskList.of(indexes, LIST, tasks.toView());
+
+        final IndexedTaskList next =
+                IndexedTaskList.of(indexes, LIST, TaskListView.getDefaultInstance());
+
+        assertNotSame(indexed.index(), next.index());
+        assertEquals(0, next.index()
+                            .getItemCount());
+    }
+
+    @Test
+    @DisplayName("not modify the list on the transformation keeping the items")
+    void notModifyOnSameItems() {
+        final IndexedTaskList indexed = IndexedTaskList.of(tasks.toView());
+
+        indexed.update(first.getId(), builder -> builder);
+
+        assertFalse(indexed.isModified());
+    }
+
+    private static int positionOf(TaskItem item, TaskListIndex index) {
+        return index.positionsOf(item.getId())
+                    .get(0);
+    }
+
+    private static LabelId newLabelId() {
+        return LabelId.newBuilder()
+                      .setValue(newUuid())
+                      .build();
+    }
+
+    private static TaskItem newTaskItem() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .build();
+    }
+}
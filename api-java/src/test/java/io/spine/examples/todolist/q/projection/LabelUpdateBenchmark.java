@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelDetails;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.LABEL_TITLE;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.updateLabelDetailsInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the cost of updating a label in task lists of different sizes.
+ *
+ * <p>Each update is measured end to end: from posting the {@code UpdateLabelDetails} command
+ * to the {@code LabelDetailsUpdated} event being dispatched to the {@link MyListViewProjection}
+ * and the {@link LabelledTasksViewProjection} and the projections being stored.
+ *
+ * <p>The number of the labelled items is the same for all the lists, so the labelled items
+ * are found at the same cost. The rest of the cost grows along with the size of the list,
+ * as the references to the items are copied to the new projection state on each event
+ * modifying the list.
+ *
+ * <p>Run the {@link #main(String[]) main} method from the test classpath to print the results.
+ *
+ * @author Dmytro Grankin
+ */
+public class LabelUpdateBenchmark {
+
+    private static final int[] LIST_SIZES = {1_000, 5_000, 10_000};
+    private static final int LABELLED_ITEMS = 10;
+    private static final int WARM_UP_ITERATIONS = 10;
+    private static final int ITERATIONS = 100;
+    private static final LabelColor[] COLORS = {LabelColor.RED, LabelColor.GREEN};
+
+    private static final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(LabelUpdateBenchmark.class);
+
+    private LabelUpdateBenchmark() {
+        // Prevent instantiation of this class.
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int listSize : LIST_SIZES) {
+            final BoundedContext boundedContext = newBoundedContext();
+            final CommandBus commandBus = boundedContext.getCommandBus();
+            final LabelId label = LabelId.newBuilder()
+                                         .setValue(newUuid())
+                                         .build();
+            createTasks(commandBus, listSize, label);
+            LabelDetails details = LabelDetails.newBuilder()
+                                               .setTitle(LABEL_TITLE)
+                                               .setColor(LabelColor.GRAY)
+                                               .build();
+            details = run(commandBus, label, details, WARM_UP_ITERATIONS);
+            final long start = nanoTime();
+            run(commandBus, label, details, ITERATIONS);
+            final long elapsed = nanoTime() - start;
+            final double microsPerUpdate = NANOSECONDS.toMicros(elapsed) / (double) ITERATIONS;
+            System.out.println(format("%,d items: %.2f us per label update.",
+                                      listSize, microsPerUpdate));
+            boundedContext.close();
+        }
+    }
+
+    /**
+     * Updates the color of the label the given number of times.
+     *
+     * @return the details of the label after the updates
+     */
+    private static LabelDetails run(CommandBus commandBus, LabelId label,
+                                    LabelDetails details, int iterations) {
+        LabelDetails current = details;
+        for (int i = 0; i < iterations; i++) {
+            final LabelDetails updated = current.toBuilder()
+                                                .setColor(COLORS[i % COLORS.length])
+                                                .build();
+            post(commandBus, updateLabelDetailsInstance(label, current, updated));
+            current = updated;
+        }
+        return current;
+    }
+
+    private static void createTasks(CommandBus commandBus, int count, LabelId label) {
+        post(commandBus, createLabelInstance(label));
+        final int labelStep = count / LABELLED_ITEMS;
+        for (int i = 0; i < count; i++) {
+            final TaskId id = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+            post(commandBus, createTaskInstance(id, format("Task #%d.", i)));
+            if (i % labelStep == 0) {
+                post(commandBus, assignLabelToTaskInstance(id, label));
+            }
+        }
+    }
+
+    private static BoundedContext newBoundedContext() {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        return BoundedContexts.create(storageFactory);
+    }
+
+    private static void post(CommandBus commandBus, Message commandMessage) {
+        commandBus.post(requestFactory.command()
+                                      .create(commandMessage), noOpObserver());
+    }
+}
@@ -69,6 +69,7 @@ import static io.spine.time.Time.getCurrentTime;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -434,6 +435,34 @@ class MyListViewProjectionTest extends ProjectionTest {
             assertEquals(TASK_ID, taskView.getId());
             assertFalse(taskView.getCompleted());
         }
+
+        @Test
+        @DisplayName("remove the earliest completed task exceeding the archival policy limit")
+        void archiveEarliest() {
+            final TaskId uncompleted = newTaskId();
+            dispatch(projection, createEvent(taskCreatedInstance(uncompleted)));
+            final TaskId earliest = newTaskId();
+            dispatch(projection, createEvent(taskCreatedInstance(earliest)));
+            dispatch(projection, createEvent(taskCompletedInstance(earliest)));
+            for (int i = 0; i < TaskArchivalPolicy.MAX_COMPLETED_TASKS; i++) {
+                final TaskId id = newTaskId();
+                dispatch(projection, createEvent(taskCreatedInstance(id)));
+                dispatch(projection, createEvent(taskCompletedInstance(id)));
+            }
+
+            final MyListView view = projection.getState();
+            final int expectedViewListSize = TaskArchivalPolicy.MAX_COMPLETED_TASKS + 1;
+            assertEquals(expectedViewListSize, view.getMyList()
+                                                   .getItemsCount());
+            assertEquals(uncompleted, view.getMyList()
+                                          .getItems(0)
+                                          .getId());
+            for (TaskItem item : view.getMyList()
+                                     .getItemsList()) {
+                assertNotEquals(earliest, item.getId());
+            }
+            assertEquals(TaskArchivalPolicy.MAX_COMPLETED_TASKS, view.getCompletedTasksCount());
+        }
     }
 
     @Nested
@@ -486,5 +515,66 @@ class MyListViewProjectionTest extends ProjectionTest {
             assertEquals(TASK_ID, taskView.getId());
             assertTrue(taskView.getCompleted());
         }
+
+        @Test
+        @DisplayName("return the archived task to MyListView with its label")
+        void returnArchivedWithLabel() {
+            dispatch(projection, createEvent(taskCreatedInstance()));
+            dispatch(projection, createEvent(labelAssignedToTaskInstance()));
+            dispatch(projection, createEvent(taskCompletedInstance()));
+            for (int i = 0; i < TaskArchivalPolicy.MAX_COMPLETED_TASKS; i++) {
+                final TaskId id = newTaskId();
+                dispatch(projection, createEvent(taskCreatedInstance(id)));
+                dispatch(projection, createEvent(taskCompletedInstance(id)));
+            }
+            for (TaskItem item : projection.getState()
+                                           .getMyList()
+                                           .getItemsList()) {
+                assertNotEquals(TASK_ID, item.getId());
+            }
+
+            dispatch(projection, createEvent(taskReopenedInstance()));
+
+            final TaskItem reopened = projection.getState()
+                                                .getMyList()
+                                                .getItemsList()
+                                                .stream()
+                                                .filter(item -> TASK_ID.equals(item.getId()))
+                                                .findFirst()
+                                                .orElseThrow(AssertionError::new);
+            assertEquals(LABEL_ID, reopened.getLabelId());
+            assertEquals(LabelColor.BLUE, reopened.getLabelColor());
+            assertFalse(reopened.getCompleted());
+        }
+    }
+
+    @Nested
+    @DisplayName("shard ID should")
+    class ShardId {
+
+        @Test
+        @DisplayName("be equal to the singleton ID for the first shard")
+        void beSingletonIdForFirstShard() {
+            assertEquals(MyListViewProjection.ID, MyListViewProjection.shardId(0));
+        }
+
+        @Test
+        @DisplayName("be unique for each shard")
+        void beUniquePerShard() {
+            assertNotEquals(MyListViewProjection.shardId(1), MyListViewProjection.shardId(2));
+            assertNotEquals(MyListViewProjection.ID, MyListViewProjection.shardId(1));
+        }
+
+        @Test
+        @DisplayName("not be obtained for a negative index")
+        void notAcceptNegativeIndex() {
+            assertThrows(IllegalArgumentException.class, () -> MyListViewProjection.shardId(-1));
+        }
+    }
+
+    private static TaskId newTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
     }
 }
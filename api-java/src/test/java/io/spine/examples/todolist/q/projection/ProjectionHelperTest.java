@@ -49,7 +49,7 @@ public class ProjectionHelperTest {
                                                    .build();
     private TaskItem viewWithDefaultLabelId;
     private TaskItem viewWithDefaultTaskId;
-    private List<TaskItem> viewList;
+    private IndexedTaskList viewList;
 
     @BeforeEach
     public void setUp() {
@@ -66,49 +66,59 @@ public class ProjectionHelperTest {
     @DisplayName("remove TaskItem from state by label ID")
     public void removeView() {
         final int expectedListSize = 2;
-        final TaskListView view = ProjectionHelper.removeViewsByLabelId(viewList, LABEL_ID);
+        ProjectionHelper.removeViewsByLabelId(viewList, LABEL_ID);
+        final TaskListView view = viewList.toView();
 
         assertEquals(expectedListSize, view.getItemsCount());
-        assertFalse(viewList.contains(viewWithDefaultTaskId));
+        assertFalse(view.getItemsList()
+                        .contains(viewWithDefaultTaskId));
     }
 
     @Test
     @DisplayName("not remove TaskItem from state by wrong label ID")
     public void notRemoveViewByLabelId() {
-        final int expectedListSize = viewList.size();
+        final int expectedListSize = viewList.toView()
+                                             .getItemsCount();
         final LabelId wrongLabelId = LabelId.newBuilder()
                                             .setValue(newUuid())
                                             .build();
-        final TaskListView view = ProjectionHelper.removeViewsByLabelId(viewList, wrongLabelId);
+        ProjectionHelper.removeViewsByLabelId(viewList, wrongLabelId);
+        final TaskListView view = viewList.toView();
 
         assertEquals(expectedListSize, view.getItemsCount());
-        assertTrue(viewList.contains(viewWithDefaultTaskId));
+        assertTrue(view.getItemsList()
+                       .contains(viewWithDefaultTaskId));
     }
 
     @Test
     @DisplayName("remove TaskItem from state by task ID")
     public void removeViewByTaskId() {
         final int expectedListSize = 2;
-        final TaskListView view = ProjectionHelper.removeViewsByTaskId(viewList, TASK_ID);
+        ProjectionHelper.removeViewsByTaskId(viewList, TASK_ID);
+        final TaskListView view = viewList.toView();
 
         assertEquals(expectedListSize, view.getItemsCount());
-        assertFalse(viewList.contains(viewWithDefaultLabelId));
+        assertFalse(view.getItemsList()
+                        .contains(viewWithDefaultLabelId));
     }
 
     @Test
     @DisplayName("not remove TaskItem from state by wrong task ID")
     public void notRemoveTaskItemByTaskId() {
-        final int expectedListSize = viewList.size();
+        final int expectedListSize = viewList.toView()
+                                             .getItemsCount();
         final TaskId wrongTaskId = TaskId.newBuilder()
                                          .setValue(newUuid())
                                          .build();
-        final TaskListView view = ProjectionHelper.removeViewsByTaskId(viewList, wrongTaskId);
+        ProjectionHelper.removeViewsByTaskId(viewList, wrongTaskId);
+        final TaskListView view = viewList.toView();
 
         assertEquals(expectedListSize, view.getItemsCount());
-        assertTrue(viewList.contains(viewWithDefaultTaskId));
+        assertTrue(view.getItemsList()
+                       .contains(viewWithDefaultTaskId));
     }
 
-    private List<TaskItem> createViewList() {
+    private IndexedTaskList createViewList() {
         final List<TaskItem> viewList = new ArrayList<>();
         viewWithDefaultLabelId = TaskItem.newBuilder()
                                          .setId(TASK_ID)
@@ -122,6 +132,9 @@ public class ProjectionHelperTest {
         viewList.add(viewWithDefaultLabelId);
         viewList.add(viewWithDefaultTaskId);
         viewList.add(viewWithDefaultTaskId);
-        return viewList;
+        final TaskListView view = TaskListView.newBuilder()
+                                              .addAllItems(viewList)
+                                              .build();
+        return IndexedTaskList.of(view);
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.Timestamps;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskArchivalPolicy.Selection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.protobuf.util.Timestamps.add;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.MAX_COMPLETED_AGE;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.MAX_COMPLETED_TASKS;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.onCompleted;
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.without;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskArchivalPolicy should")
+class TaskArchivalPolicyTest {
+
+    private static final Timestamp START = Timestamps.fromSeconds(1_000_000);
+
+    @Test
+    @DisplayName("keep the recently completed tasks")
+    void keepRecent() {
+        final CompletedTask task = completedTask("recent", START);
+
+        final Selection selection = onCompleted(emptyList(), task);
+
+        assertTrue(selection.archived()
+                            .isEmpty());
+        assertEquals(singletonList(task), selection.remaining());
+    }
+
+    @Test
+    @DisplayName("archive the earliest completed tasks exceeding the maximum number")
+    void archiveOverflow() {
+        final List<CompletedTask> queue = new ArrayList<>();
+        for (int i = 0; i < MAX_COMPLETED_TASKS; i++) {
+            queue.add(completedTask("task-" + i, START));
+        }
+        final CompletedTask last = completedTask("last", START);
+
+        final Selection selection = onCompleted(queue, last);
+
+        assertEquals(singletonList(queue.get(0)), selection.archived());
+        assertEquals(MAX_COMPLETED_TASKS, selection.remaining()
+                                                   .size());
+        assertEquals(last, selection.remaining()
+                                    .get(MAX_COMPLETED_TASKS - 1));
+    }
+
+    @Test
+    @DisplayName("archive the tasks completed earlier than the maximum age")
+    void archiveExpired() {
+        final CompletedTask expired = completedTask("expired", START);
+        final CompletedTask kept = completedTask("kept", add(START, MAX_COMPLETED_AGE));
+        final Timestamp now = add(add(START, MAX_COMPLETED_AGE), MAX_COMPLETED_AGE);
+        final List<CompletedTask> queue = new ArrayList<>();
+        queue.add(expired);
+        queue.add(kept);
+
+        final Selection selection = onCompleted(queue, completedTask("now", now));
+
+        assertEquals(singletonList(expired), selection.archived());
+        assertEquals(2, selection.remaining()
+                                 .size());
+        assertEquals(kept, selection.remaining()
+                                    .get(0));
+    }
+
+    @Test
+    @DisplayName("remove the task from the queue")
+    void removeTask() {
+        final CompletedTask first = completedTask("first", START);
+        final CompletedTask second = completedTask("second", START);
+        final List<CompletedTask> queue = new ArrayList<>();
+        queue.add(first);
+        queue.add(second);
+
+        final List<CompletedTask> result = without(queue, first.getId());
+
+        assertEquals(singletonList(second), result);
+    }
+
+    private static CompletedTask completedTask(String id, Timestamp whenCompleted) {
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(id)
+                                    .build();
+        return CompletedTask.newBuilder()
+                            .setId(taskId)
+                            .setWhenCompleted(whenCompleted)
+                            .build();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.c.events.DeletedTaskRestored;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.TaskPriority.HIGH;
+import static io.spine.examples.todolist.TaskPriority.NORMAL;
+import static io.spine.examples.todolist.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.TaskStatus.DELETED;
+import static io.spine.examples.todolist.TaskStatus.DRAFT;
+import static io.spine.examples.todolist.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.TaskStatus.OPEN;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskCompletedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskCreatedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskDeletedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskDraftCreatedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskDraftFinalizedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.TASK_ID;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.UpdateEvents.taskPriorityUpdatedInstance;
+import static io.spine.server.projection.ProjectionEventDispatcher.dispatch;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskCountersViewProjection should")
+class TaskCountersViewProjectionTest extends ProjectionTest {
+
+    private TaskCountersViewProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new TaskCountersViewProjection(TASK_ID);
+    }
+
+    @Test
+    @DisplayName("keep the status and the priority of the created task")
+    void keepCreated() {
+        apply(taskCreatedInstance());
+
+        assertEquals(FINALIZED, keys().getStatus());
+        assertEquals(NORMAL, keys().getPriority());
+    }
+
+    @Test
+    @DisplayName("update the status of the task")
+    void updateStatus() {
+        apply(taskCreatedInstance());
+        apply(taskCompletedInstance());
+
+        assertEquals(COMPLETED, keys().getStatus());
+    }
+
+    @Test
+    @DisplayName("update the priority of the task")
+    void updatePriority() {
+        apply(taskCreatedInstance());
+        apply(taskPriorityUpdatedInstance(TASK_ID, HIGH));
+
+        assertEquals(HIGH, keys().getPriority());
+        assertEquals(FINALIZED, keys().getStatus());
+    }
+
+    @Test
+    @DisplayName("finalize the draft")
+    void finalizeDraft() {
+        apply(taskDraftCreatedInstance());
+        assertEquals(DRAFT, keys().getStatus());
+
+        apply(taskDraftFinalizedInstance());
+
+        assertEquals(FINALIZED, keys().getStatus());
+    }
+
+    @Test
+    @DisplayName("reopen the restored task")
+    void reopenRestored() {
+        apply(taskCreatedInstance());
+        apply(taskDeletedInstance());
+        assertEquals(DELETED, keys().getStatus());
+
+        apply(DeletedTaskRestored.newBuilder()
+                                 .setTaskId(TASK_ID)
+                                 .build());
+
+        assertEquals(OPEN, keys().getStatus());
+        assertEquals(NORMAL, keys().getPriority());
+    }
+
+    private void apply(Message event) {
+        dispatch(projection, createEvent(event));
+    }
+
+    private TaskCounterKeys keys() {
+        return projection.getState()
+                         .getKeys();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.q.projection;
+
+import com.google.protobuf.Message;
+import io.spine.examples.todolist.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.TaskStatus.OPEN;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskCompletedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskCreatedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.ChangeStatusEvents.taskReopenedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.LABEL_ID;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.TASK_ID;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.UPDATED_DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskEventFactory.UpdateEvents.taskDescriptionUpdatedInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsEventFactory.labelAssignedToTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsEventFactory.labelRemovedFromTaskInstance;
+import static io.spine.server.projection.ProjectionEventDispatcher.dispatch;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskLookupProjection should")
+class TaskLookupProjectionTest extends ProjectionTest {
+
+    private TaskLookupProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new TaskLookupProjection(TASK_ID);
+    }
+
+    @Test
+    @DisplayName("repeat the created task")
+    void repeatCreated() {
+        apply(taskCreatedInstance());
+
+        final Task task = projection.getState()
+                                    .getTask();
+        assertEquals(TASK_ID, task.getId());
+        assertEquals(DESCRIPTION, task.getDescription()
+                                      .getValue());
+        assertEquals(FINALIZED, task.getTaskStatus());
+    }
+
+    @Test
+    @DisplayName("repeat the task updates")
+    void repeatUpdates() {
+        apply(taskCreatedInstance());
+        apply(taskDescriptionUpdatedInstance());
+        apply(taskCompletedInstance());
+
+        final Task task = projection.getState()
+                                    .getTask();
+        assertEquals(UPDATED_DESCRIPTION, task.getDescription()
+                                              .getValue());
+        assertEquals(COMPLETED, task.getTaskStatus());
+
+        apply(taskReopenedInstance());
+        assertEquals(OPEN, projection.getState()
+                                     .getTask()
+                                     .getTaskStatus());
+    }
+
+    @Test
+    @DisplayName("repeat the task labels")
+    void repeatLabels() {
+        apply(labelAssignedToTaskInstance());
+        assertEquals(LABEL_ID, projection.getState()
+                                         .getLabelIdsList()
+                                         .getIds(0));
+
+        apply(labelRemovedFromTaskInstance());
+        assertTrue(projection.getState()
+                             .getLabelIdsList()
+                             .getIdsList()
+                             .isEmpty());
+    }
+
+    private void apply(Message event) {
+        dispatch(projection, createEvent(event));
+    }
+}
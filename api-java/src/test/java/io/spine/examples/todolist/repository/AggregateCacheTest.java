@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.aggregate.LabelAggregate;
+import io.spine.examples.todolist.c.aggregate.TaskPart;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.restoreDeletedTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+@DisplayName("AggregateCache should")
+class AggregateCacheTest {
+
+    private static final long CACHE_SIZE = 10;
+    private static final Predicate<LabelAggregate> CURRENT = aggregate -> true;
+    private static final Predicate<LabelAggregate> OUTDATED = aggregate -> false;
+    private static final String UPDATED_DESCRIPTION = "Updated task description.";
+    private static final String LAST_DESCRIPTION = "Last task description.";
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private TaskId taskId;
+    private CommandMailboxes mailboxes;
+
+    @BeforeEach
+    void setUp() {
+        taskId = TaskId.newBuilder()
+                       .setValue(newUuid())
+                       .build();
+        mailboxes = CommandMailboxes.newInstance(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailboxes.close();
+    }
+
+    @Test
+    @DisplayName("serve the follow-up commands from memory")
+    void serveFromMemory() {
+        final TaskRepository repository = newRepository(CACHE_SIZE);
+        updateTwice(repository);
+
+        assertTrue(repository.getCacheHitRatio() > 0);
+        assertEquals(LAST_DESCRIPTION, descriptionOf(repository));
+    }
+
+    @Test
+    @DisplayName("not serve from memory if the caching is disabled")
+    void notCacheIfDisabled() {
+        final TaskRepository repository = newRepository(0);
+        updateTwice(repository);
+
+        assertEquals(0, repository.getCacheHitRatio());
+        assertEquals(LAST_DESCRIPTION, descriptionOf(repository));
+    }
+
+    @Test
+    @DisplayName("not let a rejected command spoil the cached state")
+    void notSpoilByRejectedCommand() {
+        final TaskRepository repository = newRepository(CACHE_SIZE);
+        final BoundedContext boundedContext = newBoundedContext();
+        boundedContext.register(repository);
+        post(boundedContext, createTaskInstance(taskId, DESCRIPTION));
+        post(boundedContext, deleteTaskInstance(taskId));
+        post(boundedContext, completeTaskInstance(taskId));
+        post(boundedContext, restoreDeletedTaskInstance(taskId));
+        post(boundedContext, updateTaskDescriptionInstance(taskId, DESCRIPTION,
+                                                           LAST_DESCRIPTION));
+
+        assertEquals(LAST_DESCRIPTION, descriptionOf(repository));
+    }
+
+    @Test
+    @DisplayName("load the aggregate from the storage after a failed command")
+    void discardOnFailure() {
+        final AggregateCache<LabelId, LabelAggregate> cache = new AggregateCache<>(CACHE_SIZE);
+        final LabelId id = LabelId.getDefaultInstance();
+        final Function<LabelId, Optional<LabelAggregate>> loader = loaderOf(id);
+
+        loadOnCommand(cache, id, loader);
+        loadOnCommand(cache, id, loader);
+        verify(loader, times(1)).apply(id);
+
+        assertThrows(IllegalStateException.class, () -> cache.dispatch(id, () -> {
+            cache.load(id, loader, CURRENT);
+            throw new IllegalStateException("The command failed.");
+        }));
+        loadOnCommand(cache, id, loader);
+        verify(loader, times(2)).apply(id);
+    }
+
+    @Test
+    @DisplayName("load the aggregate from the storage after it is modified concurrently")
+    void discardOnConcurrentModification() {
+        final AggregateCache<LabelId, LabelAggregate> cache = new AggregateCache<>(CACHE_SIZE);
+        final LabelId id = LabelId.getDefaultInstance();
+        final Function<LabelId, Optional<LabelAggregate>> loader = loaderOf(id);
+        final LabelAggregate cached = loadOnCommand(cache, id, loader);
+
+        // Another instance of the same aggregate is stored outside of the cached commands.
+        cache.update(id, mock(LabelAggregate.class));
+
+        final LabelAggregate reloaded = loadOnCommand(cache, id, loader);
+        verify(loader, times(2)).apply(id);
+        assertNotSame(cached, reloaded);
+    }
+
+    @Test
+    @DisplayName("not serve the loads outside of the command dispatching")
+    void notServeOtherLoads() {
+        final AggregateCache<LabelId, LabelAggregate> cache = new AggregateCache<>(CACHE_SIZE);
+        final LabelId id = LabelId.getDefaultInstance();
+        final Function<LabelId, Optional<LabelAggregate>> loader = loaderOf(id);
+        loadOnCommand(cache, id, loader);
+
+        cache.load(id, loader, CURRENT);
+        verify(loader, times(2)).apply(id);
+    }
+
+    @Test
+    @DisplayName("load the aggregate from the storage if the stored version differs")
+    void discardOutdated() {
+        final AggregateCache<LabelId, LabelAggregate> cache = new AggregateCache<>(CACHE_SIZE);
+        final LabelId id = LabelId.getDefaultInstance();
+        final Function<LabelId, Optional<LabelAggregate>> loader = loaderOf(id);
+        final LabelAggregate cached = loadOnCommand(cache, id, loader);
+
+        // Another application stored a newer version of the aggregate.
+        final LabelAggregate reloaded = cache.dispatch(id, () -> cache.load(id, loader, OUTDATED)
+                                                                      .get());
+        verify(loader, times(2)).apply(id);
+        assertNotSame(cached, reloaded);
+        assertEquals(0, cache.stats()
+                             .hitCount());
+    }
+
+    private static LabelAggregate loadOnCommand(
+            AggregateCache<LabelId, LabelAggregate> cache,
+            LabelId id,
+            Function<LabelId, Optional<LabelAggregate>> loader) {
+        return cache.dispatch(id, () -> cache.load(id, loader, CURRENT)
+                                             .get());
+    }
+
+    @SuppressWarnings("unchecked") // Mocking a generic type.
+    private static Function<LabelId, Optional<LabelAggregate>> loaderOf(LabelId id) {
+        final Function<LabelId, Optional<LabelAggregate>> loader = mock(Function.class);
+        when(loader.apply(id)).thenAnswer(invocation -> Optional.of(mock(LabelAggregate.class)));
+        return loader;
+    }
+
+    private TaskRepository newRepository(long cacheSize) {
+        final AggregateOptions options = AggregateOptions.newBuilder()
+                                                         .setMailboxes(mailboxes)
+                                                         .setCacheSize(cacheSize)
+                                                         .build();
+        return new TaskRepository(options);
+    }
+
+    private void updateTwice(TaskRepository repository) {
+        final BoundedContext boundedContext = newBoundedContext();
+        boundedContext.register(repository);
+        post(boundedContext, createTaskInstance(taskId, DESCRIPTION));
+        post(boundedContext, updateTaskDescriptionInstance(taskId, DESCRIPTION,
+                                                           UPDATED_DESCRIPTION));
+        post(boundedContext, updateTaskDescriptionInstance(taskId, UPDATED_DESCRIPTION,
+                                                           LAST_DESCRIPTION));
+    }
+
+    private String descriptionOf(TaskRepository repository) {
+        final Optional<TaskPart> task = repository.find(taskId);
+        assertTrue(task.isPresent());
+        return task.get()
+                   .getState()
+                   .getDescription()
+                   .getValue();
+    }
+
+    private void post(BoundedContext boundedContext, Message commandMessage) {
+        boundedContext.getCommandBus()
+                      .post(requestFactory.command()
+                                          .create(commandMessage), noOpObserver());
+    }
+
+    private static BoundedContext newBoundedContext() {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        return BoundedContext.newBuilder()
+                             .setName(name.getValue())
+                             .setStorageFactorySupplier(() -> storageFactory)
+                             .build();
+    }
+}
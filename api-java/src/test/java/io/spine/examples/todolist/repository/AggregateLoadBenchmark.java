@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.TaskId;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the cost of loading a task with histories of different lengths,
+ * with and without the snapshots.
+ *
+ * <p>Without the snapshots, the load time grows along with the history. With the snapshots,
+ * no more than the snapshot trigger number of events are applied on a load.
+ *
+ * <p>Run the {@link #main(String[]) main} method from the test classpath to print the results.
+ *
+ * @author Dmytro Grankin
+ */
+public class AggregateLoadBenchmark {
+
+    private static final int[] HISTORY_LENGTHS = {100, 500, 2_500};
+    private static final int SNAPSHOT_TRIGGER = 100;
+    private static final int NO_SNAPSHOTS = Integer.MAX_VALUE;
+    private static final int WARM_UP_ITERATIONS = 10;
+    private static final int ITERATIONS = 100;
+
+    private static final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(AggregateLoadBenchmark.class);
+
+    private AggregateLoadBenchmark() {
+        // Prevent instantiation of this class.
+    }
+
+    public static void main(String[] args) {
+        for (int historyLength : HISTORY_LENGTHS) {
+            final double withoutSnapshots = microsPerLoad(historyLength, NO_SNAPSHOTS);
+            final double withSnapshots = microsPerLoad(historyLength, SNAPSHOT_TRIGGER);
+            System.out.println(format("%,d events: %.2f us per load without the snapshots, " +
+                                      "%.2f us with a snapshot per %d events.",
+                                      historyLength, withoutSnapshots,
+                                      withSnapshots, SNAPSHOT_TRIGGER));
+        }
+    }
+
+    private static double microsPerLoad(int historyLength, int snapshotTrigger) {
+        final AggregateOptions options = AggregateOptions.newBuilder()
+                                                         .setSnapshotTrigger(snapshotTrigger)
+                                                         .build();
+        final TaskRepository repository = new TaskRepository(options);
+        final BoundedContext boundedContext = newBoundedContext();
+        boundedContext.register(repository);
+        final TaskId taskId = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        writeHistory(boundedContext.getCommandBus(), taskId, historyLength);
+
+        load(repository, taskId, WARM_UP_ITERATIONS);
+        final long start = nanoTime();
+        load(repository, taskId, ITERATIONS);
+        final long elapsed = nanoTime() - start;
+        return NANOSECONDS.toMicros(elapsed) / (double) ITERATIONS;
+    }
+
+    private static void writeHistory(CommandBus commandBus, TaskId taskId, int length) {
+        String description = descriptionOf(0);
+        post(commandBus, createTaskInstance(taskId, description));
+        for (int i = 1; i < length; i++) {
+            final String newDescription = descriptionOf(i);
+            post(commandBus, updateTaskDescriptionInstance(taskId, description, newDescription));
+            description = newDescription;
+        }
+    }
+
+    private static void load(TaskRepository repository, TaskId taskId, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            repository.find(taskId);
+        }
+    }
+
+    private static BoundedContext newBoundedContext() {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        return BoundedContext.newBuilder()
+                             .setName(name.getValue())
+                             .setStorageFactorySupplier(() -> storageFactory)
+                             .build();
+    }
+
+    private static String descriptionOf(int index) {
+        return format("Task description #%d.", index);
+    }
+
+    private static void post(CommandBus commandBus, Message commandMessage) {
+        commandBus.post(requestFactory.command()
+                                      .create(commandMessage), noOpObserver());
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.DraftTasksViewProjection;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.q.projection.DraftTasksViewProjection.ID;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createDraftInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static java.lang.Math.floorMod;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+@DisplayName("BatchingProjectionRepository should")
+class BatchingProjectionRepositoryTest {
+
+    private static final int MAX_BATCH_SIZE = 3;
+    private static final int STRIPE_COUNT = 2;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private BoundedContext boundedContext;
+    private CountingRepository repository;
+
+    @Nullable
+    private StripedEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        boundedContext.close();
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("store a projection once per batch")
+    void storeOncePerBatch() {
+        setUp(EventBatching.of(MAX_BATCH_SIZE, 1, HOURS));
+        createDrafts(MAX_BATCH_SIZE - 1);
+        assertEquals(0, repository.storedCount());
+
+        repository.flush();
+
+        assertEquals(1, repository.storedCount());
+        assertEquals(MAX_BATCH_SIZE - 1, draftCount());
+    }
+
+    @Test
+    @DisplayName("apply the batch once it reaches the maximum size")
+    void flushFullBatch() throws InterruptedException {
+        setUp(EventBatching.of(MAX_BATCH_SIZE, 1, HOURS));
+        createDrafts(MAX_BATCH_SIZE);
+
+        assertTrue(repository.awaitStored(10, SECONDS));
+        assertEquals(1, repository.storedCount());
+        assertEquals(MAX_BATCH_SIZE, draftCount());
+    }
+
+    @Test
+    @DisplayName("apply the batch once the maximum delay elapses")
+    void flushDelayedBatch() throws InterruptedException {
+        setUp(EventBatching.of(MAX_BATCH_SIZE, 50, MILLISECONDS));
+        createDrafts(1);
+
+        assertTrue(repository.awaitStored(10, SECONDS));
+        assertEquals(1, repository.storedCount());
+        assertEquals(1, draftCount());
+    }
+
+    @Test
+    @DisplayName("wait only for its own deliveries on checkpoint")
+    void awaitOwnDeliveries() {
+        dispatcher = StripedEventDispatcher.newInstance(STRIPE_COUNT);
+        setUp(new CountingRepository(ProjectionOptions.newBuilder()
+                                                      .setDispatcher(dispatcher)
+                                                      .build()));
+        final CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(otherStripeId(), () -> awaitUninterruptibly(release));
+        try {
+            createDrafts(MAX_BATCH_SIZE);
+
+            final RepositoryCheckpoint checkpoint = repository.checkpoint();
+
+            assertEquals(1, checkpoint.getRecordsCount());
+            assertEquals(MAX_BATCH_SIZE, draftCount());
+            assertEquals(1, dispatcher.getQueueDepth());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("fail the checkpoint after a failed delivery")
+    void surfaceFailedDelivery() {
+        dispatcher = StripedEventDispatcher.newInstance(STRIPE_COUNT);
+        final ProjectionOptions options = ProjectionOptions.newBuilder()
+                                                           .setDispatcher(dispatcher)
+                                                           .build();
+        final CountingRepository failing = new CountingRepository(options) {
+            @Override
+            public void store(DraftTasksViewProjection projection) {
+                throw new IllegalStateException("Failed to store the projection.");
+            }
+        };
+        setUp(failing);
+        createDrafts(1);
+
+        assertThrows(IllegalStateException.class, () -> repository.checkpoint());
+        assertEquals(1, dispatcher.getFailureCount());
+    }
+
+    private void setUp(EventBatching batching) {
+        setUp(new CountingRepository(ProjectionOptions.newBuilder()
+                                                      .setBatching(batching)
+                                                      .build()));
+    }
+
+    private void setUp(CountingRepository repository) {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        boundedContext = BoundedContext.newBuilder()
+                                       .setName(name.getValue())
+                                       .setStorageFactorySupplier(() -> storageFactory)
+                                       .build();
+        this.repository = repository;
+        boundedContext.register(new TaskRepository());
+        boundedContext.register(repository);
+    }
+
+    /**
+     * Obtains a projection ID served by another dispatcher stripe than the drafts view.
+     */
+    private static Object otherStripeId() {
+        final int draftsStripe = floorMod(ID.hashCode(), STRIPE_COUNT);
+        return (draftsStripe + 1) % STRIPE_COUNT;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private void createDrafts(int count) {
+        final CommandBus commandBus = boundedContext.getCommandBus();
+        for (int i = 0; i < count; i++) {
+            final TaskId taskId = TaskId.newBuilder()
+                                        .setValue(newUuid())
+                                        .build();
+            commandBus.post(requestFactory.command()
+                                          .create(createDraftInstance(taskId)), noOpObserver());
+        }
+    }
+
+    private int draftCount() {
+        final Optional<DraftTasksViewProjection> projection = repository.find(ID);
+        assertTrue(projection.isPresent());
+        return projection.get()
+                         .getState()
+                         .getDraftTasks()
+                         .getItemsCount();
+    }
+
+    /**
+     * The repository counting the stored projections.
+     */
+    private static class CountingRepository extends DraftTasksViewRepository {
+
+        private final AtomicInteger stored = new AtomicInteger();
+        private final CountDownLatch firstStored = new CountDownLatch(1);
+
+        private CountingRepository(ProjectionOptions options) {
+            super(options);
+        }
+
+        @Override
+        public void store(DraftTasksViewProjection projection) {
+            super.store(projection);
+            stored.incrementAndGet();
+            firstStored.countDown();
+        }
+
+        private int storedCount() {
+            return stored.get();
+        }
+
+        private boolean awaitStored(long timeout, TimeUnit unit) throws InterruptedException {
+            return firstStored.await(timeout, unit);
+        }
+    }
+}
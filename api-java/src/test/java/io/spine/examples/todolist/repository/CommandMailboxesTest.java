@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("CommandMailboxes should")
+class CommandMailboxesTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final Object AGGREGATE_ID = "aggregate";
+
+    private final ExecutorService callers = newCachedThreadPool();
+    private CommandMailboxes mailboxes;
+
+    @BeforeEach
+    void setUp() {
+        mailboxes = CommandMailboxes.newInstance(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailboxes.close();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive number of threads")
+    void notAcceptNoThreads() {
+        assertThrows(IllegalArgumentException.class, () -> CommandMailboxes.newInstance(0));
+    }
+
+    @Test
+    @DisplayName("return the result of the command")
+    void returnResult() {
+        assertEquals("result", mailboxes.execute(AGGREGATE_ID, () -> "result"));
+    }
+
+    @Test
+    @DisplayName("execute the commands of an aggregate in the order of arrival")
+    void keepOrder() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<?> blocking = post(AGGREGATE_ID, () -> awaitUninterruptibly(release));
+        awaitDepth(1);
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        final int count = 10;
+        final List<Future<?>> posted = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int number = i;
+            posted.add(post(AGGREGATE_ID, () -> executed.add(number)));
+            awaitDepth(i + 2);
+        }
+
+        assertEquals(count + 1, mailboxes.getQueueDepth(AGGREGATE_ID));
+        assertEquals(count + 1, mailboxes.getMaxQueueDepth());
+        assertEquals(1, mailboxes.getMailboxCount());
+
+        release.countDown();
+        blocking.get(10, SECONDS);
+        for (Future<?> command : posted) {
+            command.get(10, SECONDS);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) executed.get(i));
+        }
+        assertEquals(0, mailboxes.getQueueDepth());
+        assertEquals(0, mailboxes.getMailboxCount());
+    }
+
+    @Test
+    @DisplayName("not block the commands of an aggregate by a slow aggregate")
+    void runInParallel() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<?> slow = post("slow", () -> awaitUninterruptibly(release));
+        final Future<?> fast = post("fast", () -> {});
+
+        fast.get(10, SECONDS);
+        release.countDown();
+        slow.get(10, SECONDS);
+    }
+
+    @Test
+    @DisplayName("report the failure of a command to the caller")
+    void reportFailure() {
+        assertThrows(IllegalStateException.class, () -> mailboxes.execute(AGGREGATE_ID, () -> {
+            throw new IllegalStateException("Failed command.");
+        }));
+        assertEquals("next", mailboxes.execute(AGGREGATE_ID, () -> "next"));
+    }
+
+    @Test
+    @DisplayName("not accept the commands when closed")
+    void rejectWhenClosed() {
+        mailboxes.close();
+
+        assertThrows(IllegalStateException.class,
+                     () -> mailboxes.execute(AGGREGATE_ID, () -> "result"));
+        assertEquals(0, mailboxes.getQueueDepth());
+    }
+
+    private Future<?> post(Object aggregateId, Runnable command) {
+        return callers.submit(() -> mailboxes.execute(aggregateId, () -> {
+            command.run();
+            return null;
+        }));
+    }
+
+    private void awaitDepth(int depth) throws InterruptedException, TimeoutException {
+        final long deadline = System.nanoTime() + SECONDS.toNanos(10);
+        while (mailboxes.getQueueDepth(AGGREGATE_ID) < depth) {
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("The commands were not posted in time.");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
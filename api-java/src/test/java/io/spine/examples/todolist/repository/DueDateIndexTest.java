@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.DueDateCursor;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.repository.DueDateIndex.entryOf;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("DueDateIndex should")
+class DueDateIndexTest {
+
+    private static final Timestamp FIRST_DATE = timestamp(100);
+    private static final Timestamp SECOND_DATE = timestamp(200);
+    private static final Timestamp THIRD_DATE = timestamp(300);
+
+    private TaskItem late;
+    private TaskItem early;
+    private TaskItem undated;
+    private DueDateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        late = newTaskItem(THIRD_DATE);
+        early = newTaskItem(FIRST_DATE);
+        undated = newTaskItem(Timestamp.getDefaultInstance());
+        index = new DueDateIndex();
+        index.add(late);
+        index.add(early);
+        index.add(undated);
+    }
+
+    @Test
+    @DisplayName("order the tasks by the due date")
+    void orderByDueDate() {
+        final List<TaskId> all = idsDueBetween(null, null, null);
+
+        assertEquals(2, index.size());
+        assertEquals(2, all.size());
+        assertEquals(early.getId(), all.get(0));
+        assertEquals(late.getId(), all.get(1));
+    }
+
+    @Test
+    @DisplayName("obtain the tasks due in the range")
+    void obtainRange() {
+        assertTrue(idsDueBetween(SECOND_DATE, THIRD_DATE, null).isEmpty());
+        assertTrue(idsDueBetween(THIRD_DATE, SECOND_DATE, null).isEmpty());
+
+        final List<TaskId> fromSecond = idsDueBetween(SECOND_DATE, null, null);
+        assertEquals(1, fromSecond.size());
+        assertEquals(late.getId(), fromSecond.get(0));
+    }
+
+    @Test
+    @DisplayName("obtain the tasks after the cursor")
+    void obtainAfterCursor() {
+        final List<TaskId> afterEarly = idsDueBetween(null, null, entryOf(early));
+        assertEquals(1, afterEarly.size());
+        assertEquals(late.getId(), afterEarly.get(0));
+
+        final List<TaskId> beforeFrom = idsDueBetween(SECOND_DATE, null, entryOf(early));
+        assertEquals(1, beforeFrom.size());
+
+        assertTrue(idsDueBetween(null, THIRD_DATE, entryOf(early)).isEmpty());
+        assertTrue(idsDueBetween(null, FIRST_DATE, entryOf(late)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("remove the task")
+    void removeTask() {
+        index.remove(early);
+        index.remove(undated);
+
+        assertEquals(1, index.size());
+        assertEquals(late.getId(), idsDueBetween(null, null, null).get(0));
+    }
+
+    private List<TaskId> idsDueBetween(Timestamp from, Timestamp to, DueDateCursor after) {
+        return index.dueBetween(from, to, after)
+                    .stream()
+                    .map(DueDateCursor::getLastTask)
+                    .collect(toList());
+    }
+
+    private static TaskItem newTaskItem(Timestamp dueDate) {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .setDueDate(dueDate)
+                       .build();
+    }
+
+    private static Timestamp timestamp(long seconds) {
+        return Timestamp.newBuilder()
+                        .setSeconds(seconds)
+                        .build();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("EventBatching should")
+class EventBatchingTest {
+
+    @Test
+    @DisplayName("be disabled by default")
+    void beDisabledByDefault() {
+        assertFalse(EventBatching.disabled()
+                                 .isEnabled());
+    }
+
+    @Test
+    @DisplayName("convert the delay to milliseconds")
+    void convertDelay() {
+        final EventBatching batching = EventBatching.of(10, 2, SECONDS);
+
+        assertTrue(batching.isEnabled());
+        assertEquals(10, batching.getMaxSize());
+        assertEquals(2000, batching.getMaxDelayMillis());
+    }
+
+    @Test
+    @DisplayName("not accept a single event batch")
+    void notAcceptSingleEventBatch() {
+        assertThrows(IllegalArgumentException.class, () -> EventBatching.of(1, 1, SECONDS));
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive delay")
+    void notAcceptNonPositiveDelay() {
+        assertThrows(IllegalArgumentException.class, () -> EventBatching.of(10, 0, SECONDS));
+    }
+}
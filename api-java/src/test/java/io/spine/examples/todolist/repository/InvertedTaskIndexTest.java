@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("InvertedTaskIndex should")
+class InvertedTaskIndexTest {
+
+    private TaskItem milk;
+    private TaskItem bread;
+    private InvertedTaskIndex index;
+
+    @BeforeEach
+    void setUp() {
+        milk = newTaskItem("Buy milk, milk and cheese");
+        bread = newTaskItem("Buy bread");
+        index = new InvertedTaskIndex();
+        index.add(milk);
+        index.add(bread);
+        index.add(TaskItem.getDefaultInstance());
+    }
+
+    @Test
+    @DisplayName("split the text into lowercase words")
+    void tokenize() {
+        assertEquals(asList("buy", "milk", "2", "packs"),
+                     InvertedTaskIndex.tokenize(" Buy MILK: 2 packs!"));
+    }
+
+    @Test
+    @DisplayName("rank the tasks by relevance")
+    void rankByRelevance() {
+        final List<TaskId> result = search("milk bread");
+
+        assertEquals(2, result.size());
+        assertEquals(milk.getId(), result.get(0));
+        assertEquals(bread.getId(), result.get(1));
+    }
+
+    @Test
+    @DisplayName("return no more tasks than the limit")
+    void limitResults() {
+        final List<TaskId> result = index.search("buy", 1);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    @DisplayName("re-index the task on the description update")
+    void reindexOnUpdate() {
+        final TaskItem updated = bread.toBuilder()
+                                      .setDescription(description("Buy eggs"))
+                                      .build();
+        index.remove(bread);
+        index.add(updated);
+
+        assertTrue(search("bread").isEmpty());
+        assertEquals(bread.getId(), search("eggs").get(0));
+    }
+
+    @Test
+    @DisplayName("remove the postings of the removed task")
+    void removePostings() {
+        index.remove(milk);
+
+        assertFalse(index.contains("milk"));
+        assertFalse(index.contains("cheese"));
+        assertEquals(1, search("buy").size());
+        assertTrue(search("milk").isEmpty());
+    }
+
+    private List<TaskId> search(String query) {
+        return index.search(query, 10);
+    }
+
+    private static TaskItem newTaskItem(String text) {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .setDescription(description(text))
+                       .build();
+    }
+
+    private static TaskDescription description(String text) {
+        return TaskDescription.newBuilder()
+                              .setValue(text)
+                              .build();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.core.Versions;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.context.BoundedContextOptions;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.ProjectionRecord;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.protobuf.AnyPacker;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+import io.spine.server.entity.Repository;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createDraftInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.finalizeDraftInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.validate.Validate.isDefault;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("ProjectionCatchUp should")
+class ProjectionCatchUpTest {
+
+    private static final int SHARD_COUNT = 4;
+    private static final int TASK_COUNT = 5;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private BoundedContext boundedContext;
+    private CommandBus commandBus;
+    private MyListViewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        final BoundedContextName name = BoundedContext.newName(getClass().getSimpleName());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        final BoundedContextOptions options = BoundedContextOptions.newBuilder()
+                                                                   .setMyListShards(SHARD_COUNT)
+                                                                   .build();
+        boundedContext = BoundedContexts.create(storageFactory, options);
+        final Optional<Repository> found = boundedContext.findRepository(MyListView.class);
+        assertTrue(found.isPresent());
+        repository = (MyListViewRepository) found.get();
+
+        commandBus = boundedContext.getCommandBus();
+        final TaskId completedTask = createTaskId();
+        post(commandBus, createTaskInstance(completedTask, DESCRIPTION));
+        post(commandBus, completeTaskInstance(completedTask));
+        for (int i = 1; i < TASK_COUNT; i++) {
+            post(commandBus, createTaskInstance(createTaskId(), DESCRIPTION));
+        }
+    }
+
+    @Test
+    @DisplayName("rebuild the projections to the same state")
+    void rebuildProjections() {
+        final Map<TaskListId, MyListView> expected = readShards();
+
+        ProjectionCatchUp.of(repository)
+                         .run();
+
+        assertEquals(expected, readShards());
+    }
+
+    @Test
+    @DisplayName("report the progress of each projection")
+    void reportProgress() {
+        final List<CatchUpProgress> reports = new ArrayList<>();
+
+        final CatchUpProgress result = ProjectionCatchUp.of(repository, 2, reports::add)
+                                                        .run();
+
+        assertTrue(result.isComplete());
+        assertEquals(TASK_COUNT + 1, result.getAppliedEvents());
+        assertEquals(result.getTotalProjections(), reports.size());
+        final CatchUpProgress lastReport = reports.get(reports.size() - 1);
+        assertTrue(lastReport.isComplete());
+    }
+
+    @Test
+    @DisplayName("enrich the events before routing and applying them")
+    void enrichEvents() {
+        final LabelledTasksViewRepository labelledRepo = labelledTasksViewRepository();
+        final LabelId labelId = createLabelId();
+        post(commandBus, createLabelInstance(labelId));
+        final TaskId draft = createTaskId();
+        post(commandBus, createDraftInstance(draft));
+        post(commandBus, assignLabelToTaskInstance(draft, labelId));
+        post(commandBus, finalizeDraftInstance(draft));
+        final TaskId completed = createTaskId();
+        post(commandBus, createTaskInstance(completed, DESCRIPTION));
+        post(commandBus, assignLabelToTaskInstance(completed, labelId));
+        post(commandBus, completeTaskInstance(completed));
+        final LabelledTasksView expected = labelledTasksView(labelledRepo, labelId);
+        assertEquals(2, expected.getLabelledTasks()
+                                .getItemsCount());
+
+        ProjectionCatchUp.of(labelledRepo)
+                         .run();
+
+        assertEquals(expected, labelledTasksView(labelledRepo, labelId));
+    }
+
+    @Test
+    @DisplayName("reset the projections, which receive no events, on rebuild")
+    void resetProjectionsWithoutEvents() {
+        final LabelledTasksViewRepository labelledRepo = labelledTasksViewRepository();
+        final LabelId labelId = createLabelId();
+        final LabelledTasksView state = LabelledTasksView.newBuilder()
+                                                         .setLabelId(labelId)
+                                                         .setLabelTitle(DESCRIPTION)
+                                                         .build();
+        final ProjectionRecord record = ProjectionRecord.newBuilder()
+                                                        .setId(AnyPacker.pack(labelId))
+                                                        .setState(AnyPacker.pack(state))
+                                                        .setVersion(Versions.zero())
+                                                        .build();
+        labelledRepo.restore(RepositoryCheckpoint.newBuilder()
+                                                 .addRecords(record)
+                                                 .build());
+        assertFalse(isDefault(labelledTasksView(labelledRepo, labelId)));
+
+        ProjectionCatchUp.of(labelledRepo)
+                         .run();
+
+        assertTrue(isDefault(labelledTasksView(labelledRepo, labelId)));
+    }
+
+    private LabelledTasksViewRepository labelledTasksViewRepository() {
+        final Optional<Repository> found = boundedContext.findRepository(LabelledTasksView.class);
+        assertTrue(found.isPresent());
+        return (LabelledTasksViewRepository) found.get();
+    }
+
+    private static LabelledTasksView labelledTasksView(LabelledTasksViewRepository repository,
+                                                       LabelId labelId) {
+        final Optional<LabelledTasksViewProjection> projection = repository.find(labelId);
+        assertTrue(projection.isPresent());
+        return projection.get()
+                         .getState();
+    }
+
+    private Map<TaskListId, MyListView> readShards() {
+        final Map<TaskListId, MyListView> result = new HashMap<>();
+        for (TaskListId shard : repository.getShards()) {
+            final Optional<MyListViewProjection> projection = repository.find(shard);
+            if (projection.isPresent()) {
+                result.put(shard, projection.get()
+                                            .getState());
+            }
+        }
+        return result;
+    }
+
+    private void post(CommandBus commandBus, Message commandMessage) {
+        commandBus.post(requestFactory.command()
+                                      .create(commandMessage), noOpObserver());
+    }
+
+    private static LabelId createLabelId() {
+        return LabelId.newBuilder()
+                      .setValue(newUuid())
+                      .build();
+    }
+
+    private static TaskId createTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.context.BoundedContextOptions;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestLabelCommandFactory.createLabelInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskLabelsCommandFactory.assignLabelToTaskInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("ProjectionCheckpoints should")
+class ProjectionCheckpointsTest {
+
+    private static final int SHARD_COUNT = 2;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private Path file;
+    private BoundedContext boundedContext;
+    private ProjectionCheckpoints checkpoints;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile(getClass().getSimpleName(), null);
+        Files.delete(file);
+        boundedContext = newBoundedContext();
+        checkpoints = ProjectionCheckpoints.of(file, boundedContext);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("not restore without a checkpoint file")
+    void notRestoreWithoutFile() {
+        assertFalse(checkpoints.restore());
+    }
+
+    @Test
+    @DisplayName("restore the projections in a new bounded context")
+    void restoreProjections() {
+        final TaskId taskId = createTaskId();
+        post(createTaskInstance(taskId, DESCRIPTION));
+        post(completeTaskInstance(taskId));
+        checkpoints.write();
+
+        final BoundedContext restoredContext = newBoundedContext();
+        assertTrue(ProjectionCheckpoints.of(file, restoredContext)
+                                        .restore());
+
+        assertEquals(readMyList(boundedContext), readMyList(restoredContext));
+    }
+
+    @Test
+    @DisplayName("apply only the events after the checkpoint")
+    void applyEventsAfterCheckpoint() {
+        post(createTaskInstance(createTaskId(), DESCRIPTION));
+        checkpoints.write();
+        final TaskId taskId = createTaskId();
+        post(createTaskInstance(taskId, DESCRIPTION));
+        post(completeTaskInstance(taskId));
+        final Map<TaskListId, MyListView> expected = readMyList(boundedContext);
+
+        checkpoints.restore();
+
+        assertEquals(expected, readMyList(boundedContext));
+    }
+
+    @Test
+    @DisplayName("enrich the events after the checkpoint")
+    void enrichEventsAfterCheckpoint() {
+        final LabelId labelId = LabelId.newBuilder()
+                                       .setValue(newUuid())
+                                       .build();
+        final TaskId taskId = createTaskId();
+        post(createLabelInstance(labelId));
+        post(createTaskInstance(taskId, DESCRIPTION));
+        post(assignLabelToTaskInstance(taskId, labelId));
+        checkpoints.write();
+        post(completeTaskInstance(taskId));
+        final LabelledTasksView expected = readLabelledTasks(boundedContext, labelId);
+        assertTrue(expected.getLabelledTasks()
+                           .getItems(0)
+                           .getCompleted());
+
+        checkpoints.restore();
+
+        assertEquals(expected, readLabelledTasks(boundedContext, labelId));
+    }
+
+    private void post(Message commandMessage) {
+        boundedContext.getCommandBus()
+                      .post(requestFactory.command()
+                                          .create(commandMessage), noOpObserver());
+    }
+
+    private BoundedContext newBoundedContext() {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        final BoundedContextOptions options = BoundedContextOptions.newBuilder()
+                                                                   .setMyListShards(SHARD_COUNT)
+                                                                   .build();
+        return BoundedContexts.create(storageFactory, options);
+    }
+
+    private static Map<TaskListId, MyListView> readMyList(BoundedContext boundedContext) {
+        @SuppressWarnings("Guava") // Spine API is Java 7-based.
+        final Optional<Repository> found = boundedContext.findRepository(MyListView.class);
+        final MyListViewRepository repository = (MyListViewRepository) found.get();
+        final Map<TaskListId, MyListView> result = new HashMap<>();
+        for (TaskListId shard : repository.getShards()) {
+            @SuppressWarnings("Guava")
+            final Optional<MyListViewProjection> projection = repository.find(shard);
+            if (projection.isPresent()) {
+                result.put(shard, projection.get()
+                                            .getState());
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("Guava") // Spine API is Java 7-based.
+    private static LabelledTasksView readLabelledTasks(BoundedContext boundedContext,
+                                                       LabelId labelId) {
+        final Optional<Repository> found = boundedContext.findRepository(LabelledTasksView.class);
+        final LabelledTasksViewRepository repository = (LabelledTasksViewRepository) found.get();
+        final Optional<LabelledTasksViewProjection> projection = repository.find(labelId);
+        return projection.get()
+                         .getState();
+    }
+
+    private static TaskId createTaskId() {
+        return TaskId.newBuilder()
+                     .setValue(newUuid())
+                     .build();
+    }
+}
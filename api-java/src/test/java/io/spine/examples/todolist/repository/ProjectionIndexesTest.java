@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import io.spine.core.TenantId;
+import io.spine.core.Version;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.TaskListIndexes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.q.projection.MyListViewProjection.ID;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("ProjectionIndexes should")
+class ProjectionIndexesTest {
+
+    private static final TenantId TENANT = TenantId.getDefaultInstance();
+
+    private ProjectionIndexes<TaskListId> projectionIndexes;
+    private TaskListIndexes indexes;
+
+    @BeforeEach
+    void setUp() {
+        projectionIndexes = new ProjectionIndexes<>();
+        indexes = new TaskListIndexes();
+    }
+
+    @Test
+    @DisplayName("provide the indexes of the stored version")
+    void provideStoredIndexes() {
+        projectionIndexes.put(TENANT, ID, indexes, version(1));
+
+        assertSame(indexes, projectionIndexes.take(TENANT, ID, version(1)));
+    }
+
+    @Test
+    @DisplayName("not provide the indexes of another version")
+    void notProvideOtherVersion() {
+        projectionIndexes.put(TENANT, ID, indexes, version(1));
+
+        assertNotSame(indexes, projectionIndexes.take(TENANT, ID, version(2)));
+    }
+
+    @Test
+    @DisplayName("not provide the taken indexes again")
+    void notProvideTakenIndexes() {
+        projectionIndexes.put(TENANT, ID, indexes, version(1));
+        projectionIndexes.take(TENANT, ID, version(1));
+
+        assertNotSame(indexes, projectionIndexes.take(TENANT, ID, version(1)));
+    }
+
+    @Test
+    @DisplayName("not provide the cleared indexes")
+    void clear() {
+        projectionIndexes.put(TENANT, ID, indexes, version(1));
+
+        projectionIndexes.clear();
+
+        assertNotSame(indexes, projectionIndexes.take(TENANT, ID, version(1)));
+    }
+
+    private static Version version(int number) {
+        return Version.newBuilder()
+                      .setNumber(number)
+                      .build();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("StripedEventDispatcher should")
+class StripedEventDispatcherTest {
+
+    private static final int STRIPE_COUNT = 4;
+
+    private StripedEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = StripedEventDispatcher.newInstance(STRIPE_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("not accept a non-positive number of stripes")
+    void notAcceptNoStripes() {
+        assertThrows(IllegalArgumentException.class, () -> StripedEventDispatcher.newInstance(0));
+    }
+
+    @Test
+    @DisplayName("perform the deliveries to a projection in the order of dispatching")
+    void keepOrder() throws InterruptedException {
+        final List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        final int count = 1000;
+        for (int i = 0; i < count; i++) {
+            final int number = i;
+            dispatcher.dispatch("projection", () -> delivered.add(number));
+        }
+
+        assertTrue(dispatcher.awaitDelivered(10, SECONDS));
+        assertEquals(count, delivered.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) delivered.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("not block the deliveries to a projection by a slow projection")
+    void runInParallel() throws InterruptedException {
+        final Object slowId = 0;
+        final Object fastId = 1;
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch fastDelivered = new CountDownLatch(1);
+        dispatcher.dispatch(slowId, () -> awaitUninterruptibly(release));
+        dispatcher.dispatch(fastId, fastDelivered::countDown);
+
+        assertTrue(fastDelivered.await(10, SECONDS));
+        release.countDown();
+        assertTrue(dispatcher.awaitDelivered(10, SECONDS));
+    }
+
+    @Test
+    @DisplayName("report the queue depth and the lag")
+    void reportMetrics() throws InterruptedException {
+        final Object id = 0;
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        dispatcher.dispatch(id, () -> {
+            started.countDown();
+            awaitUninterruptibly(release);
+        });
+        dispatcher.dispatch(id, () -> {});
+        dispatcher.dispatch(id, () -> {});
+        assertTrue(started.await(10, SECONDS));
+        Thread.sleep(20);
+
+        assertEquals(3, dispatcher.getQueueDepth());
+        assertEquals(2, dispatcher.getQueueDepth(0));
+        assertTrue(dispatcher.getLagMillis() >= 20);
+
+        release.countDown();
+        assertTrue(dispatcher.awaitDelivered(10, SECONDS));
+        assertEquals(0, dispatcher.getQueueDepth());
+        assertEquals(0, dispatcher.getLagMillis());
+    }
+
+    @Test
+    @DisplayName("continue the deliveries after a failed one")
+    void surviveFailure() throws InterruptedException {
+        final CountDownLatch delivered = new CountDownLatch(1);
+        dispatcher.dispatch("projection", () -> {
+            throw new IllegalStateException("Failed delivery.");
+        });
+        dispatcher.dispatch("projection", delivered::countDown);
+
+        assertTrue(delivered.await(10, SECONDS));
+    }
+
+    @Test
+    @DisplayName("not accept the deliveries when closed")
+    void rejectWhenClosed() {
+        dispatcher.close();
+
+        assertThrows(IllegalStateException.class,
+                     () -> dispatcher.dispatch("projection", () -> {}));
+        assertEquals(0, dispatcher.getQueueDepth());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
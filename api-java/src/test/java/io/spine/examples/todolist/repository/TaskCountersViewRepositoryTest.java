@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.repository;
+
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
+import io.spine.server.BoundedContext;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.TaskPriority.HIGH;
+import static io.spine.examples.todolist.TaskPriority.NORMAL;
+import static io.spine.examples.todolist.TaskPriority.TP_UNDEFINED;
+import static io.spine.examples.todolist.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.TaskStatus.DELETED;
+import static io.spine.examples.todolist.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskPriorityInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskCountersViewRepository should")
+class TaskCountersViewRepositoryTest {
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private BoundedContext boundedContext;
+    private TaskCountersViewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        final BoundedContextName name = BoundedContext.newName(newUuid());
+        final InMemoryStorageFactory storageFactory = InMemoryStorageFactory.newInstance(name,
+                                                                                         false);
+        boundedContext = BoundedContext.newBuilder()
+                                       .setName(name.getValue())
+                                       .setStorageFactorySupplier(() -> storageFactory)
+                                       .build();
+        repository = new TaskCountersViewRepository();
+        boundedContext.register(new TaskRepository());
+        boundedContext.register(repository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        boundedContext.close();
+    }
+
+    @Test
+    @DisplayName("move the task between the status counters")
+    void moveBetweenStatuses() {
+        final TaskId completed = createTask();
+        createTask();
+        post(completeTaskInstance(completed));
+
+        final TaskStatistics statistics = repository.getStatistics();
+        assertEquals(1, (int) statistics.getByStatusOrThrow(FINALIZED.name()));
+        assertEquals(1, (int) statistics.getByStatusOrThrow(COMPLETED.name()));
+    }
+
+    @Test
+    @DisplayName("move the task between the priority counters")
+    void moveBetweenPriorities() {
+        final TaskId task = createTask();
+        post(updateTaskPriorityInstance(task, TP_UNDEFINED, HIGH));
+        assertEquals(1, (int) repository.getStatistics()
+                                        .getByPriorityOrThrow(HIGH.name()));
+
+        post(updateTaskPriorityInstance(task, HIGH, NORMAL));
+
+        final TaskStatistics statistics = repository.getStatistics();
+        assertEquals(1, (int) statistics.getByPriorityOrThrow(NORMAL.name()));
+        assertFalse(statistics.containsByPriority(HIGH.name()));
+    }
+
+    @Test
+    @DisplayName("not count the priority of the deleted task")
+    void skipDeletedPriority() {
+        final TaskId task = createTask();
+        post(updateTaskPriorityInstance(task, TP_UNDEFINED, HIGH));
+        post(deleteTaskInstance(task));
+
+        final TaskStatistics statistics = repository.getStatistics();
+        assertEquals(1, (int) statistics.getByStatusOrThrow(DELETED.name()));
+        assertTrue(statistics.getByPriorityMap()
+                             .isEmpty());
+    }
+
+    @Test
+    @DisplayName("count the restored projections")
+    void countRestored() {
+        createTask();
+        final TaskStatistics expected = repository.getStatistics();
+        final RepositoryCheckpoint checkpoint = repository.checkpoint();
+        createTask();
+        assertNotEquals(expected, repository.getStatistics());
+
+        repository.restore(checkpoint);
+
+        assertEquals(expected, repository.getStatistics());
+    }
+
+    private TaskId createTask() {
+        final TaskId result = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+        post(createTaskInstance(result, DESCRIPTION));
+        return result;
+    }
+
+    private void post(Message commandMessage) {
+        boundedContext.getCommandBus()
+                      .post(requestFactory.command()
+                                          .create(commandMessage), noOpObserver());
+    }
+}
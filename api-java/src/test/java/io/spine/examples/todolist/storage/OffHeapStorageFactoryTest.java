@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.Message;
+import io.spine.client.TestActorRequestFactory;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.repository.MyListViewRepository;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.DESCRIPTION;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+@DisplayName("OffHeapStorageFactory should")
+class OffHeapStorageFactoryTest {
+
+    private static final int SLAB_CAPACITY = 1024;
+
+    private final TestActorRequestFactory requestFactory =
+            TestActorRequestFactory.newInstance(getClass());
+
+    private BoundedContext boundedContext;
+    private MyListViewRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        final BoundedContextName name = BoundedContext.newName(getClass().getSimpleName());
+        final OffHeapStorageFactory storageFactory =
+                OffHeapStorageFactory.newInstance(name, SLAB_CAPACITY);
+        boundedContext = BoundedContexts.create(storageFactory);
+        final Optional<Repository> found = boundedContext.findRepository(MyListView.class);
+        assertTrue(found.isPresent());
+        repository = (MyListViewRepository) found.get();
+    }
+
+    @Test
+    @DisplayName("store the projection states")
+    void storeProjections() {
+        final TaskId first = createTask();
+        final TaskId second = createTask();
+
+        final List<TaskItem> items = myList();
+
+        assertEquals(2, items.size());
+        assertEquals(first, items.get(0)
+                                 .getId());
+        assertEquals(second, items.get(1)
+                                  .getId());
+    }
+
+    @Test
+    @DisplayName("update the projection states")
+    void updateProjections() {
+        final TaskId deleted = createTask();
+        final TaskId kept = createTask();
+
+        post(deleteTaskInstance(deleted));
+
+        final List<TaskItem> items = myList();
+        assertEquals(1, items.size());
+        assertEquals(kept, items.get(0)
+                                .getId());
+    }
+
+    private List<TaskItem> myList() {
+        final Optional<MyListViewProjection> projection =
+                repository.find(MyListViewProjection.ID);
+        assertTrue(projection.isPresent());
+        return projection.get()
+                         .getState()
+                         .getMyList()
+                         .getItemsList();
+    }
+
+    private TaskId createTask() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        post(createTaskInstance(id, DESCRIPTION));
+        return id;
+    }
+
+    private void post(Message command) {
+        boundedContext.getCommandBus()
+                      .post(requestFactory.command()
+                                          .create(command), noOpObserver());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("OffHeapStore should")
+class OffHeapStoreTest {
+
+    private static final int SLAB_CAPACITY = 16;
+
+    private OffHeapStore<String> store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapStore<>(SLAB_CAPACITY);
+    }
+
+    @Test
+    @DisplayName("read the written value")
+    void readValue() {
+        store.put("a", bytes(10));
+
+        assertEquals(bytes(10), store.get("a"));
+        assertNull(store.get("b"));
+    }
+
+    @Test
+    @DisplayName("replace the value")
+    void replaceValue() {
+        store.put("a", bytes(10));
+        store.put("a", bytes(4));
+
+        assertEquals(bytes(4), store.get("a"));
+        assertEquals(4, store.liveBytes());
+    }
+
+    @Test
+    @DisplayName("keep a large value in a dedicated slab")
+    void keepLargeValue() {
+        store.put("a", bytes(SLAB_CAPACITY * 3));
+
+        assertEquals(bytes(SLAB_CAPACITY * 3), store.get("a"));
+        assertEquals(SLAB_CAPACITY * 3, store.allocatedBytes());
+    }
+
+    @Test
+    @DisplayName("reuse the slab of the rewritten large value")
+    void reuseLargeSlab() {
+        store.put("a", bytes(SLAB_CAPACITY * 3));
+        store.put("b", bytes(1));
+
+        store.put("a", bytes(SLAB_CAPACITY * 2));
+
+        assertEquals(bytes(SLAB_CAPACITY * 2), store.get("a"));
+        assertEquals(SLAB_CAPACITY * 4, store.allocatedBytes());
+    }
+
+    @Test
+    @DisplayName("release the slab without live values")
+    void releaseSlab() {
+        store.put("a", bytes(SLAB_CAPACITY));
+        store.put("b", bytes(SLAB_CAPACITY));
+
+        assertTrue(store.remove("a"));
+
+        assertEquals(SLAB_CAPACITY, store.allocatedBytes());
+        assertFalse(store.keys()
+                         .contains("a"));
+    }
+
+    @Test
+    @DisplayName("compact the fragmented slabs")
+    void compact() {
+        final int valueSize = SLAB_CAPACITY / 4;
+        final int slabs = 8;
+        for (int i = 0; i < slabs * 4; i++) {
+            store.put(String.valueOf(i), bytes(valueSize));
+        }
+        // Keep a single value per slab.
+        for (int i = 0; i < slabs * 4; i++) {
+            if (i % 4 != 0) {
+                store.remove(String.valueOf(i));
+            }
+        }
+
+        store.put("last", bytes(valueSize));
+
+        assertEquals(3 * SLAB_CAPACITY, store.allocatedBytes());
+        for (int i = 0; i < slabs * 4; i += 4) {
+            assertEquals(bytes(valueSize), store.get(String.valueOf(i)));
+        }
+        assertEquals(bytes(valueSize), store.get("last"));
+    }
+
+    @Test
+    @DisplayName("not be used after closing")
+    void notBeUsedAfterClose() {
+        store.put("a", bytes(1));
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> store.get("a"));
+    }
+
+    private static ByteString bytes(int size) {
+        final byte[] result = new byte[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = (byte) (size + i);
+        }
+        return ByteString.copyFrom(result);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.LabelledTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.StorageFactory;
+import io.spine.server.storage.memory.InMemoryStorageFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.time.Time.getCurrentTime;
+import static java.lang.String.format;
+
+/**
+ * Compares the heap footprint of the task list views kept by the {@link InMemoryStorageFactory}
+ * and by the {@link SharedItemStorageFactory}.
+ *
+ * <p>The synthetic dataset mimics a task list with a large label fan-out: each task is an item
+ * of {@link MyListView} and of the {@link LabelledTasksView} of each of its labels.
+ *
+ * <p>Run the {@link #main(String[]) main} method from the test classpath with a fixed heap size,
+ * e.g. {@code -Xms1g -Xmx1g}, to print the report.
+ *
+ * @author Dmytro Grankin
+ */
+public class SharedItemFootprintReport {
+
+    private static final int TASKS = 20_000;
+    private static final int LABELS_PER_TASK = 4;
+    private static final int GC_RUNS = 5;
+    private static final String DESCRIPTION_FORMAT =
+            "Task #%d: prepare the quarterly report and send it to the team for a review.";
+
+    private SharedItemFootprintReport() {
+        // Prevent instantiation of this class.
+    }
+
+    public static void main(String[] args) {
+        final List<TaskItem> tasks = newTasks();
+        final List<LabelId> labels = newLabels();
+        final BoundedContextName name = BoundedContext.newName(
+                SharedItemFootprintReport.class.getSimpleName());
+        final long plain = retainedBytes(InMemoryStorageFactory.newInstance(name, false),
+                                         tasks, labels);
+        final long shared = retainedBytes(SharedItemStorageFactory.newInstance(name),
+                                          tasks, labels);
+        final int items = TASKS * (LABELS_PER_TASK + 1);
+        System.out.println(format("%,d tasks, %,d view items.", TASKS, items));
+        System.out.println(format("In-memory views: %,d KB, %d bytes per item.",
+                                  plain / 1024, plain / items));
+        System.out.println(format("Shared items: %,d KB, %d bytes per item.",
+                                  shared / 1024, shared / items));
+        System.out.println(format("Saved: %.1f%%.", 100.0 * (plain - shared) / plain));
+    }
+
+    /**
+     * Measures the heap retained by the storages of the views.
+     *
+     * @param storageFactory the factory of the storages
+     * @param tasks          the items of all the tasks without the labels
+     * @param labels         the labels of each task
+     * @return the number of the retained bytes
+     */
+    private static long retainedBytes(StorageFactory storageFactory,
+                                      List<TaskItem> tasks,
+                                      List<LabelId> labels) {
+        final long before = usedMemory();
+        final ProjectionStorage<TaskListId> myListStorage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+        final ProjectionStorage<LabelId> labelledStorage =
+                storageFactory.createProjectionStorage(LabelledTasksViewProjection.class);
+        final MyListView myList = MyListView.newBuilder()
+                                            .setListId(MyListViewProjection.ID)
+                                            .setMyList(listOf(tasks, null))
+                                            .build();
+        myListStorage.write(MyListViewProjection.ID, record(MyListViewProjection.ID, myList));
+        for (LabelId label : labels) {
+            final TaskListView labelledTasks = listOf(tasks, label);
+            final LabelledTasksView labelled = LabelledTasksView.newBuilder()
+                                                                .setLabelId(label)
+                                                                .setLabelTitle(label.getValue())
+                                                                .setLabelledTasks(labelledTasks)
+                                                                .build();
+            labelledStorage.write(label, record(label, labelled));
+        }
+        final long after = usedMemory();
+        if (!myListStorage.index()
+                          .hasNext() || !labelledStorage.index()
+                                                        .hasNext()) {
+            throw new IllegalStateException("The views are lost.");
+        }
+        return after - before;
+    }
+
+    private static TaskListView listOf(List<TaskItem> tasks, @Nullable LabelId label) {
+        final TaskListView.Builder result = TaskListView.newBuilder();
+        for (TaskItem task : tasks) {
+            if (label == null) {
+                result.addItems(task);
+            } else {
+                result.addItems(task.toBuilder()
+                                    .setLabelId(label)
+                                    .setLabelColor(LabelColor.GREEN));
+            }
+        }
+        return result.build();
+    }
+
+    private static EntityRecord record(Message id, Message state) {
+        return EntityRecord.newBuilder()
+                           .setEntityId(pack(id))
+                           .setState(pack(state))
+                           .build();
+    }
+
+    private static List<TaskItem> newTasks() {
+        final Timestamp dueDate = getCurrentTime();
+        final List<TaskItem> result = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            final TaskId id = TaskId.newBuilder()
+                                    .setValue(newUuid())
+                                    .build();
+            final String text = format(DESCRIPTION_FORMAT, i);
+            final TaskDescription description = TaskDescription.newBuilder()
+                                                               .setValue(text)
+                                                               .build();
+            result.add(TaskItem.newBuilder()
+                               .setId(id)
+                               .setDescription(description)
+                               .setDueDate(dueDate)
+                               .build());
+        }
+        return result;
+    }
+
+    private static List<LabelId> newLabels() {
+        final List<LabelId> result = new ArrayList<>(LABELS_PER_TASK);
+        for (int i = 0; i < LABELS_PER_TASK; i++) {
+            result.add(LabelId.newBuilder()
+                              .setValue(newUuid())
+                              .build());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("CallToSystemGC") // Required for the measurements.
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_RUNS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import com.google.common.base.Optional;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Message;
+import io.spine.core.BoundedContextName;
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.q.projection.TaskDueDateView;
+import io.spine.examples.todolist.q.projection.TaskDueDateViewProjection;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.EntityRecord;
+import io.spine.server.projection.ProjectionStorage;
+import io.spine.server.storage.RecordReadRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.protobuf.AnyPacker.pack;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+@DisplayName("SharedItemStorageFactory should")
+class SharedItemStorageFactoryTest {
+
+    private static final TaskListId LIST_ID = MyListViewProjection.ID;
+
+    private SharedItemStorageFactory storageFactory;
+
+    @BeforeEach
+    void setUp() {
+        final BoundedContextName name = BoundedContext.newName(getClass().getSimpleName());
+        storageFactory = SharedItemStorageFactory.newInstance(name);
+    }
+
+    @Test
+    @DisplayName("restore the items of the stored list")
+    void restoreList() {
+        final LabelId label = LabelId.newBuilder()
+                                     .setValue(newUuid())
+                                     .build();
+        final TaskItem unlabelled = newItem("Unlabelled");
+        final TaskItem labelled = newItem("Labelled").toBuilder()
+                                                     .setLabelId(label)
+                                                     .setLabelColor(LabelColor.RED)
+                                                     .build();
+        final MyListView state = myList(TaskListView.newBuilder()
+                                                    .addItems(unlabelled)
+                                                    .addItems(labelled)
+                                                    .build());
+        final ProjectionStorage<TaskListId> storage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+
+        storage.write(LIST_ID, record(LIST_ID, state));
+
+        assertEquals(state, read(storage, LIST_ID));
+    }
+
+    @Test
+    @DisplayName("keep an empty list set")
+    void keepEmptyList() {
+        final MyListView state = myList(TaskListView.getDefaultInstance());
+        final ProjectionStorage<TaskListId> storage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+
+        storage.write(LIST_ID, record(LIST_ID, state));
+
+        final MyListView restored = (MyListView) read(storage, LIST_ID);
+        assertTrue(restored.hasMyList());
+        assertEquals(state, restored);
+    }
+
+    @Test
+    @DisplayName("restore a single item")
+    void restoreItem() {
+        final TaskItem item = newItem("Due");
+        final TaskDueDateView state = TaskDueDateView.newBuilder()
+                                                     .setId(item.getId())
+                                                     .setItem(item)
+                                                     .build();
+        final TaskDueDateView unset = TaskDueDateView.newBuilder()
+                                                     .setId(newItem("Draft").getId())
+                                                     .build();
+        final ProjectionStorage<TaskId> storage =
+                storageFactory.createProjectionStorage(TaskDueDateViewProjection.class);
+
+        storage.write(state.getId(), record(state.getId(), state));
+        storage.write(unset.getId(), record(unset.getId(), unset));
+
+        assertEquals(state, read(storage, state.getId()));
+        final TaskDueDateView restored = (TaskDueDateView) read(storage, unset.getId());
+        assertFalse(restored.hasItem());
+    }
+
+    @Test
+    @DisplayName("apply the field mask to the restored state")
+    void applyFieldMask() {
+        final MyListView state = myList(TaskListView.newBuilder()
+                                                    .addItems(newItem("Masked"))
+                                                    .build());
+        final ProjectionStorage<TaskListId> storage =
+                storageFactory.createProjectionStorage(MyListViewProjection.class);
+        storage.write(LIST_ID, record(LIST_ID, state));
+        final FieldMask fieldMask = FieldMask.newBuilder()
+                                             .addPaths("my_list")
+                                             .build();
+
+        final Map<TaskListId, EntityRecord> records = storage.readAll(fieldMask);
+
+        final MyListView restored = unpack(records.get(LIST_ID)
+                                                  .getState());
+        assertEquals(state.getMyList(), restored.getMyList());
+        assertFalse(restored.hasListId());
+    }
+
+    private static <I> Message read(ProjectionStorage<I> storage, I id) {
+        final Optional<EntityRecord> record = storage.read(new RecordReadRequest<>(id));
+        assertTrue(record.isPresent());
+        return unpack(record.get()
+                            .getState());
+    }
+
+    private static EntityRecord record(Message id, Message state) {
+        return EntityRecord.newBuilder()
+                           .setEntityId(pack(id))
+                           .setState(pack(state))
+                           .build();
+    }
+
+    private static MyListView myList(TaskListView list) {
+        return MyListView.newBuilder()
+                         .setListId(LIST_ID)
+                         .setMyList(list)
+                         .build();
+    }
+
+    private static TaskItem newItem(String description) {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .setDescription(TaskDescription.newBuilder()
+                                                      .setValue(description))
+                       .build();
+    }
+}
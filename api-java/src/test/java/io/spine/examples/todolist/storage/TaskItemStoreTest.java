@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.storage;
+
+import io.spine.examples.todolist.LabelColor;
+import io.spine.examples.todolist.LabelId;
+import io.spine.examples.todolist.TaskDescription;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskItemStore should")
+class TaskItemStoreTest {
+
+    private static final int FIELD_NUMBER = 2;
+
+    private final TaskItemStore store = new TaskItemStore();
+
+    @Test
+    @DisplayName("share the body of the items differing by the label")
+    void shareBody() {
+        final TaskItem unlabelled = newItem("Task");
+        final TaskItem labelled = unlabelled.toBuilder()
+                                            .setLabelId(newLabel())
+                                            .setLabelColor(LabelColor.BLUE)
+                                            .build();
+
+        final SharedTaskItems myList = store.share(FIELD_NUMBER, true, singletonList(unlabelled));
+        final SharedTaskItems labelledList =
+                store.share(FIELD_NUMBER, true, singletonList(labelled));
+
+        assertSame(myList.getBody(0), labelledList.getBody(0));
+    }
+
+    @Test
+    @DisplayName("keep the bodies of the different items")
+    void keepDifferentBodies() {
+        final TaskItem first = newItem("First");
+        final TaskItem second = newItem("Second");
+
+        final SharedTaskItems shared = store.share(FIELD_NUMBER, true, asList(first, second));
+
+        assertEquals(2, shared.getItemCount());
+        assertNotSame(shared.getBody(0), shared.getBody(1));
+    }
+
+    private static TaskItem newItem(String description) {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .setDescription(TaskDescription.newBuilder()
+                                                      .setValue(description))
+                       .build();
+    }
+
+    private static LabelId newLabel() {
+        return LabelId.newBuilder()
+                      .setValue(newUuid())
+                      .build();
+    }
+}
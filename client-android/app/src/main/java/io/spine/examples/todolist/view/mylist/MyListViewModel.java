@@ -23,21 +23,42 @@ package io.spine.examples.todolist.view.mylist;
 import android.arch.lifecycle.LifecycleOwner;
 import android.arch.lifecycle.LiveData;
 import android.arch.lifecycle.Observer;
+import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.client.FirebaseSubscriber;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
 import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
 import io.spine.examples.todolist.view.AbstractViewModel;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * The {@link android.arch.lifecycle.ViewModel ViewModel} of the {@link MyListActivity}.
  */
 final class MyListViewModel extends AbstractViewModel {
 
+    /**
+     * The number of the tasks loaded from the server at once.
+     */
+    private static final int PAGE_SIZE = 50;
+
     // Required by the `ViewModelProviders` utility.
     public MyListViewModel() {}
 
     /**
      * Subscribes the given {@link Observer} to the updates of the {@link MyListView}.
      *
+     * <p>The initial state of the list is loaded page by page. The {@code observer} receives
+     * the loaded part of the list after each page. The pages are merged by the task ID, so
+     * a task moved between the pages while loading is shown once.
+     *
+     * <p>The loading stops as soon as the subscription delivers the whole list, and
+     * the pages loaded before are not shown over it.
+     *
      * <p>The {@link LifecycleOwner} defines the time bounds of the observation, i.e.
      * the {@code observer} will receive the updates if the {@code owner} is active. See
      * {@link android.arch.lifecycle.LiveData LiveData} for more details.
@@ -46,12 +67,50 @@ final class MyListViewModel extends AbstractViewModel {
      * @param observer the {@link Observer} to subscribe to the updates
      */
     void subscribe(LifecycleOwner owner, Observer<MyListView> observer) {
-        execute(() -> {
-            final MyListView initialState = client().getMyListView();
-            inMainThread(() -> observer.onChanged(initialState));
-        });
+        final AtomicBoolean subscriptionDelivered = new AtomicBoolean();
+        execute(() -> loadInitialState(observer, subscriptionDelivered));
         final FirebaseSubscriber subscriber = FirebaseSubscriber.instance();
         final LiveData<MyListView> subscription = subscriber.subscribeToSingle(MyListView.class);
-        subscription.observe(owner, observer);
+        subscription.observe(owner, state -> {
+            subscriptionDelivered.set(true);
+            observer.onChanged(state);
+        });
+    }
+
+    /**
+     * Loads the pages of the list until the last page or the first subscription update.
+     *
+     * <p>Both the loaded pages and the subscription updates are passed to the {@code observer}
+     * in the main thread, so a page is dropped if the subscription has already delivered
+     * a newer list.
+     */
+    private void loadInitialState(Observer<MyListView> observer,
+                                  AtomicBoolean subscriptionDelivered) {
+        final Map<TaskId, TaskItem> items = new LinkedHashMap<>();
+        final TaskListPageRequest.Builder request = TaskListPageRequest.newBuilder()
+                                                                       .setPageSize(PAGE_SIZE);
+        String pageToken;
+        do {
+            if (subscriptionDelivered.get()) {
+                return;
+            }
+            final TaskListPage page = client().getMyListPage(request.build());
+            for (TaskItem item : page.getItemsList()) {
+                items.put(item.getId(), item);
+            }
+            final TaskListView loadedItems = TaskListView.newBuilder()
+                                                         .addAllItems(items.values())
+                                                         .build();
+            final MyListView loadedState = MyListView.newBuilder()
+                                                     .setMyList(loadedItems)
+                                                     .build();
+            inMainThread(() -> {
+                if (!subscriptionDelivered.get()) {
+                    observer.onChanged(loadedState);
+                }
+            });
+            pageToken = page.getNextPageToken();
+            request.setPageToken(pageToken);
+        } while (!pageToken.isEmpty());
     }
 }
@@ -27,6 +27,8 @@ import io.spine.cli.action.TransitionAction;
 import io.spine.cli.action.TransitionAction.TransitionActionProducer;
 import io.spine.cli.view.ActionListView;
 import io.spine.cli.view.View;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
 import io.spine.examples.todolist.q.projection.MyListView;
 import io.spine.examples.todolist.q.projection.TaskItem;
 
@@ -45,19 +47,40 @@ import static java.lang.String.valueOf;
  * {@linkplain TransitionAction transition actions}.
  * The action gives short info about the task and leads to a {@link TaskView}.
  *
+ * <p>The tasks are shown page by page. If there are more tasks, the view has an action
+ * leading to the view of the next page.
+ *
  * @author Dmytro Grankin
  */
 public class MyTasksListView extends ActionListView {
 
     private static final String EMPTY_TASKS_LIST_MSG = "<no tasks>";
 
+    /** The number of the tasks shown in the view at once. */
+    private static final int PAGE_SIZE = 100;
+
+    private static final String NEXT_PAGE_NAME = "Next page";
+    private static final Shortcut NEXT_PAGE_SHORTCUT = new Shortcut("n");
+
+    /** The token of the shown page, empty for the first page. */
+    private final String pageToken;
+
+    /** The index of the first task of the shown page in the whole list. */
+    private final int firstIndex;
+
     @VisibleForTesting
     MyTasksListView() {
+        this("", 0);
+    }
+
+    private MyTasksListView(String pageToken, int firstIndex) {
         super("My tasks list");
+        this.pageToken = pageToken;
+        this.firstIndex = firstIndex;
     }
 
     /**
-     * Refreshes the tasks list and renders the view.
+     * Refreshes the page of the tasks list and renders the view.
      *
      * @param screen {@inheritDoc}
      */
@@ -65,14 +88,21 @@ public class MyTasksListView extends ActionListView {
     public void render(Screen screen) {
         clearActions();
 
-        final MyListView myListView = getClient().getMyListView();
-        final Collection<TransitionActionProducer> producers = taskActionProducersFor(myListView);
+        final TaskListPage page = loadPage();
+        final Collection<TransitionActionProducer> producers =
+                taskActionProducersFor(page.getItemsList(), firstIndex);
 
         if (producers.isEmpty()) {
             screen.println(EMPTY_TASKS_LIST_MSG);
         } else {
             producers.forEach(this::addAction);
         }
+        final String nextPageToken = page.getNextPageToken();
+        if (!nextPageToken.isEmpty()) {
+            final int nextIndex = firstIndex + page.getItemsCount();
+            final MyTasksListView nextPage = new MyTasksListView(nextPageToken, nextIndex);
+            addAction(transitionProducer(NEXT_PAGE_NAME, NEXT_PAGE_SHORTCUT, nextPage));
+        }
         super.render(screen);
     }
 
@@ -89,14 +119,27 @@ public class MyTasksListView extends ActionListView {
         return transitionProducer(name, shortcut, new MyTasksListView());
     }
 
+    private TaskListPage loadPage() {
+        final TaskListPageRequest request = TaskListPageRequest.newBuilder()
+                                                               .setPageSize(PAGE_SIZE)
+                                                               .setPageToken(pageToken)
+                                                               .build();
+        return getClient().getMyListPage(request);
+    }
+
+    /**
+     * Creates the producers of the actions opening the given tasks.
+     *
+     * @param tasks      the tasks of the page
+     * @param firstIndex the index of the first task of the page in the whole list
+     * @return the producers in the order of the tasks
+     */
     @VisibleForTesting
-    static Collection<TransitionActionProducer> taskActionProducersFor(MyListView myListView) {
+    static Collection<TransitionActionProducer> taskActionProducersFor(List<TaskItem> tasks,
+                                                                       int firstIndex) {
         final Collection<TransitionActionProducer> producers = new LinkedList<>();
-        final List<TaskItem> tasks = myListView.getMyList()
-                                               .getItemsList();
-        for (TaskItem task : tasks) {
-            final int index = tasks.indexOf(task);
-            producers.add(newOpenTaskViewProducer(task, index));
+        for (int index = 0; index < tasks.size(); index++) {
+            producers.add(newOpenTaskViewProducer(tasks.get(index), firstIndex + index));
         }
         return producers;
     }
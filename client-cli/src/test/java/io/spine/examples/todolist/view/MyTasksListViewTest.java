@@ -40,6 +40,7 @@ import static io.spine.examples.todolist.testdata.Given.newDescription;
 import static io.spine.examples.todolist.view.MyTasksListView.newOpenTaskViewProducer;
 import static io.spine.examples.todolist.view.MyTasksListView.taskActionProducersFor;
 import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -85,10 +86,24 @@ class MyTasksListViewTest extends ViewTest {
         final MyListView myListView = MyListView.newBuilder()
                                                 .setMyList(taskListView)
                                                 .build();
-        final Collection<TransitionActionProducer> actions = taskActionProducersFor(myListView);
+        final Collection<TransitionActionProducer> actions =
+                taskActionProducersFor(myListView.getMyList()
+                                                 .getItemsList(), 0);
         assertEquals(tasksCount, actions.size());
     }
 
+    @Test
+    @DisplayName("number the tasks of a page from its first index")
+    void numberTasksOfPage() {
+        final int firstIndex = 100;
+        final Collection<TransitionActionProducer> actions =
+                taskActionProducersFor(singletonList(taskView), firstIndex);
+        final Shortcut expectedShortcut = new Shortcut(String.valueOf(firstIndex + 1));
+        assertEquals(expectedShortcut, actions.iterator()
+                                              .next()
+                                              .getShortcut());
+    }
+
     @Test
     @DisplayName("create open task view producer")
     void createOpenTaskItemProducer() {
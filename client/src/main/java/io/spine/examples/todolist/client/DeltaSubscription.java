@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.grpc.stub.ClientCallStreamObserver;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A subscription to the stream of the task list
+ * {@linkplain io.spine.examples.todolist.q.TaskListDelta deltas}.
+ *
+ * @author Dmytro Grankin
+ * @see SubscribingTodoClient#subscribeToTaskDeltas(io.grpc.stub.StreamObserver)
+ */
+public final class DeltaSubscription {
+
+    private static final String CANCEL_MESSAGE = "The delta subscription is cancelled.";
+
+    private volatile ClientCallStreamObserver<?> call;
+
+    DeltaSubscription() {
+        // Prevent instantiation from outside of the package.
+    }
+
+    /**
+     * Binds the subscription to the gRPC call, which delivers the deltas.
+     */
+    void bind(ClientCallStreamObserver<?> call) {
+        this.call = call;
+    }
+
+    /**
+     * Cancels the subscription.
+     *
+     * <p>The observer of the deltas receives no more updates.
+     */
+    public void cancel() {
+        checkState(call != null, "The subscription is not started yet.");
+        call.cancel(CANCEL_MESSAGE, null);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.spine.examples.todolist.q.MyListViewPayload;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.protobuf.WireFormat.WIRETYPE_LENGTH_DELIMITED;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+
+/**
+ * The items of the {@link MyListView} parsed on access.
+ *
+ * <p>On creation, the serialized shards are only scanned to find the bounds of the items.
+ * An item is parsed when it is obtained for the first time, so reading a part of a large list
+ * costs as much as parsing that part. The items refer to the received bytes without copying.
+ *
+ * <p>The list is unmodifiable and is safe to use from several threads.
+ *
+ * @author Dmytro Grankin
+ * @see TodoClient#getMyListItems()
+ */
+public final class LazyTaskList extends AbstractList<TaskItem> {
+
+    private static final int MY_LIST_TAG = lengthDelimitedTag(MyListView.MY_LIST_FIELD_NUMBER);
+    private static final int ITEMS_TAG = lengthDelimitedTag(TaskListView.ITEMS_FIELD_NUMBER);
+
+    private final List<ByteString> serializedItems;
+    private final AtomicReferenceArray<TaskItem> parsedItems;
+
+    private LazyTaskList(List<ByteString> serializedItems) {
+        this.serializedItems = serializedItems;
+        this.parsedItems = new AtomicReferenceArray<>(serializedItems.size());
+    }
+
+    /**
+     * Creates a new instance from the stored shards.
+     *
+     * <p>The items of the shards follow in the order of the shards.
+     *
+     * @param payload the stored {@code MyListView} shards
+     * @return new instance
+     * @throws IllegalArgumentException if a shard is not a {@code MyListView}
+     */
+    public static LazyTaskList of(MyListViewPayload payload) {
+        checkNotNull(payload);
+        final List<ByteString> items = new ArrayList<>();
+        for (Any shard : payload.getShardsList()) {
+            checkArgument(shard.is(MyListView.class),
+                          "Expected a MyListView shard, got %s.", shard.getTypeUrl());
+            try {
+                scan(shard.getValue(), MY_LIST_TAG, list -> scan(list, ITEMS_TAG, items::add));
+            } catch (IOException e) {
+                throw illegalStateWithCauseOf(e);
+            }
+        }
+        return new LazyTaskList(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Parses the item on the first access.
+     */
+    @Override
+    public TaskItem get(int index) {
+        final TaskItem parsed = parsedItems.get(index);
+        if (parsed != null) {
+            return parsed;
+        }
+        final TaskItem result = parse(serializedItems.get(index));
+        parsedItems.compareAndSet(index, null, result);
+        return parsedItems.get(index);
+    }
+
+    @Override
+    public int size() {
+        return serializedItems.size();
+    }
+
+    /**
+     * Passes the values of the length-delimited field with the specified tag to the consumer.
+     *
+     * <p>The other fields are skipped without parsing.
+     */
+    private static void scan(ByteString message, int tag, FieldConsumer consumer)
+            throws IOException {
+        final CodedInputStream input = message.newCodedInput();
+        input.enableAliasing(true);
+        for (int next = input.readTag(); next != 0; next = input.readTag()) {
+            if (next == tag) {
+                consumer.accept(input.readBytes());
+            } else {
+                input.skipField(next);
+            }
+        }
+    }
+
+    private static TaskItem parse(ByteString serializedItem) {
+        try {
+            return TaskItem.parseFrom(serializedItem);
+        } catch (InvalidProtocolBufferException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private static int lengthDelimitedTag(int fieldNumber) {
+        return fieldNumber << 3 | WIRETYPE_LENGTH_DELIMITED;
+    }
+
+    /**
+     * A consumer of a serialized field value.
+     */
+    @FunctionalInterface
+    private interface FieldConsumer {
+
+        void accept(ByteString value) throws IOException;
+    }
+}
@@ -22,6 +22,7 @@ package io.spine.examples.todolist.client;
 
 import io.grpc.stub.StreamObserver;
 import io.spine.client.Subscription;
+import io.spine.examples.todolist.q.TaskListDelta;
 import io.spine.examples.todolist.q.projection.MyListView;
 
 /**
@@ -40,6 +41,21 @@ public interface SubscribingTodoClient extends TodoClient {
      */
     Subscription subscribeToTasks(StreamObserver<MyListView> observer);
 
+    /**
+     * Subscribes the given {@code observer} onto the item-level changes of
+     * the {@link MyListView}.
+     *
+     * <p>Unlike {@link #subscribeToTasks(StreamObserver)}, does not receive the whole view
+     * on each change. The first delta is a snapshot of the view, the further ones contain
+     * the added, changed and removed items. The snapshots are also sent periodically.
+     *
+     * <p>Use a {@link TaskListReplica} to maintain a local copy of the view.
+     *
+     * @param observer the delta observer
+     * @return the subscription to cancel when the deltas are no longer needed
+     */
+    DeltaSubscription subscribeToTaskDeltas(StreamObserver<TaskListDelta> observer);
+
     /**
      * Cancels the given {@code subscription}.
      *
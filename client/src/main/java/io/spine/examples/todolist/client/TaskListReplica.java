@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.TaskItemChanges;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A local copy of a task list view maintained by the {@linkplain TaskListDelta deltas}.
+ *
+ * <p>A snapshot replaces the whole copy. The changes are applied item by item:
+ * the added items go to the end of the list and the changed items keep their positions.
+ *
+ * <p>The replica is safe to use from several threads.
+ *
+ * @author Dmytro Grankin
+ * @see SubscribingTodoClient#subscribeToTaskDeltas(io.grpc.stub.StreamObserver)
+ */
+public final class TaskListReplica {
+
+    private final Map<TaskId, TaskItem> items = new LinkedHashMap<>();
+
+    /**
+     * Applies the delta to the replica.
+     *
+     * @param delta the delta to apply
+     */
+    public synchronized void apply(TaskListDelta delta) {
+        checkNotNull(delta);
+        switch (delta.getContentCase()) {
+            case SNAPSHOT:
+                items.clear();
+                putAll(delta.getSnapshot()
+                            .getItemsList());
+                break;
+            case CHANGES:
+                applyChanges(delta.getChanges());
+                break;
+            case CONTENT_NOT_SET:
+            default:
+                // Nothing to apply.
+        }
+    }
+
+    /**
+     * Obtains the current state of the replica.
+     *
+     * @return the task list view
+     */
+    public synchronized TaskListView getView() {
+        final TaskListView result = TaskListView.newBuilder()
+                                                .addAllItems(items.values())
+                                                .build();
+        return result;
+    }
+
+    private void applyChanges(TaskItemChanges changes) {
+        for (TaskId removed : changes.getRemovedList()) {
+            items.remove(removed);
+        }
+        putAll(changes.getChangedList());
+        putAll(changes.getAddedList());
+    }
+
+    private void putAll(Iterable<TaskItem> newItems) {
+        for (TaskItem item : newItems) {
+            items.put(item.getId(), item);
+        }
+    }
+}
@@ -25,10 +25,19 @@ import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.TaskLabel;
 import io.spine.examples.todolist.TaskLabels;
+import io.spine.examples.todolist.c.BulkCommandResult;
 import io.spine.examples.todolist.c.commands.TodoCommand;
+import io.spine.examples.todolist.q.DueDateRange;
+import io.spine.examples.todolist.q.DueDateRangeRequest;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
+import io.spine.examples.todolist.q.TaskSearchRequest;
+import io.spine.examples.todolist.q.TaskSearchResult;
 import io.spine.examples.todolist.q.projection.DraftTasksView;
 import io.spine.examples.todolist.q.projection.LabelledTasksView;
 import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
 
 import javax.annotation.Nullable;
 import java.util.List;
@@ -51,13 +60,98 @@ public interface TodoClient {
      */
     void postCommand(TodoCommand commandMessage);
 
+    /**
+     * Posts the given bulk command to the {@code BulkCommandService}.
+     *
+     * <p>The server posts a command per task of the bulk command, so a single round-trip
+     * is performed for all the tasks.
+     *
+     * @param commandMessage the {@link io.spine.examples.todolist.c.commands.CompleteTasks
+     *                       CompleteTasks},
+     *                       {@link io.spine.examples.todolist.c.commands.DeleteTasks DeleteTasks}
+     *                       or {@link io.spine.examples.todolist.c.commands.AssignLabelToTasks
+     *                       AssignLabelToTasks} command to post
+     * @return the outcomes of the task commands
+     */
+    BulkCommandResult postBulkCommand(TodoCommand commandMessage);
+
     /**
      * Obtains the single {@link MyListView}.
      *
+     * <p>If the list is partitioned into several shards on the server side,
+     * the shards are merged into a single view.
+     *
      * @return the {@code MyListView}
      */
     MyListView getMyListView();
 
+    /**
+     * Obtains the items of the {@link MyListView}.
+     *
+     * <p>Unlike {@link #getMyListView()}, the view is neither parsed on the server
+     * nor on the client. An item is parsed when it is {@linkplain List#get(int) obtained}
+     * for the first time.
+     *
+     * @return the items of all the shards of the {@code MyListView}
+     * @see LazyTaskList
+     */
+    List<TaskItem> getMyListItems();
+
+    /**
+     * Obtains a page of the {@link MyListView} items.
+     *
+     * <p>Unlike {@link #getMyListView()}, does not transfer the whole view. To read
+     * the next page, pass the {@linkplain TaskListPage#getNextPageToken() next page token}
+     * of the previous page in the request. The last page has no next page token.
+     *
+     * @param request the request specifying the page size, the page token and the filter
+     * @return the page of the {@code MyListView} items
+     */
+    TaskListPage getMyListPage(TaskListPageRequest request);
+
+    /**
+     * Obtains a page of the archived tasks.
+     *
+     * <p>The completed tasks are moved from the {@link MyListView} to the archive
+     * by the {@link io.spine.examples.todolist.q.projection.TaskArchivalPolicy
+     * TaskArchivalPolicy}. The pages are read the same way as
+     * the {@linkplain #getMyListPage(TaskListPageRequest) pages of the MyListView}.
+     *
+     * @param request the request specifying the page size, the page token and the filter
+     * @return the page of the archived tasks
+     */
+    TaskListPage getArchivedTasksPage(TaskListPageRequest request);
+
+    /**
+     * Obtains a page of the tasks due in a time range.
+     *
+     * <p>The tasks in a draft state and the deleted tasks are not included.
+     *
+     * @param request the request specifying the range bounds, the filter and the page
+     * @return the page of the tasks ordered by the due date
+     */
+    DueDateRange getTasksDueBetween(DueDateRangeRequest request);
+
+    /**
+     * Searches for the tasks by the words of their descriptions.
+     *
+     * <p>The tasks in a draft state and the deleted tasks are not included.
+     *
+     * @param request the request specifying the search query and the maximum number of results
+     * @return the found tasks, the most relevant first
+     */
+    TaskSearchResult searchTasks(TaskSearchRequest request);
+
+    /**
+     * Obtains the numbers of the tasks per status and per priority.
+     *
+     * <p>The statistics are maintained by a dedicated view, so the cost of the call
+     * does not depend on the number of the tasks.
+     *
+     * @return the task statistics
+     */
+    TaskStatistics getTaskStatistics();
+
     /**
      * Obtains the list of the {@link LabelledTasksView}.
      *
@@ -24,6 +24,8 @@ import com.google.protobuf.Any;
 import com.google.protobuf.Message;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import io.spine.Identifier;
 import io.spine.client.ActorRequestFactory;
@@ -46,10 +48,31 @@ import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskId;
 import io.spine.examples.todolist.TaskLabel;
 import io.spine.examples.todolist.TaskLabels;
+import io.spine.examples.todolist.c.BulkCommandResult;
+import io.spine.examples.todolist.c.BulkCommandServiceGrpc;
+import io.spine.examples.todolist.c.BulkCommandServiceGrpc.BulkCommandServiceBlockingStub;
 import io.spine.examples.todolist.c.commands.TodoCommand;
+import io.spine.examples.todolist.q.DueDateRange;
+import io.spine.examples.todolist.q.DueDateRangeRequest;
+import io.spine.examples.todolist.q.MyListViewPayload;
+import io.spine.examples.todolist.q.MyListViewPayloadRequest;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.TaskListDeltaRequest;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
+import io.spine.examples.todolist.q.TaskListQueryServiceGrpc;
+import io.spine.examples.todolist.q.TaskListQueryServiceGrpc.TaskListQueryServiceBlockingStub;
+import io.spine.examples.todolist.q.TaskSearchRequest;
+import io.spine.examples.todolist.q.TaskSearchResult;
+import io.spine.examples.todolist.q.TaskStatisticsRequest;
+import io.spine.examples.todolist.q.TaskListSubscriptionServiceGrpc;
+import io.spine.examples.todolist.q.TaskListSubscriptionServiceGrpc.TaskListSubscriptionServiceStub;
 import io.spine.examples.todolist.q.projection.DraftTasksView;
 import io.spine.examples.todolist.q.projection.LabelledTasksView;
 import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
 import io.spine.protobuf.AnyPacker;
 import io.spine.time.ZoneOffsets;
 
@@ -57,6 +80,7 @@ import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableSet.of;
 import static io.spine.Identifier.newUuid;
@@ -80,6 +104,9 @@ final class TodoClientImpl implements SubscribingTodoClient {
     private final CommandServiceBlockingStub commandService;
     private final SubscriptionServiceStub subscriptionService;
     private final SubscriptionServiceBlockingStub blockingSubscriptionService;
+    private final TaskListQueryServiceBlockingStub taskListQueryService;
+    private final TaskListSubscriptionServiceStub taskListSubscriptionService;
+    private final BulkCommandServiceBlockingStub bulkCommandService;
     private final ActorRequestFactory requestFactory;
 
     /**
@@ -92,6 +119,9 @@ final class TodoClientImpl implements SubscribingTodoClient {
         this.queryService = QueryServiceGrpc.newBlockingStub(channel);
         this.subscriptionService = SubscriptionServiceGrpc.newStub(channel);
         this.blockingSubscriptionService = SubscriptionServiceGrpc.newBlockingStub(channel);
+        this.taskListQueryService = TaskListQueryServiceGrpc.newBlockingStub(channel);
+        this.taskListSubscriptionService = TaskListSubscriptionServiceGrpc.newStub(channel);
+        this.bulkCommandService = BulkCommandServiceGrpc.newBlockingStub(channel);
     }
 
     @Override
@@ -101,15 +131,62 @@ final class TodoClientImpl implements SubscribingTodoClient {
         commandService.post(executableCmd);
     }
 
+    @Override
+    public BulkCommandResult postBulkCommand(TodoCommand cmd) {
+        checkNotNull(cmd);
+        final Command executableCmd = requestFactory.command()
+                                                    .create(cmd);
+        final BulkCommandResult result = bulkCommandService.post(executableCmd);
+        return result;
+    }
+
     @Override
     public MyListView getMyListView() {
-        final Query query = requestFactory.query()
-                                          .all(MyListView.class);
-        final List<Any> messages = queryService.read(query)
-                                               .getMessagesList();
-        return messages.isEmpty()
-               ? MyListView.getDefaultInstance()
-               : AnyPacker.unpack(messages.get(0));
+        final List<MyListView> shards = getByType(MyListView.class);
+        return merge(shards);
+    }
+
+    @Override
+    public TaskListPage getMyListPage(TaskListPageRequest request) {
+        checkNotNull(request);
+        final TaskListPage result = taskListQueryService.readMyListPage(request);
+        return result;
+    }
+
+    @Override
+    public TaskListPage getArchivedTasksPage(TaskListPageRequest request) {
+        checkNotNull(request);
+        final TaskListPage result = taskListQueryService.readArchivedTasksPage(request);
+        return result;
+    }
+
+    @Override
+    public DueDateRange getTasksDueBetween(DueDateRangeRequest request) {
+        checkNotNull(request);
+        final DueDateRange result = taskListQueryService.readTasksDueBetween(request);
+        return result;
+    }
+
+    @Override
+    public TaskSearchResult searchTasks(TaskSearchRequest request) {
+        checkNotNull(request);
+        final TaskSearchResult result = taskListQueryService.searchTasks(request);
+        return result;
+    }
+
+    @Override
+    public List<TaskItem> getMyListItems() {
+        final MyListViewPayloadRequest request = MyListViewPayloadRequest.getDefaultInstance();
+        final MyListViewPayload payload = taskListQueryService.readMyListViewPayload(request);
+        final List<TaskItem> result = LazyTaskList.of(payload);
+        return result;
+    }
+
+    @Override
+    public TaskStatistics getTaskStatistics() {
+        final TaskStatisticsRequest request = TaskStatisticsRequest.getDefaultInstance();
+        final TaskStatistics result = taskListQueryService.readTaskStatistics(request);
+        return result;
     }
 
     @Override
@@ -176,6 +253,17 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return subscribeTo(topic, observer);
     }
 
+    @Override
+    public DeltaSubscription subscribeToTaskDeltas(StreamObserver<TaskListDelta> observer) {
+        checkNotNull(observer);
+        final DeltaSubscription subscription = new DeltaSubscription();
+        final TaskListDeltaRequest request = TaskListDeltaRequest.getDefaultInstance();
+        taskListSubscriptionService.subscribeToMyListDeltas(
+                request, new DeltaObserver(observer, subscription)
+        );
+        return subscription;
+    }
+
     @Override
     public void unSubscribe(Subscription subscription) {
         blockingSubscriptionService.cancel(subscription);
@@ -239,6 +327,32 @@ final class TodoClientImpl implements SubscribingTodoClient {
         return result;
     }
 
+    /**
+     * Merges the {@link MyListView} shards into a single view.
+     *
+     * <p>The items of each shard keep their relative order.
+     *
+     * @param shards the shards of the {@code MyListView}
+     * @return the view containing the items of all the shards
+     */
+    private static MyListView merge(List<MyListView> shards) {
+        if (shards.isEmpty()) {
+            return MyListView.getDefaultInstance();
+        }
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        final TaskListView.Builder items = TaskListView.newBuilder();
+        for (MyListView shard : shards) {
+            items.addAllItems(shard.getMyList()
+                                   .getItemsList());
+        }
+        final MyListView result = MyListView.newBuilder()
+                                            .setMyList(items)
+                                            .build();
+        return result;
+    }
+
     private static ManagedChannel initChannel(String host, int port) {
         final ManagedChannel result = ManagedChannelBuilder.forAddress(host, port)
                                                            .usePlaintext(true)
@@ -296,4 +410,44 @@ final class TodoClientImpl implements SubscribingTodoClient {
             delegate.onCompleted();
         }
     }
+
+    /**
+     * A {@link StreamObserver} of {@link TaskListDelta} messages binding
+     * the {@link DeltaSubscription} to the gRPC call.
+     *
+     * <p>The messages, errors and completion acknowledgements are translated directly
+     * to the delegate.
+     */
+    private static final class DeltaObserver
+            implements ClientResponseObserver<TaskListDeltaRequest, TaskListDelta> {
+
+        private final StreamObserver<TaskListDelta> delegate;
+        private final DeltaSubscription subscription;
+
+        private DeltaObserver(StreamObserver<TaskListDelta> delegate,
+                              DeltaSubscription subscription) {
+            this.delegate = delegate;
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<TaskListDeltaRequest> requestStream) {
+            subscription.bind(requestStream);
+        }
+
+        @Override
+        public void onNext(TaskListDelta value) {
+            delegate.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            delegate.onError(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            delegate.onCompleted();
+        }
+    }
 }
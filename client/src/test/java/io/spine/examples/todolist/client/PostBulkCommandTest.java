@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.examples.todolist.LabelId;
+import io.spine.core.Status;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.BulkCommandResult;
+import io.spine.examples.todolist.c.TaskCommandOutcome;
+import io.spine.examples.todolist.c.commands.AssignLabelToTasks;
+import io.spine.examples.todolist.c.commands.CompleteTasks;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.DeleteTasks;
+import io.spine.examples.todolist.c.rejection.Rejections.CannotCompleteTask;
+import io.spine.examples.todolist.q.projection.LabelledTasksView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.protobuf.AnyPacker.unpack;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should post the bulk commands")
+class PostBulkCommandTest extends TodoClientTest {
+
+    private static final int TASK_COUNT = 5;
+
+    private TodoClient client;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+    }
+
+    @Test
+    @DisplayName("completing all the tasks")
+    void completeTasks() {
+        final List<TaskId> ids = createTasks();
+        final CompleteTasks completeTasks = CompleteTasks.newBuilder()
+                                                         .addAllIds(ids)
+                                                         .build();
+        final BulkCommandResult result = client.postBulkCommand(completeTasks);
+
+        assertAcknowledged(ids, result);
+        final List<TaskItem> items = client.getMyListView()
+                                           .getMyList()
+                                           .getItemsList();
+        assertEquals(TASK_COUNT, items.size());
+        assertTrue(items.stream()
+                        .allMatch(TaskItem::getCompleted));
+    }
+
+    @Test
+    @DisplayName("deleting all the tasks")
+    void deleteTasks() {
+        final List<TaskId> ids = createTasks();
+        final DeleteTasks deleteTasks = DeleteTasks.newBuilder()
+                                                   .addAllIds(ids)
+                                                   .build();
+        final BulkCommandResult result = client.postBulkCommand(deleteTasks);
+
+        assertAcknowledged(ids, result);
+        assertTrue(client.getMyListView()
+                         .getMyList()
+                         .getItemsList()
+                         .isEmpty());
+    }
+
+    @Test
+    @DisplayName("assigning the label to all the tasks")
+    void assignLabelToTasks() {
+        final List<TaskId> ids = createTasks();
+        final LabelId labelId = createLabel().getLabelId();
+        final AssignLabelToTasks assignLabel = AssignLabelToTasks.newBuilder()
+                                                                 .addAllIds(ids)
+                                                                 .setLabelId(labelId)
+                                                                 .build();
+        final BulkCommandResult result = client.postBulkCommand(assignLabel);
+
+        assertAcknowledged(ids, result);
+        final LabelledTasksView view = getLabelledTasksView(client.getLabelledTasksView());
+        assertEquals(TASK_COUNT, view.getLabelledTasks()
+                                     .getItemsCount());
+    }
+
+    @Test
+    @DisplayName("reporting the outcome of each task")
+    void reportOutcomeOfEachTask() {
+        final List<TaskId> ids = createTasks();
+        final TaskId deletedTask = ids.get(1);
+        client.postCommand(DeleteTask.newBuilder()
+                                     .setId(deletedTask)
+                                     .build());
+        final CompleteTasks completeTasks = CompleteTasks.newBuilder()
+                                                         .addAllIds(ids)
+                                                         .build();
+        final BulkCommandResult result = client.postBulkCommand(completeTasks);
+
+        final List<TaskCommandOutcome> outcomes = result.getOutcomeList();
+        assertEquals(TASK_COUNT, outcomes.size());
+        for (int i = 0; i < TASK_COUNT; i++) {
+            final TaskCommandOutcome outcome = outcomes.get(i);
+            final TaskId taskId = ids.get(i);
+            assertEquals(taskId, outcome.getTaskId());
+            final Status status = outcome.getAck()
+                                         .getStatus();
+            if (taskId.equals(deletedTask)) {
+                assertFalse(status.hasOk());
+                assertTrue(status.hasRejection());
+                assertTrue(unpack(status.getRejection()
+                                        .getMessage()) instanceof CannotCompleteTask);
+            } else {
+                assertTrue(status.hasOk());
+            }
+        }
+        final List<TaskItem> items = client.getMyListView()
+                                           .getMyList()
+                                           .getItemsList();
+        assertEquals(TASK_COUNT - 1, items.size());
+        assertTrue(items.stream()
+                        .allMatch(TaskItem::getCompleted));
+        assertTrue(items.stream()
+                        .noneMatch(item -> item.getId()
+                                               .equals(deletedTask)));
+    }
+
+    private List<TaskId> createTasks() {
+        final ImmutableList.Builder<TaskId> result = ImmutableList.builder();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            result.add(createTask().getId());
+        }
+        return result.build();
+    }
+
+    private static void assertAcknowledged(List<TaskId> ids, BulkCommandResult result) {
+        final List<TaskId> outcomeIds = result.getOutcomeList()
+                                              .stream()
+                                              .map(TaskCommandOutcome::getTaskId)
+                                              .collect(toList());
+        assertEquals(ids, outcomeIds);
+        for (TaskCommandOutcome outcome : result.getOutcomeList()) {
+            assertTrue(outcome.getAck()
+                              .getStatus()
+                              .hasOk());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.examples.todolist.q.projection.TaskArchivalPolicy.MAX_COMPLETED_TASKS;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.reopenTaskInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should read the archived tasks by pages")
+class ReadArchivedTasksPageTest extends TodoClientTest {
+
+    private TodoClient client;
+    private List<TaskId> completedTasks;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+        completedTasks = new ArrayList<>();
+        for (int i = 0; i <= MAX_COMPLETED_TASKS; i++) {
+            final TaskId id = createTask().getId();
+            client.postCommand(completeTaskInstance(id));
+            completedTasks.add(id);
+        }
+    }
+
+    @Test
+    @DisplayName("containing the tasks moved out of MyListView")
+    void readArchived() {
+        final TaskListPage page = client.getArchivedTasksPage(firstPage());
+
+        assertEquals(1, page.getItemsCount());
+        final TaskItem item = page.getItems(0);
+        final TaskId archived = completedTasks.get(0);
+        assertEquals(archived, item.getId());
+        assertTrue(item.getCompleted());
+        assertFalse(contains(myListItems(), archived));
+    }
+
+    @Test
+    @DisplayName("not containing the reopened task")
+    void returnReopened() {
+        final TaskId archived = completedTasks.get(0);
+        client.postCommand(reopenTaskInstance(archived));
+
+        final TaskListPage page = client.getArchivedTasksPage(firstPage());
+
+        assertEquals(0, page.getItemsCount());
+        assertTrue(contains(myListItems(), archived));
+    }
+
+    private List<TaskItem> myListItems() {
+        return client.getMyListView()
+                     .getMyList()
+                     .getItemsList();
+    }
+
+    private static boolean contains(List<TaskItem> items, TaskId id) {
+        return items.stream()
+                    .anyMatch(item -> item.getId()
+                                          .equals(id));
+    }
+
+    private static TaskListPageRequest firstPage() {
+        return TaskListPageRequest.getDefaultInstance();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.q.CompletionFilter;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.spine.examples.todolist.q.CompletionFilter.CF_ANY;
+import static io.spine.examples.todolist.q.CompletionFilter.COMPLETED_ONLY;
+import static io.spine.examples.todolist.q.CompletionFilter.UNCOMPLETED_ONLY;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should read MyListView by pages")
+class ReadMyListPageTest extends TodoClientTest {
+
+    private static final int TASK_COUNT = 5;
+    private static final int PAGE_SIZE = 2;
+
+    private TodoClient client;
+    private List<TaskId> taskIds;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            taskIds.add(createTask().getId());
+        }
+    }
+
+    @Test
+    @DisplayName("in the order of the view")
+    void readAllPages() {
+        final List<TaskItem> expected = client.getMyListView()
+                                              .getMyList()
+                                              .getItemsList();
+        final List<TaskItem> items = readAll(CF_ANY);
+        assertEquals(expected, items);
+    }
+
+    @Test
+    @DisplayName("not exceeding the page size")
+    void limitPageSize() {
+        final TaskListPage page = client.getMyListPage(request(CF_ANY, ""));
+        assertEquals(PAGE_SIZE, page.getItemsCount());
+        assertFalse(page.getNextPageToken()
+                        .isEmpty());
+    }
+
+    @Test
+    @DisplayName("filtered by the completed flag")
+    void filterByCompleted() {
+        final TaskId completedTask = taskIds.get(1);
+        client.postCommand(completeTaskInstance(completedTask));
+
+        final List<TaskItem> completed = readAll(COMPLETED_ONLY);
+        assertEquals(1, completed.size());
+        assertEquals(completedTask, completed.get(0)
+                                             .getId());
+
+        final List<TaskItem> uncompleted = readAll(UNCOMPLETED_ONLY);
+        assertEquals(TASK_COUNT - 1, uncompleted.size());
+    }
+
+    @Test
+    @DisplayName("not skipping items when the last read item is deleted")
+    void notSkipItemsOnDelete() {
+        final TaskListPage firstPage = client.getMyListPage(request(CF_ANY, ""));
+        final TaskId lastRead = firstPage.getItems(PAGE_SIZE - 1)
+                                         .getId();
+        final DeleteTask deleteTask = deleteTaskInstance(lastRead);
+        client.postCommand(deleteTask);
+
+        final List<TaskItem> expected = client.getMyListView()
+                                              .getMyList()
+                                              .getItemsList()
+                                              .subList(PAGE_SIZE - 1, TASK_COUNT - 1);
+        final TaskListPage secondPage =
+                client.getMyListPage(request(CF_ANY, firstPage.getNextPageToken()));
+        assertEquals(expected.subList(0, PAGE_SIZE), secondPage.getItemsList());
+    }
+
+    private List<TaskItem> readAll(CompletionFilter filter) {
+        final List<TaskItem> result = new ArrayList<>();
+        String pageToken = "";
+        do {
+            final TaskListPage page = client.getMyListPage(request(filter, pageToken));
+            result.addAll(page.getItemsList());
+            pageToken = page.getNextPageToken();
+        } while (!pageToken.isEmpty());
+        return result;
+    }
+
+    private static TaskListPageRequest request(CompletionFilter filter, String pageToken) {
+        return TaskListPageRequest.newBuilder()
+                                  .setPageSize(PAGE_SIZE)
+                                  .setPageToken(pageToken)
+                                  .setCompletion(filter)
+                                  .build();
+    }
+}
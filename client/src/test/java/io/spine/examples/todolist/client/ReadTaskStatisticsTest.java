@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.examples.todolist.TaskPriority.HIGH;
+import static io.spine.examples.todolist.TaskPriority.TP_UNDEFINED;
+import static io.spine.examples.todolist.TaskStatus.COMPLETED;
+import static io.spine.examples.todolist.TaskStatus.DELETED;
+import static io.spine.examples.todolist.TaskStatus.DRAFT;
+import static io.spine.examples.todolist.TaskStatus.FINALIZED;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskPriorityInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should read the task statistics")
+class ReadTaskStatisticsTest extends TodoClientTest {
+
+    private TodoClient client;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+    }
+
+    @Test
+    @DisplayName("counting the tasks per status")
+    void countByStatus() {
+        final TaskId completed = createTask().getId();
+        final TaskId deleted = createTask().getId();
+        createTask();
+        client.postCommand(createDraft());
+        client.postCommand(completeTaskInstance(completed));
+        client.postCommand(deleteTaskInstance(deleted));
+
+        final TaskStatistics statistics = client.getTaskStatistics();
+
+        assertEquals(1, count(statistics, FINALIZED.name()));
+        assertEquals(1, count(statistics, COMPLETED.name()));
+        assertEquals(1, count(statistics, DELETED.name()));
+        assertEquals(1, count(statistics, DRAFT.name()));
+    }
+
+    @Test
+    @DisplayName("counting the tasks per priority")
+    void countByPriority() {
+        final TaskId id = createTask().getId();
+        client.postCommand(updateTaskPriorityInstance(id, TP_UNDEFINED, HIGH));
+
+        final TaskStatistics statistics = client.getTaskStatistics();
+
+        assertEquals(1, (int) statistics.getByPriorityOrDefault(HIGH.name(), 0));
+    }
+
+    private static int count(TaskStatistics statistics, String status) {
+        return statistics.getByStatusOrDefault(status, 0);
+    }
+}
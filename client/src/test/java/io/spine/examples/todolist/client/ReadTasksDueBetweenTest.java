@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import com.google.protobuf.Timestamp;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.CompletionFilter;
+import io.spine.examples.todolist.q.DueDateRange;
+import io.spine.examples.todolist.q.DueDateRangeRequest;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.protobuf.util.Durations.fromHours;
+import static com.google.protobuf.util.Timestamps.add;
+import static io.spine.examples.todolist.q.CompletionFilter.CF_ANY;
+import static io.spine.examples.todolist.q.CompletionFilter.UNCOMPLETED_ONLY;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDueDateInstance;
+import static io.spine.time.Time.getCurrentTime;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should read the tasks due in a range")
+class ReadTasksDueBetweenTest extends TodoClientTest {
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private TodoClient client;
+    private Timestamp now;
+    private List<TaskId> taskIds;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+        now = getCurrentTime();
+        taskIds = new ArrayList<>();
+
+        // The tasks are due in 3, 1 and 2 days respectively.
+        taskIds.add(createTaskDueIn(3));
+        taskIds.add(createTaskDueIn(1));
+        taskIds.add(createTaskDueIn(2));
+
+        // A task without a due date.
+        createTask();
+    }
+
+    @Test
+    @DisplayName("ordered by the due date")
+    void orderByDueDate() {
+        final List<TaskId> result = read(null, null, CF_ANY);
+
+        assertEquals(3, result.size());
+        assertEquals(taskIds.get(1), result.get(0));
+        assertEquals(taskIds.get(2), result.get(1));
+        assertEquals(taskIds.get(0), result.get(2));
+    }
+
+    @Test
+    @DisplayName("within the range bounds")
+    void filterByBounds() {
+        final List<TaskId> result = read(daysFromNow(1), daysFromNow(3), CF_ANY);
+
+        assertEquals(2, result.size());
+        assertEquals(taskIds.get(1), result.get(0));
+        assertEquals(taskIds.get(2), result.get(1));
+    }
+
+    @Test
+    @DisplayName("filtered by the completed flag")
+    void filterByCompleted() {
+        client.postCommand(completeTaskInstance(taskIds.get(1)));
+
+        final List<TaskId> result = read(null, null, UNCOMPLETED_ONLY);
+
+        assertEquals(2, result.size());
+        assertEquals(taskIds.get(2), result.get(0));
+    }
+
+    @Test
+    @DisplayName("by pages")
+    void readByPages() {
+        final DueDateRangeRequest firstRequest = DueDateRangeRequest.newBuilder()
+                                                                    .setPageSize(2)
+                                                                    .build();
+        final DueDateRange firstPage = client.getTasksDueBetween(firstRequest);
+        assertEquals(2, firstPage.getItemsCount());
+        assertEquals(taskIds.get(1), firstPage.getItems(0)
+                                              .getId());
+        assertFalse(firstPage.getNextPageToken()
+                             .isEmpty());
+
+        final DueDateRangeRequest secondRequest =
+                firstRequest.toBuilder()
+                            .setPageToken(firstPage.getNextPageToken())
+                            .build();
+        final DueDateRange secondPage = client.getTasksDueBetween(secondRequest);
+        assertEquals(1, secondPage.getItemsCount());
+        assertEquals(taskIds.get(0), secondPage.getItems(0)
+                                               .getId());
+        assertTrue(secondPage.getNextPageToken()
+                             .isEmpty());
+    }
+
+    private List<TaskId> read(Timestamp from, Timestamp to, CompletionFilter filter) {
+        final DueDateRangeRequest.Builder request = DueDateRangeRequest.newBuilder()
+                                                                       .setCompletion(filter);
+        if (from != null) {
+            request.setFrom(from);
+        }
+        if (to != null) {
+            request.setTo(to);
+        }
+        return client.getTasksDueBetween(request.build())
+                     .getItemsList()
+                     .stream()
+                     .map(TaskItem::getId)
+                     .collect(toList());
+    }
+
+    private TaskId createTaskDueIn(int days) {
+        final TaskId id = createTask().getId();
+        client.postCommand(updateTaskDueDateInstance(id, Timestamp.getDefaultInstance(),
+                                                     daysFromNow(days)));
+        return id;
+    }
+
+    private Timestamp daysFromNow(int days) {
+        return add(now, fromHours(days * HOURS_PER_DAY));
+    }
+}
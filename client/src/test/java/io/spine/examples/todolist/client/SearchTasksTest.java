@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.TaskSearchRequest;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.createTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.deleteTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.updateTaskDescriptionInstance;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TodoClient should search the tasks")
+class SearchTasksTest extends TodoClientTest {
+
+    private static final String GROCERIES = "Buy groceries for the party";
+    private static final String CAKE = "Order a cake for the party";
+
+    private TodoClient client;
+    private TaskId groceries;
+    private TaskId cake;
+
+    @BeforeEach
+    @Override
+    void setUp() throws InterruptedException {
+        super.setUp();
+        client = getClient();
+        groceries = createTask(GROCERIES);
+        cake = createTask(CAKE);
+    }
+
+    @Test
+    @DisplayName("by the words of the description")
+    void searchByWords() {
+        final List<TaskId> result = search("CAKE");
+
+        assertEquals(1, result.size());
+        assertEquals(cake, result.get(0));
+    }
+
+    @Test
+    @DisplayName("ranking the tasks matching more words first")
+    void rankByRelevance() {
+        final List<TaskId> result = search("groceries party");
+
+        assertEquals(2, result.size());
+        assertEquals(groceries, result.get(0));
+        assertEquals(cake, result.get(1));
+    }
+
+    @Test
+    @DisplayName("by the updated description")
+    void searchByUpdatedDescription() {
+        client.postCommand(updateTaskDescriptionInstance(cake, CAKE, "Bake a pie"));
+
+        assertTrue(search("cake").isEmpty());
+        assertEquals(cake, search("pie").get(0));
+    }
+
+    @Test
+    @DisplayName("except the deleted ones")
+    void skipDeleted() {
+        client.postCommand(deleteTaskInstance(groceries));
+
+        final List<TaskId> result = search("party");
+
+        assertEquals(1, result.size());
+        assertEquals(cake, result.get(0));
+    }
+
+    private List<TaskId> search(String query) {
+        final TaskSearchRequest request = TaskSearchRequest.newBuilder()
+                                                           .setQuery(query)
+                                                           .build();
+        return client.searchTasks(request)
+                     .getItemsList()
+                     .stream()
+                     .map(TaskItem::getId)
+                     .collect(toList());
+    }
+
+    private TaskId createTask(String description) {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        client.postCommand(createTaskInstance(id, description));
+        return id;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.grpc.MemoizingObserver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.examples.todolist.client.TodoClient.HOST;
+import static io.spine.examples.todolist.q.TaskListDelta.ContentCase.CHANGES;
+import static io.spine.examples.todolist.q.TaskListDelta.ContentCase.SNAPSHOT;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.completeTaskInstance;
+import static io.spine.examples.todolist.testdata.TestTaskCommandFactory.reopenTaskInstance;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("SubscribingTodoClient should")
+class SubscribeToMyListDeltasTest extends TodoClientTest {
+
+    private static final long UPDATE_TIMEOUT = 2000L;
+    private static final int BURST_SIZE = 20;
+
+    private static SubscribingTodoClient client = null;
+
+    @BeforeAll
+    static void beforeAll() {
+        client = SubscribingTodoClient.instance(HOST, PORT);
+    }
+
+    @Test
+    @DisplayName("receive the snapshot and then the changed items of MyList")
+    void receiveDeltas() throws InterruptedException {
+        final MemoizingObserver<TaskListDelta> observer = memoizingObserver();
+        final DeltaSubscription subscription = client.subscribeToTaskDeltas(observer);
+        final TaskId taskId = createTask().getId();
+        Thread.sleep(UPDATE_TIMEOUT);
+        client.postCommand(completeTaskInstance(taskId));
+        Thread.sleep(UPDATE_TIMEOUT);
+        subscription.cancel();
+
+        final List<TaskListDelta> deltas = observer.responses();
+        assertEquals(SNAPSHOT, deltas.get(0)
+                                     .getContentCase());
+        final TaskListDelta lastDelta = deltas.get(deltas.size() - 1);
+        assertEquals(CHANGES, lastDelta.getContentCase());
+        final List<TaskItem> changed = lastDelta.getChanges()
+                                                .getChangedList();
+        assertEquals(1, changed.size());
+        assertTrue(changed.get(0)
+                          .getCompleted());
+
+        final TaskListReplica replica = new TaskListReplica();
+        deltas.forEach(replica::apply);
+        final TaskListView expected = client.getMyListView()
+                                            .getMyList();
+        assertEquals(expected, replica.getView());
+    }
+
+    @Test
+    @DisplayName("send the same view to the several subscribers")
+    void shareView() throws InterruptedException {
+        final TaskId existingTask = createTask().getId();
+        final MemoizingObserver<TaskListDelta> first = memoizingObserver();
+        final DeltaSubscription firstSubscription = client.subscribeToTaskDeltas(first);
+        final TaskId newTask = createTask().getId();
+        Thread.sleep(UPDATE_TIMEOUT);
+        final MemoizingObserver<TaskListDelta> second = memoizingObserver();
+        final DeltaSubscription secondSubscription = client.subscribeToTaskDeltas(second);
+        client.postCommand(completeTaskInstance(existingTask));
+        client.postCommand(completeTaskInstance(newTask));
+        Thread.sleep(UPDATE_TIMEOUT);
+        firstSubscription.cancel();
+        secondSubscription.cancel();
+
+        final TaskListView expected = client.getMyListView()
+                                            .getMyList();
+        assertEquals(2, expected.getItemsCount());
+        assertEquals(expected, replicaOf(first.responses()));
+        assertEquals(expected, replicaOf(second.responses()));
+    }
+
+    @Test
+    @DisplayName("coalesce a burst of MyList updates")
+    void coalesceUpdates() throws InterruptedException {
+        final TaskId taskId = createTask().getId();
+        final MemoizingObserver<TaskListDelta> observer = memoizingObserver();
+        final DeltaSubscription subscription = client.subscribeToTaskDeltas(observer);
+        for (int i = 0; i < BURST_SIZE; i++) {
+            final boolean complete = i % 2 == 0;
+            client.postCommand(complete
+                               ? completeTaskInstance(taskId)
+                               : reopenTaskInstance(taskId));
+        }
+        Thread.sleep(UPDATE_TIMEOUT);
+        subscription.cancel();
+
+        final List<TaskListDelta> deltas = observer.responses();
+        final int changesCount = deltas.size() - 1;
+        assertTrue(changesCount < BURST_SIZE);
+
+        final TaskListReplica replica = new TaskListReplica();
+        deltas.forEach(replica::apply);
+        final TaskListView expected = client.getMyListView()
+                                            .getMyList();
+        assertEquals(expected, replica.getView());
+    }
+
+    private static TaskListView replicaOf(List<TaskListDelta> deltas) {
+        final TaskListReplica replica = new TaskListReplica();
+        deltas.forEach(replica::apply);
+        return replica.getView();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.client;
+
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.q.TaskItemChanges;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskListReplica should")
+class TaskListReplicaTest {
+
+    private TaskItem first;
+    private TaskItem second;
+    private TaskListReplica replica;
+
+    @BeforeEach
+    void setUp() {
+        first = newTaskItem();
+        second = newTaskItem();
+        replica = new TaskListReplica();
+        final TaskListView snapshot = TaskListView.newBuilder()
+                                                  .addItems(first)
+                                                  .addItems(second)
+                                                  .build();
+        replica.apply(TaskListDelta.newBuilder()
+                                   .setSnapshot(snapshot)
+                                   .build());
+    }
+
+    @Test
+    @DisplayName("replace the state with a snapshot")
+    void applySnapshot() {
+        final TaskListView snapshot = TaskListView.newBuilder()
+                                                  .addItems(second)
+                                                  .build();
+        replica.apply(TaskListDelta.newBuilder()
+                                   .setSnapshot(snapshot)
+                                   .build());
+        assertEquals(snapshot, replica.getView());
+    }
+
+    @Test
+    @DisplayName("apply the item changes keeping the order")
+    void applyChanges() {
+        final TaskItem changedFirst = first.toBuilder()
+                                           .setCompleted(true)
+                                           .build();
+        final TaskItem added = newTaskItem();
+        final TaskItemChanges changes = TaskItemChanges.newBuilder()
+                                                       .addChanged(changedFirst)
+                                                       .addAdded(added)
+                                                       .addRemoved(second.getId())
+                                                       .build();
+        replica.apply(TaskListDelta.newBuilder()
+                                   .setChanges(changes)
+                                   .build());
+
+        final TaskListView expected = TaskListView.newBuilder()
+                                                  .addItems(changedFirst)
+                                                  .addItems(added)
+                                                  .build();
+        assertEquals(expected, replica.getView());
+    }
+
+    private static TaskItem newTaskItem() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .build();
+    }
+}
@@ -22,6 +22,7 @@ package io.spine.examples.todolist.server;
 
 import com.google.cloud.firestore.Firestore;
 import com.google.common.collect.ImmutableSet;
+import io.spine.examples.todolist.context.BoundedContextOptions;
 import io.spine.examples.todolist.context.BoundedContexts;
 import io.spine.examples.todolist.q.projection.MyListView;
 import io.spine.server.BoundedContext;
@@ -60,7 +61,8 @@ public class LocalFirebaseServer {
     private LocalFirebaseServer() {}
 
     public static void main(String[] args) throws IOException {
-        final BoundedContext boundedContext = BoundedContexts.create();
+        final BoundedContextOptions options = BoundedContextOptions.fromSystemProperties();
+        final BoundedContext boundedContext = BoundedContexts.create(options);
         startSubscriptionMirror(boundedContext);
         final Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, boundedContext);
         server.start();
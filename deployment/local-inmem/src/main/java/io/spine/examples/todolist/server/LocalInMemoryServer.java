@@ -20,10 +20,14 @@
 
 package io.spine.examples.todolist.server;
 
+import io.spine.examples.todolist.context.BoundedContextOptions;
+import io.spine.server.BoundedContext;
+
 import java.io.IOException;
 
 import static io.spine.client.ConnectionConstants.DEFAULT_CLIENT_SERVICE_PORT;
 import static io.spine.examples.todolist.context.BoundedContexts.create;
+import static io.spine.examples.todolist.context.BoundedContexts.createOffHeap;
 import static io.spine.examples.todolist.server.Server.newServer;
 
 /**
@@ -33,16 +37,29 @@ import static io.spine.examples.todolist.server.Server.newServer;
  * <p>The server exposes its {@code gRPC API} at
  * {@linkplain io.spine.client.ConnectionConstants#DEFAULT_CLIENT_SERVICE_PORT default port}.
  *
+ * <p>If the {@code todolist.offHeap} system property is {@code true}, the projection states
+ * are kept off the Java heap by the
+ * {@link io.spine.examples.todolist.storage.OffHeapStorageFactory OffHeapStorageFactory}.
+ *
+ * <p>The rest of the bounded context is configured by the system properties described in
+ * {@link BoundedContextOptions#fromSystemProperties()}.
+ *
  * @author Dmytro Grankin
  */
 public class LocalInMemoryServer {
 
+    private static final String OFF_HEAP_PROPERTY = "todolist.offHeap";
+
     private LocalInMemoryServer() {
         // Prevent instantiation of this class.
     }
 
     public static void main(String[] args) throws IOException {
-        final Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, create());
+        final BoundedContextOptions options = BoundedContextOptions.fromSystemProperties();
+        final BoundedContext boundedContext = Boolean.getBoolean(OFF_HEAP_PROPERTY)
+                                              ? createOffHeap(options)
+                                              : create(options);
+        final Server server = newServer(DEFAULT_CLIENT_SERVICE_PORT, boundedContext);
         server.start();
     }
 }
@@ -24,7 +24,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.spine.Environment;
+import io.spine.examples.todolist.context.BoundedContextOptions;
 import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.repository.ProjectionCheckpoints;
 import io.spine.server.BoundedContext;
 import io.spine.server.storage.StorageFactory;
 import io.spine.server.storage.jdbc.JdbcStorageFactory;
@@ -95,8 +97,19 @@ public class LocalMySqlServer {
 
     @VisibleForTesting
     static BoundedContext createBoundedContext(String[] args) {
+        return createBoundedContext(args, BoundedContextOptions.fromSystemProperties());
+    }
+
+    /**
+     * Creates the bounded context and restores its projections from the checkpoint file
+     * if the file is {@linkplain BoundedContextOptions#getCheckpointFile() specified}.
+     */
+    @VisibleForTesting
+    static BoundedContext createBoundedContext(String[] args, BoundedContextOptions options) {
         final StorageFactory storageFactory = createStorageFactory(args);
-        return BoundedContexts.create(storageFactory);
+        final BoundedContext result = BoundedContexts.create(storageFactory, options);
+        ProjectionCheckpoints.start(result, options);
+        return result;
     }
 
     private static StorageFactory createStorageFactory(String[] args) {
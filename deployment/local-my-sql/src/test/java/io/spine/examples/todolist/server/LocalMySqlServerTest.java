@@ -20,15 +20,38 @@
 
 package io.spine.examples.todolist.server;
 
+import com.google.common.base.Optional;
+import com.google.protobuf.Any;
+import io.spine.Identifier;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContextOptions;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.ProjectionCheckpoint;
+import io.spine.examples.todolist.q.projection.ProjectionRecord;
+import io.spine.examples.todolist.q.projection.RepositoryCheckpoint;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.examples.todolist.repository.MyListViewRepository;
+import io.spine.protobuf.AnyPacker;
 import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
 import io.spine.server.storage.StorageFactory;
+import io.spine.time.Time;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.q.projection.MyListViewProjection.ID;
 import static io.spine.examples.todolist.server.LocalMySqlServer.createBoundedContext;
 import static io.spine.examples.todolist.server.LocalMySqlServer.getActualArguments;
 import static io.spine.examples.todolist.server.LocalMySqlServer.getDefaultArguments;
 import static io.spine.test.Tests.assertHasPrivateParameterlessCtor;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
@@ -70,4 +93,67 @@ class LocalMySqlServerTest {
         final StorageFactory storageFactory = boundedContext.getStorageFactory();
         assertFalse(storageFactory.isMultitenant());
     }
+
+    @Test
+    @DisplayName("restore the projections from the checkpoint file")
+    void restoreFromCheckpoint() throws IOException {
+        final MyListView myList = MyListView.newBuilder()
+                                            .setListId(ID)
+                                            .setMyList(TaskListView.newBuilder()
+                                                                   .addItems(newTaskItem()))
+                                            .build();
+        final Path file = Files.createTempFile(getClass().getSimpleName(), null);
+        try {
+            writeCheckpoint(file, myList);
+            final BoundedContextOptions options =
+                    BoundedContextOptions.newBuilder()
+                                         .setCheckpointFile(file)
+                                         .setCheckpointInterval(1, MINUTES)
+                                         .build();
+
+            final BoundedContext boundedContext = createBoundedContext(getDefaultArguments(),
+                                                                       options);
+
+            final Optional<Any> restored = myListRepository(boundedContext).findPackedState(ID);
+            assertTrue(restored.isPresent());
+            assertEquals(myList, AnyPacker.unpack(restored.get()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeCheckpoint(Path file, MyListView myList) throws IOException {
+        final ProjectionRecord record = ProjectionRecord.newBuilder()
+                                                        .setId(Identifier.pack(ID))
+                                                        .setState(AnyPacker.pack(myList))
+                                                        .build();
+        final RepositoryCheckpoint repositoryCheckpoint =
+                RepositoryCheckpoint.newBuilder()
+                                    .setRepository(MyListViewRepository.class.getName())
+                                    .setLastEventTime(Time.getCurrentTime())
+                                    .addRecords(record)
+                                    .build();
+        final ProjectionCheckpoint checkpoint =
+                ProjectionCheckpoint.newBuilder()
+                                    .addRepositories(repositoryCheckpoint)
+                                    .build();
+        try (OutputStream output = Files.newOutputStream(file)) {
+            checkpoint.writeTo(output);
+        }
+    }
+
+    private static MyListViewRepository myListRepository(BoundedContext boundedContext) {
+        final Repository repository = boundedContext.findRepository(MyListView.class)
+                                                    .get();
+        return (MyListViewRepository) repository;
+    }
+
+    private static TaskItem newTaskItem() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .build();
+    }
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Message;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Ack;
+import io.spine.core.ActorContext;
+import io.spine.core.Command;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.BulkCommandResult;
+import io.spine.examples.todolist.c.BulkCommandServiceGrpc.BulkCommandServiceImplBase;
+import io.spine.examples.todolist.c.TaskCommandOutcome;
+import io.spine.examples.todolist.c.commands.AssignLabelToTask;
+import io.spine.examples.todolist.c.commands.AssignLabelToTasks;
+import io.spine.examples.todolist.c.commands.CompleteTask;
+import io.spine.examples.todolist.c.commands.CompleteTasks;
+import io.spine.examples.todolist.c.commands.DeleteTask;
+import io.spine.examples.todolist.c.commands.DeleteTasks;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import io.spine.server.commandbus.CommandBus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.protobuf.AnyPacker.unpack;
+import static io.spine.validate.Validate.isDefault;
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * The {@code BulkCommandService} implementation.
+ *
+ * <p>Fans a bulk command out into the commands of single tasks and posts them to
+ * the {@link CommandBus} of the bounded context. The task commands are posted on behalf of
+ * the actor of the bulk command.
+ *
+ * <p>The commands of the different tasks are posted in parallel. If a task is mentioned
+ * in the bulk command several times, its commands are posted one after another in the order
+ * of the bulk command. The response is sent, when all the task commands are acknowledged.
+ *
+ * @author Dmytro Grankin
+ */
+public class BulkCommandService extends BulkCommandServiceImplBase {
+
+    private static final String THREAD_NAME_FORMAT = "bulk-command-%d";
+    private static final String SHUTDOWN_MESSAGE = "The service is shut down.";
+
+    private final CommandBus commandBus;
+    private final ExecutorService executor;
+
+    private BulkCommandService(CommandBus commandBus, ExecutorService executor) {
+        super();
+        this.commandBus = commandBus;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new instance of the service posting the commands to the given bounded context.
+     *
+     * <p>The number of the task commands posted in parallel equals to the number of
+     * the available processors.
+     *
+     * @param boundedContext the bounded context to post the commands to
+     * @return new instance
+     */
+    public static BulkCommandService newInstance(BoundedContext boundedContext) {
+        return newInstance(boundedContext, Runtime.getRuntime()
+                                                  .availableProcessors());
+    }
+
+    /**
+     * Creates a new instance of the service posting the commands to the given bounded context.
+     *
+     * @param boundedContext the bounded context to post the commands to
+     * @param parallelism    the maximum number of the task commands posted in parallel,
+     *                       must be positive
+     * @return new instance
+     */
+    public static BulkCommandService newInstance(BoundedContext boundedContext, int parallelism) {
+        checkArgument(parallelism > 0, "The parallelism must be positive.");
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = newFixedThreadPool(parallelism, runnable -> {
+            final String name = format(THREAD_NAME_FORMAT, threadCount.getAndIncrement());
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new BulkCommandService(boundedContext.getCommandBus(), executor);
+    }
+
+    @Override
+    public void post(Command request, StreamObserver<BulkCommandResult> responseObserver) {
+        final List<TaskCommand> commands;
+        try {
+            commands = fanOut(bulkCommandOf(request));
+        } catch (IllegalArgumentException e) {
+            final Status status = Status.INVALID_ARGUMENT.withDescription(e.getMessage())
+                                                         .withCause(e);
+            responseObserver.onError(status.asRuntimeException());
+            return;
+        }
+        final ActorRequestFactory requestFactory = requestFactoryOf(request.getContext()
+                                                                           .getActorContext());
+        final Ack[] acks = new Ack[commands.size()];
+        final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        try {
+            for (List<Integer> indexes : indexesByTask(commands).values()) {
+                final Runnable postAll = () -> {
+                    for (int index : indexes) {
+                        acks[index] = post(requestFactory, commands.get(index).message);
+                    }
+                };
+                tasks.add(runAsync(postAll, executor));
+            }
+        } catch (RejectedExecutionException e) {
+            final Status status = Status.UNAVAILABLE.withDescription(SHUTDOWN_MESSAGE)
+                                                    .withCause(e);
+            responseObserver.onError(status.asRuntimeException());
+            return;
+        }
+        allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()]))
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        final Status status = Status.INTERNAL.withCause(throwable);
+                        responseObserver.onError(status.asRuntimeException());
+                        return;
+                    }
+                    responseObserver.onNext(resultOf(commands, acks));
+                    responseObserver.onCompleted();
+                });
+    }
+
+    /**
+     * Stops accepting the bulk commands.
+     *
+     * <p>The task commands of the already accepted bulk commands are posted.
+     * The bulk commands posted after the shutdown are failed with
+     * the {@link Status#UNAVAILABLE UNAVAILABLE} status.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Unpacks the message of the bulk command.
+     *
+     * @throws IllegalArgumentException if the message cannot be unpacked,
+     *                                  e.g. if its type is unknown
+     */
+    private static Message bulkCommandOf(Command request) {
+        try {
+            return unpack(request.getMessage());
+        } catch (RuntimeException e) {
+            final String typeUrl = request.getMessage()
+                                          .getTypeUrl();
+            throw new IllegalArgumentException(format("Unable to unpack the command %s.",
+                                                      typeUrl), e);
+        }
+    }
+
+    private static List<TaskCommand> fanOut(Message bulkCommand) {
+        if (bulkCommand instanceof CompleteTasks) {
+            return fanOut(((CompleteTasks) bulkCommand).getIdsList(),
+                          id -> CompleteTask.newBuilder()
+                                            .setId(id)
+                                            .build());
+        }
+        if (bulkCommand instanceof DeleteTasks) {
+            return fanOut(((DeleteTasks) bulkCommand).getIdsList(),
+                          id -> DeleteTask.newBuilder()
+                                          .setId(id)
+                                          .build());
+        }
+        if (bulkCommand instanceof AssignLabelToTasks) {
+            final AssignLabelToTasks assignLabel = (AssignLabelToTasks) bulkCommand;
+            return fanOut(assignLabel.getIdsList(),
+                          id -> AssignLabelToTask.newBuilder()
+                                                 .setId(id)
+                                                 .setLabelId(assignLabel.getLabelId())
+                                                 .build());
+        }
+        throw new IllegalArgumentException(format("%s is not a bulk command.",
+                                                  bulkCommand.getClass()
+                                                             .getSimpleName()));
+    }
+
+    private static List<TaskCommand> fanOut(List<TaskId> ids,
+                                            Function<TaskId, Message> commandOfTask) {
+        final ImmutableList.Builder<TaskCommand> result = ImmutableList.builder();
+        for (TaskId id : ids) {
+            result.add(new TaskCommand(id, commandOfTask.apply(id)));
+        }
+        return result.build();
+    }
+
+    /**
+     * Groups the indexes of the commands by the target task preserving the order.
+     */
+    private static Map<TaskId, List<Integer>> indexesByTask(List<TaskCommand> commands) {
+        final Map<TaskId, List<Integer>> result = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            result.computeIfAbsent(commands.get(index).taskId, id -> new ArrayList<>())
+                  .add(index);
+        }
+        return result;
+    }
+
+    private static ActorRequestFactory requestFactoryOf(ActorContext actorContext) {
+        final ActorRequestFactory.Builder result =
+                ActorRequestFactory.newBuilder()
+                                   .setActor(actorContext.getActor())
+                                   .setZoneOffset(actorContext.getZoneOffset());
+        if (!isDefault(actorContext.getTenantId())) {
+            result.setTenantId(actorContext.getTenantId());
+        }
+        return result.build();
+    }
+
+    private Ack post(ActorRequestFactory requestFactory, Message commandMessage) {
+        final Command command = requestFactory.command()
+                                              .create(commandMessage);
+        final MemoizingObserver<Ack> observer = memoizingObserver();
+        commandBus.post(command, observer);
+        return observer.firstResponse();
+    }
+
+    private static BulkCommandResult resultOf(List<TaskCommand> commands, Ack[] acks) {
+        final BulkCommandResult.Builder result = BulkCommandResult.newBuilder();
+        for (int index = 0; index < commands.size(); index++) {
+            final TaskCommandOutcome outcome =
+                    TaskCommandOutcome.newBuilder()
+                                      .setTaskId(commands.get(index).taskId)
+                                      .setAck(acks[index])
+                                      .build();
+            result.addOutcome(outcome);
+        }
+        return result.build();
+    }
+
+    /**
+     * A command message targeting a single task.
+     */
+    private static final class TaskCommand {
+
+        private final TaskId taskId;
+        private final Message message;
+
+        private TaskCommand(TaskId taskId, Message message) {
+            this.taskId = taskId;
+            this.message = message;
+        }
+    }
+}
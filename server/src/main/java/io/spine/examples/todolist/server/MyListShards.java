@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.protobuf.Any;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.MyListViewProjection;
+import io.spine.examples.todolist.repository.MyListViewRepository;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.newIllegalStateException;
+
+/**
+ * The {@link MyListView} shards of a bounded context.
+ *
+ * <p>Reads the shard states directly from the {@link MyListViewRepository}.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+final class MyListShards {
+
+    private final MyListViewRepository repository;
+    private final ImmutableList<TaskListId> ids;
+
+    private MyListShards(MyListViewRepository repository) {
+        this.repository = repository;
+        this.ids = ImmutableList.copyOf(repository.getShards());
+    }
+
+    /**
+     * Creates a new instance for the given bounded context.
+     *
+     * @param boundedContext the bounded context to read the shards from
+     * @return new instance
+     * @throws IllegalStateException if the bounded context has no {@link MyListViewRepository}
+     */
+    static MyListShards of(BoundedContext boundedContext) {
+        checkNotNull(boundedContext);
+        final Optional<Repository> repository = boundedContext.findRepository(MyListView.class);
+        if (!repository.isPresent()) {
+            throw newIllegalStateException("The bounded context %s has no repository of %s.",
+                                           boundedContext.getName(),
+                                           MyListView.class.getSimpleName());
+        }
+        return new MyListShards((MyListViewRepository) repository.get());
+    }
+
+    /**
+     * Obtains the IDs of the shards.
+     *
+     * <p>The index of a shard in the list does not change while the server is running.
+     */
+    List<TaskListId> ids() {
+        return ids;
+    }
+
+    /**
+     * Reads the stored state of the shard with the given ID without unpacking it.
+     *
+     * @param id the ID of the shard
+     * @return the packed shard state or {@code Optional.absent()} if the shard has no state yet
+     */
+    Optional<Any> loadPacked(TaskListId id) {
+        return repository.findPackedState(id);
+    }
+
+    /**
+     * Loads the state of the shard with the given ID.
+     *
+     * @param id the ID of the shard
+     * @return the shard state or the default instance if the shard has no state yet
+     */
+    MyListView load(TaskListId id) {
+        final Optional<MyListViewProjection> projection = repository.find(id);
+        return projection.isPresent()
+               ? projection.get()
+                           .getState()
+               : MyListView.getDefaultInstance();
+    }
+}
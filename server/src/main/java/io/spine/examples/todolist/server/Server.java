@@ -40,10 +40,14 @@ public class Server {
     private final int port;
     private final GrpcContainer grpcContainer;
     private final BoundedContext boundedContext;
+    private final TaskListSubscriptionService taskListSubscriptionService;
+    private final BulkCommandService bulkCommandService;
 
     /**
-     * Creates a server with the {@link CommandService Command}, {@link QueryService Query} and
-     * {@link SubscriptionService Subscription} gRPC services.
+     * Creates a server with the {@link CommandService Command}, {@link QueryService Query},
+     * {@link SubscriptionService Subscription}, {@link TaskListQueryService TaskListQuery},
+     * {@link TaskListSubscriptionService TaskListSubscription} and
+     * {@link BulkCommandService BulkCommand} gRPC services.
      *
      * @param port           the port to bind the server to
      * @param boundedContext the {@link BoundedContext} to serve
@@ -66,7 +70,17 @@ public class Server {
         final CommandService commandService = initCommandService();
         final QueryService queryService = initQueryService();
         final SubscriptionService subscriptionService = initSubscriptionService();
-        this.grpcContainer = initGrpcContainer(commandService, queryService, subscriptionService);
+        final TaskListQueryService taskListQueryService =
+                TaskListQueryService.newInstance(boundedContext);
+        this.taskListSubscriptionService =
+                TaskListSubscriptionService.newInstance(boundedContext, subscriptionService);
+        this.bulkCommandService = BulkCommandService.newInstance(boundedContext);
+        this.grpcContainer = initGrpcContainer(commandService,
+                                               queryService,
+                                               subscriptionService,
+                                               taskListQueryService,
+                                               taskListSubscriptionService,
+                                               bulkCommandService);
     }
 
     private SubscriptionService initSubscriptionService() {
@@ -93,20 +107,31 @@ public class Server {
     /**
      * Creates a {@link GrpcContainer} for this server.
      *
-     * @param commandService      the {@link CommandService} to deploy
-     * @param queryService        the {@link QueryService} to deploy
-     * @param subscriptionService the {@link SubscriptionService} to deploy or {@code null} if no
-     *                            {@code SubscriptionService} is intended for this server
+     * @param commandService              the {@link CommandService} to deploy
+     * @param queryService                the {@link QueryService} to deploy
+     * @param subscriptionService         the {@link SubscriptionService} to deploy or
+     *                                    {@code null} if no {@code SubscriptionService}
+     *                                    is intended for this server
+     * @param taskListQueryService        the {@link TaskListQueryService} to deploy
+     * @param taskListSubscriptionService the {@link TaskListSubscriptionService} to deploy
+     * @param bulkCommandService          the {@link BulkCommandService} to deploy
      * @return a new instance of {@link GrpcContainer}
      */
     private GrpcContainer initGrpcContainer(CommandService commandService,
                                             QueryService queryService,
-                                            SubscriptionService subscriptionService) {
+                                            SubscriptionService subscriptionService,
+                                            TaskListQueryService taskListQueryService,
+                                            TaskListSubscriptionService
+                                                    taskListSubscriptionService,
+                                            BulkCommandService bulkCommandService) {
         final GrpcContainer.Builder result = GrpcContainer.newBuilder()
                                                           .setPort(port)
                                                           .addService(commandService)
                                                           .addService(queryService)
-                                                          .addService(subscriptionService);
+                                                          .addService(subscriptionService)
+                                                          .addService(taskListQueryService)
+                                                          .addService(taskListSubscriptionService)
+                                                          .addService(bulkCommandService);
         return result.build();
     }
 
@@ -138,5 +163,7 @@ public class Server {
      */
     public void shutdown() {
         grpcContainer.shutdown();
+        taskListSubscriptionService.shutdown();
+        bulkCommandService.shutdown();
     }
 }
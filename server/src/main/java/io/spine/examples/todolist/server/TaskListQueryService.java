@@ -0,0 +1,439 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.CompletionFilter;
+import io.spine.examples.todolist.q.DueDateCursor;
+import io.spine.examples.todolist.q.DueDateRange;
+import io.spine.examples.todolist.q.DueDateRangeRequest;
+import io.spine.examples.todolist.q.MyListViewPayload;
+import io.spine.examples.todolist.q.MyListViewPayloadRequest;
+import io.spine.examples.todolist.q.TaskListCursor;
+import io.spine.examples.todolist.q.TaskListPage;
+import io.spine.examples.todolist.q.TaskListPageRequest;
+import io.spine.examples.todolist.q.TaskListQueryServiceGrpc.TaskListQueryServiceImplBase;
+import io.spine.examples.todolist.q.TaskSearchRequest;
+import io.spine.examples.todolist.q.TaskSearchResult;
+import io.spine.examples.todolist.q.TaskStatisticsRequest;
+import io.spine.examples.todolist.q.projection.ArchivedTasksView;
+import io.spine.examples.todolist.q.projection.ArchivedTasksViewProjection;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.examples.todolist.q.projection.TaskSearchView;
+import io.spine.examples.todolist.q.projection.TaskStatistics;
+import io.spine.examples.todolist.q.projection.TaskCountersView;
+import io.spine.examples.todolist.q.projection.TaskDueDateView;
+import io.spine.examples.todolist.repository.ArchivedTasksViewRepository;
+import io.spine.examples.todolist.repository.TaskSearchViewRepository;
+import io.spine.examples.todolist.repository.TaskCountersViewRepository;
+import io.spine.examples.todolist.repository.TaskDueDateViewRepository;
+import io.spine.server.BoundedContext;
+import io.spine.server.entity.Repository;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+/**
+ * The {@code TaskListQueryService} implementation.
+ *
+ * <p>Reads the task list views from the repositories of the bounded context
+ * and sends to the client only the requested items: a page, a due date range
+ * or the search results. The task statistics are read from a dedicated view,
+ * so the tasks are not loaded to count them. The archived tasks are read by pages
+ * the same way as the {@link MyListView}.
+ *
+ * <p>The page token is an encoded {@link TaskListCursor}. The cursor points to the task
+ * of the last read item, so the page boundaries are not shifted by the items added to
+ * or removed from the preceding pages.
+ *
+ * <p>The tasks due in a range are read by pages too. The page token is an encoded
+ * {@link DueDateCursor} pointing to the due date and the task of the last read item.
+ * Only the tasks of the page are loaded.
+ *
+ * @author Dmytro Grankin
+ */
+@SuppressWarnings("Guava" /* Spine API is Java 7-based
+                             and uses `Optional` from Google Guava. */)
+public class TaskListQueryService extends TaskListQueryServiceImplBase {
+
+    /** The number of the items on a page if the request does not specify the page size. */
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** The maximum number of the items on a page. */
+    static final int MAX_PAGE_SIZE = 1000;
+
+    /** The number of the found tasks if the search request does not specify the limit. */
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private static final BaseEncoding TOKEN_ENCODING = BaseEncoding.base64Url();
+
+    private final MyListShards myList;
+    private final TaskDueDateViewRepository dueDateRepository;
+    private final TaskSearchViewRepository searchRepository;
+    private final TaskCountersViewRepository countersRepository;
+    private final ArchivedTasksViewRepository archiveRepository;
+
+    private TaskListQueryService(MyListShards myList,
+                                 TaskDueDateViewRepository dueDateRepository,
+                                 TaskSearchViewRepository searchRepository,
+                                 TaskCountersViewRepository countersRepository,
+                                 ArchivedTasksViewRepository archiveRepository) {
+        super();
+        this.myList = myList;
+        this.dueDateRepository = dueDateRepository;
+        this.searchRepository = searchRepository;
+        this.countersRepository = countersRepository;
+        this.archiveRepository = archiveRepository;
+    }
+
+    /**
+     * Creates a new instance of the service reading the views of the given bounded context.
+     *
+     * @param boundedContext the bounded context to read the views from
+     * @return new instance
+     * @throws IllegalStateException if the bounded context has no repository of
+     *                               the {@link MyListView}, the {@link TaskDueDateView},
+     *                               the {@link TaskSearchView},
+     *                               the {@link TaskCountersView} or
+     *                               the {@link ArchivedTasksView}
+     */
+    public static TaskListQueryService newInstance(BoundedContext boundedContext) {
+        final TaskDueDateViewRepository dueDateRepository =
+                (TaskDueDateViewRepository) findRepository(boundedContext,
+                                                           TaskDueDateView.class);
+        final TaskSearchViewRepository searchRepository =
+                (TaskSearchViewRepository) findRepository(boundedContext, TaskSearchView.class);
+        final TaskCountersViewRepository countersRepository =
+                (TaskCountersViewRepository) findRepository(boundedContext,
+                                                            TaskCountersView.class);
+        final ArchivedTasksViewRepository archiveRepository =
+                (ArchivedTasksViewRepository) findRepository(boundedContext,
+                                                             ArchivedTasksView.class);
+        return new TaskListQueryService(MyListShards.of(boundedContext),
+                                        dueDateRepository,
+                                        searchRepository,
+                                        countersRepository,
+                                        archiveRepository);
+    }
+
+    private static Repository findRepository(BoundedContext boundedContext,
+                                             Class<? extends Message> stateClass) {
+        final Optional<Repository> repository = boundedContext.findRepository(stateClass);
+        if (!repository.isPresent()) {
+            throw newIllegalStateException("The bounded context %s has no repository of %s.",
+                                           boundedContext.getName(),
+                                           stateClass.getSimpleName());
+        }
+        return repository.get();
+    }
+
+    @Override
+    public void readMyListPage(TaskListPageRequest request,
+                               StreamObserver<TaskListPage> responseObserver) {
+        respondWithPage(request, myList.ids(), this::loadMyList, responseObserver);
+    }
+
+    @Override
+    public void readArchivedTasksPage(TaskListPageRequest request,
+                                      StreamObserver<TaskListPage> responseObserver) {
+        final List<TaskListId> shards = ImmutableList.copyOf(archiveRepository.getShards());
+        respondWithPage(request, shards, this::loadArchive, responseObserver);
+    }
+
+    @Override
+    public void readTasksDueBetween(DueDateRangeRequest request,
+                                    StreamObserver<DueDateRange> responseObserver) {
+        final DueDateRange range;
+        try {
+            range = readDueDateRange(request);
+        } catch (IllegalArgumentException e) {
+            final Status status = Status.INVALID_ARGUMENT.withDescription(e.getMessage())
+                                                         .withCause(e);
+            responseObserver.onError(status.asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(range);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void searchTasks(TaskSearchRequest request,
+                            StreamObserver<TaskSearchResult> responseObserver) {
+        final int limit = request.getLimit();
+        if (limit < 0) {
+            final Status status =
+                    Status.INVALID_ARGUMENT.withDescription("The limit must not be negative.");
+            responseObserver.onError(status.asRuntimeException());
+            return;
+        }
+        final int actualLimit = limit == 0
+                                ? DEFAULT_SEARCH_LIMIT
+                                : min(limit, MAX_PAGE_SIZE);
+        final List<TaskItem> items = searchRepository.search(request.getQuery(), actualLimit);
+        final TaskSearchResult result = TaskSearchResult.newBuilder()
+                                                        .addAllItems(items)
+                                                        .build();
+        responseObserver.onNext(result);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void readTaskStatistics(TaskStatisticsRequest request,
+                                   StreamObserver<TaskStatistics> responseObserver) {
+        final TaskStatistics statistics = countersRepository.getStatistics();
+        responseObserver.onNext(statistics);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The stored shard states are sent as is, without parsing the task items.
+     */
+    @Override
+    public void readMyListViewPayload(MyListViewPayloadRequest request,
+                                      StreamObserver<MyListViewPayload> responseObserver) {
+        final MyListViewPayload.Builder payload = MyListViewPayload.newBuilder();
+        for (TaskListId shard : myList.ids()) {
+            final Optional<Any> state = myList.loadPacked(shard);
+            if (state.isPresent()) {
+                payload.addShards(state.get());
+            }
+        }
+        responseObserver.onNext(payload.build());
+        responseObserver.onCompleted();
+    }
+
+    private static void respondWithPage(TaskListPageRequest request,
+                                        List<TaskListId> shards,
+                                        Function<TaskListId, TaskListView> loader,
+                                        StreamObserver<TaskListPage> responseObserver) {
+        final TaskListPage page;
+        try {
+            page = readPage(request, shards, loader);
+        } catch (IllegalArgumentException e) {
+            final Status status = Status.INVALID_ARGUMENT.withDescription(e.getMessage())
+                                                         .withCause(e);
+            responseObserver.onError(status.asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(page);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Reads a page of the tasks due in the requested range.
+     *
+     * <p>Reads one task more than the page size to find out if there is a next page.
+     */
+    private DueDateRange readDueDateRange(DueDateRangeRequest request) {
+        final int pageSize = pageSizeOf(request.getPageSize());
+        final DueDateCursor cursor = cursorOf(request);
+        final Timestamp from = request.hasFrom()
+                               ? request.getFrom()
+                               : null;
+        final Timestamp to = request.hasTo()
+                             ? request.getTo()
+                             : null;
+        final Predicate<TaskItem> filter = filterOf(request.getCompletion());
+        final List<TaskItem> items =
+                dueDateRepository.itemsDueBetween(from, to, cursor, filter, pageSize + 1);
+        final DueDateRange.Builder result = DueDateRange.newBuilder();
+        if (items.size() <= pageSize) {
+            return result.addAllItems(items)
+                         .build();
+        }
+        final List<TaskItem> page = items.subList(0, pageSize);
+        final TaskItem last = page.get(pageSize - 1);
+        final DueDateCursor next = DueDateCursor.newBuilder()
+                                                .setDueDate(last.getDueDate())
+                                                .setLastTask(last.getId())
+                                                .build();
+        return result.addAllItems(page)
+                     .setNextPageToken(encode(next))
+                     .build();
+    }
+
+    private TaskListView loadMyList(TaskListId shard) {
+        final MyListView view = myList.load(shard);
+        return view.getMyList();
+    }
+
+    private TaskListView loadArchive(TaskListId shard) {
+        final Optional<ArchivedTasksViewProjection> projection = archiveRepository.find(shard);
+        final ArchivedTasksView view = projection.isPresent()
+                                       ? projection.get()
+                                                   .getState()
+                                       : ArchivedTasksView.getDefaultInstance();
+        return view.getArchived();
+    }
+
+    private static TaskListPage readPage(TaskListPageRequest request,
+                                         List<TaskListId> shards,
+                                         Function<TaskListId, TaskListView> loader) {
+        final int pageSize = pageSizeOf(request.getPageSize());
+        final Predicate<TaskItem> filter = filterOf(request.getCompletion());
+        final TaskListCursor cursor = cursorOf(request);
+
+        final TaskListPage.Builder page = TaskListPage.newBuilder();
+        for (int shard = cursor.getShard(); shard < shards.size(); shard++) {
+            final TaskListView view = loader.apply(shards.get(shard));
+            final List<TaskItem> items = view.getItemsList();
+            final int start = shard == cursor.getShard()
+                              ? startPosition(view, cursor)
+                              : 0;
+            for (int position = start; position < items.size(); position++) {
+                if (page.getItemsCount() == pageSize) {
+                    final TaskListCursor next = nextCursor(items, shard, position);
+                    return page.setNextPageToken(encode(next))
+                               .build();
+                }
+                final TaskItem item = items.get(position);
+                if (filter.test(item)) {
+                    page.addItems(item);
+                }
+            }
+        }
+        return page.build();
+    }
+
+    /**
+     * Obtains the position in the view to read the items from.
+     *
+     * <p>Looks for the item of the last read task. If the task is no longer in the view,
+     * falls back to the position stored in the cursor.
+     */
+    private static int startPosition(TaskListView view, TaskListCursor cursor) {
+        final int itemCount = view.getItemsCount();
+        if (!cursor.hasLastTask()) {
+            return min(cursor.getPosition(), itemCount);
+        }
+        final int lastTaskPosition = lastPositionOf(cursor.getLastTask(), view);
+        if (lastTaskPosition >= 0) {
+            return lastTaskPosition + 1;
+        }
+
+        // The item of the last read task was removed, so the next item took its position.
+        final int lastReadPosition = cursor.getPosition() - 1;
+        return min(lastReadPosition, itemCount);
+    }
+
+    /**
+     * Obtains the position of the last item of the task in the view.
+     *
+     * @return the position of the item or {@code -1} if the view has no items of the task
+     */
+    private static int lastPositionOf(TaskId task, TaskListView view) {
+        final List<TaskItem> items = view.getItemsList();
+        for (int position = items.size() - 1; position >= 0; position--) {
+            final TaskId id = items.get(position)
+                                   .getId();
+            if (id.equals(task)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static TaskListCursor nextCursor(List<TaskItem> items, int shard, int position) {
+        final TaskListCursor.Builder result = TaskListCursor.newBuilder()
+                                                            .setShard(shard)
+                                                            .setPosition(position);
+        if (position > 0) {
+            result.setLastTask(items.get(position - 1)
+                                    .getId());
+        }
+        return result.build();
+    }
+
+    private static int pageSizeOf(int pageSize) {
+        checkArgument(pageSize >= 0, "The page size must not be negative.");
+        return pageSize == 0
+               ? DEFAULT_PAGE_SIZE
+               : min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    private static Predicate<TaskItem> filterOf(CompletionFilter completion) {
+        switch (completion) {
+            case COMPLETED_ONLY:
+                return TaskItem::getCompleted;
+            case UNCOMPLETED_ONLY:
+                return item -> !item.getCompleted();
+            case CF_ANY:
+            default:
+                return item -> true;
+        }
+    }
+
+    private static TaskListCursor cursorOf(TaskListPageRequest request) {
+        final String token = request.getPageToken();
+        if (token.isEmpty()) {
+            return TaskListCursor.getDefaultInstance();
+        }
+        final TaskListCursor result;
+        try {
+            final byte[] bytes = TOKEN_ENCODING.decode(token);
+            result = TaskListCursor.parseFrom(bytes);
+        } catch (IllegalArgumentException | InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(format("Invalid page token `%s`.", token), e);
+        }
+        checkArgument(result.getShard() >= 0 && result.getPosition() >= 0,
+                      "Invalid page token `%s`.", token);
+        return result;
+    }
+
+    @Nullable
+    private static DueDateCursor cursorOf(DueDateRangeRequest request) {
+        final String token = request.getPageToken();
+        if (token.isEmpty()) {
+            return null;
+        }
+        try {
+            final byte[] bytes = TOKEN_ENCODING.decode(token);
+            return DueDateCursor.parseFrom(bytes);
+        } catch (IllegalArgumentException | InvalidProtocolBufferException e) {
+            throw new IllegalArgumentException(format("Invalid page token `%s`.", token), e);
+        }
+    }
+
+    private static String encode(Message cursor) {
+        return TOKEN_ENCODING.encode(cursor.toByteArray());
+    }
+}
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.ActorRequestFactory;
+import io.spine.client.EntityStateUpdate;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.Topic;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskListId;
+import io.spine.examples.todolist.q.TaskItemChanges;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.TaskListDeltaRequest;
+import io.spine.examples.todolist.q.TaskListSubscriptionServiceGrpc.TaskListSubscriptionServiceImplBase;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.protobuf.AnyPacker;
+import io.spine.server.BoundedContext;
+import io.spine.server.SubscriptionService;
+import io.spine.time.ZoneOffsets;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * The {@code TaskListSubscriptionService} implementation.
+ *
+ * <p>Subscribes to the {@link MyListView} updates through the {@link SubscriptionService}
+ * and translates each update into the item-level changes, keyed by the {@link TaskId}.
+ * The changes are calculated on the server, so only the changed items are sent to the client.
+ * A single subscription and a single replica of the view are shared by all the streams.
+ *
+ * <p>The stream starts with a snapshot of the view. Further snapshots are sent once per
+ * the resync interval, so the clients could recover their copies of the view without
+ * resubscribing. A snapshot due by the time of the changes is sent instead of them.
+ * A stream without the changes receives the snapshot on a timer.
+ *
+ * <p>The view updates are coalesced: the first update of a shard opens a debounce window,
+ * and only the latest states of the shards updated within the window are compared
+ * with the previously sent ones. So a burst of updates results in a single delta.
+ * The {@linkplain #getReceivedUpdateCount() received updates} and
+ * the {@linkplain #getSentDeltaCount() sent deltas} are counted to monitor the reduction.
+ *
+ * @author Dmytro Grankin
+ */
+public class TaskListSubscriptionService extends TaskListSubscriptionServiceImplBase {
+
+    /** The default interval between the snapshots of the view in a stream. */
+    static final long DEFAULT_RESYNC_INTERVAL_MINUTES = 1;
+
+    /** The default window, within which the view updates are coalesced. */
+    static final long DEFAULT_DEBOUNCE_WINDOW_MILLIS = 100;
+
+    private static final String FLUSH_THREAD_NAME = "task-list-delta-flush";
+    private static final String SHUTDOWN_MESSAGE = "The service is shut down.";
+
+    private final MyListShards myList;
+    private final SubscriptionService subscriptionService;
+    private final ActorRequestFactory requestFactory;
+    private final long resyncIntervalMillis;
+    private final long debounceWindowMillis;
+    private final ScheduledExecutorService flushScheduler;
+    private final AtomicLong receivedUpdates = new AtomicLong();
+    private final AtomicLong sentDeltas = new AtomicLong();
+    private final MyListReplica replica = new MyListReplica();
+
+    private TaskListSubscriptionService(MyListShards myList,
+                                        SubscriptionService subscriptionService,
+                                        long resyncIntervalMillis,
+                                        long debounceWindowMillis) {
+        super();
+        this.myList = myList;
+        this.subscriptionService = subscriptionService;
+        this.resyncIntervalMillis = resyncIntervalMillis;
+        this.debounceWindowMillis = debounceWindowMillis;
+        this.requestFactory = requestFactory();
+        this.flushScheduler = newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, FLUSH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new instance of the service with the default resync interval
+     * and the default debounce window.
+     *
+     * @param boundedContext      the bounded context to read the views from
+     * @param subscriptionService the service to subscribe to the view updates
+     * @return new instance
+     */
+    public static TaskListSubscriptionService newInstance(BoundedContext boundedContext,
+                                                          SubscriptionService subscriptionService) {
+        return newInstance(boundedContext, subscriptionService,
+                           DEFAULT_RESYNC_INTERVAL_MINUTES, MINUTES);
+    }
+
+    /**
+     * Creates a new instance of the service with the default debounce window.
+     *
+     * @param boundedContext      the bounded context to read the views from
+     * @param subscriptionService the service to subscribe to the view updates
+     * @param resyncInterval      the interval between the snapshots of the view
+     * @param unit                the time unit of the interval
+     * @return new instance
+     */
+    public static TaskListSubscriptionService newInstance(BoundedContext boundedContext,
+                                                          SubscriptionService subscriptionService,
+                                                          long resyncInterval,
+                                                          TimeUnit unit) {
+        checkNotNull(unit);
+        return newInstance(boundedContext, subscriptionService,
+                           unit.toMillis(resyncInterval), DEFAULT_DEBOUNCE_WINDOW_MILLIS,
+                           MILLISECONDS);
+    }
+
+    /**
+     * Creates a new instance of the service.
+     *
+     * @param boundedContext      the bounded context to read the views from
+     * @param subscriptionService the service to subscribe to the view updates
+     * @param resyncInterval      the interval between the snapshots of the view
+     * @param debounceWindow      the window, within which the view updates are coalesced;
+     *                            zero to send a delta on each update
+     * @param unit                the time unit of the interval and the window
+     * @return new instance
+     */
+    public static TaskListSubscriptionService newInstance(BoundedContext boundedContext,
+                                                          SubscriptionService subscriptionService,
+                                                          long resyncInterval,
+                                                          long debounceWindow,
+                                                          TimeUnit unit) {
+        checkNotNull(subscriptionService);
+        checkNotNull(unit);
+        checkArgument(resyncInterval > 0, "The resync interval must be positive.");
+        checkArgument(debounceWindow >= 0, "The debounce window must not be negative.");
+        final MyListShards myList = MyListShards.of(boundedContext);
+        return new TaskListSubscriptionService(myList, subscriptionService,
+                                               unit.toMillis(resyncInterval),
+                                               unit.toMillis(debounceWindow));
+    }
+
+    /**
+     * Obtains the number of the view updates received by all the streams.
+     */
+    public long getReceivedUpdateCount() {
+        return receivedUpdates.get();
+    }
+
+    /**
+     * Obtains the number of the snapshots and the changes sent by all the streams.
+     *
+     * <p>Is less than the {@linkplain #getReceivedUpdateCount() number of the updates}
+     * by the number of the coalesced updates.
+     */
+    public long getSentDeltaCount() {
+        return sentDeltas.get();
+    }
+
+    /**
+     * Stops sending the changes.
+     *
+     * <p>Cancels the subscription to the view updates, which completes the open streams,
+     * and stops the scheduled flushes. The new streams are rejected.
+     */
+    public void shutdown() {
+        replica.close();
+        flushScheduler.shutdown();
+    }
+
+    /**
+     * Obtains the observer of the view updates shared by all the streams.
+     */
+    @VisibleForTesting
+    StreamObserver<SubscriptionUpdate> getUpdateObserver() {
+        return replica;
+    }
+
+    @Override
+    public void subscribeToMyListDeltas(TaskListDeltaRequest request,
+                                        StreamObserver<TaskListDelta> responseObserver) {
+        final DeltaStream stream = new DeltaStream(responseObserver);
+        cancelOnClientCancel(stream);
+        replica.addStream(stream);
+    }
+
+    private void cancelOnClientCancel(DeltaStream stream) {
+        if (stream.delegate instanceof ServerCallStreamObserver) {
+            final ServerCallStreamObserver<TaskListDelta> serverObserver =
+                    (ServerCallStreamObserver<TaskListDelta>) stream.delegate;
+            serverObserver.setOnCancelHandler(() -> {
+                stream.markCancelled();
+                replica.removeStream(stream);
+            });
+        }
+    }
+
+    private static ActorRequestFactory requestFactory() {
+        final UserId actor = UserId.newBuilder()
+                                   .setValue(TaskListSubscriptionService.class.getSimpleName())
+                                   .build();
+        final ActorRequestFactory result = ActorRequestFactory.newBuilder()
+                                                              .setActor(actor)
+                                                              .setZoneOffset(ZoneOffsets.UTC)
+                                                              .build();
+        return result;
+    }
+
+    /**
+     * The latest states of the {@link MyListView} shards shared by all the streams.
+     *
+     * <p>Subscribes to the view updates once for all the streams, when the first stream
+     * is opened. Each update is unpacked once, and the streams keep the references to
+     * the same immutable states instead of the copies of the items.
+     *
+     * <p>The shards are loaded before the subscription is activated, so the streams never
+     * start from an empty view. They are reloaded right after the activation, so the updates
+     * made in between are not missed.
+     */
+    private final class MyListReplica implements StreamObserver<SubscriptionUpdate> {
+
+        private final Map<TaskListId, MyListView> states = new HashMap<>();
+        private final Set<DeltaStream> streams = new LinkedHashSet<>();
+
+        @Nullable
+        private Subscription subscription;
+
+        private boolean closed;
+
+        private synchronized void addStream(DeltaStream stream) {
+            if (closed) {
+                stream.delegate.onError(Status.UNAVAILABLE.withDescription(SHUTDOWN_MESSAGE)
+                                                          .asRuntimeException());
+                return;
+            }
+            if (subscription == null) {
+                subscribe();
+            }
+            streams.add(stream);
+            stream.start(states);
+        }
+
+        private synchronized void removeStream(DeltaStream stream) {
+            streams.remove(stream);
+        }
+
+        private void subscribe() {
+            for (TaskListId shard : myList.ids()) {
+                states.put(shard, myList.load(shard));
+            }
+            final Topic topic = requestFactory.topic()
+                                              .allOf(MyListView.class);
+            final SubscriptionObserver subscriptionObserver = new SubscriptionObserver();
+            subscriptionService.subscribe(topic, subscriptionObserver);
+            subscription = subscriptionObserver.subscription;
+            subscriptionService.activate(subscription, this);
+            for (TaskListId shard : myList.ids()) {
+                states.put(shard, myList.load(shard));
+            }
+        }
+
+        @Override
+        public synchronized void onNext(SubscriptionUpdate update) {
+            for (EntityStateUpdate stateUpdate : update.getEntityStateUpdatesList()) {
+                final TaskListId shard = AnyPacker.unpack(stateUpdate.getId());
+                final MyListView state = AnyPacker.unpack(stateUpdate.getState());
+                states.put(shard, state);
+                for (DeltaStream stream : streams) {
+                    stream.onShardChanged(shard, state);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            for (DeltaStream stream : streams) {
+                stream.onError(t);
+            }
+            reset();
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            for (DeltaStream stream : streams) {
+                stream.onCompleted();
+            }
+            reset();
+        }
+
+        private synchronized void close() {
+            closed = true;
+            if (subscription != null) {
+                subscriptionService.cancel(subscription, noOpObserver());
+            }
+            for (DeltaStream stream : streams) {
+                stream.markCancelled();
+            }
+            reset();
+        }
+
+        /**
+         * Forgets the subscription and the streams, so the next stream subscribes anew.
+         */
+        private void reset() {
+            subscription = null;
+            streams.clear();
+            states.clear();
+        }
+    }
+
+    /**
+     * A stream of the {@link MyListView} changes sent to a single client.
+     *
+     * <p>Keeps the last sent states of the shards to calculate the changes and
+     * the latest states of the shards updated within the debounce window.
+     * The states are shared with the {@link MyListReplica}.
+     */
+    private final class DeltaStream {
+
+        private final StreamObserver<TaskListDelta> delegate;
+        private final Map<TaskListId, MyListView> sentStates = new HashMap<>();
+        private final Map<TaskListId, MyListView> pendingStates = new LinkedHashMap<>();
+        private long lastSnapshotTime;
+        private boolean flushScheduled;
+        private boolean cancelled;
+
+        @Nullable
+        private ScheduledFuture<?> scheduledResync;
+
+        private DeltaStream(StreamObserver<TaskListDelta> delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Sends the snapshot of the given shard states.
+         */
+        private synchronized void start(Map<TaskListId, MyListView> states) {
+            sentStates.putAll(states);
+            sendSnapshot();
+        }
+
+        /**
+         * Fails the stream dropping the pending changes, so nothing is sent after the error.
+         */
+        private synchronized void onError(Throwable t) {
+            markCancelled();
+            delegate.onError(t);
+        }
+
+        /**
+         * Sends the pending changes and completes the stream.
+         */
+        private synchronized void onCompleted() {
+            flush();
+            markCancelled();
+            delegate.onCompleted();
+        }
+
+        /**
+         * Stops sending the changes, e.g. once the stream is closed.
+         */
+        private synchronized void markCancelled() {
+            cancelled = true;
+            pendingStates.clear();
+            if (scheduledResync != null) {
+                scheduledResync.cancel(false);
+                scheduledResync = null;
+            }
+        }
+
+        private synchronized void onShardChanged(TaskListId shard, MyListView state) {
+            receivedUpdates.incrementAndGet();
+            if (cancelled) {
+                return;
+            }
+            pendingStates.put(shard, state);
+            if (debounceWindowMillis == 0) {
+                flush();
+            } else if (!flushScheduled) {
+                scheduleFlush();
+            }
+        }
+
+        private void scheduleFlush() {
+            try {
+                flushScheduler.schedule(this::flush, debounceWindowMillis, MILLISECONDS);
+                flushScheduled = true;
+            } catch (RejectedExecutionException ignored) {
+                // The service is shut down, so the changes are sent without the coalescing.
+                flush();
+            }
+        }
+
+        /**
+         * Sends the changes of the shards updated since the previous flush.
+         */
+        private synchronized void flush() {
+            flushScheduled = false;
+            if (cancelled || pendingStates.isEmpty()) {
+                return;
+            }
+            final TaskItemChanges.Builder changes = TaskItemChanges.newBuilder();
+            for (Map.Entry<TaskListId, MyListView> pending : pendingStates.entrySet()) {
+                final TaskListId shard = pending.getKey();
+                final MyListView current = pending.getValue();
+                final MyListView previous = sentStates.put(shard, current);
+                if (previous != current) {
+                    changes.mergeFrom(diff(itemsOf(previous), itemsOf(current)));
+                }
+            }
+            pendingStates.clear();
+
+            final long now = System.currentTimeMillis();
+            if (now - lastSnapshotTime >= resyncIntervalMillis) {
+                sendSnapshot();
+                return;
+            }
+            final boolean changed = changes.getAddedCount() > 0
+                                    || changes.getChangedCount() > 0
+                                    || changes.getRemovedCount() > 0;
+            if (changed) {
+                final TaskListDelta delta = TaskListDelta.newBuilder()
+                                                         .setChanges(changes)
+                                                         .build();
+                delegate.onNext(delta);
+                sentDeltas.incrementAndGet();
+            }
+        }
+
+        /**
+         * Sends the snapshot, if no snapshot was sent within the resync interval,
+         * e.g. because there were no changes.
+         */
+        private synchronized void resync() {
+            scheduledResync = null;
+            final long sinceSnapshot = System.currentTimeMillis() - lastSnapshotTime;
+            if (cancelled || sinceSnapshot < resyncIntervalMillis) {
+                return;
+            }
+            sentStates.putAll(pendingStates);
+            pendingStates.clear();
+            sendSnapshot();
+        }
+
+        private void scheduleResync() {
+            if (scheduledResync != null) {
+                scheduledResync.cancel(false);
+            }
+            try {
+                scheduledResync = flushScheduler.schedule(this::resync, resyncIntervalMillis,
+                                                          MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // The service is shut down, so the snapshots are sent along with the changes.
+                scheduledResync = null;
+            }
+        }
+
+        private void sendSnapshot() {
+            final TaskListView.Builder snapshot = TaskListView.newBuilder();
+            for (TaskListId shard : myList.ids()) {
+                final MyListView state = sentStates.get(shard);
+                if (state != null) {
+                    snapshot.addAllItems(state.getMyList()
+                                              .getItemsList());
+                }
+            }
+            final TaskListDelta delta = TaskListDelta.newBuilder()
+                                                     .setSnapshot(snapshot)
+                                                     .build();
+            delegate.onNext(delta);
+            sentDeltas.incrementAndGet();
+            lastSnapshotTime = System.currentTimeMillis();
+            scheduleResync();
+        }
+    }
+
+    private static Map<TaskId, TaskItem> itemsOf(@Nullable MyListView state) {
+        final Map<TaskId, TaskItem> result = new LinkedHashMap<>();
+        if (state == null) {
+            return result;
+        }
+        for (TaskItem item : state.getMyList()
+                                  .getItemsList()) {
+            result.put(item.getId(), item);
+        }
+        return result;
+    }
+
+    private static TaskItemChanges diff(Map<TaskId, TaskItem> previous,
+                                        Map<TaskId, TaskItem> current) {
+        final TaskItemChanges.Builder result = TaskItemChanges.newBuilder();
+        for (TaskItem item : current.values()) {
+            final TaskItem previousItem = previous.get(item.getId());
+            if (previousItem == null) {
+                result.addAdded(item);
+            } else if (!previousItem.equals(item)) {
+                result.addChanged(item);
+            }
+        }
+        for (TaskId id : previous.keySet()) {
+            if (!current.containsKey(id)) {
+                result.addRemoved(id);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Remembers the {@link Subscription} created by the {@link SubscriptionService}.
+     */
+    private static final class SubscriptionObserver implements StreamObserver<Subscription> {
+
+        private Subscription subscription;
+
+        @Override
+        public void onNext(Subscription value) {
+            this.subscription = value;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException("Unable to subscribe to the MyListView updates.", t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Do nothing.
+        }
+    }
+}
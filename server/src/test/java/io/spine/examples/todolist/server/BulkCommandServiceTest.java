@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.grpc.Status;
+import io.spine.client.ActorRequestFactory;
+import io.spine.core.Command;
+import io.spine.core.UserId;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.c.BulkCommandResult;
+import io.spine.examples.todolist.c.commands.CompleteTasks;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.server.BoundedContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("BulkCommandService should")
+class BulkCommandServiceTest {
+
+    private static final String UNKNOWN_TYPE_URL = "type.spine.io/spine.examples.Unknown";
+
+    private final ActorRequestFactory requestFactory = requestFactory();
+
+    private BoundedContext boundedContext;
+    private BulkCommandService service;
+
+    @BeforeEach
+    void setUp() {
+        boundedContext = BoundedContexts.create();
+        service = BulkCommandService.newInstance(boundedContext, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+        boundedContext.close();
+    }
+
+    @Test
+    @DisplayName("reject a command of an unknown type as an invalid argument")
+    void rejectUnknownType() {
+        final Any unknown = Any.newBuilder()
+                               .setTypeUrl(UNKNOWN_TYPE_URL)
+                               .build();
+        final Command command = command(completeTasks()).toBuilder()
+                                                        .setMessage(unknown)
+                                                        .build();
+
+        final MemoizingObserver<BulkCommandResult> observer = memoizingObserver();
+        service.post(command, observer);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, codeOf(observer));
+    }
+
+    @Test
+    @DisplayName("report the service is unavailable after the shutdown")
+    void unavailableAfterShutdown() {
+        service.shutdown();
+
+        final MemoizingObserver<BulkCommandResult> observer = memoizingObserver();
+        service.post(command(completeTasks()), observer);
+
+        assertEquals(Status.Code.UNAVAILABLE, codeOf(observer));
+    }
+
+    private Command command(Message message) {
+        return requestFactory.command()
+                             .create(message);
+    }
+
+    private static Status.Code codeOf(MemoizingObserver<BulkCommandResult> observer) {
+        assertTrue(observer.responses()
+                           .isEmpty());
+        return Status.fromThrowable(observer.getError())
+                     .getCode();
+    }
+
+    private static CompleteTasks completeTasks() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return CompleteTasks.newBuilder()
+                            .addIds(id)
+                            .build();
+    }
+
+    private static ActorRequestFactory requestFactory() {
+        final UserId actor = UserId.newBuilder()
+                                   .setValue(BulkCommandServiceTest.class.getSimpleName())
+                                   .build();
+        return ActorRequestFactory.newBuilder()
+                                  .setActor(actor)
+                                  .build();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018, TeamDev Ltd. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.examples.todolist.server;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.client.EntityStateUpdate;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.context.BoundedContexts;
+import io.spine.examples.todolist.q.TaskListDelta;
+import io.spine.examples.todolist.q.TaskListDeltaRequest;
+import io.spine.examples.todolist.q.projection.MyListView;
+import io.spine.examples.todolist.q.projection.TaskItem;
+import io.spine.examples.todolist.q.projection.TaskListView;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.protobuf.AnyPacker;
+import io.spine.server.BoundedContext;
+import io.spine.server.SubscriptionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.spine.Identifier.newUuid;
+import static io.spine.examples.todolist.q.TaskListDelta.ContentCase.SNAPSHOT;
+import static io.spine.examples.todolist.q.projection.MyListViewProjection.ID;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Dmytro Grankin
+ */
+@DisplayName("TaskListSubscriptionService should")
+class TaskListSubscriptionServiceTest {
+
+    private static final long DEBOUNCE_WINDOW_MILLIS = 200;
+    private static final long RESYNC_INTERVAL_MILLIS = 200;
+
+    private BoundedContext boundedContext;
+    private TaskListSubscriptionService service;
+
+    @BeforeEach
+    void setUp() {
+        boundedContext = BoundedContexts.create();
+        final SubscriptionService subscriptionService = SubscriptionService.newBuilder()
+                                                                           .add(boundedContext)
+                                                                           .build();
+        service = TaskListSubscriptionService.newInstance(boundedContext, subscriptionService,
+                                                          MINUTES.toMillis(1),
+                                                          DEBOUNCE_WINDOW_MILLIS,
+                                                          MILLISECONDS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+        boundedContext.close();
+    }
+
+    @Test
+    @DisplayName("not send the pending changes after the stream is failed")
+    void dropPendingChangesOnError() throws InterruptedException {
+        final MemoizingObserver<TaskListDelta> observer = memoizingObserver();
+        service.subscribeToMyListDeltas(TaskListDeltaRequest.getDefaultInstance(), observer);
+        final StreamObserver<SubscriptionUpdate> updates = service.getUpdateObserver();
+        final RuntimeException error = new IllegalStateException("The subscription is failed.");
+
+        updates.onNext(updateWith(newTaskItem()));
+        updates.onError(error);
+        Thread.sleep(DEBOUNCE_WINDOW_MILLIS * 2);
+
+        assertEquals(1, observer.responses()
+                                .size());
+        assertEquals(SNAPSHOT, observer.firstResponse()
+                                       .getContentCase());
+        assertSame(error, observer.getError());
+    }
+
+    @Test
+    @DisplayName("resync a stream without the changes")
+    void resyncIdleStream() throws InterruptedException {
+        final SubscriptionService subscriptionService = SubscriptionService.newBuilder()
+                                                                           .add(boundedContext)
+                                                                           .build();
+        final TaskListSubscriptionService resyncingService =
+                TaskListSubscriptionService.newInstance(boundedContext, subscriptionService,
+                                                        RESYNC_INTERVAL_MILLIS,
+                                                        DEBOUNCE_WINDOW_MILLIS,
+                                                        MILLISECONDS);
+        final MemoizingObserver<TaskListDelta> observer = memoizingObserver();
+        resyncingService.subscribeToMyListDeltas(TaskListDeltaRequest.getDefaultInstance(),
+                                                 observer);
+        Thread.sleep(RESYNC_INTERVAL_MILLIS * 5 / 2);
+        resyncingService.shutdown();
+
+        final List<TaskListDelta> responses = observer.responses();
+        assertTrue(responses.size() >= 2);
+        for (TaskListDelta response : responses) {
+            assertEquals(SNAPSHOT, response.getContentCase());
+        }
+    }
+
+    private static SubscriptionUpdate updateWith(TaskItem item) {
+        final MyListView state = MyListView.newBuilder()
+                                           .setListId(ID)
+                                           .setMyList(TaskListView.newBuilder()
+                                                                  .addItems(item))
+                                           .build();
+        final EntityStateUpdate stateUpdate = EntityStateUpdate.newBuilder()
+                                                               .setId(AnyPacker.pack(ID))
+                                                               .setState(AnyPacker.pack(state))
+                                                               .build();
+        return SubscriptionUpdate.newBuilder()
+                                 .addEntityStateUpdates(stateUpdate)
+                                 .build();
+    }
+
+    private static TaskItem newTaskItem() {
+        final TaskId id = TaskId.newBuilder()
+                                .setValue(newUuid())
+                                .build();
+        return TaskItem.newBuilder()
+                       .setId(id)
+                       .build();
+    }
+}
@@ -29,7 +29,9 @@ import io.spine.examples.todolist.Task;
 import io.spine.examples.todolist.TaskDescription;
 import io.spine.examples.todolist.TaskDetails;
 import io.spine.examples.todolist.TaskId;
+import io.spine.examples.todolist.TaskLabel;
 import io.spine.examples.todolist.TaskPriority;
+import io.spine.examples.todolist.TaskStatus;
 import io.spine.server.event.EventEnricher;
 
 import java.util.function.Function;
@@ -56,12 +58,19 @@ public class TestEventEnricherFactory {
                                          .setDescription(DESCRIPTION)
                                          .setDueDate(TASK_DUE_DATE)
                                          .setPriority(TASK_PRIORITY)
+                                         .setTaskStatus(TaskStatus.OPEN)
                                          .build();
     private static final LabelDetails LABEL_DETAILS = LabelDetails.newBuilder()
                                                                   .setColor(LabelColor.BLUE)
                                                                   .setTitle(LABEL_TITLE)
                                                                   .build();
 
+    private static final TaskLabel TASK_LABEL = TaskLabel.newBuilder()
+                                                         .setId(TestTaskEventFactory.LABEL_ID)
+                                                         .setTitle(LABEL_TITLE)
+                                                         .setColor(LabelColor.BLUE)
+                                                         .build();
+
     private static final Function<LabelId, LabelDetails> LABEL_ID_TO_LABEL_DETAILS =
             labelId -> LABEL_DETAILS;
 
@@ -78,6 +87,8 @@ public class TestEventEnricherFactory {
 
     private static final Function<TaskId, Task> TASK_ID_TO_TASK = taskId -> TASK;
 
+    private static final Function<TaskId, TaskLabel> TASK_ID_TO_LAST_LABEL = taskId -> TASK_LABEL;
+
     private TestEventEnricherFactory() {
     }
 
@@ -100,6 +111,9 @@ public class TestEventEnricherFactory {
                                                   .add(TaskId.class,
                                                        Task.class,
                                                        TASK_ID_TO_TASK::apply)
+                                                  .add(TaskId.class,
+                                                       TaskLabel.class,
+                                                       TASK_ID_TO_LAST_LABEL::apply)
                                                   .build();
         return result;
     }